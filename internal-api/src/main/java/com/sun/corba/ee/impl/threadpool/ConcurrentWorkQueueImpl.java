@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+package com.sun.corba.ee.impl.threadpool;
+
+import com.sun.corba.ee.spi.threadpool.ThreadPool;
+import com.sun.corba.ee.spi.threadpool.Work;
+
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.glassfish.gmbal.Description ;
+import org.glassfish.gmbal.ManagedAttribute ;
+import org.glassfish.gmbal.NameValue ;
+
+/**
+ * A WorkQueue that does not take a lock to add or remove work.  Work items
+ * are held in a ConcurrentLinkedQueue.  Worker threads that find the queue
+ * empty register themselves on a stack of idle workers and park; addWork
+ * unparks the most recently idle worker, or asks the ThreadPool for a new
+ * worker thread if none is idle.  Waking the most recently idle worker
+ * first lets the workers at the bottom of the stack reach their inactivity
+ * timeout when the pool is larger than the load needs.
+ */
+public class ConcurrentWorkQueueImpl extends ThreadPoolWorkQueue
+{
+    final private Queue<Work> queue = new ConcurrentLinkedQueue<Work>();
+
+    // ConcurrentLinkedQueue.size() is not a constant time operation.
+    final private AtomicInteger queueSize = new AtomicInteger(0);
+
+    final private Deque<IdleWorker> idleWorkers =
+        new ConcurrentLinkedDeque<IdleWorker>();
+
+    private volatile ThreadPool workerThreadPool;
+
+    final private LongAdder workItemsAdded = new LongAdder();
+    final private LongAdder workItemsDequeued = new LongAdder();
+    final private LongAdder totalTimeInQueue = new LongAdder();
+
+    // Name of the work queue
+    final private String name;
+
+    public ConcurrentWorkQueueImpl(ThreadPool workerThreadPool) {
+        this(workerThreadPool, WorkQueueImpl.WORKQUEUE_DEFAULT_NAME);
+    }
+
+    public ConcurrentWorkQueueImpl(ThreadPool workerThreadPool, String name) {
+        this.workerThreadPool = workerThreadPool;
+        this.name = name;
+    }
+
+    public void addWork(Work work) {
+        workItemsAdded.increment();
+        work.setEnqueueTime(System.currentTimeMillis());
+
+        // Count the item before it becomes visible, so that the size never
+        // goes negative when a worker removes it right away.
+        queueSize.incrementAndGet();
+        queue.offer(work);
+
+        if (!signalIdleWorker()) {
+            ((ThreadPoolImpl)workerThreadPool).createWorkerThreadIfBelowMaximum();
+        }
+    }
+
+    Work requestWork(long waitTime) throws WorkerThreadNotNeededException,
+        InterruptedException {
+
+        Work work = pollWork();
+        if (work != null) {
+            return work;
+        }
+
+        ThreadPoolImpl pool = (ThreadPoolImpl)workerThreadPool;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitTime);
+        IdleWorker idle = new IdleWorker();
+
+        pool.incrementNumberOfAvailableThreads();
+        try {
+            idleWorkers.addFirst(idle);
+            while (true) {
+                // Poll only after registering as idle: either this poll sees
+                // the work, or the thread that added it sees this worker.
+                work = pollWork();
+                if (work != null) {
+                    idleWorkers.remove(idle);
+                    return work;
+                }
+
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+
+                LockSupport.parkNanos(this, remaining);
+
+                if (Thread.interrupted()) {
+                    if (!idleWorkers.remove(idle)) {
+                        passOnSignal();
+                    }
+                    throw new InterruptedException();
+                }
+
+                if (idle.signalled) {
+                    // The work that woke us may already have been taken by a
+                    // worker that was not idle, so register again before
+                    // polling.
+                    idle = new IdleWorker();
+                    idleWorkers.addFirst(idle);
+                }
+            }
+
+            if (!idleWorkers.remove(idle)) {
+                // Work was added just as the wait timed out.
+                work = pollWork();
+                if (work != null) {
+                    return work;
+                }
+            }
+        } finally {
+            pool.decrementNumberOfAvailableThreads();
+        }
+
+        if (pool.retireWorkerThreadIfAboveMinimum()) {
+            // NOTE: It is expected that the WorkerThread calling this
+            //       method will gracefully exit as a result of
+            //       catching the WorkerThreadNotNeededException.
+            throw new WorkerThreadNotNeededException();
+        }
+
+        return null;
+    }
+
+    private Work pollWork() {
+        Work work = queue.poll();
+        if (work != null) {
+            workItemsDequeued.increment();
+            totalTimeInQueue.add(System.currentTimeMillis() - work.getEnqueueTime());
+            if (queueSize.decrementAndGet() > 0) {
+                // More work is waiting: let another idle worker help.
+                signalIdleWorker();
+            }
+        }
+
+        return work;
+    }
+
+    // Called by a signalled worker that is leaving without taking work.
+    private void passOnSignal() {
+        if (queueSize.get() > 0) {
+            signalIdleWorker();
+        }
+    }
+
+    private boolean signalIdleWorker() {
+        IdleWorker idle = idleWorkers.pollFirst();
+        if (idle == null) {
+            return false;
+        }
+
+        idle.signalled = true;
+        LockSupport.unpark(idle.thread);
+        return true;
+    }
+
+    public void setThreadPool(ThreadPool workerThreadPool) {
+        this.workerThreadPool = workerThreadPool;
+    }
+
+    public ThreadPool getThreadPool() {
+        return workerThreadPool;
+    }
+
+    /**
+     * Returns the total number of Work items added to the Queue.
+     */
+    @ManagedAttribute
+    @Description( "Total number of items added to the queue" )
+    public long totalWorkItemsAdded() {
+        return workItemsAdded.sum();
+    }
+
+    /**
+     * Returns the total number of Work items in the Queue to be processed.
+     */
+    @ManagedAttribute
+    @Description( "Total number of items in the queue to be processed" )
+    public int workItemsInQueue() {
+        return queueSize.get();
+    }
+
+    /**
+     * Returns the average amount Work items have spent in the Queue waiting
+     * to be processed.
+     */
+    @ManagedAttribute
+    @Description( "Average time work items spend waiting in the queue in milliseconds" )
+    public long averageTimeInQueue() {
+        long dequeued = workItemsDequeued.sum();
+        if (dequeued == 0) {
+            return 0 ;
+        } else {
+            return (totalTimeInQueue.sum()/dequeued);
+        }
+    }
+
+    @NameValue
+    public String getName() {
+        return name;
+    }
+
+    // A worker thread waiting for work.  A new one is registered each time
+    // the worker waits, so a signal is never confused with an earlier one.
+    private static class IdleWorker {
+        final Thread thread = Thread.currentThread();
+        volatile boolean signalled = false;
+    }
+}
+
+// End of file.
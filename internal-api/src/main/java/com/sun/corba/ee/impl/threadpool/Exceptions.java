@@ -20,6 +20,7 @@
 package com.sun.corba.ee.impl.threadpool;
 
 import com.sun.corba.ee.spi.logex.stdcorba.StandardLogger;
+import com.sun.corba.ee.spi.threadpool.ThreadPool;
 
 import org.glassfish.pfl.basic.logex.Chain;
 import org.glassfish.pfl.basic.logex.ExceptionWrapper;
@@ -54,7 +55,7 @@ public interface Exceptions {
     @Message( "Join was interrrupted on thread {0} while closing ThreadPool {1}" )
     @Log( id = TP_START + 0 )
     void interruptedJoinCallWhileClosingThreadPool(
-        @Chain InterruptedException exc, Thread wt, ThreadPoolImpl aThis);
+        @Chain InterruptedException exc, Thread wt, ThreadPool aThis);
 
     @Message( "Worker Thread {0} has been created with ClassLoader {1}" )
     @Log( id = TP_START + 0, level=LogLevel.FINE )
@@ -136,10 +137,27 @@ public interface Exceptions {
     void threadGroupDestroyFailed( @Chain IllegalThreadStateException exc,
         ThreadGroup threadGroup);
 
+    @Message( "Unknown thread pool type {0}; using the default thread pool" )
+    @Log( id = TPM_START + 5 )
+    void unknownThreadPoolType( String type ) ;
+
+    @Message( "Virtual threads are not supported by this JDK; using the"
+        + " default thread pool" )
+    @Log( id = TPM_START + 6 )
+    void virtualThreadPoolNotAvailable() ;
+
 // ThreadStateValidator
     static final int TSV_START = TPM_START + EXCEPTIONS_PER_CLASS ;
 
     @Message( "Thread state validator threw an exception on validator {0}" )
     @Log( id = TSV_START + 0 )
     RuntimeException threadStateValidatorException( Runnable run, @Chain Throwable exc ) ;
+
+// VirtualThreadPoolImpl
+    static final int VTP_START = TSV_START + EXCEPTIONS_PER_CLASS ;
+
+    @Message( "Virtual threads are not supported by this JDK; cannot create"
+        + " virtual thread pool {0}" )
+    @Log( id = VTP_START + 0 )
+    UnsupportedOperationException virtualThreadsNotSupported( String name ) ;
 }
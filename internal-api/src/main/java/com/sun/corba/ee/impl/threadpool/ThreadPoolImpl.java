@@ -48,19 +48,19 @@ public class ThreadPoolImpl implements ThreadPool
     // serial counter useful for debugging
     private static final AtomicInteger threadCounter = new AtomicInteger(0);
 
-    // Any time currentThreadCount and/or availableWorkerThreads is updated
-    // or accessed this ThreadPool's WorkQueue must be locked. And, it is
-    // expected that this ThreadPool's WorkQueue is the only object that
-    // updates and accesses these values directly and indirectly though a
-    // call to a method in this ThreadPool. If any call to update or access
-    // those values must synchronized on this ThreadPool's WorkQueue.
-    final private WorkQueue workQueue;
+    // It is expected that this ThreadPool's WorkQueue is the only object
+    // that updates currentThreadCount and availableWorkerThreads, directly
+    // or indirectly through a call to a method in this ThreadPool.  The
+    // counts are atomic so that they can be read without taking the
+    // WorkQueue's lock; WorkQueueImpl still makes its compound decisions
+    // while holding its own lock.
+    final private ThreadPoolWorkQueue workQueue;
 
     // Stores the number of available worker threads
-    private int availableWorkerThreads = 0;
+    final private AtomicInteger availableWorkerThreads = new AtomicInteger(0);
 
     // Stores the number of threads in the threadpool currently
-    private int currentThreadCount = 0;
+    final private AtomicInteger currentThreadCount = new AtomicInteger(0);
 
     // Minimum number of worker threads created at instantiation of the threadpool
     final private int minWorkerThreads;
@@ -115,10 +115,22 @@ public class ThreadPoolImpl implements ThreadPool
     public ThreadPoolImpl(ThreadGroup tg, String threadpoolName,
         ClassLoader defaultClassLoader) {
 
+        this( tg, threadpoolName, defaultClassLoader, false ) ;
+    }
+
+    /** Create an unbounded thread pool in the given thread group
+     * with the given ClassLoader as the worker thread default
+     * ClassLoader.  If concurrentWorkQueue is true, the pool is
+     * fed by a lock-free ConcurrentWorkQueueImpl instead of the
+     * default WorkQueueImpl.
+     */
+    public ThreadPoolImpl(ThreadGroup tg, String threadpoolName,
+        ClassLoader defaultClassLoader, boolean concurrentWorkQueue) {
+
         inactivityTimeout = DEFAULT_INACTIVITY_TIMEOUT;
         minWorkerThreads = 0;
         maxWorkerThreads = Integer.MAX_VALUE;
-        workQueue = new WorkQueueImpl(this);
+        workQueue = makeWorkQueue( concurrentWorkQueue ) ;
         // XXX register this with gmbal.
         threadGroup = tg ;
         name = threadpoolName;
@@ -141,18 +153,38 @@ public class ThreadPoolImpl implements ThreadPool
      */
     public ThreadPoolImpl( int minSize, int maxSize, long timeout,
         String threadpoolName, ClassLoader defaultClassLoader )
+    {
+        this( minSize, maxSize, timeout, threadpoolName, defaultClassLoader,
+            false ) ;
+    }
+
+    /** Create a bounded thread pool in the current thread group
+     * with the given ClassLoader as the worker thread default
+     * ClassLoader.  If concurrentWorkQueue is true, the pool is
+     * fed by a lock-free ConcurrentWorkQueueImpl instead of the
+     * default WorkQueueImpl.
+     */
+    public ThreadPoolImpl( int minSize, int maxSize, long timeout,
+        String threadpoolName, ClassLoader defaultClassLoader,
+        boolean concurrentWorkQueue )
     {
         inactivityTimeout = timeout;
         minWorkerThreads = minSize;
         maxWorkerThreads = maxSize;
-        workQueue = new WorkQueueImpl(this);
+        workQueue = makeWorkQueue( concurrentWorkQueue ) ;
         threadGroup = Thread.currentThread().getThreadGroup() ;
         name = threadpoolName;
         workerThreadClassLoader = defaultClassLoader ;
-        synchronized (workQueue) {
-            for (int i = 0; i < minWorkerThreads; i++) {
-                createWorkerThread();
-            }
+        for (int i = 0; i < minWorkerThreads; i++) {
+            createWorkerThread();
+        }
+    }
+
+    private ThreadPoolWorkQueue makeWorkQueue( boolean concurrentWorkQueue ) {
+        if (concurrentWorkQueue) {
+            return new ConcurrentWorkQueueImpl( this ) ;
+        } else {
+            return new WorkQueueImpl( this ) ;
         }
     }
 
@@ -181,7 +213,7 @@ public class ThreadPoolImpl implements ThreadPool
         threadGroup = null ;
     }
 
-    private static ClassLoader getDefaultClassLoader() {
+    static ClassLoader getDefaultClassLoader() {
         if (System.getSecurityManager() == null)
             return Thread.currentThread().getContextClassLoader() ;
         else {
@@ -271,29 +303,69 @@ public class ThreadPoolImpl implements ThreadPool
      * available.
      */
     void createWorkerThread() {
+        incrementCurrentNumberOfThreads();
+        startWorkerThread();
+    }
+
+    /**
+     * To be called from a WorkQueue that does not hold a lock while it
+     * decides whether a worker thread is needed.  A thread is only created
+     * if the pool is below its maximum size, and the check and the count
+     * update are a single atomic step.
+     *
+     * @return true if a worker thread was started
+     */
+    boolean createWorkerThreadIfBelowMaximum() {
+        int count ;
+        do {
+            count = currentThreadCount.get() ;
+            if (count >= maxWorkerThreads) {
+                return false ;
+            }
+        } while (!currentThreadCount.compareAndSet( count, count + 1 )) ;
+
+        startWorkerThread();
+        return true ;
+    }
+
+    /**
+     * To be called from a WorkQueue that does not hold a lock when one of
+     * its worker threads has been idle for the inactivity timeout.  The
+     * count is only reduced if the pool is above its minimum size.
+     *
+     * @return true if the calling worker thread should exit
+     */
+    boolean retireWorkerThreadIfAboveMinimum() {
+        int count ;
+        do {
+            count = currentThreadCount.get() ;
+            if (count <= minWorkerThreads) {
+                return false ;
+            }
+        } while (!currentThreadCount.compareAndSet( count, count - 1 )) ;
+
+        return true ;
+    }
+
+    // The caller has already counted the new thread in currentThreadCount.
+    private void startWorkerThread() {
         final String lname = getName();
-        synchronized (workQueue) {
-            try {
-                if (System.getSecurityManager() == null) {
-                    createWorkerThreadHelper(lname) ;
-                } else {
-                    // If we get here, we need to create a thread.
-                    AccessController.doPrivileged(
-                            new PrivilegedAction() {
-                        public Object run() {
-                            return createWorkerThreadHelper(lname) ;
-                        }
+        try {
+            if (System.getSecurityManager() == null) {
+                createWorkerThreadHelper(lname) ;
+            } else {
+                // If we get here, we need to create a thread.
+                AccessController.doPrivileged(
+                        new PrivilegedAction() {
+                    public Object run() {
+                        return createWorkerThreadHelper(lname) ;
                     }
-                    ) ;
                 }
-            } catch (Throwable t) {
-                // Decrementing the count of current worker threads.
-                // But, it will be increased in the finally block.
-                decrementCurrentNumberOfThreads();
-                Exceptions.self.workerThreadCreationFailure(t);
-            } finally {
-                incrementCurrentNumberOfThreads();
+                ) ;
             }
+        } catch (Throwable t) {
+            decrementCurrentNumberOfThreads();
+            Exceptions.self.workerThreadCreationFailure(t);
         }
     }
 
@@ -312,37 +384,27 @@ public class ThreadPoolImpl implements ThreadPool
     @ManagedAttribute
     @Description( "The current number of threads" )
     public int currentNumberOfThreads() {
-        synchronized (workQueue) {
-            return currentThreadCount;
-        }
+        return currentThreadCount.get();
     }
 
     void decrementCurrentNumberOfThreads() {
-        synchronized (workQueue) {
-            currentThreadCount--;
-        }
+        currentThreadCount.decrementAndGet();
     }
 
     void incrementCurrentNumberOfThreads() {
-        synchronized (workQueue) {
-            currentThreadCount++;
-        }
+        currentThreadCount.incrementAndGet();
     }
 
     @ManagedAttribute
     @Description( "The number of available threads in this ThreadPool" )
     public int numberOfAvailableThreads() {
-         synchronized (workQueue) {
-            return availableWorkerThreads;
-        }
+        return availableWorkerThreads.get();
     }
 
     @ManagedAttribute
     @Description( "The number of threads busy processing work in this ThreadPool" )
     public int numberOfBusyThreads() {
-        synchronized (workQueue) {
-            return (currentNumberOfThreads() - numberOfAvailableThreads());
-        }
+        return (currentNumberOfThreads() - numberOfAvailableThreads());
     }
 
     @ManagedAttribute
@@ -380,9 +442,7 @@ public class ThreadPoolImpl implements ThreadPool
      * WorkQueueImpl.requestWork()
      */
     void decrementNumberOfAvailableThreads() {
-        synchronized (workQueue) {
-            availableWorkerThreads--;
-        }
+        availableWorkerThreads.decrementAndGet();
     }
 
     /**
@@ -391,9 +451,7 @@ public class ThreadPoolImpl implements ThreadPool
      * WorkQueueImpl.requestWork()
      */
     void incrementNumberOfAvailableThreads() {
-        synchronized (workQueue) {
-            availableWorkerThreads++;
-        }
+        availableWorkerThreads.incrementAndGet();
     }
 
     private class WorkerThread extends Thread implements Closeable
@@ -491,7 +549,7 @@ public class ThreadPoolImpl implements ThreadPool
 
                 while (!closeCalled) {
                     try {
-                        currentWork = ((WorkQueueImpl)workQueue).requestWork(
+                        currentWork = workQueue.requestWork(
                             inactivityTimeout);
                         if (currentWork == null)
                             continue;
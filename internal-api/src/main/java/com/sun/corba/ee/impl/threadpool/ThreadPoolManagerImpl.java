@@ -27,19 +27,73 @@ import com.sun.corba.ee.spi.threadpool.ThreadPoolManager;
 import java.io.IOException ;
 import java.security.AccessController ;
 import java.security.PrivilegedAction;
+import java.util.List ;
+import java.util.Map ;
+import java.util.concurrent.ConcurrentHashMap ;
+import java.util.concurrent.CopyOnWriteArrayList ;
 import java.util.concurrent.atomic.AtomicInteger ;
 
 public class ThreadPoolManagerImpl implements ThreadPoolManager
 {
     public static final String THREADPOOL_DEFAULT_NAME = "default-threadpool";
 
+    /** Thread pool type using ThreadPoolImpl with the default WorkQueueImpl. */
+    public static final String THREADPOOL_TYPE_DEFAULT = "default" ;
+
+    /** Thread pool type using ThreadPoolImpl with ConcurrentWorkQueueImpl. */
+    public static final String THREADPOOL_TYPE_CONCURRENT = "concurrent" ;
+
+    /** Thread pool type using VirtualThreadPoolImpl.  The default type is
+     * used if the JDK does not support virtual threads.
+     */
+    public static final String THREADPOOL_TYPE_VIRTUAL = "virtual" ;
+
     private ThreadPool threadPool ;
     private ThreadGroup threadGroup ;
 
+    private final Map<String,Integer> chooserIds =
+        new ConcurrentHashMap<String,Integer>() ;
+    private final List<ThreadPoolChooser> choosers =
+        new CopyOnWriteArrayList<ThreadPoolChooser>() ;
+
     public ThreadPoolManagerImpl() {
+        this( THREADPOOL_TYPE_DEFAULT ) ;
+    }
+
+    /** Create a ThreadPoolManager whose default ThreadPool is of the
+     * given type.  An unknown type is reported and the default type is
+     * used instead.
+     */
+    public ThreadPoolManagerImpl( String threadPoolType ) {
+        this( threadPoolType, 0 ) ;
+    }
+
+    /** Create a ThreadPoolManager whose default ThreadPool is of the
+     * given type.  For the virtual type, maxConcurrency limits the number
+     * of work items that run at the same time; zero or less means no limit.
+     */
+    public ThreadPoolManagerImpl( String threadPoolType, int maxConcurrency ) {
         threadGroup = getThreadGroup() ;
-        threadPool = new ThreadPoolImpl( threadGroup,
-            THREADPOOL_DEFAULT_NAME ) ;
+        threadPool = makeThreadPool( threadPoolType, maxConcurrency ) ;
+    }
+
+    private ThreadPool makeThreadPool( String threadPoolType, int maxConcurrency ) {
+        boolean concurrentWorkQueue = false ;
+        if (THREADPOOL_TYPE_VIRTUAL.equals( threadPoolType )) {
+            if (VirtualThreadPoolImpl.isSupported()) {
+                return new VirtualThreadPoolImpl( THREADPOOL_DEFAULT_NAME,
+                    maxConcurrency, ThreadPoolImpl.getDefaultClassLoader() ) ;
+            }
+
+            Exceptions.self.virtualThreadPoolNotAvailable() ;
+        } else if (THREADPOOL_TYPE_CONCURRENT.equals( threadPoolType )) {
+            concurrentWorkQueue = true ;
+        } else if (!THREADPOOL_TYPE_DEFAULT.equals( threadPoolType )) {
+            Exceptions.self.unknownThreadPoolType( threadPoolType ) ;
+        }
+
+        return new ThreadPoolImpl( threadGroup, THREADPOOL_DEFAULT_NAME,
+            ThreadPoolImpl.getDefaultClassLoader(), concurrentWorkQueue ) ;
     }
 
     private static AtomicInteger tgCount = new AtomicInteger() ;
@@ -177,9 +231,8 @@ public class ThreadPoolManagerImpl implements ThreadPoolManager
      * passed as argument
      */
     public ThreadPoolChooser getThreadPoolChooser(String componentId) {
-        //FIXME: This method is not used, but should be fixed once
-        //nio select starts working and we start using ThreadPoolChooser
-        return null;
+        Integer index = chooserIds.get( componentId ) ;
+        return index == null ? null : choosers.get( index ) ;
     }
     /**
      * Return an instance of ThreadPoolChooser based on the componentIndex that was
@@ -187,18 +240,26 @@ public class ThreadPoolManagerImpl implements ThreadPoolManager
      * does not have to pay the cost of computing hashcode for the componentId
      */
     public ThreadPoolChooser getThreadPoolChooser(int componentIndex) {
-        //FIXME: This method is not used, but should be fixed once
-        //nio select starts working and we start using ThreadPoolChooser
-        return null;
+        if (componentIndex < 0 || componentIndex >= choosers.size()) {
+            return null ;
+        }
+        return choosers.get( componentIndex ) ;
     }
 
     /**
      * Sets a ThreadPoolChooser for a particular componentId in the ThreadPoolManager. This
      * would enable any component to add a ThreadPoolChooser for their specific use
      */
-    public void setThreadPoolChooser(String componentId, ThreadPoolChooser aThreadPoolChooser) {
-        //FIXME: This method is not used, but should be fixed once
-        //nio select starts working and we start using ThreadPoolChooser
+    public synchronized void setThreadPoolChooser(String componentId,
+        ThreadPoolChooser aThreadPoolChooser) {
+
+        Integer index = chooserIds.get( componentId ) ;
+        if (index == null) {
+            choosers.add( aThreadPoolChooser ) ;
+            chooserIds.put( componentId, choosers.size() - 1 ) ;
+        } else {
+            choosers.set( index, aThreadPoolChooser ) ;
+        }
     }
 
     /**
@@ -207,9 +268,8 @@ public class ThreadPoolManagerImpl implements ThreadPoolManager
      * efficient implementation i.e. getThreadPoolChooser(int componentIndex)
      */
     public int getThreadPoolChooserNumericId(String componentId) {
-        //FIXME: This method is not used, but should be fixed once
-        //nio select starts working and we start using ThreadPoolChooser
-        return 0;
+        Integer index = chooserIds.get( componentId ) ;
+        return index == null ? 0 : index ;
     }
 
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+package com.sun.corba.ee.impl.threadpool;
+
+import com.sun.corba.ee.spi.threadpool.Work;
+import com.sun.corba.ee.spi.threadpool.WorkQueue;
+
+/**
+ * A WorkQueue which can feed the worker threads of a ThreadPoolImpl.
+ */
+abstract class ThreadPoolWorkQueue implements WorkQueue
+{
+    /**
+     * Wait up to waitTime milliseconds for the next Work item.
+     *
+     * @return the next Work item, or null if none arrived in time and the
+     * calling worker thread should ask again
+     * @throws WorkerThreadNotNeededException if the calling worker thread
+     * timed out and should exit because the pool has enough idle threads
+     */
+    abstract Work requestWork(long waitTime)
+        throws WorkerThreadNotNeededException, InterruptedException;
+}
+
+// End of file.
@@ -0,0 +1,456 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+package com.sun.corba.ee.impl.threadpool;
+
+import com.sun.corba.ee.spi.threadpool.NoSuchWorkQueueException;
+import com.sun.corba.ee.spi.threadpool.ThreadPool;
+import com.sun.corba.ee.spi.threadpool.ThreadStateValidator;
+import com.sun.corba.ee.spi.threadpool.Work;
+import com.sun.corba.ee.spi.threadpool.WorkQueue;
+
+import java.lang.reflect.Method;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.glassfish.gmbal.Description ;
+import org.glassfish.gmbal.ManagedAttribute ;
+import org.glassfish.gmbal.ManagedObject ;
+import org.glassfish.gmbal.NameValue ;
+
+/**
+ * A ThreadPool that runs each Work item on a new virtual thread instead of
+ * handing it to a bounded set of worker threads.  Work that blocks, for
+ * example on JDBC or on an outbound IIOP call, then only holds a virtual
+ * thread, so the pool does not need to be sized for the number of blocked
+ * requests.
+ * <p>
+ * If maxConcurrency is greater than zero, at most that many Work items run at
+ * the same time; the others wait on a semaphore in their own virtual thread,
+ * and are counted as being in the WorkQueue until they get a permit.
+ * <p>
+ * The ORB is compiled for Java 11, so virtual threads are created through
+ * reflection.  isSupported() tells whether the running JDK provides them.
+ */
+@ManagedObject
+@Description( "A ThreadPool that runs each work item on a virtual thread" )
+public class VirtualThreadPoolImpl implements ThreadPool
+{
+    // Thread.ofVirtual(), Thread.Builder.name(String,long) and
+    // Thread.Builder.factory(), or null if the JDK has no virtual threads.
+    private static final Method[] BUILDER_METHODS = findBuilderMethods() ;
+
+    final private String name;
+
+    final private ThreadFactory threadFactory;
+
+    // Null if the number of concurrently running work items is unlimited.
+    final private Semaphore permits;
+
+    final private int maxConcurrency;
+
+    final private ClassLoader workerThreadClassLoader ;
+
+    final private VirtualThreadWorkQueue workQueue;
+
+    final Set<Thread> threads = ConcurrentHashMap.newKeySet() ;
+
+    final private AtomicInteger busyThreads = new AtomicInteger(0);
+
+    final private LongAdder processedCount = new LongAdder();
+
+    final private LongAdder totalTimeTaken = new LongAdder();
+
+    private volatile boolean closeCalled = false ;
+
+    /** Returns true if the running JDK supports virtual threads.
+     */
+    public static boolean isSupported() {
+        return BUILDER_METHODS != null ;
+    }
+
+    /** Create a thread pool that runs each work item on a virtual thread,
+     * with the given ClassLoader as the context ClassLoader of the threads.
+     * If maxConcurrency is greater than zero, no more than that many work
+     * items run at the same time.
+     *
+     * @throws UnsupportedOperationException if the JDK does not support
+     * virtual threads
+     */
+    public VirtualThreadPoolImpl( String threadpoolName, int maxConcurrency,
+        ClassLoader defaultClassLoader ) {
+
+        this( threadpoolName, maxConcurrency, defaultClassLoader,
+            makeVirtualThreadFactory( threadpoolName ) ) ;
+    }
+
+    /** Create a thread pool that runs each work item on a new thread
+     * obtained from the given ThreadFactory.
+     */
+    public VirtualThreadPoolImpl( String threadpoolName, int maxConcurrency,
+        ClassLoader defaultClassLoader, ThreadFactory threadFactory ) {
+
+        this.name = threadpoolName ;
+        this.maxConcurrency = maxConcurrency ;
+        this.permits = maxConcurrency > 0 ? new Semaphore( maxConcurrency ) : null ;
+        this.workerThreadClassLoader = defaultClassLoader ;
+        this.threadFactory = threadFactory ;
+        this.workQueue = new VirtualThreadWorkQueue() ;
+    }
+
+    private static Method[] findBuilderMethods() {
+        try {
+            Method ofVirtual = Thread.class.getMethod( "ofVirtual" ) ;
+            Class<?> builderClass = Class.forName( "java.lang.Thread$Builder" ) ;
+            Method nameMethod = builderClass.getMethod( "name", String.class, long.class ) ;
+            Method factoryMethod = builderClass.getMethod( "factory" ) ;
+
+            // Fails if virtual threads are a preview feature that is not enabled.
+            ofVirtual.invoke( null ) ;
+            return new Method[] { ofVirtual, nameMethod, factoryMethod } ;
+        } catch (Exception exc) {
+            return null ;
+        } catch (LinkageError exc) {
+            return null ;
+        }
+    }
+
+    private static ThreadFactory makeVirtualThreadFactory( String threadpoolName ) {
+        if (BUILDER_METHODS == null) {
+            throw Exceptions.self.virtualThreadsNotSupported( threadpoolName ) ;
+        }
+
+        try {
+            Object builder = BUILDER_METHODS[0].invoke( null ) ;
+            builder = BUILDER_METHODS[1].invoke( builder,
+                "p: " + threadpoolName + "; v: ", 0L ) ;
+            return (ThreadFactory)BUILDER_METHODS[2].invoke( builder ) ;
+        } catch (Exception exc) {
+            throw Exceptions.self.virtualThreadsNotSupported( threadpoolName ) ;
+        }
+    }
+
+    // Note that this method should not return until AFTER all threads have died.
+    public void close() {
+        closeCalled = true ;
+
+        List<Thread> copy = new ArrayList<Thread>( threads ) ;
+        for (Thread thread : copy) {
+            thread.interrupt() ;
+        }
+
+        for (Thread thread : copy) {
+            while (thread.getState() != Thread.State.TERMINATED) {
+                try {
+                    thread.join() ;
+                } catch (InterruptedException exc) {
+                    Exceptions.self.interruptedJoinCallWhileClosingThreadPool( exc,
+                        thread, this ) ;
+                }
+            }
+        }
+    }
+
+    public WorkQueue getAnyWorkQueue()
+    {
+        return workQueue;
+    }
+
+    public WorkQueue getWorkQueue(int queueId)
+        throws NoSuchWorkQueueException
+    {
+        if (queueId != 0)
+            throw new NoSuchWorkQueueException();
+        return workQueue;
+    }
+
+    public int numberOfWorkQueues() {
+        return 1;
+    }
+
+    /** A virtual thread pool keeps no idle threads.
+     */
+    public int minimumNumberOfThreads() {
+        return 0;
+    }
+
+    /** Returns the concurrency limit, or Integer.MAX_VALUE if there is none.
+     */
+    public int maximumNumberOfThreads() {
+        return permits == null ? Integer.MAX_VALUE : maxConcurrency;
+    }
+
+    /** Virtual threads end as soon as their work is done.
+     */
+    public long idleTimeoutForThreads() {
+        return 0;
+    }
+
+    @ManagedAttribute
+    @Description( "The current number of threads, including those waiting for a permit" )
+    public int currentNumberOfThreads() {
+        return threads.size();
+    }
+
+    /** A virtual thread pool keeps no idle threads, so this is always zero.
+     */
+    @ManagedAttribute
+    @Description( "The number of available threads in this ThreadPool" )
+    public int numberOfAvailableThreads() {
+        return 0;
+    }
+
+    @ManagedAttribute
+    @Description( "The number of threads busy processing work in this ThreadPool" )
+    public int numberOfBusyThreads() {
+        return busyThreads.get();
+    }
+
+    @ManagedAttribute
+    @Description( "The average time needed to complete a work item" )
+    public long averageWorkCompletionTime() {
+        long count = processedCount.sum();
+        return count == 0 ? 0 : totalTimeTaken.sum() / count;
+    }
+
+    @ManagedAttribute
+    @Description( "The number of work items processed" )
+    public long currentProcessedCount() {
+        return processedCount.sum();
+    }
+
+    @NameValue
+    public String getName() {
+        return name;
+    }
+
+    private void startThread( final Runnable runnable ) {
+        // As in ThreadPoolImpl, create the thread in a doPrivileged block so
+        // that it does not inherit the security context of the caller.
+        Thread thread ;
+        if (System.getSecurityManager() == null) {
+            thread = threadFactory.newThread( runnable ) ;
+        } else {
+            thread = AccessController.doPrivileged(
+                new PrivilegedAction<Thread>() {
+                    public Thread run() {
+                        return threadFactory.newThread( runnable ) ;
+                    }
+                }
+            ) ;
+        }
+
+        threads.add( thread ) ;
+        try {
+            thread.start() ;
+        } catch (RuntimeException exc) {
+            threads.remove( thread ) ;
+            throw exc ;
+        }
+    }
+
+    private static void setContextClassLoader( final ClassLoader cl ) {
+        if (System.getSecurityManager() == null) {
+            Thread.currentThread().setContextClassLoader( cl ) ;
+        } else {
+            AccessController.doPrivileged(
+                new PrivilegedAction<Void>() {
+                    public Void run() {
+                        Thread.currentThread().setContextClassLoader( cl ) ;
+                        return null ;
+                    }
+                }
+            ) ;
+        }
+    }
+
+    private static ClassLoader getContextClassLoader() {
+        if (System.getSecurityManager() == null) {
+            return Thread.currentThread().getContextClassLoader() ;
+        } else {
+            return AccessController.doPrivileged(
+                new PrivilegedAction<ClassLoader>() {
+                    public ClassLoader run() {
+                        return Thread.currentThread().getContextClassLoader() ;
+                    }
+                }
+            ) ;
+        }
+    }
+
+    // Each virtual thread runs a single work item, so there is nothing to
+    // reset for the next one; report work that forgot to restore the
+    // ClassLoader as ThreadPoolImpl does.
+    private void checkClassLoader() {
+        ClassLoader currentClassLoader ;
+        try {
+            currentClassLoader = getContextClassLoader() ;
+        } catch (SecurityException se) {
+            throw Exceptions.self.workerThreadGetContextClassloaderFailed( se,
+                Thread.currentThread() ) ;
+        }
+
+        if (workerThreadClassLoader != currentClassLoader) {
+            Exceptions.self.workerThreadForgotClassloaderReset(
+                Thread.currentThread(), currentClassLoader,
+                workerThreadClassLoader ) ;
+        }
+    }
+
+    private class WorkRunner implements Runnable {
+        private final Work work ;
+
+        WorkRunner( Work work ) {
+            this.work = work ;
+        }
+
+        public void run() {
+            try {
+                if (permits != null) {
+                    try {
+                        permits.acquire() ;
+                    } catch (InterruptedException exc) {
+                        workQueue.dequeued( work ) ;
+                        Exceptions.self.workQueueThreadInterrupted( exc,
+                            Thread.currentThread().getName(), closeCalled ) ;
+                        return ;
+                    }
+                }
+
+                try {
+                    workQueue.dequeued( work ) ;
+                    if (!closeCalled) {
+                        performWork() ;
+                    }
+                } finally {
+                    if (permits != null) {
+                        permits.release() ;
+                    }
+                }
+            } catch (Throwable t) {
+                Exceptions.self.workerThreadCaughtUnexpectedThrowable( t,
+                    Thread.currentThread() ) ;
+            } finally {
+                threads.remove( Thread.currentThread() ) ;
+            }
+        }
+
+        private void performWork() {
+            setContextClassLoader( workerThreadClassLoader ) ;
+            runWork( work ) ;
+            checkClassLoader() ;
+        }
+    }
+
+    private void runWork( Work work ) {
+        busyThreads.incrementAndGet() ;
+        long start = System.currentTimeMillis();
+        try {
+            work.doWork();
+        } catch (Throwable t) {
+            Exceptions.self.workerThreadDoWorkThrowable( t,
+                Thread.currentThread() ) ;
+        } finally {
+            busyThreads.decrementAndGet() ;
+            ThreadStateValidator.checkValidators();
+        }
+        long elapsedTime = System.currentTimeMillis() - start;
+        totalTimeTaken.add( elapsedTime );
+        processedCount.increment();
+    }
+
+    /**
+     * The single WorkQueue of a VirtualThreadPoolImpl.  A work item is in
+     * the queue from the time it is added until its thread gets a permit to
+     * run it.
+     */
+    private class VirtualThreadWorkQueue implements WorkQueue {
+        final private AtomicInteger workItemsInQueue = new AtomicInteger(0);
+        final private LongAdder workItemsAdded = new LongAdder();
+        final private LongAdder workItemsDequeued = new LongAdder();
+        final private LongAdder totalTimeInQueue = new LongAdder();
+
+        public void addWork(Work work) {
+            workItemsAdded.increment();
+            work.setEnqueueTime(System.currentTimeMillis());
+            workItemsInQueue.incrementAndGet();
+
+            try {
+                startThread( new WorkRunner( work ) ) ;
+            } catch (Throwable t) {
+                Exceptions.self.workerThreadCreationFailure(t);
+
+                // Unlike ThreadPoolImpl, there is no queue from which another
+                // thread could take the work later, so run it here instead of
+                // dropping it: a request or the completion of an asynchronous
+                // invocation would otherwise never finish.  It does not wait
+                // for a permit, since the caller may be a selector thread.
+                dequeued( work ) ;
+                if (!closeCalled) {
+                    runWork( work ) ;
+                }
+            }
+        }
+
+        void dequeued(Work work) {
+            workItemsInQueue.decrementAndGet();
+            workItemsDequeued.increment();
+            totalTimeInQueue.add(System.currentTimeMillis() - work.getEnqueueTime());
+        }
+
+        public String getName() {
+            return WorkQueueImpl.WORKQUEUE_DEFAULT_NAME;
+        }
+
+        public long totalWorkItemsAdded() {
+            return workItemsAdded.sum();
+        }
+
+        public int workItemsInQueue() {
+            return workItemsInQueue.get();
+        }
+
+        public long averageTimeInQueue() {
+            long dequeued = workItemsDequeued.sum();
+            if (dequeued == 0) {
+                return 0 ;
+            } else {
+                return (totalTimeInQueue.sum()/dequeued);
+            }
+        }
+
+        // This queue always runs its work on the enclosing pool.
+        public void setThreadPool(ThreadPool aThreadPool) {
+        }
+
+        public ThreadPool getThreadPool() {
+            return VirtualThreadPoolImpl.this;
+        }
+    }
+}
+
+// End of file.
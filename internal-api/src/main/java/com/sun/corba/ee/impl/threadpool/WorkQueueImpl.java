@@ -21,7 +21,6 @@ package com.sun.corba.ee.impl.threadpool;
 
 import com.sun.corba.ee.spi.threadpool.ThreadPool;
 import com.sun.corba.ee.spi.threadpool.Work;
-import com.sun.corba.ee.spi.threadpool.WorkQueue;
 
 import java.util.LinkedList;
 import java.util.Queue;
@@ -30,7 +29,7 @@ import org.glassfish.gmbal.Description ;
 import org.glassfish.gmbal.ManagedAttribute ;
 import org.glassfish.gmbal.NameValue ;
 
-public class WorkQueueImpl implements WorkQueue
+public class WorkQueueImpl extends ThreadPoolWorkQueue
 {
     public static final String WORKQUEUE_DEFAULT_NAME = "default-workqueue";
 
@@ -20,6 +20,7 @@
 package com.sun.corba.ee.spi.threadpool;
 
 import com.sun.corba.ee.impl.threadpool.ThreadPoolImpl ;
+import com.sun.corba.ee.impl.threadpool.VirtualThreadPoolImpl ;
 
 public class ThreadPoolFactory {
     /** Create an unbounded thread pool in the current thread group
@@ -67,4 +68,42 @@ public class ThreadPoolFactory {
         return new ThreadPoolImpl( minSize, maxSize, timeout,
             threadpoolName, defaultClassLoader ) ;
     }
+
+    /** Create an unbounded thread pool in the given thread group
+     * with the given ClassLoader as the worker thread default
+     * ClassLoader.  If concurrentWorkQueue is true, the pool's
+     * WorkQueue adds and removes work without taking a lock.
+     */
+    public ThreadPool create(ThreadGroup tg, String threadpoolName,
+        ClassLoader defaultClassLoader, boolean concurrentWorkQueue) {
+        return new ThreadPoolImpl( tg, threadpoolName, defaultClassLoader,
+            concurrentWorkQueue ) ;
+    }
+
+    /** Create a bounded thread pool in the current thread group
+     * with the given ClassLoader as the worker thread default
+     * ClassLoader.  If concurrentWorkQueue is true, the pool's
+     * WorkQueue adds and removes work without taking a lock.
+     */
+    public ThreadPool create( int minSize, int maxSize, long timeout,
+        String threadpoolName, ClassLoader defaultClassLoader,
+        boolean concurrentWorkQueue )
+    {
+        return new ThreadPoolImpl( minSize, maxSize, timeout,
+            threadpoolName, defaultClassLoader, concurrentWorkQueue ) ;
+    }
+
+    /** Create a thread pool that runs each work item on a virtual thread
+     * with the given ClassLoader as the context ClassLoader.  If
+     * maxConcurrency is greater than zero, at most that many work items run
+     * at the same time.
+     *
+     * @throws UnsupportedOperationException if the JDK does not support
+     * virtual threads
+     */
+    public ThreadPool createVirtual( String threadpoolName, int maxConcurrency,
+        ClassLoader defaultClassLoader ) {
+        return new VirtualThreadPoolImpl( threadpoolName, maxConcurrency,
+            defaultClassLoader ) ;
+    }
 }
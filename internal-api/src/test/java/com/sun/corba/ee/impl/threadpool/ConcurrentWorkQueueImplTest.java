@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+package com.sun.corba.ee.impl.threadpool;
+
+import com.sun.corba.ee.spi.threadpool.Work;
+import com.sun.corba.ee.spi.threadpool.WorkQueue;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test ThreadPoolImpl when it is fed by a ConcurrentWorkQueueImpl.
+ */
+public class ConcurrentWorkQueueImplTest {
+    private ThreadPoolImpl createPool(int minSize, int maxSize) {
+        return new ThreadPoolImpl(minSize, maxSize, 2000L, "the-pool",
+            ThreadPoolImpl.getDefaultClassLoader(), true);
+    }
+
+    /**
+     * Test that the pool uses the concurrent work queue when asked to.
+     */
+    @Test
+    public void selectConcurrentWorkQueue() throws IOException {
+        try (ThreadPoolImpl threadPool = createPool(0, 1)) {
+            assertTrue(threadPool.getAnyWorkQueue() instanceof ConcurrentWorkQueueImpl);
+        }
+    }
+
+    /**
+     * Test that two work items can be executed in parallel, and that the
+     * pool ends all but the configured minimum number of threads.
+     */
+    @Test
+    public void executeInParallelAndStop() throws IOException, InterruptedException {
+        try (ThreadPoolImpl threadPool = createPool(1, 2)) {
+            WorkQueue workQueue = threadPool.getAnyWorkQueue();
+
+            WorkImpl first = new WorkImpl();
+            workQueue.addWork(first);
+            WorkImpl second = new WorkImpl();
+            workQueue.addWork(second);
+
+            assertTrue(first.started.await(1, TimeUnit.SECONDS));
+            assertTrue(second.started.await(1, TimeUnit.SECONDS));
+            assertEquals(2, threadPool.workers.size());
+            first.finish.countDown();
+            second.finish.countDown();
+
+            Thread.sleep(5000L);
+
+            assertEquals(1, threadPool.workers.size());
+            assertEquals(1, threadPool.currentNumberOfThreads());
+        }
+    }
+
+    /**
+     * Test that work items wait when the maximum pool size is reached,
+     * and are picked up when a worker becomes free.
+     */
+    @Test
+    public void waitingWorkItem() throws IOException, InterruptedException {
+        try (ThreadPoolImpl threadPool = createPool(0, 1)) {
+            WorkQueue workQueue = threadPool.getAnyWorkQueue();
+
+            WorkImpl first = new WorkImpl();
+            workQueue.addWork(first);
+            WorkImpl second = new WorkImpl();
+            workQueue.addWork(second);
+
+            assertTrue(first.started.await(1, TimeUnit.SECONDS));
+            Thread.sleep(200L);
+            assertEquals(1, second.started.getCount());
+            assertEquals(1, workQueue.workItemsInQueue());
+            first.finish.countDown();
+
+            assertTrue(second.started.await(1, TimeUnit.SECONDS));
+            second.finish.countDown();
+            assertEquals(1, threadPool.currentNumberOfThreads());
+        }
+    }
+
+    /**
+     * Test that an idle worker is reused instead of creating a new thread.
+     */
+    @Test
+    public void idleWorkerIsReused() throws IOException, InterruptedException {
+        try (ThreadPoolImpl threadPool = createPool(0, 10)) {
+            WorkQueue workQueue = threadPool.getAnyWorkQueue();
+
+            for (int i = 0; i < 20; i++) {
+                WorkImpl work = new WorkImpl();
+                work.finish.countDown();
+                workQueue.addWork(work);
+                assertTrue(work.started.await(1, TimeUnit.SECONDS));
+                waitForAvailableThreads(threadPool, 1);
+            }
+
+            assertEquals(1, threadPool.currentNumberOfThreads());
+        }
+    }
+
+    /**
+     * Test that many work items added from several threads are all executed,
+     * and are counted by the statistics.
+     */
+    @Test
+    public void executeManyAndCount() throws IOException, InterruptedException {
+        try (ThreadPoolImpl threadPool = createPool(0, 4)) {
+            final WorkQueue workQueue = threadPool.getAnyWorkQueue();
+            final int itemsPerThread = 2500;
+            final CountDownLatch done = new CountDownLatch(4 * itemsPerThread);
+
+            Thread[] producers = new Thread[4];
+            for (int i = 0; i < producers.length; i++) {
+                producers[i] = new Thread() {
+                    public void run() {
+                        for (int j = 0; j < itemsPerThread; j++) {
+                            workQueue.addWork(new CountingWork(done));
+                        }
+                    }
+                };
+                producers[i].start();
+            }
+            for (Thread producer : producers) {
+                producer.join();
+            }
+
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertEquals(4 * itemsPerThread, workQueue.totalWorkItemsAdded());
+            assertEquals(0, workQueue.workItemsInQueue());
+            assertTrue(threadPool.currentNumberOfThreads() <= 4);
+        }
+    }
+
+    private void waitForAvailableThreads(ThreadPoolImpl threadPool, int count)
+        throws InterruptedException {
+        for (int i = 0; i < 100 && threadPool.numberOfAvailableThreads() < count; i++) {
+            Thread.sleep(10L);
+        }
+    }
+
+    private static class CountingWork implements Work {
+        private final CountDownLatch done;
+        private long enqueueTime;
+
+        CountingWork(CountDownLatch done) {
+            this.done = done;
+        }
+
+        @Override
+        public void doWork() {
+            done.countDown();
+        }
+
+        @Override
+        public void setEnqueueTime(long timeInMillis) {
+            enqueueTime = timeInMillis;
+        }
+
+        @Override
+        public long getEnqueueTime() {
+            return enqueueTime;
+        }
+
+        @Override
+        public String getName() {
+            return "counting";
+        }
+    }
+
+    /**
+     * A test work item whose behavior can be controlled externally.
+     */
+    private static class WorkImpl implements Work {
+        /** triggered by the work item once the work has started */
+        CountDownLatch started = new CountDownLatch(1);
+        /** triggered by the test to let the execution continue */
+        CountDownLatch finish = new CountDownLatch(1);
+
+        @Override
+        public void doWork() {
+            started.countDown();
+
+            try {
+                finish.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException("unexpected interruption", e);
+            }
+        }
+
+        @Override
+        public void setEnqueueTime(long timeInMillis) {
+        }
+
+        @Override
+        public long getEnqueueTime() {
+            return 0;
+        }
+
+        @Override
+        public String getName() {
+            return "the-name";
+        }
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+package com.sun.corba.ee.impl.threadpool;
+
+import com.sun.corba.ee.spi.threadpool.NoSuchWorkQueueException;
+import com.sun.corba.ee.spi.threadpool.ThreadPool;
+import com.sun.corba.ee.spi.threadpool.ThreadPoolChooser;
+import com.sun.corba.ee.spi.threadpool.Work;
+import com.sun.corba.ee.spi.threadpool.WorkQueue;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test VirtualThreadPoolImpl.  The tests use platform threads from a
+ * ThreadFactory, so that they also run on JDKs without virtual threads.
+ */
+public class VirtualThreadPoolImplTest {
+    private static final ThreadFactory PLATFORM_THREADS = new ThreadFactory() {
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r);
+            thread.setDaemon(true);
+            return thread;
+        }
+    };
+
+    private final ClassLoader workerClassLoader = new URLClassLoader(new URL[0]);
+
+    private VirtualThreadPoolImpl createPool(int maxConcurrency) {
+        return new VirtualThreadPoolImpl("the-pool", maxConcurrency,
+            workerClassLoader, PLATFORM_THREADS);
+    }
+
+    /**
+     * Test that work items run in parallel when there is no limit, and that
+     * the context ClassLoader is set for them.
+     */
+    @Test
+    public void executeInParallel() throws InterruptedException {
+        VirtualThreadPoolImpl threadPool = createPool(0);
+        try {
+            WorkQueue workQueue = threadPool.getAnyWorkQueue();
+            WorkImpl[] work = new WorkImpl[10];
+            for (int i = 0; i < work.length; i++) {
+                work[i] = new WorkImpl();
+                workQueue.addWork(work[i]);
+            }
+
+            for (WorkImpl item : work) {
+                assertTrue(item.started.await(1, TimeUnit.SECONDS));
+                assertSame(workerClassLoader, item.contextClassLoader);
+            }
+            assertEquals(10, threadPool.numberOfBusyThreads());
+            assertEquals(0, workQueue.workItemsInQueue());
+            assertEquals(Integer.MAX_VALUE, threadPool.maximumNumberOfThreads());
+
+            for (WorkImpl item : work) {
+                item.finish.countDown();
+            }
+        } finally {
+            threadPool.close();
+        }
+    }
+
+    /**
+     * Test that work items wait for a permit when the concurrency limit is
+     * reached, and that they are counted as queued while waiting.
+     */
+    @Test
+    public void limitConcurrency() throws InterruptedException {
+        VirtualThreadPoolImpl threadPool = createPool(1);
+        try {
+            WorkQueue workQueue = threadPool.getAnyWorkQueue();
+            WorkImpl first = new WorkImpl();
+            workQueue.addWork(first);
+            WorkImpl second = new WorkImpl();
+            workQueue.addWork(second);
+
+            assertTrue(first.started.await(1, TimeUnit.SECONDS));
+            Thread.sleep(200L);
+            assertEquals(1, second.started.getCount());
+            assertEquals(1, workQueue.workItemsInQueue());
+            assertEquals(1, threadPool.numberOfBusyThreads());
+            assertEquals(1, threadPool.maximumNumberOfThreads());
+
+            first.finish.countDown();
+            assertTrue(second.started.await(1, TimeUnit.SECONDS));
+            second.finish.countDown();
+        } finally {
+            threadPool.close();
+        }
+    }
+
+    /**
+     * Test that the statistics count the work items.
+     */
+    @Test
+    public void countWork() throws InterruptedException {
+        VirtualThreadPoolImpl threadPool = createPool(2);
+        try {
+            WorkQueue workQueue = threadPool.getAnyWorkQueue();
+            for (int i = 0; i < 5; i++) {
+                WorkImpl work = new WorkImpl();
+                work.finish.countDown();
+                workQueue.addWork(work);
+            }
+
+            for (int i = 0; i < 100 && threadPool.currentProcessedCount() < 5; i++) {
+                Thread.sleep(10L);
+            }
+            assertEquals(5, threadPool.currentProcessedCount());
+            assertEquals(5, workQueue.totalWorkItemsAdded());
+            assertEquals(0, workQueue.workItemsInQueue());
+            assertSame(threadPool, workQueue.getThreadPool());
+        } finally {
+            threadPool.close();
+        }
+    }
+
+    /**
+     * Test that close interrupts and waits for running work.
+     */
+    @Test
+    public void closeEndsThreads() throws InterruptedException {
+        VirtualThreadPoolImpl threadPool = createPool(0);
+        WorkImpl work = new WorkImpl();
+        threadPool.getAnyWorkQueue().addWork(work);
+        assertTrue(work.started.await(1, TimeUnit.SECONDS));
+
+        threadPool.close();
+
+        assertTrue(work.interrupted);
+        assertEquals(0, threadPool.currentNumberOfThreads());
+    }
+
+    /**
+     * Test that work is run on the calling thread when no thread can be
+     * started for it, instead of being lost.
+     */
+    @Test
+    public void whenThreadCannotBeStarted_runWorkOnCallingThread() {
+        VirtualThreadPoolImpl threadPool = new VirtualThreadPoolImpl("the-pool", 1,
+            workerClassLoader, new ThreadFactory() {
+                public Thread newThread(Runnable r) {
+                    throw new OutOfMemoryError("unable to create native thread");
+                }
+            });
+        try {
+            WorkQueue workQueue = threadPool.getAnyWorkQueue();
+            WorkImpl work = new WorkImpl();
+            work.finish.countDown();
+            workQueue.addWork(work);
+
+            assertEquals(0, work.started.getCount());
+            assertSame(Thread.currentThread(), work.thread);
+            assertEquals(1, threadPool.currentProcessedCount());
+            assertEquals(0, workQueue.workItemsInQueue());
+            assertEquals(0, threadPool.currentNumberOfThreads());
+        } finally {
+            threadPool.close();
+        }
+    }
+
+    @Test(expected = NoSuchWorkQueueException.class)
+    public void onlyQueueZeroExists() throws NoSuchWorkQueueException {
+        createPool(0).getWorkQueue(1);
+    }
+
+    /**
+     * Test that the ThreadPoolManager uses the virtual thread pool when the
+     * JDK supports it, and the default pool otherwise.
+     */
+    @Test
+    public void managerSelectsVirtualThreadPool() {
+        ThreadPoolManagerImpl manager = new ThreadPoolManagerImpl(
+            ThreadPoolManagerImpl.THREADPOOL_TYPE_VIRTUAL, 4);
+        try {
+            ThreadPool threadPool = manager.getDefaultThreadPool();
+            if (VirtualThreadPoolImpl.isSupported()) {
+                assertTrue(threadPool instanceof VirtualThreadPoolImpl);
+                assertEquals(4, threadPool.maximumNumberOfThreads());
+            } else {
+                assertTrue(threadPool instanceof ThreadPoolImpl);
+            }
+        } finally {
+            manager.close();
+        }
+    }
+
+    /**
+     * Test that ThreadPoolChoosers can be registered with the
+     * ThreadPoolManager and found by name or by number.
+     */
+    @Test
+    public void managerKeepsThreadPoolChoosers() {
+        ThreadPoolManagerImpl manager = new ThreadPoolManagerImpl();
+        try {
+            ThreadPoolChooser first = new ChooserImpl(createPool(0));
+            ThreadPoolChooser second = new ChooserImpl(createPool(1));
+            manager.setThreadPoolChooser("first", first);
+            manager.setThreadPoolChooser("second", second);
+
+            int id = manager.getThreadPoolChooserNumericId("second");
+            assertSame(second, manager.getThreadPoolChooser(id));
+            assertSame(first, manager.getThreadPoolChooser("first"));
+            assertNull(manager.getThreadPoolChooser("third"));
+            assertNull(manager.getThreadPoolChooser(5));
+        } finally {
+            manager.close();
+        }
+    }
+
+    private static class ChooserImpl implements ThreadPoolChooser {
+        private final ThreadPool threadPool;
+
+        ChooserImpl(ThreadPool threadPool) {
+            this.threadPool = threadPool;
+        }
+
+        @Override
+        public ThreadPool getThreadPool() {
+            return threadPool;
+        }
+
+        @Override
+        public ThreadPool getThreadPool(int id) {
+            return threadPool;
+        }
+
+        @Override
+        public String[] getThreadPoolIds() {
+            return new String[] { threadPool.getName() };
+        }
+    }
+
+    /**
+     * A test work item whose behavior can be controlled externally.
+     */
+    private static class WorkImpl implements Work {
+        /** triggered by the work item once the work has started */
+        CountDownLatch started = new CountDownLatch(1);
+        /** triggered by the test to let the execution continue */
+        CountDownLatch finish = new CountDownLatch(1);
+        volatile ClassLoader contextClassLoader;
+        volatile Thread thread;
+        volatile boolean interrupted;
+        private long enqueueTime;
+
+        @Override
+        public void doWork() {
+            contextClassLoader = Thread.currentThread().getContextClassLoader();
+            thread = Thread.currentThread();
+            started.countDown();
+
+            try {
+                finish.await();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        @Override
+        public void setEnqueueTime(long timeInMillis) {
+            enqueueTime = timeInMillis;
+        }
+
+        @Override
+        public long getEnqueueTime() {
+            return enqueueTime;
+        }
+
+        @Override
+        public String getName() {
+            return "the-name";
+        }
+    }
+}
@@ -36,6 +36,7 @@ public class BufferManagerFactory {
 
     public static final int GROW    = 0;
     public static final int STREAM  = 2;
+    public static final int SEGMENT = 3;
 
     // The next two methods allow creation of BufferManagers based on GIOP version.
     // We may want more criteria to be involved in this decision.
@@ -84,6 +85,8 @@ public class BufferManagerFactory {
                 return new BufferManagerWriteGrow(orb);
             case BufferManagerFactory.STREAM:
                 return new BufferManagerWriteStream(orb);
+            case BufferManagerFactory.SEGMENT:
+                return new BufferManagerWriteSegmented(orb);
             default:
                 throw new INTERNAL("Unknown buffer manager write strategy: " + strategy);
         }
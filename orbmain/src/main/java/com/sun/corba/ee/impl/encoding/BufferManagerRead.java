@@ -88,6 +88,15 @@ public interface BufferManagerRead
      */
     public void cancelProcessing(int requestId);
 
+    /**
+     * Keeps the given buffer, which the stream is currently reading, from being
+     * returned to the pool before this buffer manager is closed, so that views
+     * of its contents handed out by the stream remain valid until then.
+     * @param byteBuffer the stream's current buffer
+     * @return true if the buffer will be kept, false if the caller must copy its contents instead
+     */
+    public boolean retainUntilClose(ByteBuffer byteBuffer);
+
     /**
      * Close BufferManagerRead and perform any outstanding cleanup.
      * @param byteBuffer buffer to return to the pool
@@ -54,6 +54,12 @@ public class BufferManagerReadGrow
     @Override
     public void cancelProcessing(int requestId) {}
 
+    // The stream's only buffer is released when the stream is closed.
+    @Override
+    public boolean retainUntilClose(ByteBuffer byteBuffer) {
+        return true;
+    }
+
     // Mark and reset handler -------------------------
 
     private Object streamMemento;
@@ -29,7 +29,9 @@ import com.sun.corba.ee.spi.trace.Transport;
 import com.sun.corba.ee.spi.transport.ByteBufferPool;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.glassfish.pfl.tf.spi.annotation.InfoMethod;
@@ -46,6 +48,9 @@ public class BufferManagerReadStream
     // We should convert endOfStream to a final static dummy end node
     private boolean endOfStream = true;
     private final BufferQueue fragmentQueue = new BufferQueue();
+    // Fragments which must not be released until this buffer manager is
+    // closed, because the stream has handed out views of their contents.
+    private final List<ByteBuffer> retainedFragments = new ArrayList<ByteBuffer>();
     // REVISIT - This should go in BufferManagerRead. But, since
     //           BufferManagerRead is an interface. BufferManagerRead
     //           might ought to be an abstract class instead of an
@@ -139,7 +144,7 @@ public class BufferManagerReadStream
             // VERY IMPORTANT
             // Release byteBuffer to the ByteBufferPool only if
             // this BufferManagerStream is not marked for potential restore.
-            if (!markEngaged && byteBuffer != null) {
+            if (!markEngaged && byteBuffer != null && !isRetained(byteBuffer)) {
                 getByteBufferPool().releaseByteBuffer(byteBuffer);
             }
         }
@@ -151,6 +156,29 @@ public class BufferManagerReadStream
         return true;
     }
 
+    // While a mark is engaged, fragments may be released through the fragment
+    // stack instead, so they are not retained here.
+    @Override
+    public boolean retainUntilClose(ByteBuffer byteBuffer) {
+        if (markEngaged) {
+            return false;
+        }
+
+        if (!isRetained(byteBuffer)) {
+            retainedFragments.add(byteBuffer);
+        }
+        return true;
+    }
+
+    private boolean isRetained(ByteBuffer byteBuffer) {
+        for (ByteBuffer aBuffer : retainedFragments) {
+            if (aBuffer == byteBuffer) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public void init(Message msg) {
         if (msg != null) {
@@ -189,6 +217,15 @@ public class BufferManagerReadStream
         }
         fragmentQueue.clear();
 
+        // release ByteBuffers kept for views handed out by the stream,
+        // other than the stream's own, which it releases itself
+        for (ByteBuffer aBuffer : retainedFragments) {
+            if (aBuffer != byteBuffer) {
+                byteBufferPool.releaseByteBuffer(aBuffer);
+            }
+        }
+        retainedFragments.clear();
+
         // release ByteBuffers on fragmentStack
         if (fragmentStack != null && !fragmentStack.isEmpty()) {
             // IMPORTANT: The fragment stack may have one ByteBuffer
@@ -76,6 +76,18 @@ public abstract class BufferManagerWrite
      */
     public abstract boolean isFragmentOnOverflow();
 
+    /**
+     * Returns a single buffer holding everything written so far, for callers
+     * which need the whole message in one place.  Buffer managers which keep
+     * earlier parts of the message elsewhere copy them into a new buffer,
+     * positioned after the last byte written.
+     * @param current the buffer the stream is currently writing into
+     * @return a buffer holding the entire message
+     */
+    ByteBuffer flatten(ByteBuffer current) {
+        return current;
+    }
+
     /**
      * Called after Stub._invoke (i.e., before complete message has been sent).
      *
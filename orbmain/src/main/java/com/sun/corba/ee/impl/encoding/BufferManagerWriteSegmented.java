@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.impl.encoding;
+
+import com.sun.corba.ee.spi.orb.ORB;
+import com.sun.corba.ee.spi.transport.ByteBufferPool;
+import com.sun.corba.ee.spi.transport.Connection;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A BufferManagerWrite which, like BufferManagerWriteGrow, sends each message
+ * unfragmented, but which never copies the data already written.  When the
+ * stream runs out of room, the full buffer is kept as a segment of the message
+ * and writing continues in a new pooled buffer.  The message size is patched
+ * into the header in the first segment once the message is complete, and all
+ * of the segments are then handed to the connection in a single gathering write.
+ *
+ * Large octet buffers written to the stream may be added to the message as
+ * segments of their own, so that they are not copied either.  Such segments
+ * belong to the caller, and are never released to the pool.
+ *
+ * Callers which need the message in a single buffer, such as a colocated
+ * invocation or the message trace manager, get a copy made by {@link #flatten}.
+ */
+public class BufferManagerWriteSegmented extends BufferManagerWrite implements SplicingBufferManager
+{
+    // The completed segments of the message, each positioned at the start
+    // of its data and limited to its end.
+    private List<ByteBuffer> segments = new ArrayList<ByteBuffer>();
+
+    // The segments which were spliced in from callers' buffers.
+    private List<ByteBuffer> splicedSegments = new ArrayList<ByteBuffer>();
+
+    // The buffer currently being written, and the position in it at which
+    // its part of the message starts.
+    private ByteBuffer current;
+    private int currentStart;
+
+    BufferManagerWriteSegmented( ORB orb )
+    {
+        super(orb) ;
+    }
+
+    public boolean sentFragment() {
+        return false;
+    }
+
+    /**
+     * Returns the correct buffer size for this type of
+     * buffer manager as set in the ORB.
+     */
+    public int getBufferSize() {
+        return orb.getORBData().getGIOPBufferSize();
+    }
+
+    @Override
+    protected ByteBuffer overflow(ByteBuffer byteBuffer, int numBytesNeeded) {
+        int end = byteBuffer.position();
+        endSegment(byteBuffer);
+        return startSegment(end, numBytesNeeded);
+    }
+
+    @Override
+    public ByteBuffer splice(ByteBuffer byteBuffer, ByteBuffer data) {
+        int end = byteBuffer.position() + data.remaining();
+        endSegment(byteBuffer);
+
+        ByteBuffer segment = data.slice();
+        segments.add(segment);
+        splicedSegments.add(segment);
+        data.position(data.limit());
+
+        return startSegment(end, 0);
+    }
+
+    // Adds the part of the buffer written so far to the completed segments.
+    private void endSegment(ByteBuffer byteBuffer) {
+        byteBuffer.limit(byteBuffer.position());
+        byteBuffer.position(byteBuffer == current ? currentStart : 0);
+        segments.add(byteBuffer);
+    }
+
+    // Starts the new segment at the same position modulo 8 as the end of the
+    // message so far, so that alignment computed from the buffer position
+    // remains correct relative to the start of the message.
+    private ByteBuffer startSegment(int end, int numBytesNeeded) {
+        int start = end % 8;
+        int newLength = Math.max(getBufferSize(), start + numBytesNeeded);
+        current = orb.getByteBufferPool().getByteBuffer(newLength);
+        current.position(start);
+        currentStart = start;
+        return current;
+    }
+
+    /**
+     * Returns true, so that the stream keeps its offsets and chunks
+     * consistent across segments just as it does across fragments.
+     */
+    @Override
+    public boolean isFragmentOnOverflow() {
+        return true;
+    }
+
+    @Override
+    ByteBuffer flatten(ByteBuffer byteBuffer) {
+        if (segments.isEmpty()) {
+            return byteBuffer;
+        }
+
+        int size = byteBuffer.position() - currentStart;
+        for (ByteBuffer segment : segments) {
+            size += segment.remaining();
+        }
+
+        ByteBufferPool byteBufferPool = orb.getByteBufferPool();
+        ByteBuffer result = byteBufferPool.getByteBuffer(Math.max(size, getBufferSize()));
+        for (ByteBuffer segment : segments) {
+            result.put(segment);
+        }
+        releaseSegments();
+
+        byteBuffer.limit(byteBuffer.position());
+        byteBuffer.position(currentStart);
+        result.put(byteBuffer);
+        byteBufferPool.releaseByteBuffer(byteBuffer);
+
+        current = null;
+        currentStart = 0;
+        return result;
+    }
+
+    public void sendMessage () {
+        CDROutputObject output = (CDROutputObject)outputObject;
+        Connection conn = output.getMessageMediator().getConnection();
+
+        conn.writeLock();
+
+        try {
+            if (segments.isEmpty() || isTracingMessages()) {
+                conn.sendWithoutLock(output);
+            } else {
+                conn.sendWithoutLock(finishSegments(output));
+            }
+
+            sentFullMessage = true;
+
+        } finally {
+
+            conn.writeUnlock();
+            releaseSegments();
+        }
+    }
+
+    // Patches the message size into the header and returns the segments,
+    // followed by the unfinished part of the current buffer, ready to write.
+    // The current buffer itself is left for the stream to release.
+    private ByteBuffer[] finishSegments(CDROutputObject output) {
+        int size = current.position() - currentStart;
+        for (ByteBuffer segment : segments) {
+            size += segment.remaining();
+        }
+        output.getMessageHeader().setSize(segments.get(0), size);
+
+        ByteBuffer[] result = segments.toArray(new ByteBuffer[segments.size() + 1]);
+        current.limit(current.position());
+        current.position(currentStart);
+        result[segments.size()] = current;
+        return result;
+    }
+
+    private boolean isTracingMessages() {
+        return orb.getTransportManager().getMessageTraceManager().isEnabled();
+    }
+
+    private void releaseSegments() {
+        for (ByteBuffer segment : segments) {
+            if (!isSpliced(segment)) {
+                orb.getByteBufferPool().releaseByteBuffer(segment);
+            }
+        }
+        segments.clear();
+        splicedSegments.clear();
+    }
+
+    private boolean isSpliced(ByteBuffer segment) {
+        for (ByteBuffer spliced : splicedSegments) {
+            if (spliced == segment) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Close the BufferManagerWrite and do any outstanding cleanup.
+     *
+     * Releases any segments of a message which was never sent.
+     */
+    public void close() {
+        releaseSegments();
+    }
+
+}
+
+// End of file.
@@ -28,7 +28,9 @@ import com.sun.corba.ee.spi.transport.Connection;
 import com.sun.corba.ee.spi.transport.ContactInfoListIterator;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.EmptyStackException;
+import java.util.List;
 
 import org.glassfish.pfl.basic.reflection.Bridge;
 import org.omg.CORBA.SystemException;
@@ -36,11 +38,18 @@ import org.omg.CORBA.portable.RemarshalException;
 
 /**
  * Streaming buffer manager.
+ *
+ * When the ORB allows more than one fragment per write, completed
+ * fragments are kept until that many are ready, and are then sent
+ * together in a single gathering write.
  */
 public class BufferManagerWriteStream extends BufferManagerWrite
 {
     private int fragmentCount = 0;
 
+    // Completed fragments that have not been sent yet.
+    private final List<ByteBuffer> pendingFragments = new ArrayList<ByteBuffer>();
+
     BufferManagerWriteStream( ORB orb )
     {
         super(orb) ;
@@ -58,12 +67,32 @@ public class BufferManagerWriteStream extends BufferManagerWrite
         return orb.getORBData().getGIOPFragmentSize();
     }
 
+    private int getFragmentsPerWrite() {
+        return orb.getORBData().getGIOPFragmentsPerWrite();
+    }
+
     protected ByteBuffer overflow(ByteBuffer byteBuffer, int numBytesNeeded) {
         // Set the fragment's moreFragments field to true
         MessageBase.setFlag(byteBuffer, Message.MORE_FRAGMENTS_BIT);
 
+        boolean batching = getFragmentsPerWrite() > 1;
         try {
-            sendFragment(false);
+            if (batching) {
+                pendingFragments.add(((CDROutputObject)outputObject).finishMessage());
+
+                // The old buffer is waiting to be sent, so continue in a new
+                // one.  This is done before sending, so that if the send
+                // fails, the stream does not release the old buffer again
+                // when it is closed.
+                byteBuffer = orb.getByteBufferPool().getByteBuffer(getBufferSize());
+                ((CDROutputObject)outputObject).setByteBuffer(byteBuffer);
+
+                if (pendingFragments.size() >= getFragmentsPerWrite()) {
+                    sendPendingFragments(false);
+                }
+            } else {
+                sendFragment(false);
+            }
         } catch (SystemException se) {
             // REVISIT: this part similar to
             // CorbaClientRequestDispatchImpl.beginRequest()
@@ -89,13 +118,13 @@ public class BufferManagerWriteStream extends BufferManagerWrite
             }
         }
 
-        // Reuse the old buffer
+        // Reuse the old buffer, unless it is waiting to be sent
 
         // REVISIT - need to account for case when needed > available
         // even after fragmenting.  This is the large array case, so
         // the caller should retry when it runs out of space.
         byteBuffer.position(0);
-        byteBuffer.limit(byteBuffer.capacity());
+        byteBuffer.limit(getBufferSize());
 
         // Now we must marshal in the fragment header/GIOP header
 
@@ -134,10 +163,42 @@ public class BufferManagerWriteStream extends BufferManagerWrite
 
     }
 
+    // Sends the pending fragments with a single write.  If lastIsCurrent
+    // is true, the last pending fragment is the stream's own buffer, which
+    // the stream releases when it is closed.
+    private void sendPendingFragments(boolean lastIsCurrent)
+    {
+        Connection conn = ((CDROutputObject)outputObject).getMessageMediator().getConnection();
+        ByteBuffer[] fragments = pendingFragments.toArray(new ByteBuffer[pendingFragments.size()]);
+        pendingFragments.clear();
+
+        conn.writeLock();
+
+        try {
+            conn.sendWithoutLock(fragments);
+
+            fragmentCount += fragments.length;
+
+        } finally {
+
+            conn.writeUnlock();
+
+            int numToRelease = lastIsCurrent ? fragments.length - 1 : fragments.length;
+            for (int i = 0; i < numToRelease; i++) {
+                orb.getByteBufferPool().releaseByteBuffer(fragments[i]);
+            }
+        }
+    }
+
     // Sends the last fragment
     public void sendMessage ()
     {
-        sendFragment(true);
+        if (pendingFragments.isEmpty()) {
+            sendFragment(true);
+        } else {
+            pendingFragments.add(((CDROutputObject)outputObject).finishMessage());
+            sendPendingFragments(true);
+        }
 
         sentFullMessage = true;
     }
@@ -145,9 +206,15 @@ public class BufferManagerWriteStream extends BufferManagerWrite
     /**
      * Close the BufferManagerWrite and do any outstanding cleanup.
      *
-     * No work to do for a BufferManagerWriteStream
+     * Releases any fragments that were never sent, as happens when
+     * a request is remarshaled.
      */
-    public void close(){};
+    public void close() {
+        for (ByteBuffer fragment : pendingFragments) {
+            orb.getByteBufferPool().releaseByteBuffer(fragment);
+        }
+        pendingFragments.clear();
+    }
 
     /**
      * Get CorbaContactInfoListIterator
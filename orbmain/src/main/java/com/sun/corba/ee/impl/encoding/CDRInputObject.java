@@ -287,6 +287,14 @@ public class CDRInputObject
         }
     }
 
+    RepositoryIdDictionary getRepositoryIdDictionary() {
+        if (getConnection() == null) {
+            return null;
+        } else {
+            return getConnection().getRepositoryIdDictionary();
+        }
+    }
+
     public CDRInputObject dup() {
         return null;
     }
@@ -387,6 +395,11 @@ public class CDRInputObject
         impl.read_octet_array(value, offset, length);
     }
 
+    @MonitorRead
+    public final ByteBuffer read_octet_buffer(int length) {
+        return impl.read_octet_buffer(length);
+    }
+
     @MonitorRead
     public final void read_short_array(short[] value, int offset, int length) {
         impl.read_short_array(value, offset, length);
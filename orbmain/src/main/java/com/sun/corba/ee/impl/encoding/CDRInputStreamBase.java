@@ -67,6 +67,7 @@ abstract class CDRInputStreamBase extends java.io.InputStream
     public abstract void read_char_array(char[] value, int offset, int length);
     public abstract void read_wchar_array(char[] value, int offset, int length);
     public abstract void read_octet_array(byte[] value, int offset, int length);
+    public abstract ByteBuffer read_octet_buffer(int length);
     public abstract void read_short_array(short[] value, int offset, int length);
     public abstract void read_ushort_array(short[] value, int offset, int length);
     public abstract void read_long_array(int[] value, int offset, int length);
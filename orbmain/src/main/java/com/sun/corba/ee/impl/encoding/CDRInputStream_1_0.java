@@ -59,6 +59,7 @@ import java.math.BigDecimal;
 import java.net.MalformedURLException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.charset.Charset;
 import java.rmi.server.RMIClassLoader;
 import java.security.AccessController;
 import java.security.PrivilegedActionException;
@@ -453,6 +454,16 @@ public class CDRInputStream_1_0 extends CDRInputStreamBase
             return newEmptyString();
         }
 
+        Charset charset = getCharConverter().getDirectCharset();
+        if (charset != null) {
+            String result = getDirectString(len - 1, getCharConverter(), charset);
+
+            // Skip over the 1 byte null
+            read_octet();
+
+            return result;
+        }
+
         char[] result = getConvertedChars(len - 1, getCharConverter());
 
         // Skip over the 1 byte null
@@ -461,6 +472,32 @@ public class CDRInputStream_1_0 extends CDRInputStreamBase
         return new String(result, 0, getCharConverter().getNumChars());
     }
 
+    // Creates a string straight from the bytes of a native code set,
+    // without going through a CharsetDecoder and an intermediate char[].
+    // Bytes which the converter will not take as they are go through it
+    // after all, so that malformed input is reported as before.
+    private String getDirectString(int numBytes, CodeSetConversion.BTCConverter converter,
+                                   Charset charset) {
+        byte[] bytes;
+        int offset;
+        if (byteBuffer.hasArray() && byteBuffer.remaining() >= numBytes) {
+            int pos = byteBuffer.position();
+            byteBuffer.position(pos + numBytes);
+            bytes = byteBuffer.array();
+            offset = byteBuffer.arrayOffset() + pos;
+        } else {
+            bytes = CodeSetConversion.impl().getScratchBytes(numBytes);
+            offset = 0;
+            read_octet_array(bytes, 0, numBytes);
+        }
+
+        if (converter.canDecodeDirectly(bytes, offset, numBytes))
+            return new String(bytes, offset, numBytes, charset);
+
+        char[] chars = converter.getChars(bytes, offset, numBytes);
+        return new String(chars, 0, converter.getNumChars());
+    }
+
     public final String read_string() {
         return readStringOrIndirection(false);
     }
@@ -520,6 +557,31 @@ public class CDRInputStream_1_0 extends CDRInputStreamBase
         }
     }
 
+    // Returns a view of the octets when they lie in the current buffer and the
+    // buffer manager can keep that buffer until the stream is closed; otherwise
+    // the octets are copied, as they are when they span fragments.
+    @CdrRead
+    public ByteBuffer read_octet_buffer(int length) {
+        checkForNegativeLength(length);
+
+        if (length == 0) {
+            return ByteBuffer.allocate(0).asReadOnlyBuffer();
+        }
+
+        alignAndCheck(1, 1);
+
+        if (byteBuffer.remaining() >= length && bufferManagerRead.retainUntilClose(byteBuffer)) {
+            ByteBuffer result = byteBuffer.slice();
+            result.limit(length);
+            byteBuffer.position(byteBuffer.position() + length);
+            return result.asReadOnlyBuffer();
+        }
+
+        byte[] bytes = new byte[length];
+        read_octet_array(bytes, 0, length);
+        return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+
     @SuppressWarnings({"deprecation"})
     public org.omg.CORBA.Principal read_Principal() {
         int len = read_long();
@@ -1609,9 +1671,26 @@ public class CDRInputStream_1_0 extends CDRInputStreamBase
         }
     }
 
+    // Checks that at least the next element of a primitive array is available, and returns how many
+    // of the remaining elements may be copied in bulk through a view of the buffer: those in the
+    // current fragment which do not run past the end of the current chunk. The next call then moves
+    // on to the next fragment or chunk just as reading a single element would.
+    private int checkArraySegment(int elementSize, int remaining) {
+        alignAndCheck(elementSize, elementSize);
+        int count = Math.min(remaining, byteBuffer.remaining() / elementSize);
+        if (isChunked && blockLength != MAX_BLOCK_LENGTH) {
+            count = Math.min(count, (blockLength - get_offset()) / elementSize);
+        }
+
+        return Math.max(1, count);
+    }
+
     public final void read_short_array(short[] value, int offset, int length) {
-        for(int i=0; i < length; i++) {
-            value[i+offset] = read_short();
+        for(int i=0; i < length; ) {
+            int count = checkArraySegment(2, length - i);
+            byteBuffer.asShortBuffer().get(value, offset + i, count);
+            byteBuffer.position(byteBuffer.position() + count * 2);
+            i += count;
         }
     }
 
@@ -1620,8 +1699,11 @@ public class CDRInputStream_1_0 extends CDRInputStreamBase
     }
 
     public final void read_long_array(int[] value, int offset, int length) {
-        for(int i=0; i < length; i++) {
-            value[i+offset] = read_long();
+        for(int i=0; i < length; ) {
+            int count = checkArraySegment(4, length - i);
+            byteBuffer.asIntBuffer().get(value, offset + i, count);
+            byteBuffer.position(byteBuffer.position() + count * 4);
+            i += count;
         }
     }
 
@@ -1630,8 +1712,11 @@ public class CDRInputStream_1_0 extends CDRInputStreamBase
     }
 
     public final void read_longlong_array(long[] value, int offset, int length) {
-        for(int i=0; i < length; i++) {
-            value[i+offset] = read_longlong();
+        for(int i=0; i < length; ) {
+            int count = checkArraySegment(8, length - i);
+            byteBuffer.asLongBuffer().get(value, offset + i, count);
+            byteBuffer.position(byteBuffer.position() + count * 8);
+            i += count;
         }
     }
 
@@ -1640,14 +1725,20 @@ public class CDRInputStream_1_0 extends CDRInputStreamBase
     }
 
     public final void read_float_array(float[] value, int offset, int length) {
-        for(int i=0; i < length; i++) {
-            value[i+offset] = read_float();
+        for(int i=0; i < length; ) {
+            int count = checkArraySegment(4, length - i);
+            byteBuffer.asFloatBuffer().get(value, offset + i, count);
+            byteBuffer.position(byteBuffer.position() + count * 4);
+            i += count;
         }
     }
 
     public final void read_double_array(double[] value, int offset, int length) {
-        for(int i=0; i < length; i++) {
-            value[i+offset] = read_double();
+        for(int i=0; i < length; ) {
+            int count = checkArraySegment(8, length - i);
+            byteBuffer.asDoubleBuffer().get(value, offset + i, count);
+            byteBuffer.position(byteBuffer.position() + count * 8);
+            i += count;
         }
     }
 
@@ -1697,10 +1788,11 @@ public class CDRInputStream_1_0 extends CDRInputStreamBase
     private String read_repositoryId() {
         String result = readStringOrIndirection(true);
         if (result == null) { // Indirection
-            int indirection = read_long() + get_offset() - 4;
-
-            if (repositoryIdCache != null) {
-                result = repositoryIdCache.getKey(indirection);
+            int offset = read_long();
+            if (offset >= 0) {
+                result = readDictionaryEntry(offset);
+            } else if (repositoryIdCache != null) {
+                result = repositoryIdCache.getKey(offset + get_offset() - 4);
             }
         } else {
             if (repositoryIdCache == null) {
@@ -1716,14 +1808,22 @@ public class CDRInputStream_1_0 extends CDRInputStreamBase
         throw wrapper.badRepIdIndirection(byteBuffer.position()) ;                              // todo test this case
     }
 
+    // A non-negative offset after an indirection tag is an index into the
+    // dictionary of the connection, rather than a position in this stream.
+    private String readDictionaryEntry(int index) {
+        RepositoryIdDictionary dictionary = parent == null ? null : parent.getRepositoryIdDictionary();
+        return dictionary == null ? null : dictionary.getString(index);
+    }
+
     @CdrRead
     private String read_codebase_URL() {
         String result = readStringOrIndirection(true);
         if (result == null) { // Indirection
-            int indirection = read_long() + get_offset() - 4;
-
-            if (codebaseCache != null) {
-                result = codebaseCache.getKey(indirection) ;
+            int offset = read_long();
+            if (offset >= 0) {
+                result = readDictionaryEntry(offset);
+            } else if (codebaseCache != null) {
+                result = codebaseCache.getKey(offset + get_offset() - 4) ;
             }
         } else {
             if (codebaseCache == null) {
@@ -2068,7 +2168,7 @@ public class CDRInputStream_1_0 extends CDRInputStreamBase
             // Stretches across buffers.  Unless we provide an
             // incremental conversion interface, allocate and
             // copy the bytes.
-            byte[] bytes = new byte[numBytes];
+            byte[] bytes = CodeSetConversion.impl().getScratchBytes(numBytes);
 
             // REVISIT - We should avoid getting the bytes into an array if
             //  possible.  Extend the logic used above for the if() case , send
@@ -2076,12 +2176,37 @@ public class CDRInputStream_1_0 extends CDRInputStreamBase
             //  string is spread across multiple messages, the logic is going
             //  to be complex- which is, to decode strings in parts and then
             //  concatenate them in order.
-            read_octet_array(bytes, 0, bytes.length);
+            read_octet_array(bytes, 0, numBytes);
 
             return converter.getChars(bytes, 0, numBytes);
         }
     }
 
+    // Utility method used to get a wstring from its bytes, decoding them
+    // straight from the buffer when the converter allows it.
+    String getConvertedWString(int numBytes) {
+        CodeSetConversion.BTCConverter converter = getWCharConverter();
+
+        ByteBuffer source = byteBuffer;
+        if (byteBuffer.remaining() < numBytes) {
+            // Stretches across buffers, so gather the bytes first.
+            byte[] bytes = CodeSetConversion.impl().getScratchBytes(numBytes);
+            read_octet_array(bytes, 0, numBytes);
+            source = ByteBuffer.wrap(bytes, 0, numBytes);
+        }
+
+        String result = converter.getDirectString(source, numBytes);
+        if (result == null) {
+            char[] chars = converter.getChars(source.slice(), 0, numBytes);
+            result = new String(chars, 0, converter.getNumChars());
+        }
+
+        if (source == byteBuffer) {
+            byteBuffer.position(byteBuffer.position() + numBytes);
+        }
+        return result;
+    }
+
     protected CodeSetConversion.BTCConverter getCharConverter() {
         if (charConverter == null) {
             charConverter = parent.createCharBTCConverter();
@@ -174,12 +174,12 @@ public class CDRInputStream_1_1 extends CDRInputStream_1_0
         // number of such 2 byte code points plus a 2 byte null.
         len = len - 1;
 
-        char[] result = getConvertedChars(len * 2, getWCharConverter());
+        String result = getConvertedWString(len * 2);
 
         // Skip over the 2 byte null
         read_short();
 
-        return new String(result, 0, getWCharConverter().getNumChars());
+        return result;
     }
 
 }
@@ -137,10 +137,20 @@ public class CDROutputObject extends org.omg.CORBA_2_3.portable.OutputStream
 
     public CDROutputObject(ORB orb, MessageMediator messageMediator, Message header, byte streamFormatVersion) {
         this(orb, messageMediator.getGIOPVersion(), header,
-                BufferManagerFactory.newBufferManagerWrite(messageMediator.getGIOPVersion(), header.getEncodingVersion(), orb),
+                newBufferManagerWrite(orb, messageMediator, header),
                 streamFormatVersion, messageMediator);
     }
 
+    // Messages on a connection which compresses them are built whole rather
+    // than fragmented, so that they can be compressed as they are written.
+    private static BufferManagerWrite newBufferManagerWrite(ORB orb, MessageMediator messageMediator, Message header) {
+        Connection connection = messageMediator.getConnection();
+        if (connection != null && connection.isMessageCompressionEnabled()) {
+            return BufferManagerFactory.newBufferManagerWrite(BufferManagerFactory.GROW, header.getEncodingVersion(), orb);
+        }
+        return BufferManagerFactory.newBufferManagerWrite(messageMediator.getGIOPVersion(), header.getEncodingVersion(), orb);
+    }
+
     // NOTE:
     // Used in SharedCDR (i.e., must be grow).
     // Used in msgtypes test.
@@ -183,6 +193,19 @@ public class CDROutputObject extends org.omg.CORBA_2_3.portable.OutputStream
      * Message onto the Message list.
      */
     public void writeTo(Connection connection)  throws java.io.IOException {
+        ByteBuffer byteBuffer = finishMessage();
+        if (connection.isMessageCompressionEnabled()) {
+            byteBuffer = ((ORB)orb()).getTransportManager().getMessageCompressor().compress(byteBuffer);
+        }
+        connection.write(byteBuffer);
+    }
+
+    /*
+     * Update the GIOP MessageHeader size field, and return the buffer
+     * ready to be written.  Used directly when several fragments are
+     * sent together.
+     */
+    ByteBuffer finishMessage() {
         //
         // Update the GIOP MessageHeader size field.
         //
@@ -200,7 +223,15 @@ public class CDROutputObject extends org.omg.CORBA_2_3.portable.OutputStream
         }
 
         byteBuffer.flip();
-        connection.write(byteBuffer);
+        return byteBuffer;
+    }
+
+    /*
+     * Continue writing into a new buffer, leaving the current one to
+     * its holder.
+     */
+    void setByteBuffer(ByteBuffer byteBuffer) {
+        ((CDROutputStream_1_0) impl).byteBuffer = byteBuffer;
     }
 
     /** overrides create_input_stream from CDROutputStream */
@@ -217,6 +248,15 @@ public class CDROutputObject extends org.omg.CORBA_2_3.portable.OutputStream
         return corbaMessageMediator.getConnection();
     }
 
+    // Returns null for streams, such as encapsulations, which are not sent on a connection.
+    RepositoryIdDictionary getRepositoryIdDictionary() {
+        Connection c = connection;
+        if (c == null && corbaMessageMediator != null) {
+            c = corbaMessageMediator.getConnection();
+        }
+        return c == null ? null : c.getRepositoryIdDictionary();
+    }
+
     // todo this is only used in a legacy test - rewrite the test as a unit test and remove this method
     public final int getBufferPosition() {
         return impl.getByteBuffer().position();
@@ -412,6 +452,9 @@ public class CDROutputObject extends org.omg.CORBA_2_3.portable.OutputStream
     public final void write_octet_array(byte[] value, int offset, int length) {
         impl.write_octet_array(value, offset, length);
     }
+    public final void write_octet_buffer(ByteBuffer value) {
+        impl.write_octet_buffer(value);
+    }
     public final void write_short_array(short[] value, int offset, int length) {
         impl.write_short_array(value, offset, length);
     }
@@ -68,6 +68,7 @@ abstract class CDROutputStreamBase extends java.io.OutputStream
     public abstract void write_char_array(char[] value, int offset, int length);
     public abstract void write_wchar_array(char[] value, int offset, int length);
     public abstract void write_octet_array(byte[] value, int offset, int length);
+    public abstract void write_octet_buffer(ByteBuffer value);
     public abstract void write_short_array(short[] value, int offset, int length);
     public abstract void write_ushort_array(short[] value, int offset, int length);
     public abstract void write_long_array(int[] value, int offset, int length);
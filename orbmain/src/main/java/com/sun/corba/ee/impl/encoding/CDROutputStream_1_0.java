@@ -186,12 +186,13 @@ public class CDROutputStream_1_0 extends CDROutputStreamBase {
 
     @Override
     protected byte[] toByteArray(int start) {
+        ByteBuffer buffer = getByteBuffer();
         byte[] it;
 
-        it = new byte[byteBuffer.position() - start];
+        it = new byte[buffer.position() - start];
 
-        byteBuffer.position(start);
-        byteBuffer.get(it);
+        buffer.position(start);
+        buffer.get(it);
 
         return it;
     }
@@ -357,19 +358,34 @@ public class CDROutputStream_1_0 extends CDROutputStreamBase {
 
         CodeSetConversion.CTBConverter converter = getCharConverter();
 
-        converter.convert(value);
+        // Native code sets such as ISO 8859-1 and UTF-8 can compute the
+        // encoded length up front, and encode straight into the buffer.
+        CodeSetConversion.DirectCTBConverter directConverter = null;
+        int numBytes = -1;
+        if (converter instanceof CodeSetConversion.DirectCTBConverter) {
+            directConverter = (CodeSetConversion.DirectCTBConverter) converter;
+            numBytes = directConverter.getDirectLength(value);
+        }
+        boolean direct = numBytes >= 0;
+        if (!direct) {
+            converter.convert(value);
+            numBytes = converter.getNumBytes();
+        }
 
         // A string is encoded as an unsigned CORBA long for the
         // number of bytes to follow (including a terminating null).
-        // There is only one octet per character in the string.
-        int len = converter.getNumBytes() + 1;
+        int len = numBytes + 1;
 
         handleSpecialChunkBegin(computeAlignment(4) + 4 + len);
 
         write_long(len);
         int indirection = get_offset() - 4;
 
-        internalWriteOctetArray(converter.getBytes(), 0, converter.getNumBytes());
+        if (direct) {
+            internalWriteDirectString(directConverter, value);
+        } else {
+            internalWriteOctetArray(converter.getBytes(), 0, numBytes);
+        }
 
         // Write the null ending
         write_octet((byte) 0);
@@ -424,6 +440,21 @@ public class CDROutputStream_1_0 extends CDROutputStreamBase {
         }
     }
 
+    // Like internalWriteOctetArray, but encodes the string into the buffer
+    // as it goes.  Performs no checks and doesn't tamper with chunking
+    void internalWriteDirectString(CodeSetConversion.DirectCTBConverter converter, String value) {
+        if (value.isEmpty()) return;
+
+        alignAndReserve(1, 1);  // this gives the code the chance to do the eight-byte alignment, if needed
+
+        int index = 0;
+        while (index < value.length()) {
+            if (!byteBuffer.hasRemaining()) alignAndReserve(1, 1);
+
+            index = converter.encodeDirect(value, index, byteBuffer);
+        }
+    }
+
     public final void write_octet_array(byte b[], int offset, int length) {
         if (b == null) {
             throw wrapper.nullParam();
@@ -438,6 +469,38 @@ public class CDROutputStream_1_0 extends CDROutputStreamBase {
         handleSpecialChunkEnd();
     }
 
+    public final void write_octet_buffer(ByteBuffer value) {
+        if (value == null) {
+            throw wrapper.nullParam();
+        }
+
+        // This will only have an effect if we're already chunking
+        handleSpecialChunkBegin(value.remaining());
+
+        internalWriteOctetBuffer(value.duplicate());
+
+        // This will only have an effect if we're already chunking
+        handleSpecialChunkEnd();
+    }
+
+    // Like internalWriteOctetArray, but takes the octets from a buffer,
+    // consuming it.  Performs no checks and doesn't tamper with chunking
+    protected void internalWriteOctetBuffer(ByteBuffer value) {
+        if (!value.hasRemaining()) return;
+
+        alignAndReserve(1, 1);  // this gives the code the chance to do the eight-byte alignment, if needed
+
+        while (value.hasRemaining()) {
+            if (!byteBuffer.hasRemaining()) alignAndReserve(1, 1);
+
+            int count = Math.min(value.remaining(), byteBuffer.remaining());
+            ByteBuffer part = value.duplicate();
+            part.limit(part.position() + count);
+            byteBuffer.put(part);
+            value.position(value.position() + count);
+        }
+    }
+
     @SuppressWarnings({"deprecation"})
     public void write_Principal(org.omg.CORBA.Principal p) {
         write_long(p.name().length);
@@ -1016,6 +1079,16 @@ public class CDROutputStream_1_0 extends CDROutputStreamBase {
         handleSpecialChunkEnd();
     }
 
+    // Reserves space for at least the next element of a primitive array, and returns how many of
+    // the remaining elements fit in the current buffer, so that they may be copied in bulk through
+    // a view of the buffer. Reserving space may send a fragment, in which case the rest of the array
+    // is copied into the next one. The caller's handleSpecialChunkBegin already covers the whole
+    // array, so no continuation chunk is needed between segments.
+    private int reserveArraySegment(int elementSize, int remaining) {
+        alignAndReserve(elementSize, elementSize);
+        return Math.min(remaining, byteBuffer.remaining() / elementSize);
+    }
+
     @CdrWrite
     public final void write_short_array(short[] value, int offset, int length) {
         if (value == null) {
@@ -1025,8 +1098,11 @@ public class CDROutputStream_1_0 extends CDROutputStreamBase {
         // This will only have an effect if we're already chunking
         handleSpecialChunkBegin(computeAlignment(2) + (length * 2));
 
-        for (int i = 0; i < length; i++) {
-            write_short(value[offset + i]);
+        for (int i = 0; i < length; ) {
+            int count = reserveArraySegment(2, length - i);
+            byteBuffer.asShortBuffer().put(value, offset + i, count);
+            byteBuffer.position(byteBuffer.position() + count * 2);
+            i += count;
         }
 
         // This will only have an effect if we're already chunking
@@ -1046,8 +1122,11 @@ public class CDROutputStream_1_0 extends CDROutputStreamBase {
         // This will only have an effect if we're already chunking
         handleSpecialChunkBegin(computeAlignment(4) + (length * 4));
 
-        for (int i = 0; i < length; i++) {
-            write_long(value[offset + i]);
+        for (int i = 0; i < length; ) {
+            int count = reserveArraySegment(4, length - i);
+            byteBuffer.asIntBuffer().put(value, offset + i, count);
+            byteBuffer.position(byteBuffer.position() + count * 4);
+            i += count;
         }
 
         // This will only have an effect if we're already chunking
@@ -1067,8 +1146,11 @@ public class CDROutputStream_1_0 extends CDROutputStreamBase {
         // This will only have an effect if we're already chunking
         handleSpecialChunkBegin(computeAlignment(8) + (length * 8));
 
-        for (int i = 0; i < length; i++) {
-            write_longlong(value[offset + i]);
+        for (int i = 0; i < length; ) {
+            int count = reserveArraySegment(8, length - i);
+            byteBuffer.asLongBuffer().put(value, offset + i, count);
+            byteBuffer.position(byteBuffer.position() + count * 8);
+            i += count;
         }
 
         // This will only have an effect if we're already chunking
@@ -1088,8 +1170,11 @@ public class CDROutputStream_1_0 extends CDROutputStreamBase {
         // This will only have an effect if we're already chunking
         handleSpecialChunkBegin(computeAlignment(4) + (length * 4));
 
-        for (int i = 0; i < length; i++) {
-            write_float(value[offset + i]);
+        for (int i = 0; i < length; ) {
+            int count = reserveArraySegment(4, length - i);
+            byteBuffer.asFloatBuffer().put(value, offset + i, count);
+            byteBuffer.position(byteBuffer.position() + count * 4);
+            i += count;
         }
 
         // This will only have an effect if we're already chunking
@@ -1105,8 +1190,11 @@ public class CDROutputStream_1_0 extends CDROutputStreamBase {
         // This will only have an effect if we're already chunking
         handleSpecialChunkBegin(computeAlignment(8) + (length * 8));
 
-        for (int i = 0; i < length; i++) {
-            write_double(value[offset + i]);
+        for (int i = 0; i < length; ) {
+            int count = reserveArraySegment(8, length - i);
+            byteBuffer.asDoubleBuffer().put(value, offset + i, count);
+            byteBuffer.position(byteBuffer.position() + count * 8);
+            i += count;
         }
 
         // This will only have an effect if we're already chunking
@@ -1125,14 +1213,16 @@ public class CDROutputStream_1_0 extends CDROutputStreamBase {
     //
 
     public void writeTo(java.io.OutputStream s) throws java.io.IOException {
-        byte[] tmpBuf = ORBUtility.getByteBufferArray(byteBuffer);
-        s.write(tmpBuf, 0, byteBuffer.position());
+        ByteBuffer buffer = getByteBuffer();
+        byte[] tmpBuf = ORBUtility.getByteBufferArray(buffer);
+        s.write(tmpBuf, 0, buffer.position());
     }
 
     public void writeOctetSequenceTo(org.omg.CORBA.portable.OutputStream s) {
-        byte[] buf = ORBUtility.getByteBufferArray(byteBuffer);
-        s.write_long(byteBuffer.position());
-        s.write_octet_array(buf, 0, byteBuffer.position());
+        ByteBuffer buffer = getByteBuffer();
+        byte[] buf = ORBUtility.getByteBufferArray(buffer);
+        s.write_long(buffer.position());
+        s.write_octet_array(buf, 0, buffer.position());
     }
 
     public final int getSize() {
@@ -1190,6 +1280,10 @@ public class CDROutputStream_1_0 extends CDROutputStreamBase {
             }
         }
 
+        if (writeDictionaryReferenceIfPossible(id)) {
+            return;
+        }
+
         // Write it as a string.  Note that we have already done the
         // special case conversion of non-Latin-1 characters to escaped
         // Latin-1 sequences in RepositoryId.
@@ -1205,6 +1299,22 @@ public class CDROutputStream_1_0 extends CDROutputStreamBase {
         repositoryIdCache.put(id, indirection);
     }
 
+    // Writes the index the connection's dictionary has agreed for str, if any.
+    // Unlike a stream indirection, the index is not negative.
+    private boolean writeDictionaryReferenceIfPossible(String str) {
+        RepositoryIdDictionary dictionary = parent == null ? null : parent.getRepositoryIdDictionary();
+        int index = dictionary == null ? -1 : dictionary.getIndex(str);
+        if (index < 0) {
+            return false;
+        }
+
+        handleSpecialChunkBegin(computeAlignment(4) + 8);
+        write_long(INDIRECTION_TAG);
+        write_long(index);
+        handleSpecialChunkEnd();
+        return true;
+    }
+
     @CdrWrite
     private void write_codebase(String str, int pos) {
         Integer value = null;
@@ -1216,7 +1326,7 @@ public class CDROutputStream_1_0 extends CDROutputStreamBase {
 
         if (value != null) {
             writeIndirection(INDIRECTION_TAG, value);
-        } else {
+        } else if (!writeDictionaryReferenceIfPossible(str)) {
             write_string(str);
             if (codebaseCache == null) {
                 // ALTCODEBASE
@@ -21,6 +21,8 @@ package com.sun.corba.ee.impl.encoding;
 
 import com.sun.corba.ee.spi.ior.iiop.GIOPVersion;
 
+import java.nio.ByteBuffer;
+
 public class CDROutputStream_1_1 extends CDROutputStream_1_0
 {
     // This is used to keep indirections working across fragments.  When added
@@ -87,6 +89,40 @@ public class CDROutputStream_1_1 extends CDROutputStream_1_0
         }
     }
 
+    // Octets which will not fit in the current buffer are handed to the buffer
+    // manager whole when it can send them without copying.  The chunk length
+    // could not be patched once the chunk has moved on to another buffer, so
+    // this is only done outside chunks.
+    @Override
+    protected void internalWriteOctetBuffer(ByteBuffer value) {
+        if (!value.hasRemaining()) return;
+
+        alignAndReserve(1, 1);
+
+        if (inBlock || value.remaining() <= byteBuffer.remaining()
+                || !(bufferManagerWrite instanceof SplicingBufferManager)) {
+            super.internalWriteOctetBuffer(value);
+            return;
+        }
+
+        // As in grow, keep get_offset() continuous across the new buffer.
+        int end = byteBuffer.position() + value.remaining();
+        byteBuffer = ((SplicingBufferManager) bufferManagerWrite).splice(byteBuffer, value);
+        fragmentOffset += end - byteBuffer.position();
+    }
+
+    @Override
+    public ByteBuffer getByteBuffer() {
+        ByteBuffer flattened = bufferManagerWrite.flatten(byteBuffer);
+        if (flattened != byteBuffer) {
+            // The whole message is now in one buffer, so positions
+            // are once again offsets from its start.
+            byteBuffer = flattened;
+            fragmentOffset = 0;
+        }
+        return byteBuffer;
+    }
+
     @Override
     public int get_offset() {
         return byteBuffer.position() + fragmentOffset;
@@ -135,9 +171,14 @@ public class CDROutputStream_1_1 extends CDROutputStream_1_0
 
         CodeSetConversion.CTBConverter converter = getWCharConverter();
 
-        converter.convert(value);
+        if (converter instanceof CodeSetConversion.DirectCTBConverter
+                && ((CodeSetConversion.DirectCTBConverter) converter).getDirectLength(value) >= 0) {
+            internalWriteDirectString((CodeSetConversion.DirectCTBConverter) converter, value);
+        } else {
+            converter.convert(value);
 
-        internalWriteOctetArray(converter.getBytes(), 0, converter.getNumBytes());
+            internalWriteOctetArray(converter.getBytes(), 0, converter.getNumBytes());
+        }
 
         // Write the 2 byte null ending
         write_short((short)0);
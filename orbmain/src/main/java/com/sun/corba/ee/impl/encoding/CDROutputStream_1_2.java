@@ -361,14 +361,30 @@ public class CDROutputStream_1_2 extends CDROutputStream_1_1
 
         CodeSetConversion.CTBConverter converter = getWCharConverter();
 
-        converter.convert(value);
+        // UTF-16 can compute the encoded length up front, and encode
+        // straight into the buffer.
+        CodeSetConversion.DirectCTBConverter directConverter = null;
+        int numBytes = -1;
+        if (converter instanceof CodeSetConversion.DirectCTBConverter) {
+            directConverter = (CodeSetConversion.DirectCTBConverter) converter;
+            numBytes = directConverter.getDirectLength(value);
+        }
+        boolean direct = numBytes >= 0;
+        if (!direct) {
+            converter.convert(value);
+            numBytes = converter.getNumBytes();
+        }
 
-        handleSpecialChunkBegin(computeAlignment(4) + 4 + converter.getNumBytes());
+        handleSpecialChunkBegin(computeAlignment(4) + 4 + numBytes);
 
-        write_long(converter.getNumBytes());
+        write_long(numBytes);
 
-        // Write the octet array without tampering with chunking
-        internalWriteOctetArray(converter.getBytes(), 0, converter.getNumBytes());
+        // Write the octets without tampering with chunking
+        if (direct) {
+            internalWriteDirectString(directConverter, value);
+        } else {
+            internalWriteOctetArray(converter.getBytes(), 0, numBytes);
+        }
 
         handleSpecialChunkEnd();
     }
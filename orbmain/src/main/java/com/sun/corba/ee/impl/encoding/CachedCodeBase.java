@@ -24,14 +24,10 @@ import com.sun.corba.ee.spi.logging.ORBUtilSystemException;
 import com.sun.corba.ee.spi.orb.ORB ;
 import com.sun.corba.ee.spi.transport.Connection;
 import com.sun.org.omg.CORBA.ValueDefPackage.FullValueDescription;
-import com.sun.org.omg.SendingContext.CodeBase;
-import com.sun.org.omg.SendingContext.CodeBaseHelper;
 import com.sun.org.omg.SendingContext._CodeBaseImplBase;
 
-import java.util.Hashtable;
-
 /**
- * Provides the reading side with a per connection cache of
+ * Provides the reading side with a per connection view of
  * info obtained via calls to the remote CodeBase.
  *
  * Previously, most of this was in IIOPConnection.
@@ -40,37 +36,23 @@ import java.util.Hashtable;
  *    Delays cache creation unless used
  *    Postpones remote calls until necessary
  *    Handles creating obj ref from IOR
- *    Maintains caches for the following maps:
- *         CodeBase IOR to obj ref (global)
+ *    Shares the following maps through the ORB's CodeBaseCache:
+ *         CodeBase IOR to obj ref
  *         RepId to implementation URL(s)
- *         RepId to remote FVD
+ *         RepId to remote FVD (ORB-wide for RMI value types)
  *         RepId to superclass type list
- *
- * Needs cache management.
  */
 public class CachedCodeBase extends _CodeBaseImplBase
 {
     private static final ORBUtilSystemException wrapper =
         ORBUtilSystemException.self ;
 
-    private Hashtable<String,String> implementations ;
-    private Hashtable<String,FullValueDescription> fvds ;
-    private Hashtable<String,String[]> bases ;
-
-    private volatile CodeBase delegate;
     private final Connection conn;
+    private volatile CodeBaseCache cache;
+    private volatile CodeBaseCache.Peer peer;
 
-    private static final Object iorMapLock = new Object() ;
-    private static final Hashtable<IOR,CodeBase> iorMap = new Hashtable<>();
-
-    public static synchronized void cleanCache( ORB orb ) {
-        synchronized (iorMapLock) {
-            for (IOR ior : iorMap.keySet()) {
-                if (ior.getORB() == orb) {
-                    iorMap.remove( ior ) ;
-                }
-            }
-        }
+    public static void cleanCache( ORB orb ) {
+        CodeBaseCache.release( orb ) ;
     }
 
     public CachedCodeBase(Connection connection) {
@@ -83,26 +65,12 @@ public class CachedCodeBase extends _CodeBaseImplBase
     }
 
     @Override
-    public synchronized String implementation (String repId) {
-        String urlResult = null;
-
-        if (implementations == null)
-            implementations = new Hashtable<String,String>();
-        else
-            urlResult = implementations.get(repId);
-
-        if (urlResult == null && connectedCodeBase()) {
-            urlResult = delegate.implementation(repId);
-
-            if (urlResult != null)
-                implementations.put(repId, urlResult);
-        }
-
-        return urlResult;
+    public String implementation (String repId) {
+        return getCache().implementation(getPeer(), repId);
     }
 
     @Override
-    public synchronized String[] implementations (String[] repIds) {
+    public String[] implementations (String[] repIds) {
         String[] urlResults = new String[repIds.length];
 
         for (int i = 0; i < urlResults.length; i++)
@@ -112,26 +80,12 @@ public class CachedCodeBase extends _CodeBaseImplBase
     }
 
     @Override
-    public synchronized FullValueDescription meta (String repId) {
-        FullValueDescription result = null;
-
-        if (fvds == null)
-            fvds = new Hashtable<String,FullValueDescription>();
-        else
-            result = fvds.get(repId);
-
-        if (result == null && connectedCodeBase()) {
-            result = delegate.meta(repId);
-
-            if (result != null)
-                fvds.put(repId, result);
-        }
-
-        return result;
+    public FullValueDescription meta (String repId) {
+        return getCache().meta(getPeer(), repId);
     }
 
     @Override
-    public synchronized FullValueDescription[] metas (String[] repIds) {
+    public FullValueDescription[] metas (String[] repIds) {
         FullValueDescription[] results
             = new FullValueDescription[repIds.length];
 
@@ -142,68 +96,44 @@ public class CachedCodeBase extends _CodeBaseImplBase
     }
 
     @Override
-    public synchronized String[] bases (String repId) {
-
-        String[] results = null;
-
-        if (bases == null)
-            bases = new Hashtable<String,String[]>();
-        else
-            results = bases.get(repId);
-
-        if (results == null && connectedCodeBase()) {
-            results = delegate.bases(repId);
+    public String[] bases (String repId) {
+        return getCache().bases(getPeer(), repId);
+    }
 
-            if (results != null)
-                bases.put(repId, results);
+    private CodeBaseCache getCache() {
+        CodeBaseCache result = cache;
+        if (result == null) {
+            result = CodeBaseCache.get(conn.getBroker());
+            cache = result;
         }
 
-        return results;
+        return result;
     }
 
-    // Ensures that we've used the connection's IOR to create
-    // a valid CodeBase delegate.  If this returns false, then
-    // it is not valid to access the delegate.
-    private synchronized boolean connectedCodeBase() {
-        if (delegate != null)
-            return true;
-
-        if (conn.getCodeBaseIOR() == null) {
-            // The delegate was null, so see if the connection's
-            // IOR was set.  If so, then we just need to connect
-            // it.  Otherwise, there is no hope of checking the
-            // remote code base.  That could be a bug if the
-            // service context processing didn't occur, or it
-            // could be that we're talking to a foreign ORB which
-            // doesn't include this optional service context.
+    // Returns the state shared with the other connections to the same
+    // remote CodeBase, or null if the connection's IOR has not been set.
+    private CodeBaseCache.Peer getPeer() {
+        CodeBaseCache.Peer result = peer;
+        if (result != null)
+            return result;
+
+        IOR codeBaseIOR = conn.getCodeBaseIOR();
+        if (codeBaseIOR == null) {
+            // There is no hope of checking the remote code base.
+            // That could be a bug if the service context processing
+            // didn't occur, or it could be that we're talking to a
+            // foreign ORB which doesn't include this optional
+            // service context.
 
             wrapper.codeBaseUnavailable( conn ) ;
 
-            return false;
+            return null;
         }
 
-        synchronized(iorMapLock) {
-            // Do we have a reference initialized by another connection?
-            delegate = iorMap.get( conn.getCodeBaseIOR() );
-            if (delegate != null)
-                return true;
-
-            // Connect the delegate and update the cache
-            delegate = CodeBaseHelper.narrow( getObjectFromIOR() );
-
-            // Save it for the benefit of other connections
-            iorMap.put( conn.getCodeBaseIOR(), delegate );
-        }
-
-        // It's now safe to use the delegate
-        return true;
-    }
-
-    private org.omg.CORBA.Object getObjectFromIOR() {
-        return CDRInputStream_1_0.internalIORToObject(
-            conn.getCodeBaseIOR(), null /*stubFactory*/, conn.getBroker());
+        result = getCache().getPeer(codeBaseIOR);
+        peer = result;
+        return result;
     }
 }
 
 // End of file.
-
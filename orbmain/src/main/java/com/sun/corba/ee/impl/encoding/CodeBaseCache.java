@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.impl.encoding;
+
+import com.sun.corba.ee.impl.util.RepositoryId;
+import com.sun.corba.ee.spi.ior.IOR;
+import com.sun.corba.ee.spi.ior.iiop.GIOPVersion;
+import com.sun.corba.ee.spi.logging.ORBUtilSystemException;
+import com.sun.corba.ee.spi.orb.ORB;
+import com.sun.org.omg.CORBA.ValueDefPackage.FullValueDescription;
+import com.sun.org.omg.CORBA.ValueDefPackage.FullValueDescriptionHelper;
+import com.sun.org.omg.SendingContext.CodeBase;
+import com.sun.org.omg.SendingContext.CodeBaseHelper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.glassfish.gmbal.Description;
+import org.glassfish.gmbal.ManagedAttribute;
+import org.glassfish.gmbal.ManagedObject;
+import org.glassfish.gmbal.ManagedObjectManager;
+import org.omg.CORBA.SystemException;
+
+/**
+ * The ORB-wide cache behind the CachedCodeBase of each connection.
+ *
+ * Connections to peers that advertise the same CodeBase IOR share one
+ * {@link Peer}, so the remote CodeBase is only asked once per repository ID
+ * no matter how many connections are opened to it.  FullValueDescriptions
+ * for RMI value types are shared across all peers: their repository ID
+ * carries the class hash and serialVersionUID, so two peers that send the
+ * same ID describe the same class.  Only these shared descriptions are
+ * saved to the file named by the ORBCodeBaseCacheFile property when the
+ * ORB is destroyed, and read back when the cache is next created.
+ */
+@ManagedObject
+@Description( "The ORB-wide cache of results from the CodeBases of remote peers" )
+public class CodeBaseCache {
+    private static final ORBUtilSystemException wrapper =
+        ORBUtilSystemException.self ;
+
+    private static final ConcurrentMap<ORB,CodeBaseCache> caches =
+        new ConcurrentHashMap<ORB,CodeBaseCache>();
+
+    private final ORB orb;
+    private final String cacheFile;
+    private final ConcurrentMap<IOR,Peer> peers = new ConcurrentHashMap<IOR,Peer>();
+    private final ConcurrentMap<String,FullValueDescription> sharedFvds =
+        new ConcurrentHashMap<String,FullValueDescription>();
+
+    private final AtomicLong numberOfHits = new AtomicLong();
+    private final AtomicLong numberOfMisses = new AtomicLong();
+    private final AtomicLong numberOfRemoteCalls = new AtomicLong();
+
+    /**
+     * Returns the cache for the specified ORB, creating it and loading
+     * its cache file on first use.
+     * @param orb the ORB whose connections will use the cache
+     * @return the cache
+     */
+    public static CodeBaseCache get(ORB orb) {
+        return caches.computeIfAbsent(orb, CodeBaseCache::new);
+    }
+
+    /**
+     * Discards the cache for the specified ORB, first saving its shared
+     * FullValueDescriptions if a cache file is configured.
+     * @param orb the ORB being destroyed
+     */
+    static void release(ORB orb) {
+        CodeBaseCache cache = caches.remove(orb);
+        if (cache != null) {
+            ManagedObjectManager mom = orb.mom();
+            if (mom != null) {
+                mom.unregister(cache);
+            }
+            cache.save();
+        }
+    }
+
+    private CodeBaseCache(ORB orb) {
+        this.orb = orb;
+        String fileName = orb.getORBData().codeBaseCacheFile();
+        cacheFile = fileName == null || fileName.isEmpty() ? null : fileName;
+        load();
+        ManagedObjectManager mom = orb.mom();
+        if (mom != null) {
+            mom.registerAtRoot(this);
+        }
+    }
+
+    @ManagedAttribute
+    @Description( "The number of lookups answered without calling the remote CodeBase" )
+    public long getNumberOfHits() {
+        return numberOfHits.get();
+    }
+
+    @ManagedAttribute
+    @Description( "The number of lookups that were not found in the cache" )
+    public long getNumberOfMisses() {
+        return numberOfMisses.get();
+    }
+
+    @ManagedAttribute
+    @Description( "The number of calls made to remote CodeBases" )
+    public long getNumberOfRemoteCalls() {
+        return numberOfRemoteCalls.get();
+    }
+
+    @ManagedAttribute
+    @Description( "The number of FullValueDescriptions shared by all peers" )
+    public int getNumberOfSharedDescriptions() {
+        return sharedFvds.size();
+    }
+
+    /**
+     * Returns the peer state for the CodeBase with the specified IOR.
+     * The remote CodeBase is not contacted until a lookup misses.
+     * @param codeBaseIOR the IOR sent by the peer in its SendingContextRunTime service context
+     * @return the shared peer state
+     */
+    Peer getPeer(IOR codeBaseIOR) {
+        return getPeer(codeBaseIOR, () -> CodeBaseHelper.narrow(
+            CDRInputStream_1_0.internalIORToObject(codeBaseIOR, null /*stubFactory*/, orb)));
+    }
+
+    Peer getPeer(IOR codeBaseIOR, Supplier<CodeBase> connector) {
+        Peer result = peers.get(codeBaseIOR);
+        if (result == null) {
+            Peer peer = new Peer(connector);
+            result = peers.putIfAbsent(codeBaseIOR, peer);
+            if (result == null) {
+                result = peer;
+            }
+        }
+
+        return result;
+    }
+
+    // A null peer means that the connection has no remote CodeBase, so only
+    // the shared FullValueDescriptions can be used.
+    FullValueDescription meta(Peer peer, String repId) {
+        ConcurrentMap<String,FullValueDescription> fvds = isShareable(repId) ? sharedFvds
+            : peer == null ? null : peer.fvds;
+        return lookup(fvds, peer, repId, codeBase -> codeBase.meta(repId));
+    }
+
+    String[] bases(Peer peer, String repId) {
+        return lookup(peer == null ? null : peer.bases, peer, repId, codeBase -> codeBase.bases(repId));
+    }
+
+    String implementation(Peer peer, String repId) {
+        return lookup(peer == null ? null : peer.implementations, peer, repId,
+            codeBase -> codeBase.implementation(repId));
+    }
+
+    private <V> V lookup(ConcurrentMap<String,V> map, Peer peer, String repId, Function<CodeBase,V> remoteCall) {
+        V result = map == null ? null : map.get(repId);
+        if (result != null) {
+            numberOfHits.incrementAndGet();
+            return result;
+        }
+
+        numberOfMisses.incrementAndGet();
+        CodeBase delegate = peer == null ? null : peer.getDelegate();
+        if (delegate == null) {
+            return null;
+        }
+
+        numberOfRemoteCalls.incrementAndGet();
+        result = remoteCall.apply(delegate);
+        if (result != null) {
+            V previous = map.putIfAbsent(repId, result);
+            if (previous != null) {
+                result = previous;
+            }
+        }
+
+        return result;
+    }
+
+    // Only an RMI value type ID names the exact version of a class; IDL IDs
+    // may describe different definitions on different peers.
+    private static boolean isShareable(String repId) {
+        try {
+            RepositoryId id = RepositoryId.cache.getId(repId);
+            return id.isRMIValueType() && id.getSerialVersionUID() != null;
+        } catch (IllegalArgumentException exc) {
+            return false;
+        }
+    }
+
+    private void load() {
+        if (cacheFile == null || !Files.isReadable(Paths.get(cacheFile))) {
+            return;
+        }
+
+        try {
+            byte[] data = Files.readAllBytes(Paths.get(cacheFile));
+            EncapsInputStream is = EncapsInputStreamFactory.newEncapsInputStream(orb, data, data.length,
+                GIOPVersion.V1_2);
+            is.consumeEndian();
+            int count = is.read_long();
+            for (int i = 0; i < count; i++) {
+                String repId = is.read_string();
+                sharedFvds.put(repId, FullValueDescriptionHelper.read(is));
+            }
+        } catch (IOException | SystemException exc) {
+            sharedFvds.clear();
+            wrapper.codeBaseCacheReadFailed(exc, cacheFile);
+        }
+    }
+
+    private void save() {
+        if (cacheFile == null || sharedFvds.isEmpty()) {
+            return;
+        }
+
+        try {
+            EncapsOutputStream os = OutputStreamFactory.newEncapsOutputStream(orb);
+            os.putEndian();
+            Map<String,FullValueDescription> fvds = new HashMap<String,FullValueDescription>(sharedFvds);
+            os.write_long(fvds.size());
+            for (Map.Entry<String,FullValueDescription> entry : fvds.entrySet()) {
+                os.write_string(entry.getKey());
+                FullValueDescriptionHelper.write(os, entry.getValue());
+            }
+
+            Path target = Paths.get(cacheFile);
+            Path temp = Paths.get(cacheFile + ".tmp");
+            Files.write(temp, os.toByteArray());
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | SystemException exc) {
+            wrapper.codeBaseCacheWriteFailed(exc, cacheFile);
+        }
+    }
+
+    /**
+     * The state shared by all connections to one remote CodeBase.
+     */
+    static class Peer {
+        private final Supplier<CodeBase> connector;
+        private volatile CodeBase delegate;
+
+        private final ConcurrentMap<String,String> implementations =
+            new ConcurrentHashMap<String,String>();
+        private final ConcurrentMap<String,FullValueDescription> fvds =
+            new ConcurrentHashMap<String,FullValueDescription>();
+        private final ConcurrentMap<String,String[]> bases =
+            new ConcurrentHashMap<String,String[]>();
+
+        Peer(Supplier<CodeBase> connector) {
+            this.connector = connector;
+        }
+
+        private CodeBase getDelegate() {
+            CodeBase result = delegate;
+            if (result == null) {
+                synchronized (this) {
+                    result = delegate;
+                    if (result == null) {
+                        result = connector.get();
+                        delegate = result;
+                    }
+                }
+            }
+
+            return result;
+        }
+    }
+}
+
+// End of file.
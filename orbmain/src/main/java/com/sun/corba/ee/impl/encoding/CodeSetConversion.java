@@ -31,11 +31,11 @@ import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CharsetEncoder;
 import java.nio.charset.IllegalCharsetNameException;
 import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
 import java.nio.charset.UnmappableCharacterException;
 import java.nio.charset.UnsupportedCharsetException;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.WeakHashMap;
 
 /**
  * Collection of classes, interfaces, and factory methods for
@@ -103,6 +103,26 @@ public class CodeSetConversion
         public abstract byte[] getBytes();
     }
 
+    /**
+     * A CTBConverter which can also encode Strings directly into a
+     * stream's buffer, without converting them to a byte array first.
+     */
+    public abstract static class DirectCTBConverter extends CTBConverter
+    {
+        // If the given String can be encoded directly into a stream's
+        // buffer, returns the number of bytes to which it converts.
+        // Otherwise returns -1, and the String must be converted with
+        // convert(String) instead.
+        public abstract int getDirectLength(String strToConvert);
+
+        // Encodes the characters of a String for which getDirectLength
+        // did not return -1 into the buffer, starting at the given index
+        // and stopping when the buffer is full.  Returns the index of the
+        // first character not completely written; a following call with
+        // that index writes the rest of it.
+        public abstract int encodeDirect(String strToConvert, int index, ByteBuffer buffer);
+    }
+
     /**
      * Abstraction for byte to char conversion.
      */
@@ -120,6 +140,26 @@ public class CodeSetConversion
         public abstract char[] getChars(byte[] bytes, int offset, int length);
         public abstract char[] getChars(ByteBuffer byteBuffer, int offset, int length);
 
+        // The Charset with which a String can be created directly from
+        // the bytes, or null if they must be converted with getChars.
+        public Charset getDirectCharset() {
+            return null;
+        }
+
+        // Whether the given bytes can be made into a String with the
+        // Charset from getDirectCharset.  Bytes which could be malformed
+        // must be converted with getChars instead, so that errors are
+        // reported rather than replaced.
+        public boolean canDecodeDirectly(byte[] bytes, int offset, int numBytes) {
+            return false;
+        }
+
+        // Decodes the String in the given number of bytes at the buffer's
+        // position without a CharsetDecoder, leaving the position unchanged.
+        // Returns null if the bytes must be converted with getChars instead.
+        public String getDirectString(ByteBuffer byteBuffer, int numBytes) {
+            return null;
+        }
     }
 
     /**
@@ -154,8 +194,6 @@ public class CodeSetConversion
         // before writing the array to the stream.
         private ByteBuffer buffer;
 
-        WeakHashMap<String, ByteBuffer> cacheEncoder = new WeakHashMap<String, ByteBuffer>();
-
         public JavaCTBConverter(OSFCodeSetRegistry.Entry codeset,
                                 int alignmentForEncoding) {
 
@@ -206,21 +244,8 @@ public class CodeSetConversion
 
             numChars = strToConvert.length();
 
-            buffer = cacheEncoder.get(strToConvert);
-            if (buffer != null) {
-                numBytes = buffer.limit();
-                //We need to set the buffer position to zero; becoz a
-                //previous read would have set the buffer position to its limit
-                buffer.position(0);
-            }
-            else {
-                strToConvert.getChars(0, numChars, chars, 0);
-                convertCharArray();
-                cacheEncoder.put(strToConvert, buffer);
-            }
-
-            //ToDo: if encoding debug is turned on call the below method
-            //validateCodesetCache(buffer, strToConvert);
+            strToConvert.getChars(0, numChars, chars, 0);
+            convertCharArray();
         }
 
         public final int getNumBytes() {
@@ -281,20 +306,262 @@ public class CodeSetConversion
         }
     }
 
+    /**
+     * Base of the DirectCTBConverters.  Strings which cannot be encoded
+     * directly are converted by a JavaCTBConverter for the same code set.
+     */
+    private abstract class JavaDirectCTBConverter extends DirectCTBConverter
+    {
+        private final JavaCTBConverter converter;
+
+        public JavaDirectCTBConverter(OSFCodeSetRegistry.Entry codeset,
+                                      int alignmentForEncoding) {
+            converter = new JavaCTBConverter(codeset, alignmentForEncoding);
+        }
+
+        public void convert(char chToConvert) {
+            converter.convert(chToConvert);
+        }
+
+        public void convert(String strToConvert) {
+            converter.convert(strToConvert);
+        }
+
+        public final int getNumBytes() {
+            return converter.getNumBytes();
+        }
+
+        public final float getMaxBytesPerChar() {
+            return converter.getMaxBytesPerChar();
+        }
+
+        public final int getAlignment() {
+            return converter.getAlignment();
+        }
+
+        public byte[] getBytes() {
+            return converter.getBytes();
+        }
+    }
+
+    /**
+     * ISO 8859-1 converter which can encode Strings directly into a
+     * stream's buffer, one byte per character.  Strings with characters
+     * outside the code set go through the CharsetEncoder, so that they
+     * are reported as before.
+     */
+    private class Latin1CTBConverter extends JavaDirectCTBConverter
+    {
+        public Latin1CTBConverter() {
+            super(OSFCodeSetRegistry.ISO_8859_1, 1);
+        }
+
+        @Override
+        public int getDirectLength(String strToConvert) {
+            int length = strToConvert.length();
+            for (int i = 0; i < length; i++) {
+                if (strToConvert.charAt(i) > 0xff)
+                    return -1;
+            }
+
+            return length;
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public int encodeDirect(String strToConvert, int index, ByteBuffer buffer) {
+            int end = index + Math.min(strToConvert.length() - index, buffer.remaining());
+            if (buffer.hasArray()) {
+                // Copies the low byte of each char, which is the whole
+                // of it in this code set.
+                strToConvert.getBytes(index, end, buffer.array(),
+                                      buffer.arrayOffset() + buffer.position());
+                buffer.position(buffer.position() + end - index);
+            } else {
+                for (int i = index; i < end; i++)
+                    buffer.put((byte) strToConvert.charAt(i));
+            }
+
+            return end;
+        }
+    }
+
+    /**
+     * UTF-8 converter which can encode Strings directly into a stream's
+     * buffer.  A character whose encoding does not fit in the buffer is
+     * split across it and the next one, as any other octets would be.
+     * Strings with unpaired surrogates go through the CharsetEncoder,
+     * so that they are reported as before.
+     */
+    private class UTF8CTBConverter extends JavaDirectCTBConverter
+    {
+        // How many bytes of the character at the index returned by the
+        // last encodeDirect call have already been written.
+        private int bytesWritten;
+
+        public UTF8CTBConverter() {
+            super(OSFCodeSetRegistry.UTF_8, 1);
+        }
+
+        @Override
+        public int getDirectLength(String strToConvert) {
+            bytesWritten = 0;
+            int numBytes = 0;
+            int length = strToConvert.length();
+            for (int i = 0; i < length; i++) {
+                char ch = strToConvert.charAt(i);
+                if (ch < 0x80) {
+                    numBytes++;
+                } else if (ch < 0x800) {
+                    numBytes += 2;
+                } else if (!Character.isSurrogate(ch)) {
+                    numBytes += 3;
+                } else if (Character.isHighSurrogate(ch) && i + 1 < length
+                           && Character.isLowSurrogate(strToConvert.charAt(i + 1))) {
+                    numBytes += 4;
+                    i++;
+                } else {
+                    return -1;
+                }
+            }
+
+            return numBytes;
+        }
+
+        @Override
+        public int encodeDirect(String strToConvert, int index, ByteBuffer buffer) {
+            int length = strToConvert.length();
+            while (index < length && buffer.hasRemaining()) {
+                char ch = strToConvert.charAt(index);
+                if (ch < 0x80 && bytesWritten == 0) {
+                    buffer.put((byte) ch);
+                    index++;
+                    continue;
+                }
+
+                int codePoint = strToConvert.codePointAt(index);
+                int numBytes = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+                while (bytesWritten < numBytes && buffer.hasRemaining()) {
+                    buffer.put(getByte(codePoint, numBytes, bytesWritten++));
+                }
+
+                if (bytesWritten < numBytes)
+                    break;
+
+                bytesWritten = 0;
+                index += Character.charCount(codePoint);
+            }
+
+            return index;
+        }
+
+        // Returns the byte at the given position of the UTF-8 encoding
+        // of a code point which encodes to numBytes bytes.
+        private byte getByte(int codePoint, int numBytes, int position) {
+            int shift = 6 * (numBytes - 1 - position);
+            if (position > 0)
+                return (byte) (0x80 | ((codePoint >> shift) & 0x3f));
+            else if (numBytes == 2)
+                return (byte) (0xc0 | (codePoint >> shift));
+            else if (numBytes == 3)
+                return (byte) (0xe0 | (codePoint >> shift));
+            else
+                return (byte) (0xf0 | (codePoint >> shift));
+        }
+    }
+
     /**
      * Special UTF16 converter which can either always write a BOM
-     * or use a specified byte order without one.
+     * or use a specified byte order without one.  Strings are encoded
+     * directly into a stream's buffer through a CharBuffer view of it,
+     * and a character which does not fit in the buffer is split across
+     * it and the next one.  Strings with unpaired surrogates go through
+     * the CharsetEncoder, so that they are reported as before.
      */
-    private class UTF16CTBConverter extends JavaCTBConverter
+    private class UTF16CTBConverter extends JavaDirectCTBConverter
     {
+        private final boolean useByteOrderMarker;
+        private final ByteOrder byteOrder;
+
+        // How many bytes of the String passed to the last getDirectLength
+        // call have been written by encodeDirect.
+        private int bytesWritten;
+
         // Using this constructor, we will always write a BOM
         public UTF16CTBConverter() {
             super(OSFCodeSetRegistry.UTF_16, 2);
+            useByteOrderMarker = true;
+            byteOrder = ByteOrder.BIG_ENDIAN;
         }
 
         // Using this constructor, we don't use a BOM and use the byte order specified
         public UTF16CTBConverter(boolean littleEndian) {
             super(littleEndian ? OSFCodeSetRegistry.UTF_16LE : OSFCodeSetRegistry.UTF_16BE, 2);
+            useByteOrderMarker = false;
+            byteOrder = littleEndian ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+        }
+
+        @Override
+        public int getDirectLength(String strToConvert) {
+            bytesWritten = 0;
+            int length = strToConvert.length();
+            for (int i = 0; i < length; i++) {
+                char ch = strToConvert.charAt(i);
+                if (!Character.isSurrogate(ch)) {
+                    continue;
+                } else if (Character.isHighSurrogate(ch) && i + 1 < length
+                           && Character.isLowSurrogate(strToConvert.charAt(i + 1))) {
+                    i++;
+                } else {
+                    return -1;
+                }
+            }
+
+            return getMarkerLength(strToConvert) + 2 * length;
+        }
+
+        @Override
+        public int encodeDirect(String strToConvert, int index, ByteBuffer buffer) {
+            int markerLength = getMarkerLength(strToConvert);
+            while (bytesWritten < markerLength && buffer.hasRemaining()) {
+                buffer.put(getByte(UTF16_BOM, bytesWritten++));
+            }
+
+            int position = bytesWritten - markerLength;
+            int length = strToConvert.length();
+            if ((position & 1) != 0 && buffer.hasRemaining()) {
+                buffer.put(getByte(strToConvert.charAt(position / 2), 1));
+                position++;
+            }
+
+            int count = Math.min(length - position / 2, buffer.remaining() / 2);
+            if (count > 0 && (position & 1) == 0) {
+                int start = position / 2;
+                char[] chars = getScratchChars(count);
+                strToConvert.getChars(start, start + count, chars, 0);
+                buffer.duplicate().order(byteOrder).asCharBuffer().put(chars, 0, count);
+                buffer.position(buffer.position() + 2 * count);
+                position += 2 * count;
+            }
+
+            if (position / 2 < length && (position & 1) == 0 && buffer.remaining() == 1) {
+                buffer.put(getByte(strToConvert.charAt(position / 2), 0));
+                position++;
+            }
+
+            bytesWritten = position + markerLength;
+            return position / 2;
+        }
+
+        // The encoder only writes a byte order marker before characters.
+        private int getMarkerLength(String strToConvert) {
+            return useByteOrderMarker && !strToConvert.isEmpty() ? 2 : 0;
+        }
+
+        // Returns the first or second byte of a character in this byte order.
+        private byte getByte(char ch, int position) {
+            boolean highByte = (position == 0) == (byteOrder == ByteOrder.BIG_ENDIAN);
+            return (byte) (highByte ? ch >> 8 : ch);
         }
     }
 
@@ -307,14 +574,44 @@ public class CodeSetConversion
         protected CharsetDecoder decoder;
         private int resultingNumChars;
 
+        // Set for the native code sets whose Strings can be created
+        // straight from the bytes.
+        private Charset directCharset;
+
         public JavaBTCConverter(OSFCodeSetRegistry.Entry codeset) {
             decoder = this.getConverter(codeset.getName());
+
+            if (codeset == OSFCodeSetRegistry.ISO_8859_1)
+                directCharset = StandardCharsets.ISO_8859_1;
+            else if (codeset == OSFCodeSetRegistry.UTF_8)
+                directCharset = StandardCharsets.UTF_8;
         }
 
         public final int getNumChars() {
             return resultingNumChars;
         }
 
+        @Override
+        public Charset getDirectCharset() {
+            return directCharset;
+        }
+
+        // Every byte is a valid ISO 8859-1 character.  In UTF-8 only
+        // ASCII is taken as it is; anything else goes through the
+        // decoder, which reports malformed input.
+        @Override
+        public boolean canDecodeDirectly(byte[] bytes, int offset, int numBytes) {
+            if (directCharset != StandardCharsets.UTF_8)
+                return directCharset != null;
+
+            for (int i = offset; i < offset + numBytes; i++) {
+                if (bytes[i] < 0)
+                    return false;
+            }
+
+            return true;
+        }
+
         public char[] getChars(ByteBuffer byteBuffer, int offset, int numBytes) {
             try {
                 byteBuffer.limit(numBytes);
@@ -443,6 +740,47 @@ public class CodeSetConversion
             this.defaultByteOrder = defaultByteOrder;
         }
 
+        // Copies the characters out through a CharBuffer view in the byte
+        // order given by the marker, if any.  Strings with unpaired
+        // surrogates go through the decoder, so that they are reported
+        // as before.
+        @Override
+        public String getDirectString(ByteBuffer byteBuffer, int numBytes) {
+            if ((numBytes & 1) != 0)
+                return null;
+
+            ByteBuffer bytes = byteBuffer.duplicate();
+            bytes.limit(bytes.position() + numBytes);
+            bytes.order(defaultByteOrder);
+
+            if (numBytes >= 4) {
+                int pos = bytes.position();
+                char marker = (char) (((bytes.get(pos) & 0xFF) << 8) | (bytes.get(pos + 1) & 0xFF));
+                if (marker == UTF16_BE_MARKER || marker == UTF16_LE_MARKER) {
+                    bytes.position(pos + 2);
+                    bytes.order(marker == UTF16_BE_MARKER ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+                }
+            }
+
+            CharBuffer view = bytes.asCharBuffer();
+            int length = view.remaining();
+            char[] chars = getScratchChars(length);
+            view.get(chars, 0, length);
+
+            for (int i = 0; i < length; i++) {
+                if (!Character.isSurrogate(chars[i])) {
+                    continue;
+                } else if (Character.isHighSurrogate(chars[i]) && i + 1 < length
+                           && Character.isLowSurrogate(chars[i + 1])) {
+                    i++;
+                } else {
+                    return null;
+                }
+            }
+
+            return new String(chars, 0, length);
+        }
+
         public char[] getChars(ByteBuffer byteBuffer, int offset, int numBytes) {
             byte [] marker = {byteBuffer.get(), byteBuffer.get()};
             byteBuffer.position(0);
@@ -531,7 +869,19 @@ public class CodeSetConversion
                          1 :
                          codeset.getMaxBytesPerChar());
 
-        return new JavaCTBConverter(codeset, alignment);
+        return createCTBConverter(codeset, alignment);
+    }
+
+    // ISO 8859-1 and UTF-8, the usual native code sets for chars, get
+    // converters which can encode directly into a stream's buffer.
+    private CTBConverter createCTBConverter(OSFCodeSetRegistry.Entry codeset,
+                                            int alignment) {
+        if (codeset == OSFCodeSetRegistry.ISO_8859_1)
+            return new Latin1CTBConverter();
+        else if (codeset == OSFCodeSetRegistry.UTF_8)
+            return new UTF8CTBConverter();
+        else
+            return new JavaCTBConverter(codeset, alignment);
     }
 
     /**
@@ -584,7 +934,7 @@ public class CodeSetConversion
         Map<OSFCodeSetRegistry.Entry, CTBConverter> m =  cacheCTBC.get();
         converter = m.get(codeset);
         if (converter == null ) {
-            converter = new JavaCTBConverter(codeset, alignment);
+            converter = createCTBConverter(codeset, alignment);
             m.put(codeset, converter);
         } else if(converter.getAlignment() != alignment) {
             ((JavaCTBConverter) converter).setAlignment(alignment);
@@ -725,6 +1075,46 @@ public class CodeSetConversion
     // instance method
     private CodeSetConversion() {}
 
+    // The byte order marker, as it is written before big endian UTF-16.
+    private static final char UTF16_BOM = (char) 0xfeff;
+
+    // Scratch arrays longer than this are not kept for reuse.
+    private static final int MAX_SCRATCH_LENGTH = 16384;
+
+    /**
+     * Returns a per-thread array of at least the given length, for
+     * holding bytes briefly during a conversion.  The contents are only
+     * valid until the next call on the same thread.
+     * @param length the minimum length of the array
+     * @return a scratch array
+     */
+    byte[] getScratchBytes(int length) {
+        byte[] result = scratchBytes.get();
+        if (result.length < length) {
+            result = new byte[length];
+            if (length <= MAX_SCRATCH_LENGTH)
+                scratchBytes.set(result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a per-thread array of at least the given length, for
+     * holding chars briefly during a conversion.  The contents are only
+     * valid until the next call on the same thread.
+     * @param length the minimum length of the array
+     * @return a scratch array
+     */
+    char[] getScratchChars(int length) {
+        char[] result = scratchChars.get();
+        if (result.length < length) {
+            result = new char[length];
+            if (length <= MAX_SCRATCH_LENGTH)
+                scratchChars.set(result);
+        }
+        return result;
+    }
+
     // initialize-on-demand holder
     private static class CodeSetConversionHolder {
         static final CodeSetConversion csc = new CodeSetConversion() ;
@@ -747,10 +1137,7 @@ public class CodeSetConversion
     private CodeSetCache cache = new CodeSetCache();
 
     // CodeSet converters are cached once created and are shared with multiple
-    //  worker threads as shared objects. Each converter's
-    //  btc/ctb object has cached string<-->byte[] cache on a per thread basis.
-    //  Everytime a string is encoded/decoded it's result will be stored in
-    //  the weak HashMap of the respective converters.
+    //  worker threads as shared objects, on a per thread basis.
     private ThreadLocal <HashMap<OSFCodeSetRegistry.Entry, BTCConverter>>
         cacheBTCC = new ThreadLocal() {
         @Override
@@ -765,4 +1152,18 @@ public class CodeSetConversion
             return new HashMap<OSFCodeSetRegistry.Entry, CTBConverter>() ;
         }
     };
+
+    // Scratch arrays shared by the CDR streams on each thread.
+    private ThreadLocal<byte[]> scratchBytes = new ThreadLocal<byte[]>() {
+        @Override
+        public byte[] initialValue() {
+            return new byte[256];
+        }
+    };
+    private ThreadLocal<char[]> scratchChars = new ThreadLocal<char[]>() {
+        @Override
+        public char[] initialValue() {
+            return new char[256];
+        }
+    };
 }
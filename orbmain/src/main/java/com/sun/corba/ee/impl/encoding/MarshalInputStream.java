@@ -19,6 +19,8 @@
 
 package com.sun.corba.ee.impl.encoding;
 
+import java.nio.ByteBuffer;
+
 import org.omg.CORBA.Any;
 import org.omg.CORBA.TypeCode;
 
@@ -51,6 +53,15 @@ public interface MarshalInputStream {
     public void read_float_array(float[] value, int offset, int length);
     public void read_double_array(double[] value, int offset, int length);
 
+    /**
+     * Reads octets as a read-only view of the received message, without copying them
+     * when they lie within a single buffer.  The view remains valid only until
+     * the stream is closed, when its buffers are returned to the pool.
+     * @param length the number of octets to read
+     * @return a read-only buffer positioned at the first octet read
+     */
+    public ByteBuffer read_octet_buffer(int length);
+
     public org.omg.CORBA.Object read_Object();
     public TypeCode     read_TypeCode();
     public Any          read_any();
@@ -20,6 +20,7 @@
 package com.sun.corba.ee.impl.encoding;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import org.omg.CORBA.Any;
 import org.omg.CORBA.TypeCode;
@@ -57,6 +58,14 @@ public interface MarshalOutputStream {
     public void write_float_array(float[] value, int offset, int length);
     public void write_double_array(double[] value, int offset, int length);
 
+    /**
+     * Writes the remaining octets of the given buffer.  A buffer manager which keeps the
+     * message in segments may send the buffer itself rather than a copy, so its contents
+     * must not change until the message has been sent.
+     * @param value the octets to write
+     */
+    public void write_octet_buffer(ByteBuffer value);
+
     public void write_Object(org.omg.CORBA.Object value);
     public void write_TypeCode(TypeCode value);
     public void write_any(Any value);
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.impl.encoding;
+
+import com.sun.corba.ee.spi.servicecontext.RepositoryIdDictionaryServiceContext;
+import com.sun.corba.ee.spi.servicecontext.ServiceContextDefaults;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The repository IDs and codebase URLs which the two ends of a connection
+ * have agreed to send as small integers.
+ *
+ * Each direction has its own entries.  The first time a string is written
+ * in full, the sender assigns it the next index, and it defines that index
+ * in the RepositoryIdDictionaryServiceContext of each message it sends until
+ * the receiver acknowledges it in a service context of its own.  Only then
+ * is the index written in place of the string, as an indirection tag followed
+ * by the non-negative index; a stream indirection offset is always negative.
+ * Because an index is only used after the receiver has recorded it, the
+ * dictionary is safe even though messages on a connection are marshaled and
+ * unmarshaled in parallel.
+ *
+ * The dictionary is only used on connections to ORBs that advertise the
+ * RepositoryIdDictionaryComponent; a server starts using it once it receives
+ * the service context from a client.
+ */
+public class RepositoryIdDictionary {
+    /** The maximum number of entries in each direction. */
+    public static final int MAX_ENTRIES = 1024;
+
+    private static final String[] NO_ENTRIES = new String[0];
+
+    private volatile boolean outboundEnabled;
+    private final ConcurrentMap<String,Integer> outboundIndices =
+        new ConcurrentHashMap<String,Integer>();
+    private String[] outboundEntries = NO_ENTRIES;  // guarded by this
+    private int outboundSize;                       // guarded by this
+    private volatile int outboundAcknowledged;
+
+    private volatile String[] inboundEntries = NO_ENTRIES;
+    private int inboundRecorded;                    // guarded by this
+
+    private final AtomicLong numberOfReferencesWritten = new AtomicLong();
+
+    /**
+     * Allows strings written on this connection to be assigned indices.
+     */
+    public void enableOutbound() {
+        outboundEnabled = true;
+    }
+
+    public boolean isOutboundEnabled() {
+        return outboundEnabled;
+    }
+
+    /**
+     * Returns the index to write in place of the specified string, or -1 if the
+     * string must be written in full.  The first call for a string assigns it an
+     * index, which may be used once the other end has acknowledged it.
+     * @param str a repository ID or codebase URL about to be written
+     * @return the acknowledged index of the string, or -1
+     */
+    public int getIndex(String str) {
+        if (!outboundEnabled) {
+            return -1;
+        }
+
+        Integer index = outboundIndices.get(str);
+        if (index == null) {
+            assignIndex(str);
+            return -1;
+        } else if (index >= outboundAcknowledged) {
+            return -1;
+        }
+
+        numberOfReferencesWritten.incrementAndGet();
+        return index;
+    }
+
+    private synchronized void assignIndex(String str) {
+        if (outboundSize == MAX_ENTRIES || outboundIndices.containsKey(str) || !isLatin1(str)) {
+            return;
+        }
+
+        if (outboundSize == outboundEntries.length) {
+            outboundEntries = Arrays.copyOf(outboundEntries, Math.min(MAX_ENTRIES, Math.max(16, outboundSize * 2)));
+        }
+        outboundEntries[outboundSize] = str;
+        outboundIndices.put(str, outboundSize++);
+    }
+
+    // Definitions are sent with write_string, so they must survive the ISO 8859-1 code set.
+    private static boolean isLatin1(String str) {
+        for (int i = 0; i < str.length(); i++) {
+            if (str.charAt(i) > 0xff) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the string which the other end has defined for the specified index.
+     * @param index a non-negative index read in place of a string
+     * @return the string, or null if the index has not been defined
+     */
+    public String getString(int index) {
+        String[] entries = inboundEntries;
+        return index < entries.length ? entries[index] : null;
+    }
+
+    /**
+     * Creates the service context to send with the next message on this connection.
+     * It acknowledges the entries recorded from the other end, and defines any
+     * entries that the other end has not yet acknowledged.
+     * @return a new service context
+     */
+    public synchronized RepositoryIdDictionaryServiceContext makeServiceContext() {
+        int firstIndex = outboundAcknowledged;
+        return ServiceContextDefaults.makeRepositoryIdDictionaryServiceContext(inboundRecorded,
+            firstIndex, Arrays.copyOfRange(outboundEntries, firstIndex, outboundSize));
+    }
+
+    /**
+     * Records the definitions and acknowledgement in a service context received
+     * on this connection.
+     * @param context the service context sent by the other end
+     */
+    public synchronized void receive(RepositoryIdDictionaryServiceContext context) {
+        recordDefinitions(context.getFirstIndex(), context.getDefinitions());
+
+        int acknowledged = Math.min(context.getAcknowledged(), outboundSize);
+        if (acknowledged > outboundAcknowledged) {
+            outboundAcknowledged = acknowledged;
+        }
+    }
+
+    private void recordDefinitions(int firstIndex, String[] definitions) {
+        int end = Math.min(MAX_ENTRIES, firstIndex + definitions.length);
+        String[] entries = inboundEntries;
+        for (int index = Math.max(0, firstIndex); index < end; index++) {
+            if (index >= entries.length || entries[index] == null) {
+                if (entries == inboundEntries) {
+                    entries = Arrays.copyOf(entries, Math.max(entries.length, end));
+                }
+                entries[index] = definitions[index - firstIndex];
+            }
+        }
+
+        if (entries != inboundEntries) {
+            while (inboundRecorded < entries.length && entries[inboundRecorded] != null) {
+                inboundRecorded++;
+            }
+            inboundEntries = entries;
+        }
+    }
+
+    /**
+     * Returns the number of entries this end has assigned to strings it writes.
+     * @return the number of outbound entries
+     */
+    public synchronized int getNumberOfOutboundEntries() {
+        return outboundSize;
+    }
+
+    /**
+     * Returns the number of outbound entries that the other end has acknowledged.
+     * @return the number of acknowledged entries
+     */
+    public int getNumberOfAcknowledgedEntries() {
+        return outboundAcknowledged;
+    }
+
+    /**
+     * Returns the number of consecutive entries recorded from the other end.
+     * @return the number of inbound entries
+     */
+    public synchronized int getNumberOfInboundEntries() {
+        return inboundRecorded;
+    }
+
+    /**
+     * Returns the number of times an index has been written in place of a string.
+     * @return the number of references written
+     */
+    public long getNumberOfReferencesWritten() {
+        return numberOfReferencesWritten.get();
+    }
+}
+
+// End of file.
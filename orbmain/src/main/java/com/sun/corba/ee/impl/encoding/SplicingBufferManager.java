@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+package com.sun.corba.ee.impl.encoding;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Implemented by the BufferManagerWrites which can add a caller's buffer
+ * to the message without copying it.
+ */
+interface SplicingBufferManager
+{
+    /**
+     * Ends the current buffer and adds the remaining contents of the given
+     * buffer to the message as they are, consuming them.
+     * @param current the buffer the stream is currently writing into
+     * @param data the octets to add to the message
+     * @return a buffer in which to continue writing
+     */
+    ByteBuffer splice(ByteBuffer current, ByteBuffer data);
+}
@@ -22,6 +22,7 @@ package com.sun.corba.ee.impl.encoding;
 import com.sun.corba.ee.impl.corba.TypeCodeImpl;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -85,6 +86,9 @@ public class WrapperInputStream extends org.omg.CORBA_2_3.portable.InputStream i
     public void read_octet_array(byte[] value, int offset, int length) {
         stream.read_octet_array(value, offset, length);
     }
+    public ByteBuffer read_octet_buffer(int length) {
+        return stream.read_octet_buffer(length);
+    }
     public void read_short_array(short[] value, int offset, int length) {
         stream.read_short_array(value, offset, length);
     }
@@ -549,6 +549,31 @@ public class PIHandlerImpl implements PIHandler
         }
     }
 
+    @TraceInterceptor
+    public Object suspendClientPIRequest() {
+        if( !hasClientInterceptors ) return null;
+        if( !isClientPIEnabledForThisThread() ) return null;
+
+        RequestInfoStack<ClientRequestInfoImpl> infoStack =
+            threadLocalClientRequestInfoStack.get();
+        if (infoStack.empty()) {
+            throw wrapper.clientInfoStackNull() ;
+        }
+
+        ClientRequestInfoImpl info = infoStack.pop();
+        clientInfoStackWasPopped();
+        return info;
+    }
+
+    @TraceInterceptor
+    public void resumeClientPIRequest( Object request ) {
+        if (request == null) return;
+
+        threadLocalClientRequestInfoStack.get().push(
+            (ClientRequestInfoImpl)request );
+        clientInfoStackWasPushed();
+    }
+
     @TraceInterceptor
     public void setClientPIInfo(MessageMediator messageMediator)
     {
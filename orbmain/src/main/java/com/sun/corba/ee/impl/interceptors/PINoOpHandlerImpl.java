@@ -100,6 +100,13 @@ public class PINoOpHandlerImpl implements PIHandler
     public void cleanupClientPIRequest() {
     }
 
+    public Object suspendClientPIRequest() {
+        return null;
+    }
+
+    public void resumeClientPIRequest( Object request ) {
+    }
+
     public void setClientPIInfo(MessageMediator messageMediator)
     {
     }
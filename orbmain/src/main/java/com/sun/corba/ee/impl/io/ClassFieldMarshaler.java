@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.impl.io;
+
+import java.lang.reflect.Field;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+
+import org.glassfish.pfl.basic.reflection.Bridge;
+import org.omg.CORBA_2_3.portable.InputStream;
+import org.omg.CORBA_2_3.portable.OutputStream;
+
+/**
+ * The default marshaling of the fields of one class, resolved once and
+ * cached in its ObjectStreamClass.  Each primitive field becomes an accessor
+ * that knows its own type and field offset, so that writing or reading a
+ * value no longer switches on the type code and re-checks the field for every
+ * field of every instance.  The declared type checks that guard the object
+ * fields on read are also done here, once.  Fields are marshaled in the order
+ * of ObjectStreamClass.getFieldsNoCopy(), so the wire format is unchanged.
+ *
+ * Setting the system property com.sun.corba.ee.io.DisableFieldMarshalers to
+ * true makes the streams use the field by field code path instead.
+ */
+final class ClassFieldMarshaler {
+    static final String DISABLE_PROPERTY = "com.sun.corba.ee.io.DisableFieldMarshalers";
+
+    private static final boolean disabled = AccessController.doPrivileged(
+        new PrivilegedAction<Boolean>() {
+            public Boolean run() {
+                return Boolean.getBoolean(DISABLE_PROPERTY);
+            }
+        }
+    ) ;
+
+    private static final Bridge bridge = AccessController.doPrivileged(
+        new PrivilegedAction<Bridge>() {
+            public Bridge run() {
+                return Bridge.get() ;
+            }
+        }
+    ) ;
+
+    /** Marks a class whose fields must be handled by the field by field code path. */
+    static final ClassFieldMarshaler NONE = new ClassFieldMarshaler(new PrimitiveField[0], new boolean[0]);
+
+    private final PrimitiveField[] primitiveFields;
+    private final boolean[] objectFieldTypeMatches;
+
+    private ClassFieldMarshaler(PrimitiveField[] primitiveFields, boolean[] objectFieldTypeMatches) {
+        this.primitiveFields = primitiveFields;
+        this.objectFieldTypeMatches = objectFieldTypeMatches;
+    }
+
+    /**
+     * Creates the marshaler for the specified class descriptor.
+     * @param osc the local class descriptor
+     * @return the new marshaler, or NONE if some field is not bound to a field of the local class
+     */
+    static ClassFieldMarshaler create(ObjectStreamClass osc) {
+        Class<?> cl = osc.forClass();
+        ObjectStreamField[] fields = osc.getFieldsNoCopy();
+        if (disabled || cl == null) {
+            return NONE;
+        }
+
+        int numPrimitiveFields = fields.length - osc.objFields;
+        PrimitiveField[] primitiveFields = new PrimitiveField[numPrimitiveFields];
+        for (int i = 0; i < numPrimitiveFields; i++) {
+            if (fields[i].getField() == null || fields[i].getFieldID() == Bridge.INVALID_FIELD_OFFSET) {
+                return NONE;
+            }
+
+            primitiveFields[i] = createPrimitiveField(fields[i].getTypeCode(), fields[i].getFieldID());
+            if (primitiveFields[i] == null) {
+                return NONE;
+            }
+        }
+
+        boolean[] objectFieldTypeMatches = new boolean[osc.objFields];
+        for (int i = numPrimitiveFields; i < fields.length; i++) {
+            if (fields[i].getFieldID() == Bridge.INVALID_FIELD_OFFSET) {
+                return NONE;
+            }
+
+            objectFieldTypeMatches[i - numPrimitiveFields] = isDeclaredTypeOf(cl, fields[i]);
+        }
+
+        return new ClassFieldMarshaler(primitiveFields, objectFieldTypeMatches);
+    }
+
+    // The serialized type of an object field must be a subtype of the type
+    // with which the field is declared in the local class.
+    private static boolean isDeclaredTypeOf(Class<?> cl, ObjectStreamField field) {
+        try {
+            Field classField = cl.getDeclaredField(field.getName());
+            return field.getClazz() != null && classField.getType().isAssignableFrom(field.getClazz());
+        } catch (NoSuchFieldException | SecurityException exc) {
+            return false;
+        }
+    }
+
+    int getNumberOfPrimitiveFields() {
+        return primitiveFields.length;
+    }
+
+    /**
+     * Returns true if the object field with the specified index among the
+     * object fields may be assigned an instance of its serialized type.
+     */
+    boolean objectFieldTypeMatches(int objectFieldIndex) {
+        return objectFieldTypeMatches[objectFieldIndex];
+    }
+
+    void writePrimitiveFields(Object o, OutputStream out) {
+        for (PrimitiveField field : primitiveFields) {
+            field.write(o, out);
+        }
+    }
+
+    void readPrimitiveFields(InputStream in, Object o) {
+        for (PrimitiveField field : primitiveFields) {
+            field.read(in, o);
+        }
+    }
+
+    private static PrimitiveField createPrimitiveField(char typeCode, long offset) {
+        switch (typeCode) {
+            case 'B':
+                return new PrimitiveField(offset) {
+                    void write(Object o, OutputStream out) {
+                        out.write_octet(bridge.getByte(o, offset));
+                    }
+
+                    void read(InputStream in, Object o) {
+                        bridge.putByte(o, offset, in.read_octet());
+                    }
+                };
+            case 'Z':
+                return new PrimitiveField(offset) {
+                    void write(Object o, OutputStream out) {
+                        out.write_boolean(bridge.getBoolean(o, offset));
+                    }
+
+                    void read(InputStream in, Object o) {
+                        bridge.putBoolean(o, offset, in.read_boolean());
+                    }
+                };
+            case 'C':
+                return new PrimitiveField(offset) {
+                    void write(Object o, OutputStream out) {
+                        out.write_wchar(bridge.getChar(o, offset));
+                    }
+
+                    void read(InputStream in, Object o) {
+                        bridge.putChar(o, offset, in.read_wchar());
+                    }
+                };
+            case 'S':
+                return new PrimitiveField(offset) {
+                    void write(Object o, OutputStream out) {
+                        out.write_short(bridge.getShort(o, offset));
+                    }
+
+                    void read(InputStream in, Object o) {
+                        bridge.putShort(o, offset, in.read_short());
+                    }
+                };
+            case 'I':
+                return new PrimitiveField(offset) {
+                    void write(Object o, OutputStream out) {
+                        out.write_long(bridge.getInt(o, offset));
+                    }
+
+                    void read(InputStream in, Object o) {
+                        bridge.putInt(o, offset, in.read_long());
+                    }
+                };
+            case 'J':
+                return new PrimitiveField(offset) {
+                    void write(Object o, OutputStream out) {
+                        out.write_longlong(bridge.getLong(o, offset));
+                    }
+
+                    void read(InputStream in, Object o) {
+                        bridge.putLong(o, offset, in.read_longlong());
+                    }
+                };
+            case 'F':
+                return new PrimitiveField(offset) {
+                    void write(Object o, OutputStream out) {
+                        out.write_float(bridge.getFloat(o, offset));
+                    }
+
+                    void read(InputStream in, Object o) {
+                        bridge.putFloat(o, offset, in.read_float());
+                    }
+                };
+            case 'D':
+                return new PrimitiveField(offset) {
+                    void write(Object o, OutputStream out) {
+                        out.write_double(bridge.getDouble(o, offset));
+                    }
+
+                    void read(InputStream in, Object o) {
+                        bridge.putDouble(o, offset, in.read_double());
+                    }
+                };
+            default:
+                return null;
+        }
+    }
+
+    private abstract static class PrimitiveField {
+        final long offset;
+
+        PrimitiveField(long offset) {
+            this.offset = offset;
+        }
+
+        abstract void write(Object o, OutputStream out);
+
+        abstract void read(InputStream in, Object o);
+    }
+}
+
+// End of file.
@@ -2325,7 +2325,10 @@ public class IIOPInputStream
         int primFields = fields.length - currentClassDesc.objFields;
         readingPrimitiveFields(primFields);
 
-        if (o != null) {
+        ClassFieldMarshaler marshaler = o == null ? null : currentClassDesc.getFieldMarshaler();
+        if (marshaler != null) {
+            marshaler.readPrimitiveFields(orbStream, o);
+        } else if (o != null) {
             for (int i = 0; i < primFields; ++i) {
                 OperationTracer.readingField( fields[i].getName() ) ;
                 inputPrimitiveField(o, cl, fields[i]);
@@ -2360,22 +2363,29 @@ public class IIOPInputStream
                         throw new IllegalArgumentException("Field mismatch");
                     }
 
-                    Field classField = null;
-                    try {
-                        classField = cl.getDeclaredField(fields[i].getName());
-                    } catch (NoSuchFieldException nsfEx) {
-                        throw new IllegalArgumentException(nsfEx);
-                    } catch (SecurityException secEx) {
-                        throw new IllegalArgumentException(secEx.getCause());
-                    }
+                    if (marshaler != null) {
+                        if (!marshaler.objectFieldTypeMatches(i - primFields)) {
+                            throw new IllegalArgumentException(
+                                    "Field Type mismatch");
+                        }
+                    } else {
+                        Field classField = null;
+                        try {
+                            classField = cl.getDeclaredField(fields[i].getName());
+                        } catch (NoSuchFieldException nsfEx) {
+                            throw new IllegalArgumentException(nsfEx);
+                        } catch (SecurityException secEx) {
+                            throw new IllegalArgumentException(secEx.getCause());
+                        }
 
-                    Class<?> declaredFieldClass = classField.getType();
+                        Class<?> declaredFieldClass = classField.getType();
 
-                    // check input field type is a declared field type
-                    // input field is a subclass of the declared field
-                    if (!declaredFieldClass.isAssignableFrom(fieldCl)) {
-                        throw new IllegalArgumentException(
-                                "Field Type mismatch");
+                        // check input field type is a declared field type
+                        // input field is a subclass of the declared field
+                        if (!declaredFieldClass.isAssignableFrom(fieldCl)) {
+                            throw new IllegalArgumentException(
+                                    "Field Type mismatch");
+                        }
                     }
 
                     if (objectValue != null && !fieldCl.isInstance(objectValue)) {
@@ -765,11 +765,14 @@ public class IIOPOutputStream
                                    ObjectStreamField[] fields)
         throws IOException, InvalidClassException {
 
-        // replace this all with
-        // for (int i = 0; i < fields.length; i++) {
-        //     fields[i].write( o, orbStream ) ;
-        // Should we just put this into ObjectStreamClass?
-        // Could also unroll and codegen this.
+        ClassFieldMarshaler marshaler = currentClassDesc.getFieldMarshaler();
+        if (marshaler != null) {
+            marshaler.writePrimitiveFields(o, orbStream);
+            for (int i = marshaler.getNumberOfPrimitiveFields(); i < fields.length; i++) {
+                writeObjectField(fields[i], bridge.getObject(o, fields[i].getFieldID()));
+            }
+            return;
+        }
 
         for (int i = 0; i < fields.length; i++) {
             ObjectStreamField field = fields[i] ;
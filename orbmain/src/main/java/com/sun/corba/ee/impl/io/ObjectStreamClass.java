@@ -297,6 +297,20 @@ public class ObjectStreamClass implements java.io.Serializable {
         return fields;
     }
 
+    /**
+     * Returns the marshaler for the fields of this class, creating it on first use.
+     * Returns null if the fields must be marshaled one by one.
+     */
+    final ClassFieldMarshaler getFieldMarshaler() {
+        ClassFieldMarshaler result = fieldMarshaler;
+        if (result == null) {
+            result = ClassFieldMarshaler.create(this);
+            fieldMarshaler = result;
+        }
+
+        return result == ClassFieldMarshaler.NONE ? null : result;
+    }
+
     /**
      * Get the field of this class by name.
      * @param name name of the field to get
@@ -1252,6 +1266,12 @@ public class ObjectStreamClass implements java.io.Serializable {
     int primBytes;
     int objFields;
 
+    /*
+     * The marshaler for the fields, created when the fields are first
+     * written or read.
+     */
+    private transient volatile ClassFieldMarshaler fieldMarshaler;
+
     /**
      * Flag indicating whether or not this instance has
      * successfully completed initialization.  This is to
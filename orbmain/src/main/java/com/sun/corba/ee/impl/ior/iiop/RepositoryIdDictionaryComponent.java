@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.impl.ior.iiop;
+
+import com.sun.corba.ee.spi.ior.TaggedComponentBase;
+import com.sun.corba.ee.spi.misc.ORBConstants;
+
+import org.omg.CORBA_2_3.portable.OutputStream;
+
+/**
+ * Tagged component that indicates the ORB is able to keep a dictionary
+ * of repository IDs and codebases for each connection, so that they may
+ * be sent as small integers once both ends have agreed on them.
+ * The version identifies the dictionary protocol.
+ */
+public class RepositoryIdDictionaryComponent extends TaggedComponentBase {
+
+    public static final byte CURRENT_VERSION = 1;
+
+    private static final RepositoryIdDictionaryComponent singleton =
+        new RepositoryIdDictionaryComponent(CURRENT_VERSION);
+
+    private byte version;
+
+    public static RepositoryIdDictionaryComponent singleton() {
+        return singleton;
+    }
+
+    public RepositoryIdDictionaryComponent(byte version) {
+        this.version = version;
+    }
+
+    public byte getVersion() {
+        return this.version;
+    }
+
+    public void writeContents(OutputStream os) {
+        os.write_octet(version);
+    }
+
+    public int getId() {
+        return ORBConstants.TAG_REPOSITORY_ID_DICTIONARY_ID;
+    }
+
+    public boolean equals(Object obj) {
+        if (!(obj instanceof RepositoryIdDictionaryComponent)) {
+            return false;
+        }
+        RepositoryIdDictionaryComponent other = (RepositoryIdDictionaryComponent) obj;
+        return this.version == other.version;
+    }
+
+    public int hashCode() {
+        return this.version;
+    }
+}
+
+// End of file.
@@ -194,6 +194,41 @@ public final class ORBUtility {
         return ORBConstants.CDR_ENC_VERSION; // default
     }
 
+    /**
+     * @param orb The ORB
+     * @param ior Interoperable object reference
+     * @return true if both this ORB and the ORB that created the IOR
+     * keep a repository ID dictionary for each connection.
+     */
+    public static boolean useRepositoryIdDictionary(ORB orb, IOR ior) {
+        if (!orb.getORBData().isRepositoryIdDictionaryEnabled()) {
+            return false;
+        }
+
+        IIOPProfileTemplate profTemp =
+            (IIOPProfileTemplate) ior.getProfile().getTaggedProfileTemplate();
+        return profTemp.iteratorById(
+            ORBConstants.TAG_REPOSITORY_ID_DICTIONARY_ID).hasNext();
+    }
+
+    /**
+     * @param orb The ORB
+     * @param ior Interoperable object reference
+     * @return true if this ORB compresses messages and the ORB that
+     * created the IOR accepts compressed messages.
+     */
+    public static boolean useMessageCompression(ORB orb, IOR ior) {
+        if (orb.getORBData().getGIOPMessageCompression() ==
+            ORBConstants.MESSAGE_COMPRESSION_NONE) {
+            return false;
+        }
+
+        IIOPProfileTemplate profTemp =
+            (IIOPProfileTemplate) ior.getProfile().getTaggedProfileTemplate();
+        return profTemp.iteratorById(
+            ORBConstants.TAG_MESSAGE_COMPRESSION_ID).hasNext();
+    }
+
     private ORBUtility() {}
 
     private static ORBUtilSystemException wrapper =
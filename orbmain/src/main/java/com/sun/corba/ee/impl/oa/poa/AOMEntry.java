@@ -34,6 +34,7 @@ import org.glassfish.pfl.basic.fsm.Runner;
 import org.glassfish.pfl.basic.fsm.State;
 import org.glassfish.pfl.basic.fsm.StateEngine;
 import org.glassfish.pfl.tf.spi.annotation.InfoMethod;
+import org.omg.PortableServer.Servant ;
 import org.omg.PortableServer.POAPackage.ObjectAlreadyActive ;
 
 import static org.glassfish.pfl.basic.fsm.Guard.Base.constant;
@@ -65,6 +66,10 @@ public class AOMEntry extends FSMImpl {
 
     final POAImpl poa ;
 
+    volatile Servant servant ;              // set and cleared only by the
+                                            // ActiveObjectMap, read without
+                                            // the POA lock by find callers
+
     public static final State INVALID = new State( "Invalid",
         State.Kind.INITIAL ) ;
 
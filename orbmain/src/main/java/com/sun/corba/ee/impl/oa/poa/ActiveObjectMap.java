@@ -19,6 +19,7 @@
 
 package com.sun.corba.ee.impl.oa.poa;
 
+import java.util.Arrays ;
 import java.util.HashMap ;
 import java.util.HashSet ;
 import java.util.Map ;
@@ -30,8 +31,14 @@ import org.omg.PortableServer.POAPackage.WrongPolicy ;
 /**  The ActiveObjectMap maintains associations between servants and
  * their keys.  There are two variants, to support whether or not
  * multiple IDs per servant are allowed.  This class supports bidirectional
- * traversal of the key-servant association.  Access to an instance of this
- * class is serialized by the POA mutex.
+ * traversal of the key-servant association.  Updates to an instance of this
+ * class are serialized by the POA mutex.
+ * <p>
+ * Looking up an entry by object id with find does not need the POA mutex.
+ * The entries are kept in an ObjectIdTable indexed directly by the id
+ * bytes, and the servant of an entry is held by the entry itself, so a
+ * request for an active object can find its servant without locking,
+ * and without allocating a Key.
  */
 public abstract class ActiveObjectMap
 {
@@ -64,25 +71,12 @@ public abstract class ActiveObjectMap
                 return false;
             }
             Key k = (Key) key;
-            if (k.id.length != this.id.length) {
-                return false;
-            }
-            for(int i = 0; i < this.id.length; i++) {
-                if (this.id[i] != k.id[i]) {
-                    return false;
-                }
-            }
-            return true;
+            return Arrays.equals( k.id, this.id ) ;
         }
 
-        // Use the same hash function as for String
         @Override
         public int hashCode() {
-            int h = 0;
-            for (int i = 0; i < id.length; i++) {
-                h = 31 * h + id[i];
-            }
-            return h;
+            return ObjectIdTable.hash( id ) ;
         }
     }
 
@@ -102,10 +96,8 @@ public abstract class ActiveObjectMap
         }
     }
 
-    private Map<Key,AOMEntry> keyToEntry =
-        new HashMap<Key,AOMEntry>() ;
-    private Map<AOMEntry,Servant> entryToServant =
-        new HashMap<AOMEntry,Servant>() ;
+    private final ObjectIdTable<AOMEntry> keyToEntry =
+        new ObjectIdTable<AOMEntry>() ;
     private Map<Servant,AOMEntry> servantToEntry =
         new HashMap<Servant,AOMEntry>() ;
 
@@ -116,7 +108,16 @@ public abstract class ActiveObjectMap
 
     public final boolean containsKey(Key key)
     {
-        return keyToEntry.containsKey(key);
+        return keyToEntry.get( key.id() ) != null ;
+    }
+
+    /* find Returns the entry assigned to the id, or null if none is
+     * present.  Unlike get, this never adds an entry, and may be called
+     * without holding the POA mutex.
+     */
+    public final AOMEntry find( byte[] id )
+    {
+        return keyToEntry.get( id ) ;
     }
 
     /* get Returns the entry assigned to the key, or creates a new
@@ -124,7 +125,7 @@ public abstract class ActiveObjectMap
     */
     public final AOMEntry get(Key key)
     {
-        AOMEntry result = keyToEntry.get(key);
+        AOMEntry result = keyToEntry.get( key.id() ) ;
         if (result == null) {
             result = new AOMEntry( poa ) ;
             putEntry( key, result ) ;
@@ -135,7 +136,11 @@ public abstract class ActiveObjectMap
 
     public final Servant getServant( AOMEntry entry )
     {
-        return entryToServant.get(entry) ;
+        if (entry == null) {
+            return null ;
+        }
+
+        return entry.servant ;
     }
 
     public abstract Key getKey(AOMEntry value) throws WrongPolicy ;
@@ -148,12 +153,12 @@ public abstract class ActiveObjectMap
 
     protected void putEntry( Key key, AOMEntry value )
     {
-        keyToEntry.put( key, value ) ;
+        keyToEntry.put( key.id(), value ) ;
     }
 
     public final void putServant( Servant servant, AOMEntry value )
     {
-        entryToServant.put( value, servant ) ;
+        value.servant = servant ;
         servantToEntry.put( servant, value ) ;
     }
 
@@ -161,9 +166,10 @@ public abstract class ActiveObjectMap
 
     public final void remove( Key key )
     {
-        AOMEntry entry = keyToEntry.remove(key) ;
-        Servant servant = entryToServant.remove(entry) ;
+        AOMEntry entry = keyToEntry.remove( key.id() ) ;
+        Servant servant = getServant( entry ) ;
         if (servant != null) {
+            entry.servant = null ;
             servantToEntry.remove(servant);
         }
 
@@ -172,14 +178,36 @@ public abstract class ActiveObjectMap
 
     public abstract boolean hasMultipleIDs(AOMEntry value) ;
 
+    /** Make room for count more entries, so that activating many objects
+     * at once grows the map only once.
+     * @param count The number of entries about to be added
+     */
+    public final void reserve( int count )
+    {
+        keyToEntry.ensureCapacity( keyToEntry.size() + count ) ;
+    }
+
+    public final int size()
+    {
+        return keyToEntry.size() ;
+    }
+
     protected  void clear()
     {
         keyToEntry.clear();
     }
 
+    /** Return a snapshot of the keys in the map.
+     * @return The keys
+     */
     public final Set<Key> keySet()
     {
-        return keyToEntry.keySet() ;
+        Set<Key> result = new HashSet<Key>() ;
+        for (byte[] id : keyToEntry.ids()) {
+            result.add( new Key( id ) ) ;
+        }
+
+        return result ;
     }
 }
 
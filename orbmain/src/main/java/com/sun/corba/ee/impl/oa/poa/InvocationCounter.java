@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.impl.oa.poa ;
+
+import java.util.concurrent.atomic.AtomicLongArray ;
+
+/** Counts the invocations in progress in a POA or POAManager.
+ * <p>
+ * The count is striped over several cells, each on its own cache line, so
+ * that requests on different worker threads rarely update the same line.
+ * Unlike a LongAdder, a thread always updates the same cell, chosen from its
+ * id.  Since an invocation is entered and exited on the same thread, its
+ * increment and decrement are made to the same cell, and a thread summing
+ * the cells can never see the end of an invocation without its start.
+ * <p>
+ * Together with the volatile state of the POA or POAManager, this supports
+ * the fast path of enter: increment, then check the state.  A thread that
+ * changes the state sets it before summing the count, so either it counts
+ * the invocation, or the entering thread sees the new state and backs out.
+ */
+final class InvocationCounter
+{
+    // Longs per cell: 8 longs fill a 64 byte cache line.
+    private static final int STRIDE = 8 ;
+    private static final int MAX_CELLS = 16 ;
+
+    private final AtomicLongArray cells ;
+    private final int mask ;
+
+    InvocationCounter()
+    {
+        int processors = Runtime.getRuntime().availableProcessors() ;
+        int size = 1 ;
+        while (size < processors && size < MAX_CELLS) {
+            size <<= 1 ;
+        }
+
+        cells = new AtomicLongArray( size * STRIDE ) ;
+        mask = size - 1 ;
+    }
+
+    private int index()
+    {
+        return ((int)Thread.currentThread().getId() & mask) * STRIDE ;
+    }
+
+    void increment()
+    {
+        cells.incrementAndGet( index() ) ;
+    }
+
+    void decrement()
+    {
+        cells.decrementAndGet( index() ) ;
+    }
+
+    long sum()
+    {
+        long result = 0 ;
+        for (int ctr=0; ctr<cells.length(); ctr+=STRIDE) {
+            result += cells.get( ctr ) ;
+        }
+
+        return result ;
+    }
+
+    @Override
+    public String toString()
+    {
+        return Long.toString( sum() ) ;
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.impl.oa.poa ;
+
+import java.util.ArrayList ;
+import java.util.Arrays ;
+import java.util.List ;
+import java.util.concurrent.atomic.AtomicReferenceArray ;
+
+/** An open-addressed hash table from object ids to values, used by the
+ * ActiveObjectMap to hold its AOMEntries.
+ * <p>
+ * Each slot is a pair of adjacent elements in a single array: the id, and
+ * the value for that id.  The table is probed linearly, and ids are compared
+ * by content, so a lookup needs no wrapper object for the id.  This keeps
+ * the cost of an active object down to the two references in its slot (plus
+ * the free slots needed to keep the load factor below 3/4), which matters
+ * for POAs that retain millions of servants.
+ * <p>
+ * Lookups do not lock.  Updates are serialized on the table, and are
+ * ordered so that a concurrent lookup either sees a complete slot or misses
+ * it: a new id is stored before its value, and a removed value is cleared
+ * before its id is replaced by the REMOVED marker.  A lookup re-reads the id
+ * after reading the value, so it never returns a value whose slot was
+ * reused for another id in the meantime.  When the table grows, the
+ * slots are copied into a new array that is published only once it is
+ * complete; the old array is never modified again.
+ */
+final class ObjectIdTable<V>
+{
+    private static final int MIN_CAPACITY = 16 ;
+
+    // Marks a slot whose value was removed.  Compared by identity, so it
+    // does not hide an id that happens to be empty.
+    private static final byte[] REMOVED = new byte[0] ;
+
+    private volatile AtomicReferenceArray<Object> slots ;
+    private volatile int size ;
+    private int used ;          // slots that are not null: size plus REMOVED
+
+    ObjectIdTable()
+    {
+        slots = new AtomicReferenceArray<Object>( 2 * MIN_CAPACITY ) ;
+    }
+
+    // FNV-1a, followed by the final mix of MurmurHash3.  Linear probing
+    // needs well spread hashes: the String hash of sequential system ids
+    // puts many of them in the same or neighbouring slots.
+    static int hash( byte[] id )
+    {
+        int h = 0x811c9dc5 ;
+        for (int i = 0; i < id.length; i++) {
+            h = (h ^ (id[i] & 0xff)) * 0x01000193 ;
+        }
+
+        h ^= h >>> 16 ;
+        h *= 0x85ebca6b ;
+        h ^= h >>> 13 ;
+        h *= 0xc2b2ae35 ;
+        return h ^ (h >>> 16) ;
+    }
+
+    int size()
+    {
+        return size ;
+    }
+
+    /** Return the number of slots, used and free, in the table.
+     */
+    int capacity()
+    {
+        return slots.length() / 2 ;
+    }
+
+    /** Return the value for id, or null if there is none.
+     * This does not lock.
+     */
+    @SuppressWarnings("unchecked")
+    V get( byte[] id )
+    {
+        int hash = hash( id ) ;
+        while (true) {
+            AtomicReferenceArray<Object> tab = slots ;
+            int capacity = tab.length() / 2 ;
+            int mask = capacity - 1 ;
+            boolean reused = false ;
+            for (int n = 0, i = hash & mask; n < capacity; n++, i = (i + 1) & mask) {
+                Object key = tab.get( 2 * i ) ;
+                if (key == null) {
+                    return null ;
+                }
+
+                if (key != REMOVED && Arrays.equals( (byte[])key, id )) {
+                    V value = (V)tab.get( 2 * i + 1 ) ;
+                    if (tab.get( 2 * i ) == key) {
+                        return value ;
+                    }
+
+                    reused = true ;
+                    break ;
+                }
+            }
+
+            if (!reused) {
+                return null ;
+            }
+        }
+    }
+
+    /** Associate value with id, and return the value previously associated
+     * with id, if any.  The table keeps a reference to id, which must not
+     * be modified afterwards.
+     */
+    @SuppressWarnings("unchecked")
+    synchronized V put( byte[] id, V value )
+    {
+        if (value == null) {
+            throw new NullPointerException() ;
+        }
+
+        AtomicReferenceArray<Object> tab = slots ;
+        int mask = tab.length() / 2 - 1 ;
+        int free = -1 ;
+        int i = hash( id ) & mask ;
+        Object key ;
+        while ((key = tab.get( 2 * i )) != null) {
+            if (key == REMOVED) {
+                if (free < 0) {
+                    free = i ;
+                }
+            } else if (Arrays.equals( (byte[])key, id )) {
+                V old = (V)tab.get( 2 * i + 1 ) ;
+                tab.set( 2 * i + 1, value ) ;
+                return old ;
+            }
+
+            i = (i + 1) & mask ;
+        }
+
+        if (free >= 0) {
+            i = free ;
+        } else if (4 * (used + 1) > 3 * (mask + 1)) {
+            resize( size + 1 ) ;
+            putNew( slots, id, value ) ;
+            used++ ;
+            size++ ;
+            return null ;
+        } else {
+            used++ ;
+        }
+
+        tab.set( 2 * i, id ) ;
+        tab.set( 2 * i + 1, value ) ;
+        size++ ;
+        return null ;
+    }
+
+    /** Remove the value for id, and return it, or null if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    synchronized V remove( byte[] id )
+    {
+        AtomicReferenceArray<Object> tab = slots ;
+        int mask = tab.length() / 2 - 1 ;
+        int i = hash( id ) & mask ;
+        Object key ;
+        while ((key = tab.get( 2 * i )) != null) {
+            if (key != REMOVED && Arrays.equals( (byte[])key, id )) {
+                V old = (V)tab.get( 2 * i + 1 ) ;
+                tab.set( 2 * i + 1, null ) ;
+                tab.set( 2 * i, REMOVED ) ;
+                size-- ;
+                return old ;
+            }
+
+            i = (i + 1) & mask ;
+        }
+
+        return null ;
+    }
+
+    /** Grow the table, if needed, so that it can hold count values
+     * without growing again.
+     */
+    synchronized void ensureCapacity( int count )
+    {
+        if (4 * count > 3 * capacity()) {
+            resize( Math.max( count, size ) ) ;
+        }
+    }
+
+    synchronized void clear()
+    {
+        slots = new AtomicReferenceArray<Object>( 2 * MIN_CAPACITY ) ;
+        size = 0 ;
+        used = 0 ;
+    }
+
+    /** Return a snapshot of the ids in the table.
+     */
+    List<byte[]> ids()
+    {
+        AtomicReferenceArray<Object> tab = slots ;
+        List<byte[]> result = new ArrayList<byte[]>( size ) ;
+        for (int i = 0; i < tab.length(); i += 2) {
+            Object key = tab.get( i ) ;
+            if (key != null && key != REMOVED && tab.get( i + 1 ) != null) {
+                result.add( (byte[])key ) ;
+            }
+        }
+
+        return result ;
+    }
+
+    // Copy the live slots into a new array large enough for count entries,
+    // which drops the REMOVED markers.
+    private void resize( int count )
+    {
+        int capacity = MIN_CAPACITY ;
+        while (4 * count > 3 * capacity) {
+            capacity <<= 1 ;
+        }
+
+        AtomicReferenceArray<Object> tab = slots ;
+        AtomicReferenceArray<Object> newTab =
+            new AtomicReferenceArray<Object>( 2 * capacity ) ;
+        for (int i = 0; i < tab.length(); i += 2) {
+            Object key = tab.get( i ) ;
+            if (key != null && key != REMOVED) {
+                putNew( newTab, (byte[])key, tab.get( i + 1 ) ) ;
+            }
+        }
+
+        slots = newTab ;
+        used = size ;
+    }
+
+    // Store a slot for an id that is known not to be in tab.
+    private static void putNew( AtomicReferenceArray<Object> tab, byte[] id,
+        Object value )
+    {
+        int mask = tab.length() / 2 - 1 ;
+        int i = hash( id ) & mask ;
+        while (tab.get( 2 * i ) != null) {
+            i = (i + 1) & mask ;
+        }
+
+        tab.set( 2 * i, id ) ;
+        tab.set( 2 * i + 1, value ) ;
+    }
+}
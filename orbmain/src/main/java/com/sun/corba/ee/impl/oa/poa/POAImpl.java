@@ -49,7 +49,6 @@ import java.util.List;
 import java.util.Map ;
 import java.util.Set ;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Condition ;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -223,8 +222,9 @@ public class POAImpl extends ObjectAdapterBase implements POA
         }
     }
 
-    // Current state of the POA
-    private int state ;
+    // Current state of the POA.  Only changed while holding the write lock,
+    // but volatile so that enter and exit can check it without locking.
+    private volatile int state ;
 
     // The POA request handler that performs all policy specific operations
     // Note that POAImpl handles all synchronization, so mediator is (mostly)
@@ -246,7 +246,9 @@ public class POAImpl extends ObjectAdapterBase implements POA
                                           // created by this POA.
 
     private AdapterActivator activator;
-    private final AtomicInteger invocationCount ; // pending invocations on this POA.
+    // Pending invocations on this POA.  Striped, because every request
+    // updates it from a different worker thread.  See enter and exit.
+    private final InvocationCounter invocationCount ;
 
     // Data used to control POA concurrency
 
@@ -278,7 +280,7 @@ public class POAImpl extends ObjectAdapterBase implements POA
         return "POA[" + poaId.toString() +
             ", uniquePOAId=" + uniquePOAId +
             ", state=" + stateToString() +
-            ", invocationCount=" + invocationCount.get() + "]" ;
+            ", invocationCount=" + invocationCount.sum() + "]" ;
     }
 
     @ManagedAttribute( id="POAState")
@@ -446,7 +448,7 @@ public class POAImpl extends ObjectAdapterBase implements POA
 
         poaId = new ObjectAdapterIdArray( names ) ;
 
-        invocationCount = new AtomicInteger(0) ;
+        invocationCount = new InvocationCounter() ;
 
         poaMutex = new ReentrantReadWriteLock() ;
         adapterActivatorCV = makeCondition() ;
@@ -793,7 +795,7 @@ public class POAImpl extends ObjectAdapterBase implements POA
             Set<ObjectReferenceTemplate> destroyedPOATemplates )
         {
             try {
-                while (poa.invocationCount.get() != 0) {
+                while (poa.invocationCount.sum() != 0) {
                     try {
                         poa.invokeCV.await( 1, TimeUnit.SECONDS ) ;
                     } catch (InterruptedException ex) {
@@ -1476,6 +1478,61 @@ public class POAImpl extends ObjectAdapterBase implements POA
         }
     }
 
+    /** Activate several objects with the given ids under a single
+     * acquisition of the POA lock, as if by calling activate_object_with_id
+     * for each id and the servant at the same index.  Activation stops at
+     * the first failure; the objects activated before it remain active.
+     * @param ids The object ids
+     * @param servants The servants, one for each id
+     * @throws ObjectAlreadyActive if an id is already active
+     * @throws ServantAlreadyActive if a servant is already active and
+     * the POA has the UNIQUE_ID policy
+     * @throws WrongPolicy if the POA does not have the RETAIN policy
+     */
+    @Poa
+    public void activate_objects_with_ids(byte[][] ids, Servant[] servants)
+        throws ObjectAlreadyActive, ServantAlreadyActive, WrongPolicy
+    {
+        if (ids.length != servants.length) {
+            throw wrapper.idsAndServantsMismatch( ids.length,
+                servants.length ) ;
+        }
+
+        try {
+            lock() ;
+
+            mediator.reserveObjects( ids.length ) ;
+            for (int ctr = 0; ctr < ids.length; ctr++) {
+                mediator.activateObject( ids[ctr].clone(), servants[ctr] ) ;
+            }
+        } finally {
+            unlock() ;
+        }
+    }
+
+    /** Deactivate several objects under a single acquisition of the POA
+     * lock, as if by calling deactivate_object for each id.
+     * Deactivation stops at the first failure; the objects deactivated
+     * before it remain inactive.
+     * @param ids The object ids
+     * @throws ObjectNotActive if an id is not active
+     * @throws WrongPolicy if the POA does not have the RETAIN policy
+     */
+    @Poa
+    public void deactivate_objects(byte[][] ids)
+        throws ObjectNotActive, WrongPolicy
+    {
+        try {
+            lock() ;
+
+            for (byte[] id : ids) {
+                mediator.deactivateObject( id ) ;
+            }
+        } finally {
+            unlock() ;
+        }
+    }
+
     /**
      * <code>create_reference</code>
      * <b>3.3.8.17</b>
@@ -1692,22 +1749,26 @@ public class POAImpl extends ObjectAdapterBase implements POA
     {
         manager.enter();
 
-        readLock() ;
-        try {
-            // Hold only the read lock to check the state
-            if (state == STATE_RUN) {
-                // fast path
-                invocationCount.incrementAndGet();
-                return ;
-            }
-        } finally {
-            readUnlock();
+        // Fast path: count the invocation, then check the state.  A thread
+        // that starts destroying this POA sets the state before it waits for
+        // the count to reach 0, so either it sees this invocation, or this
+        // thread sees the new state and backs out below.
+        invocationCount.increment();
+        if (state == STATE_RUN) {
+            return ;
         }
 
         // acquire lock: may need slow path
         lock() ;
 
         try {
+            // Back out of the fast path.  A destroying thread that counted
+            // this invocation must be woken up now.
+            invocationCount.decrement();
+            if (state == STATE_DESTROYING && invocationCount.sum() == 0) {
+                invokeCV.signalAll();
+            }
+
             // Avoid deadlock if this is the thread that is processing the
             // POA.destroy because this is the only thread that can notify
             // waiters on beingDestroyedCV.  This can happen if an
@@ -1727,7 +1788,7 @@ public class POAImpl extends ObjectAdapterBase implements POA
                 throw new OADestroyed() ;
             }
 
-            invocationCount.incrementAndGet();
+            invocationCount.increment();
         } finally {
             unlock() ;
         }
@@ -1737,22 +1798,18 @@ public class POAImpl extends ObjectAdapterBase implements POA
     public void exit()
     {
         try {
-            readLock() ;
-            try {
-                // Hold only a read lock to check the state
-                if (state == STATE_RUN) {
-                    // fast path
-                    invocationCount.decrementAndGet();
-                    return ;
-                }
-            } finally {
-                readUnlock();
+            // As in enter, update the count before checking the state, so
+            // that a destroying thread misses neither the count nor a signal.
+            invocationCount.decrement();
+            if (state == STATE_RUN) {
+                // fast path
+                return ;
             }
 
             lock() ;
             try {
-                if ((invocationCount.decrementAndGet() == 0)
-                    && (state == STATE_DESTROYING)) {
+                if ((state == STATE_DESTROYING)
+                    && (invocationCount.sum() == 0)) {
                     invokeCV.signalAll();
                 }
             } finally {
@@ -1770,7 +1827,7 @@ public class POAImpl extends ObjectAdapterBase implements POA
     private int getInvocationCount() {
         try {
             lock() ;
-            return invocationCount.get() ;
+            return (int)invocationCount.sum() ;
         } finally {
             unlock() ;
         }
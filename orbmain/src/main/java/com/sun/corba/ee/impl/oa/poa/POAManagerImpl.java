@@ -81,14 +81,18 @@ public class POAManagerImpl extends org.omg.CORBA.LocalObject implements
     private final Condition stateCV = stateLock.writeLock().newCondition() ;
 
     // fields protected by stateLock
-    private State state;                // current state of this POAManager
+    private volatile State state;       // current state of this POAManager:
+                                        // volatile so that enter can check
+                                        // it without locking
 
     private Set<POAImpl> poas =
         new HashSet<POAImpl>(4) ;       // all poas controlled by this POAManager
 
     // fields using other synchronization methods
-    private AtomicInteger nInvocations=
-        new AtomicInteger(0);           // Number of invocations in progress
+    private InvocationCounter nInvocations=
+        new InvocationCounter();        // Number of invocations in progress:
+                                        // striped, since every request
+                                        // updates it
     private AtomicInteger nWaiters =
         new AtomicInteger(0) ;          // Number of threads waiting for
                                         // invocations to complete
@@ -195,7 +199,7 @@ public class POAManagerImpl extends org.omg.CORBA.LocalObject implements
     @ManagedAttribute
     @Description( "Number of active invocations executing in this POAManager" )
     public int numberOfInvocations() {
-        return nInvocations.get() ;
+        return (int)nInvocations.sum() ;
     }
 
     @ManagedAttribute
@@ -391,7 +395,7 @@ public class POAManagerImpl extends org.omg.CORBA.LocalObject implements
 
             if ( wait_for_completion ) {
                 while ( state.value() == State._HOLDING
-                    && nInvocations.get() > 0 ) {
+                    && nInvocations.sum() > 0 ) {
 
                     countedWait() ;
                 }
@@ -436,7 +440,7 @@ public class POAManagerImpl extends org.omg.CORBA.LocalObject implements
 
             if ( wait_for_completion ) {
                 while ( state.value() == State._DISCARDING
-                    && nInvocations.get() > 0 ) {
+                    && nInvocations.sum() > 0 ) {
 
                     // Must hold writeLock for this call.
                     countedWait() ;
@@ -518,7 +522,7 @@ public class POAManagerImpl extends org.omg.CORBA.LocalObject implements
             pmi.stateLock.writeLock().lock();
             try {
                 poaManagerDeactivatorCall( etherealize_objects, pmi ) ;
-                while ( pmi.nInvocations.get() > 0 ) {
+                while ( pmi.nInvocations.sum() > 0 ) {
                     pmi.countedWait() ;
                 }
             } finally {
@@ -644,8 +648,17 @@ public class POAManagerImpl extends org.omg.CORBA.LocalObject implements
     @Poa
     void enter()
     {
-        checkState();
-        nInvocations.getAndIncrement() ;
+        // Fast path: count the invocation, then check the state without
+        // locking.  A state change sets the state before waiting for the
+        // count to reach 0, so either it sees this invocation, or this
+        // thread sees the new state and takes the slow path through
+        // checkState, which keeps the re-entry rule for Bug 6586417.
+        nInvocations.increment() ;
+        if (state.value() != State._ACTIVE) {
+            invocationDone() ;
+            checkState();
+            nInvocations.increment() ;
+        }
 
         activeManagers.get().add( this ) ;
         addingThreadToActiveManagers( this ) ;
@@ -658,26 +671,32 @@ public class POAManagerImpl extends org.omg.CORBA.LocalObject implements
             activeManagers.get().remove( this ) ;
             removingThreadFromActiveManagers( this ) ;
         } finally {
-            if ( nInvocations.decrementAndGet() == 0 ) {
-                // Note: this is essentially notifyWaiters, but
-                // we cannot afford to acquire the writeLock unless
-                // there actually are waiters on the lock (GF issue 14348).
-                // Note that a spurious wakeup is possible here, if
-                // an invocation comes in between nInvocation and nWaiters
-                // reads, but that's OK, because the looped condition checks
-                // around countedWait will simply wait again.
-                final int num = nWaiters.get() ;
-                nWaiters( num ) ;
-
-                if (num >0) {
-                    stateLock.writeLock().lock();
-
-                    try {
-                        stateCV.signalAll() ;
-                    } finally {
-                        stateLock.writeLock().unlock();
-                    }
-                }
+            invocationDone() ;
+        }
+    }
+
+    private void invocationDone()
+    {
+        nInvocations.decrement() ;
+
+        // Note: this is essentially notifyWaiters, but
+        // we cannot afford to acquire the writeLock unless
+        // there actually are waiters on the lock (GF issue 14348).
+        // Waiters are rare, so check for them before summing
+        // nInvocations.  Note that a spurious wakeup is possible here, if
+        // an invocation comes in between nInvocation and nWaiters
+        // reads, but that's OK, because the looped condition checks
+        // around countedWait will simply wait again.
+        final int num = nWaiters.get() ;
+        nWaiters( num ) ;
+
+        if (num >0 && nInvocations.sum() == 0) {
+            stateLock.writeLock().lock();
+
+            try {
+                stateCV.signalAll() ;
+            } finally {
+                stateLock.writeLock().unlock();
             }
         }
     }
@@ -94,6 +94,13 @@ public interface POAPolicyMediator {
     */
     void clearAOM() ;
 
+    /** Make room in the active object map for count more objects, which
+    * are about to be activated.  Does nothing if the retention policy
+    * is non-retain.
+    * @param count The number of objects to be activated
+    */
+    void reserveObjects( int count ) ;
+
     /** Return the servant manager.  Will throw WrongPolicy
     * if the request processing policy is not USE_SERVANT_MANAGER.
     * @return The current ServantManager
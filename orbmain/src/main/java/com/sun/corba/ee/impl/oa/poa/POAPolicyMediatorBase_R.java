@@ -56,20 +56,21 @@ public abstract class POAPolicyMediatorBase_R extends POAPolicyMediatorBase {
         activeObjectMap = null ;
     }
 
-    protected Servant internalKeyToServant( ActiveObjectMap.Key key )
+    // Does not need the POA lock, since ActiveObjectMap.find does not
+    // modify the map.
+    protected Servant internalIdToServant( byte[] id )
     {
-        AOMEntry entry = activeObjectMap.get(key);
-        if (entry == null) {
-            return null;
+        ActiveObjectMap aom = activeObjectMap ;
+        if (aom == null) {
+            return null ;
         }
 
-        return activeObjectMap.getServant( entry ) ;
+        return aom.getServant( aom.find( id ) ) ;
     }
 
-    protected Servant internalIdToServant( byte[] id )
+    public void reserveObjects( int count )
     {
-        ActiveObjectMap.Key key = new ActiveObjectMap.Key( id ) ;
-        return internalKeyToServant( key ) ;
+        activeObjectMap.reserve( count ) ;
     }
 
     @Poa
@@ -130,7 +131,7 @@ public abstract class POAPolicyMediatorBase_R extends POAPolicyMediatorBase {
     public Servant deactivateObject( ActiveObjectMap.Key key )
         throws ObjectNotActive, WrongPolicy {
 
-        AOMEntry entry = activeObjectMap.get(key);
+        AOMEntry entry = activeObjectMap.find(key.id());
         if (entry == null) {
             throw new ObjectNotActive();
         }
@@ -81,6 +81,11 @@ public class POAPolicyMediatorImpl_NR_UDS extends POAPolicyMediatorBase {
         // NO-OP
     }
 
+    public void reserveObjects( int count )
+    {
+        // NO-OP
+    }
+
     public ServantManager getServantManager() throws WrongPolicy
     {
         throw new WrongPolicy();
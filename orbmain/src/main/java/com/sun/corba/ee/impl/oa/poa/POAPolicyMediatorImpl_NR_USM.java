@@ -105,6 +105,11 @@ public class POAPolicyMediatorImpl_NR_USM extends POAPolicyMediatorBase {
         // NO-OP
     }
 
+    public void reserveObjects( int count )
+    {
+        // NO-OP
+    }
+
     public ServantManager getServantManager() throws WrongPolicy
     {
         return locator ;
@@ -47,19 +47,16 @@ public class POAPolicyMediatorImpl_R_AOM extends POAPolicyMediatorBase_R {
         }
     }
 
+    // No POA lock is needed here: the servant is looked up in the
+    // active object map without locking.
     protected java.lang.Object internalGetServant( byte[] id,
         String operation ) throws ForwardRequest
     {
-        poa.lock() ;
-        try {
-            java.lang.Object servant = internalIdToServant( id ) ;
-            if (servant == null) {
-                servant = new NullServantImpl(wrapper.nullServant());
-            }
-            return servant ;
-        } finally {
-            poa.unlock() ;
+        java.lang.Object servant = internalIdToServant( id ) ;
+        if (servant == null) {
+            servant = new NullServantImpl(wrapper.nullServant());
         }
+        return servant ;
     }
 
     public void etherealizeAll() {
@@ -91,8 +91,7 @@ public class POAPolicyMediatorImpl_R_UDS extends POAPolicyMediatorBase_R {
     public Servant idToServant( byte[] id )
         throws WrongPolicy, ObjectNotActive {
 
-        ActiveObjectMap.Key key = new ActiveObjectMap.Key( id ) ;
-        Servant s = internalKeyToServant(key);
+        Servant s = internalIdToServant( id ) ;
 
         if (s == null) {
             if (defaultServant != null) {
@@ -335,10 +335,7 @@ public class POAPolicyMediatorImpl_R_USM extends POAPolicyMediatorBase_R {
     public Servant idToServant( byte[] id )
         throws WrongPolicy, ObjectNotActive
     {
-        ActiveObjectMap.Key key = new ActiveObjectMap.Key( id ) ;
-        AOMEntry entry = activeObjectMap.get(key);
-
-        Servant servant = activeObjectMap.getServant( entry ) ;
+        Servant servant = internalIdToServant( id ) ;
         if (servant != null) {
             return servant;
         } else {
@@ -23,59 +23,109 @@ package com.sun.corba.ee.impl.oa.toa;
 import com.sun.corba.ee.impl.misc.ORBUtility ;
 import com.sun.corba.ee.spi.orb.ORB ;
 
+import java.util.ArrayList ;
+import java.util.IdentityHashMap ;
+import java.util.List ;
+import java.util.Map ;
+import java.util.concurrent.atomic.AtomicReferenceArray ;
+
 import org.glassfish.gmbal.Description;
 import org.glassfish.gmbal.ManagedAttribute;
 import org.glassfish.gmbal.ManagedData;
 import org.glassfish.pfl.tf.spi.annotation.InfoMethod;
 
+/** Maps the transient keys of the TOA to servants.
+ * <p>
+ * A key is the index of an element in the element array, followed by the
+ * generation of that index: the number of times a servant stored at that
+ * index has been deleted.  A key therefore stops matching once its servant
+ * is deleted, even after the index is reused for another servant.
+ * <p>
+ * Elements are immutable, and storing or deleting a servant replaces the
+ * element at its index, so looking up a servant by key does not lock.
+ * Storing and deleting servants are serialized on this object, which also
+ * guards the free index stack and the identity map from servants to their
+ * elements, so finding the key of a servant does not scan the array.
+ */
 @com.sun.corba.ee.spi.trace.TransientObjectManager
 @ManagedData
 @Description( "Maintains mapping from Object ID to servant")
 public final class TransientObjectManager {
+    private static final int INITIAL_SIZE = 128 ;
+    private static final int KEY_LENGTH = 8 ;
+
     private ORB orb ;
-    private int maxSize = 128;
-    private Element[] elementArray;
-    private Element freeList;
+    private volatile AtomicReferenceArray<Element> elementArray ;
+
+    // Indices of free elements, used as a stack so that recently freed
+    // elements are reused first.
+    private int[] freeIndices ;
+    private int numFree ;
+
+    private final Map<java.lang.Object,Element> servantToElement =
+        new IdentityHashMap<java.lang.Object,Element>() ;
 
     @ManagedAttribute()
     @Description( "The element array mapping indices into servants" )
-    private synchronized Element[] getElements() {
-        return elementArray.clone() ;
+    private Element[] getElements() {
+        AtomicReferenceArray<Element> elements = elementArray ;
+        Element[] result = new Element[elements.length()] ;
+        for (int i=0; i<result.length; i++)
+            result[i] = elements.get(i) ;
+        return result ;
     }
 
     public TransientObjectManager( ORB orb )
     {
         this.orb = orb ;
 
-        elementArray = new Element[maxSize];
-        elementArray[maxSize-1] = new Element(maxSize-1,null);
-        for ( int i=maxSize-2; i>=0; i-- )
-            elementArray[i] = new Element(i,elementArray[i+1]);
-        freeList = elementArray[0];
+        elementArray = new AtomicReferenceArray<Element>(INITIAL_SIZE) ;
+        freeIndices = new int[INITIAL_SIZE] ;
+        addFreeElements(elementArray, 0) ;
     }
 
     @com.sun.corba.ee.spi.trace.TransientObjectManager
     public synchronized byte[] storeServant(java.lang.Object servant, java.lang.Object servantData)
     {
-        if ( freeList == null )
+        if ( numFree == 0 )
             doubleSize();
 
-        Element elem = freeList;
-        freeList = (Element)freeList.servant;
+        int index = freeIndices[--numFree] ;
+        Element free = elementArray.get(index) ;
+        Element elem = new Element(index, free.counter, servant, servantData) ;
+        elementArray.set(index, elem) ;
+        servantToElement.put(servant, elem) ;
 
-        byte[] result = elem.getKey(servant, servantData);
-        return result ;
+        return elem.toBytes() ;
     }
 
-    @com.sun.corba.ee.spi.trace.TransientObjectManager
-    public synchronized java.lang.Object lookupServant(byte transientKey[])
+    // Return the valid element for transientKey, or null if the key is not
+    // a transient key, or its servant was deleted.  Does not lock.
+    private Element findElement(byte transientKey[])
     {
+        if (transientKey == null || transientKey.length < KEY_LENGTH)
+            return null ;
+
         int index = ORBUtility.bytesToInt(transientKey,0);
         int counter = ORBUtility.bytesToInt(transientKey,4);
 
-        if (elementArray[index].counter == counter &&
-            elementArray[index].valid ) {
-            return elementArray[index].servant;
+        AtomicReferenceArray<Element> elements = elementArray ;
+        if (index < 0 || index >= elements.length())
+            return null ;
+
+        Element elem = elements.get(index) ;
+        if (elem.valid && elem.counter == counter)
+            return elem ;
+
+        return null ;
+    }
+
+    @com.sun.corba.ee.spi.trace.TransientObjectManager
+    public java.lang.Object lookupServant(byte transientKey[])
+    {
+        Element elem = findElement(transientKey) ;
+        if (elem != null) {
+            return elem.servant;
         }
 
         // servant not found
@@ -83,14 +133,11 @@ public final class TransientObjectManager {
     }
 
     @com.sun.corba.ee.spi.trace.TransientObjectManager
-    public synchronized java.lang.Object lookupServantData(byte transientKey[])
+    public java.lang.Object lookupServantData(byte transientKey[])
     {
-        int index = ORBUtility.bytesToInt(transientKey,0);
-        int counter = ORBUtility.bytesToInt(transientKey,4);
-
-        if (elementArray[index].counter == counter &&
-            elementArray[index].valid ) {
-            return elementArray[index].servantData;
+        Element elem = findElement(transientKey) ;
+        if (elem != null) {
+            return elem.servantData;
         }
 
         // servant not found
@@ -103,19 +150,24 @@ public final class TransientObjectManager {
     @com.sun.corba.ee.spi.trace.TransientObjectManager
     public synchronized void deleteServant(byte transientKey[])
     {
-        int index = ORBUtility.bytesToInt(transientKey,0);
-        deleteAtIndex(index);
+        // prevent double deletion, and deletion by a stale key
+        Element elem = findElement(transientKey) ;
+        if (elem == null)
+            return ;
+
+        deleteAtIndex(elem.index);
 
-        elementArray[index].delete(freeList);
-        freeList = elementArray[index];
+        elementArray.set(elem.index, new Element(elem.index, elem.counter+1)) ;
+        freeIndices[numFree++] = elem.index ;
+        if (servantToElement.get(elem.servant) == elem)
+            servantToElement.remove(elem.servant) ;
     }
 
     public synchronized byte[] getKey(java.lang.Object servant)
     {
-        for ( int i=0; i<maxSize; i++ )
-            if ( elementArray[i].valid &&
-                 elementArray[i].servant == servant )
-                return elementArray[i].toBytes();
+        Element elem = servantToElement.get(servant) ;
+        if (elem != null)
+            return elem.toBytes();
 
         // if we come here Object does not exist
         return null;
@@ -125,18 +177,31 @@ public final class TransientObjectManager {
     {
         // Assume caller is synchronized
 
-        Element old[] = elementArray;
-        int oldSize = maxSize;
-        maxSize *= 2;
-        elementArray = new Element[maxSize];
+        AtomicReferenceArray<Element> old = elementArray ;
+        int oldSize = old.length() ;
+        AtomicReferenceArray<Element> elements =
+            new AtomicReferenceArray<Element>(2*oldSize) ;
 
         for ( int i=0; i<oldSize; i++ )
-            elementArray[i] = old[i];
+            elements.set(i, old.get(i)) ;
 
-        elementArray[maxSize-1] = new Element(maxSize-1,null);
-        for ( int i=maxSize-2; i>=oldSize; i-- )
-            elementArray[i] = new Element(i,elementArray[i+1]);
-        freeList = elementArray[oldSize];
+        int[] indices = new int[2*oldSize] ;
+        System.arraycopy(freeIndices, 0, indices, 0, numFree) ;
+        freeIndices = indices ;
+        addFreeElements(elements, oldSize) ;
+
+        elementArray = elements ;
+    }
+
+    // Fill elements from start with free elements, and push their indices
+    // so that the lowest index is used first.
+    private void addFreeElements(AtomicReferenceArray<Element> elements,
+        int start)
+    {
+        for ( int i=elements.length()-1; i>=start; i-- ) {
+            elements.set(i, new Element(i, 0)) ;
+            freeIndices[numFree++] = i ;
+        }
     }
 }
 
@@ -144,50 +209,55 @@ public final class TransientObjectManager {
 @ManagedData
 @Description( "A single element mapping one ObjectId to a Servant")
 final class Element {
-    java.lang.Object servant=null;     // also stores "next pointer" in free list
-    java.lang.Object servantData=null;
-    int index=-1;
-    int counter=0;
-    boolean valid=false; // valid=true if this Element contains
+    final java.lang.Object servant;
+    final java.lang.Object servantData;
+    final int index;
+    final int counter;
+    final boolean valid; // valid=true if this Element contains
     // a valid servant
 
     @ManagedAttribute
     @Description( "The servant" )
-    private synchronized Object getServant() {
+    private Object getServant() {
         return servant ;
     }
 
     @ManagedAttribute
     @Description( "The servant data" )
-    private synchronized Object getServantData() {
+    private Object getServantData() {
         return servantData ;
     }
 
     @ManagedAttribute
     @Description( "The reuse counter")
-    private synchronized int getReuseCounter() {
+    private int getReuseCounter() {
         return counter ;
     }
 
     @ManagedAttribute
     @Description( "The index of this entry")
-    private synchronized int getIndex() {
+    private int getIndex() {
         return index ;
     }
 
-    Element(int i, java.lang.Object next)
+    // A free element, whose next servant will have the given counter.
+    Element(int index, int counter)
     {
-        servant = next;
-        index = i;
+        this.servant = null;
+        this.servantData = null;
+        this.index = index;
+        this.counter = counter;
+        this.valid = false;
     }
 
-    byte[] getKey(java.lang.Object servant, java.lang.Object servantData)
+    Element(int index, int counter, java.lang.Object servant,
+        java.lang.Object servantData)
     {
         this.servant = servant;
         this.servantData = servantData;
+        this.index = index;
+        this.counter = counter;
         this.valid = true;
-
-        return toBytes();
     }
 
     byte[] toBytes()
@@ -201,22 +271,9 @@ final class Element {
         return key;
     }
 
-    void delete(Element freeList)
-    {
-        if ( !valid )    // prevent double deletion
-            return;
-        counter++;
-        servantData = null;
-        valid = false;
-
-        // add this to freeList
-        servant = freeList;
-    }
-
     @Override
     public String toString()
     {
         return "Element[" + index + ", " + counter + "]" ;
     }
 }
-
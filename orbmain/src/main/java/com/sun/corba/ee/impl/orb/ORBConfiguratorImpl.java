@@ -365,6 +365,10 @@ public class ORBConfiguratorImpl implements ORBConfigurator {
             ServiceContextDefaults.makeORBVersionServiceContextFactory() ) ;
         scr.register(
             ServiceContextDefaults.makeMaxStreamFormatVersionServiceContextFactory() ) ;
+        scr.register(
+            ServiceContextDefaults.makeRepositoryIdDictionaryServiceContextFactory() ) ;
+        scr.register(
+            ServiceContextDefaults.makeMessageCompressionServiceContextFactory() ) ;
     }
 
     private void registerInitialReferences( final ORB orb )
@@ -424,6 +428,10 @@ public class ORBConfiguratorImpl implements ORBConfigurator {
             IIOPFactories.makeRequestPartitioningComponentFactory() ) ;
         compFinder.registerFactory(
             IIOPFactories.makeJavaSerializationComponentFactory());
+        compFinder.registerFactory(
+            IIOPFactories.makeRepositoryIdDictionaryComponentFactory());
+        compFinder.registerFactory(
+            IIOPFactories.makeMessageCompressionComponentFactory());
         compFinder.registerFactory(
             IIOPFactories.makeLoadBalancingComponentFactory());
         compFinder.registerFactory(
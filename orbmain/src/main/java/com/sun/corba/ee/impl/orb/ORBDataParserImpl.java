@@ -60,7 +60,11 @@ public class ORBDataParserImpl extends ParserImplTableBase implements ORBData
     private int highWaterMark ;
     private int lowWaterMark ;
     private int numberToReclaim ;
+    private int maxParallelConnections ;
+    private int connectionIdleTimeout ;
+    private int connectionReaperInterval ;
     private int giopFragmentSize ;
+    private int giopFragmentsPerWrite ;
     private int giopBufferSize ;
     private int giop11BuffMgr ;
     private int giop12BuffMgr ;
@@ -89,6 +93,9 @@ public class ORBDataParserImpl extends ParserImplTableBase implements ORBData
     private String connectionSocketType;
     private boolean connectionSocketUseSelectThreadToWait;
     private boolean connectionSocketUseWorkerThreadForEvent;
+    private int selectorCount;
+    private String threadPoolType;
+    private int virtualThreadPoolMaxConcurrency;
     private long communicationsRetryTimeout;
     private long waitForResponseTimeout;
     private TcpTimeouts tcpTimeouts;
@@ -117,6 +124,10 @@ public class ORBDataParserImpl extends ParserImplTableBase implements ORBData
 
     private String[] orbInitArgs ;
     private boolean disableORBD;
+    private String codeBaseCacheFile ;
+    private boolean enableRepositoryIdDictionary ;
+    private int giopMessageCompression ;
+    private int giopMessageCompressionThreshold ;
 
 // Public accessor methods ========================================================================
 
@@ -210,11 +221,31 @@ public class ORBDataParserImpl extends ParserImplTableBase implements ORBData
         return numberToReclaim;
     }
 
+    public int getMaxParallelConnections()
+    {
+        return maxParallelConnections;
+    }
+
+    public int getConnectionIdleTimeout()
+    {
+        return connectionIdleTimeout;
+    }
+
+    public int getConnectionReaperInterval()
+    {
+        return connectionReaperInterval;
+    }
+
     public int getGIOPFragmentSize()
     {
         return giopFragmentSize;
     }
 
+    public int getGIOPFragmentsPerWrite()
+    {
+        return giopFragmentsPerWrite;
+    }
+
     public int getGIOPBufferSize()
     {
         return giopBufferSize;
@@ -388,6 +419,18 @@ public class ORBDataParserImpl extends ParserImplTableBase implements ORBData
     {
         return connectionSocketUseWorkerThreadForEvent;
     }
+    public int getSelectorCount()
+    {
+        return selectorCount;
+    }
+    public String getThreadPoolType()
+    {
+        return threadPoolType;
+    }
+    public int getVirtualThreadPoolMaxConcurrency()
+    {
+        return virtualThreadPoolMaxConcurrency;
+    }
     public boolean isJavaSerializationEnabled()
     {
         return enableJavaSerialization;
@@ -537,6 +580,22 @@ public class ORBDataParserImpl extends ParserImplTableBase implements ORBData
     public boolean disableORBD() {
         return disableORBD ;
     }
+
+    public String codeBaseCacheFile() {
+        return codeBaseCacheFile ;
+    }
+
+    public boolean isRepositoryIdDictionaryEnabled() {
+        return enableRepositoryIdDictionary ;
+    }
+
+    public int getGIOPMessageCompression() {
+        return giopMessageCompression ;
+    }
+
+    public int getGIOPMessageCompressionThreshold() {
+        return giopMessageCompressionThreshold ;
+    }
 }
 
 // End of file.
@@ -46,6 +46,7 @@ import com.sun.corba.ee.impl.protocol.InvocationInfo;
 import com.sun.corba.ee.impl.protocol.RequestDispatcherRegistryImpl;
 import com.sun.corba.ee.impl.threadpool.ThreadPoolManagerImpl;
 import com.sun.corba.ee.impl.transport.TransportManagerImpl;
+import com.sun.corba.ee.impl.util.RepositoryId;
 import com.sun.corba.ee.impl.util.Utility;
 import com.sun.corba.ee.spi.copyobject.CopierManager;
 import com.sun.corba.ee.spi.ior.IOR;
@@ -344,6 +345,7 @@ public class ORBImpl extends com.sun.corba.ee.spi.orb.ORB implements AutoCloseab
     private void initManagedObjectManager() {
         createORBManagedObjectManager() ;
         mom.registerAtRoot( configData ) ;
+        mom.registerAtRoot( RepositoryId.cache ) ;
     }
 
 /****************************************************************************
@@ -1493,6 +1495,7 @@ public class ORBImpl extends com.sun.corba.ee.spi.orb.ORB implements AutoCloseab
         }
 
         CachedCodeBase.cleanCache( this ) ;
+        getByteBufferPool().close() ;
         try {
             pihandler.close() ;
         } catch (IOException exc) {
@@ -1918,6 +1921,26 @@ public class ORBImpl extends com.sun.corba.ee.spi.orb.ORB implements AutoCloseab
         return clientInvocationInfoStack.get().peek() ;
     }
 
+    @Override
+    @Subcontract
+    public ClientInvocationInfo suspendInvocationInfo() {
+        StackImpl<ClientInvocationInfo> invocationInfoStack =
+            clientInvocationInfoStack.get();
+        if (invocationInfoStack.empty()) {
+            throw wrapper.invocationInfoStackEmpty() ;
+        }
+
+        invocationInfoChange( "suspend" ) ;
+        return invocationInfoStack.pop();
+    }
+
+    @Override
+    @Subcontract
+    public void resumeInvocationInfo(ClientInvocationInfo info) {
+        invocationInfoChange( "resume" ) ;
+        clientInvocationInfoStack.get().push(info);
+    }
+
     ////////////////////////////////////////////////////
     //
     //
@@ -2092,7 +2115,10 @@ public class ORBImpl extends com.sun.corba.ee.spi.orb.ORB implements AutoCloseab
     public ThreadPoolManager getThreadPoolManager() {
         synchronized (threadPoolManagerAccessLock) {
             if (threadpoolMgr == null) {
-                threadpoolMgr = new ThreadPoolManagerImpl();
+                ORBData data = getORBData() ;
+                threadpoolMgr = data == null ? new ThreadPoolManagerImpl()
+                    : new ThreadPoolManagerImpl( data.getThreadPoolType(),
+                        data.getVirtualThreadPoolMaxConcurrency() ) ;
                 orbOwnsThreadPoolManager = true ;
             }
             return threadpoolMgr;
@@ -811,6 +811,17 @@ public class ORBSingleton extends ORB
         return null ;
     }
 
+    @Override
+    public ClientInvocationInfo suspendInvocationInfo()
+    {
+        return null ;
+    }
+
+    @Override
+    public void resumeInvocationInfo( ClientInvocationInfo info )
+    {
+    }
+
     public ConnectionCache getConnectionCache(ContactInfo contactInfo)
     {
         return null;
@@ -28,6 +28,7 @@ import com.sun.corba.ee.impl.oa.poa.Policies;
 import com.sun.corba.ee.impl.protocol.giopmsgheaders.KeyAddr ;
 import com.sun.corba.ee.impl.protocol.giopmsgheaders.ProfileAddr ;
 import com.sun.corba.ee.impl.protocol.giopmsgheaders.ReferenceAddr ;
+import com.sun.corba.ee.impl.threadpool.ThreadPoolManagerImpl ;
 import com.sun.corba.ee.impl.transport.DefaultIORToSocketInfoImpl;
 import com.sun.corba.ee.impl.transport.DefaultSocketFactoryImpl;
 import com.sun.corba.ee.impl.transport.TcpTimeoutsImpl;
@@ -248,6 +249,18 @@ public class ParserTable {
                 OperationFactory.integerAction(),
                 "numberToReclaim", Integer.valueOf( 5 ),
                 Integer.valueOf( 231 ), "231" ),
+            ParserDataFactory.make( ORBConstants.MAX_PARALLEL_CONNECTIONS_PROPERTY,
+                OperationFactory.integerAction(),
+                "maxParallelConnections", Integer.valueOf( 0 ),
+                Integer.valueOf( 4 ), "4" ),
+            ParserDataFactory.make( ORBConstants.CONNECTION_IDLE_TIMEOUT_PROPERTY,
+                OperationFactory.integerAction(),
+                "connectionIdleTimeout", Integer.valueOf( 0 ),
+                Integer.valueOf( 300000 ), "300000" ),
+            ParserDataFactory.make( ORBConstants.CONNECTION_REAPER_INTERVAL_PROPERTY,
+                OperationFactory.integerAction(),
+                "connectionReaperInterval", Integer.valueOf( 0 ),
+                Integer.valueOf( 30000 ), "30000" ),
             ParserDataFactory.make( ORBConstants.GIOP_VERSION,
                 makeGVOperation(),
                 "giopVersion", GIOPVersion.DEFAULT_VERSION,
@@ -256,6 +269,10 @@ public class ParserTable {
                 makeFSOperation(), "giopFragmentSize",
                 Integer.valueOf( ORBConstants.GIOP_DEFAULT_FRAGMENT_SIZE ),
                 Integer.valueOf( 65536 ), "65536" ),
+            ParserDataFactory.make( ORBConstants.GIOP_FRAGMENTS_PER_WRITE,
+                OperationFactory.integerAction(), "giopFragmentsPerWrite",
+                Integer.valueOf( ORBConstants.GIOP_DEFAULT_FRAGMENTS_PER_WRITE ),
+                Integer.valueOf( 8 ), "8" ),
             ParserDataFactory.make( ORBConstants.GIOP_BUFFER_SIZE,
                 OperationFactory.integerAction(),
                 "giopBufferSize", Integer.valueOf( ORBConstants.GIOP_DEFAULT_BUFFER_SIZE ),
@@ -268,6 +285,16 @@ public class ParserTable {
                 makeBMGROperation(),
                 "giop12BuffMgr", Integer.valueOf( ORBConstants.DEFAULT_GIOP_12_BUFFMGR ),
                 Integer.valueOf( 0 ), "GROW" ),
+            ParserDataFactory.make( ORBConstants.GIOP_MESSAGE_COMPRESSION,
+                makeMessageCompressionOperation(),
+                "giopMessageCompression",
+                Integer.valueOf( ORBConstants.MESSAGE_COMPRESSION_NONE ),
+                Integer.valueOf( ORBConstants.MESSAGE_COMPRESSION_FAST ), "fast" ),
+            ParserDataFactory.make( ORBConstants.GIOP_MESSAGE_COMPRESSION_THRESHOLD,
+                OperationFactory.integerRangeAction( 0, Integer.MAX_VALUE ),
+                "giopMessageCompressionThreshold",
+                Integer.valueOf( ORBConstants.GIOP_DEFAULT_MESSAGE_COMPRESSION_THRESHOLD ),
+                Integer.valueOf( 1024 ), "1024" ),
 
             // Note that the same property is used to set two different
             // fields here.  This requires that both entries use the same test
@@ -405,6 +432,18 @@ public class ParserTable {
                 OperationFactory.booleanAction(),
                 "connectionSocketUseSelectThreadToWait", Boolean.TRUE,
                 Boolean.TRUE, "true" ),
+            ParserDataFactory.make( ORBConstants.SELECTOR_COUNT_PROPERTY,
+                OperationFactory.integerAction(),
+                "selectorCount", Integer.valueOf( 1 ),
+                Integer.valueOf( 4 ), "4" ),
+            ParserDataFactory.make( ORBConstants.THREAD_POOL_TYPE_PROPERTY,
+                OperationFactory.stringAction(),
+                "threadPoolType", ThreadPoolManagerImpl.THREADPOOL_TYPE_DEFAULT,
+                ThreadPoolManagerImpl.THREADPOOL_TYPE_CONCURRENT, "concurrent" ),
+            ParserDataFactory.make( ORBConstants.VIRTUAL_THREAD_POOL_MAX_CONCURRENCY_PROPERTY,
+                OperationFactory.integerAction(),
+                "virtualThreadPoolMaxConcurrency", Integer.valueOf( 0 ),
+                Integer.valueOf( 100 ), "100" ),
             ParserDataFactory.make(
                 ORBConstants.CONNECTION_SOCKET_USE_WORKER_THREAD_FOR_EVENT_PROPERTY,
                 OperationFactory.booleanAction(),
@@ -514,7 +553,16 @@ public class ParserTable {
             ParserDataFactory.make( ORBConstants.DISABLE_ORBD_INIT_PROPERTY,
                 OperationFactory.booleanAction(),
                 "disableORBD", Boolean.FALSE,
-                Boolean.TRUE, "TRUE" )
+                Boolean.TRUE, "TRUE" ),
+            ParserDataFactory.make( ORBConstants.CODEBASE_CACHE_FILE_PROPERTY,
+                OperationFactory.stringAction(),
+                "codeBaseCacheFile", "",
+                "/tmp/codebase.cache", "/tmp/codebase.cache" ),
+            ParserDataFactory.make(
+                ORBConstants.ENABLE_REPOSITORY_ID_DICTIONARY_PROPERTY,
+                OperationFactory.booleanAction(),
+                "enableRepositoryIdDictionary", Boolean.FALSE,
+                Boolean.TRUE, "true")
         } ;
 
         parserData = pd ;
@@ -677,6 +725,16 @@ public class ParserTable {
         map.put( "GROW", Integer.valueOf(0) ) ;
         map.put( "CLCT", Integer.valueOf(1) ) ;
         map.put( "STRM", Integer.valueOf(2) ) ;
+        map.put( "SGMT", Integer.valueOf(3) ) ;
+        return makeMapOperation( map ) ;
+    }
+
+    private Operation makeMessageCompressionOperation()
+    {
+        Map map = new HashMap() ;
+        map.put( "none", Integer.valueOf( ORBConstants.MESSAGE_COMPRESSION_NONE ) ) ;
+        map.put( "deflate", Integer.valueOf( ORBConstants.MESSAGE_COMPRESSION_DEFLATE ) ) ;
+        map.put( "fast", Integer.valueOf( ORBConstants.MESSAGE_COMPRESSION_FAST ) ) ;
         return makeMapOperation( map ) ;
     }
 
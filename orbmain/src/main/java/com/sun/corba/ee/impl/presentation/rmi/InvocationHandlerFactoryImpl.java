@@ -19,13 +19,16 @@
 
 package com.sun.corba.ee.impl.presentation.rmi ;
 
+import com.sun.corba.ee.spi.presentation.rmi.AsyncInvocationHandler ;
 import com.sun.corba.ee.spi.presentation.rmi.DynamicStub ;
 import com.sun.corba.ee.spi.presentation.rmi.PresentationManager ;
 
 import java.io.ObjectStreamException ;
 import java.io.Serializable ;
 import java.lang.reflect.InvocationHandler ;
+import java.lang.reflect.Method ;
 import java.lang.reflect.Proxy ;
+import java.util.concurrent.CompletableFuture ;
 
 import org.glassfish.pfl.basic.proxy.CompositeInvocationHandler;
 import org.glassfish.pfl.basic.proxy.CompositeInvocationHandlerImpl;
@@ -56,9 +59,10 @@ public class InvocationHandlerFactoryImpl implements InvocationHandlerFactory
 
     private static class CustomCompositeInvocationHandlerImpl extends
         CompositeInvocationHandlerImpl implements LinkedInvocationHandler,
-        Serializable
+        AsyncInvocationHandler, Serializable
     {
         private transient DynamicStub stub ;
+        private transient StubInvocationHandlerImpl stubMethodHandler ;
 
         public void setProxy( Proxy proxy )
         {
@@ -75,9 +79,17 @@ public class InvocationHandlerFactoryImpl implements InvocationHandlerFactory
             return (Proxy)((DynamicStubImpl)stub).getSelf() ;
         }
 
-        public CustomCompositeInvocationHandlerImpl( DynamicStub stub )
+        public CustomCompositeInvocationHandlerImpl( DynamicStub stub,
+            StubInvocationHandlerImpl stubMethodHandler )
         {
             this.stub = stub ;
+            this.stubMethodHandler = stubMethodHandler ;
+        }
+
+        public CompletableFuture<Object> invokeAsync( Method method,
+            Object[] args )
+        {
+            return stubMethodHandler.invokeAsync( method, args ) ;
         }
 
         /** Return the stub, which will actually be written to the stream.
@@ -113,13 +125,14 @@ public class InvocationHandlerFactoryImpl implements InvocationHandlerFactory
 
         // Create an invocation handler that handles any remote interface
         // methods.
-        InvocationHandler stubMethodHandler = new StubInvocationHandlerImpl(
-            pm, classData, stub ) ;
+        StubInvocationHandlerImpl stubMethodHandler =
+            new StubInvocationHandlerImpl( pm, classData, stub ) ;
 
         // Create a composite handler that handles the DynamicStub interface
         // as well as the remote interfaces.
         final CompositeInvocationHandler handler =
-            new CustomCompositeInvocationHandlerImpl( stub ) ;
+            new CustomCompositeInvocationHandlerImpl( stub,
+                stubMethodHandler ) ;
         handler.addInvocationHandler( DynamicStub.class,
             dynamicStubHandler ) ;
         handler.addInvocationHandler( org.omg.CORBA.Object.class,
@@ -37,10 +37,11 @@ import java.util.HashSet ;
 import java.util.List ;
 import java.util.Map ;
 import java.util.Set ;
+import java.util.concurrent.ConcurrentHashMap ;
+import java.util.concurrent.ConcurrentMap ;
 
 import javax.rmi.CORBA.Tie ;
 
-import org.glassfish.pfl.basic.concurrent.WeakCache;
 import org.glassfish.pfl.basic.graph.Graph ;
 import org.glassfish.pfl.basic.graph.GraphImpl ;
 import org.glassfish.pfl.basic.graph.Node ;
@@ -53,8 +54,11 @@ public final class PresentationManagerImpl implements PresentationManager
     private static final ORBUtilSystemException wrapper =
         ORBUtilSystemException.self ;
 
-    private WeakCache<Class<?>,ClassData> classToClassData ;
-    private WeakCache<Method,DynamicMethodMarshaller> methodToDMM ;
+    // Both caches are ClassValues, so that lookups need no lock and an
+    // entry goes away with its class.  DynamicMethodMarshallers are kept
+    // with the class that declares their method.
+    private final ClassValue<ClassData> classToClassData ;
+    private final ClassValue<ConcurrentMap<Method,DynamicMethodMarshaller>> methodToDMM ;
     private PresentationManager.StubFactoryFactory staticStubFactoryFactory ;
     private PresentationManager.StubFactoryFactory dynamicStubFactoryFactory ;
     private boolean useDynamicStubs ;
@@ -65,17 +69,18 @@ public final class PresentationManagerImpl implements PresentationManager
     {
         this.useDynamicStubs = useDynamicStubs ;
 
-        classToClassData = new WeakCache<Class<?>,ClassData>() {
+        classToClassData = new ClassValue<ClassData>() {
             @Override
-            protected ClassData lookup(Class<?> key) {
+            protected ClassData computeValue(Class<?> key) {
                 return new ClassDataImpl( key ) ;
             }
         } ;
 
-        methodToDMM = new WeakCache<Method,DynamicMethodMarshaller>() {
+        methodToDMM = new ClassValue<ConcurrentMap<Method,DynamicMethodMarshaller>>() {
             @Override
-            protected DynamicMethodMarshaller lookup(Method key) {
-                return new DynamicMethodMarshallerImpl( key ) ;
+            protected ConcurrentMap<Method,DynamicMethodMarshaller> computeValue(
+                Class<?> key) {
+                return new ConcurrentHashMap<Method,DynamicMethodMarshaller>() ;
             }
         } ;
     }
@@ -84,17 +89,28 @@ public final class PresentationManagerImpl implements PresentationManager
 // PresentationManager interface
 ////////////////////////////////////////////////////////////////////////////////
 
-    public synchronized DynamicMethodMarshaller getDynamicMethodMarshaller(
+    public DynamicMethodMarshaller getDynamicMethodMarshaller(
         Method method )
     {
         if (method == null) {
             return null;
         }
 
-        return methodToDMM.get(method) ;
+        ConcurrentMap<Method,DynamicMethodMarshaller> dmms =
+            methodToDMM.get( method.getDeclaringClass() ) ;
+        DynamicMethodMarshaller result = dmms.get( method ) ;
+        if (result == null) {
+            result = new DynamicMethodMarshallerImpl( method ) ;
+            DynamicMethodMarshaller previous = dmms.putIfAbsent( method, result ) ;
+            if (previous != null) {
+                result = previous ;
+            }
+        }
+
+        return result ;
     }
 
-    public synchronized ClassData getClassData( Class<?> cls )
+    public ClassData getClassData( Class<?> cls )
     {
         return classToClassData.get(cls) ;
     }
@@ -106,6 +122,8 @@ public final class PresentationManagerImpl implements PresentationManager
         private String[] typeIds ;
         private InvocationHandlerFactory ihfactory ;
         private Map<String,Object> dictionary ;
+        private Map<Method,MethodData> methodToMethodData ;
+        private Map<String,MethodData> idlNameToMethodData ;
 
         ClassDataImpl( Class<?> cls ) {
             this.cls = cls ;
@@ -123,6 +141,19 @@ public final class PresentationManagerImpl implements PresentationManager
             ihfactory = new InvocationHandlerFactoryImpl(
                 PresentationManagerImpl.this, this ) ;
             dictionary = new HashMap<String,Object>() ;
+
+            // Never modified after construction, so these are safe to
+            // read from any thread.
+            methodToMethodData = new HashMap<Method,MethodData>() ;
+            idlNameToMethodData = new HashMap<String,MethodData>() ;
+            Method[] methods = nameTranslator.getMethods() ;
+            for (int ctr=0; ctr<methods.length; ctr++) {
+                Method method = methods[ctr] ;
+                MethodData methodData = new MethodDataImpl( method, ctr,
+                    nameTranslator.getIDLName( method ) ) ;
+                methodToMethodData.put( method, methodData ) ;
+                idlNameToMethodData.put( methodData.getIDLName(), methodData ) ;
+            }
         }
 
         public Class<?> getMyClass()
@@ -149,6 +180,85 @@ public final class PresentationManagerImpl implements PresentationManager
         {
             return dictionary ;
         }
+
+        public MethodData getMethodData( Method method )
+        {
+            MethodData result = methodToMethodData.get( method ) ;
+            if (result == null) {
+                result = new MethodDataImpl( method, -1,
+                    nameTranslator.getIDLName( method ) ) ;
+            }
+
+            return result ;
+        }
+
+        public MethodData getMethodData( String idlName )
+        {
+            return idlNameToMethodData.get( idlName ) ;
+        }
+    }
+
+    private class MethodDataImpl implements PresentationManager.MethodData
+    {
+        private final Method method ;
+        private final int methodNumber ;
+        private final String idlName ;
+        private volatile DynamicMethodMarshaller dmm ;
+        private volatile boolean accessible ;
+
+        MethodDataImpl( Method method, int methodNumber, String idlName ) {
+            this.method = method ;
+            this.methodNumber = methodNumber ;
+            this.idlName = idlName ;
+        }
+
+        public Method getMethod()
+        {
+            return method ;
+        }
+
+        public int getMethodNumber()
+        {
+            return methodNumber ;
+        }
+
+        public String getIDLName()
+        {
+            return idlName ;
+        }
+
+        public DynamicMethodMarshaller getDynamicMethodMarshaller()
+        {
+            DynamicMethodMarshaller result = dmm ;
+            if (result == null) {
+                result = PresentationManagerImpl.this.getDynamicMethodMarshaller(
+                    method ) ;
+                dmm = result ;
+            }
+
+            return result ;
+        }
+
+        @SuppressWarnings("deprecation")
+        public Method getAccessibleMethod()
+        {
+            if (!accessible) {
+                if (!method.isAccessible()) {
+                    // Make sure that we can invoke a method from a normally
+                    // inaccessible package, as this reflective class must always
+                    // be able to invoke a non-public method.
+                    AccessController.doPrivileged(new PrivilegedAction<Object>() {
+                        public Object run() {
+                            method.setAccessible( true ) ;
+                            return null ;
+                        }
+                    } ) ;
+                }
+                accessible = true ;
+            }
+
+            return method ;
+        }
     }
 
     public PresentationManager.StubFactoryFactory getStubFactoryFactory(
@@ -224,7 +334,8 @@ public final class PresentationManagerImpl implements PresentationManager
         ) ;
 
         for( int ctr=0; ctr<methods.length; ctr++) {
-            methodToDMM.remove( methods[ctr] ) ;
+            methodToDMM.get( methods[ctr].getDeclaringClass() ).remove(
+                methods[ctr] ) ;
         }
     }
 
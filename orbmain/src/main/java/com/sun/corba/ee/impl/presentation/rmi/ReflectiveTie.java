@@ -38,7 +38,7 @@ import org.omg.CORBA_2_3.portable.InputStream;
 import org.omg.CORBA_2_3.portable.OutputStream;
 import org.omg.PortableServer.Servant;
 
-public final class ReflectiveTie extends Servant implements Tie
+public class ReflectiveTie extends Servant implements Tie
 {
     private static final ORBUtilSystemException wrapper =
         ORBUtilSystemException.self ;
@@ -82,6 +82,11 @@ public final class ReflectiveTie extends Servant implements Tie
         return target;
     }
 
+    protected PresentationManager.ClassData getClassData()
+    {
+        return classData ;
+    }
+
     public org.omg.CORBA.Object thisObject()
     {
         return _this_object();
@@ -128,6 +133,21 @@ public final class ReflectiveTie extends Servant implements Tie
         }
     }
 
+    /** Invoke the method of methodData on target with the given args.
+     * Subclasses may replace the reflective invocation used here, but
+     * must report an exception thrown by the method in the same way.
+     * @param methodData the method to invoke
+     * @param target the target of the invocation
+     * @param args the arguments of the invocation
+     * @return the result of the method
+     * @throws InvocationTargetException if the method throws an exception
+     */
+    protected Object dispatch( PresentationManager.MethodData methodData,
+        Remote target, Object[] args ) throws InvocationTargetException {
+
+        return dispatchToMethod( methodData.getMethod(), target, args ) ;
+    }
+
     public org.omg.CORBA.portable.OutputStream  _invoke(String method,
         org.omg.CORBA.portable.InputStream _in, ResponseHandler reply)
     {
@@ -137,16 +157,18 @@ public final class ReflectiveTie extends Servant implements Tie
         try {
             InputStream in = (InputStream) _in;
 
-            javaMethod = classData.getIDLNameTranslator().getMethod( method ) ;
-            if (javaMethod == null)
+            PresentationManager.MethodData methodData =
+                classData.getMethodData( method ) ;
+            if (methodData == null)
                 throw wrapper.methodNotFoundInTie( method,
                     target.getClass().getName() ) ;
 
-            dmm = pm.getDynamicMethodMarshaller( javaMethod ) ;
+            javaMethod = methodData.getMethod() ;
+            dmm = methodData.getDynamicMethodMarshaller() ;
 
             Object[] args = dmm.readArguments( in ) ;
 
-            Object result = dispatchToMethod( javaMethod, target, args ) ;
+            Object result = dispatch( methodData, target, args ) ;
 
             OutputStream os = (OutputStream)reply.createReply() ;
 
@@ -20,7 +20,9 @@
 package com.sun.corba.ee.impl.presentation.rmi ;
 
 import com.sun.corba.ee.impl.javax.rmi.CORBA.Util;
+import com.sun.corba.ee.spi.logging.ORBUtilSystemException;
 import com.sun.corba.ee.spi.orb.ORB;
+import com.sun.corba.ee.spi.presentation.rmi.AsyncInvocationHandler;
 import com.sun.corba.ee.spi.presentation.rmi.DynamicMethodMarshaller;
 import com.sun.corba.ee.spi.presentation.rmi.InvocationInterceptor;
 import com.sun.corba.ee.spi.presentation.rmi.PresentationDefaults;
@@ -28,14 +30,18 @@ import com.sun.corba.ee.spi.presentation.rmi.PresentationManager;
 import com.sun.corba.ee.spi.presentation.rmi.StubAdapter;
 import com.sun.corba.ee.spi.protocol.ClientDelegate;
 import com.sun.corba.ee.spi.protocol.LocalClientRequestDispatcher;
+import com.sun.corba.ee.spi.protocol.PendingRequest;
 import com.sun.corba.ee.spi.trace.IsLocal;
 import com.sun.corba.ee.spi.transport.ContactInfoList;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
-import java.security.AccessController;
-import java.security.PrivilegedAction;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
 
 import org.glassfish.pfl.basic.proxy.DynamicAccessPermission;
 import org.glassfish.pfl.basic.proxy.LinkedInvocationHandler;
@@ -47,8 +53,12 @@ import org.omg.CORBA.portable.RemarshalException;
 import org.omg.CORBA.portable.ServantObject;
 
 @IsLocal
-public final class StubInvocationHandlerImpl implements LinkedInvocationHandler
+public final class StubInvocationHandlerImpl implements LinkedInvocationHandler,
+    AsyncInvocationHandler
 {
+    private static final ORBUtilSystemException wrapper =
+        ORBUtilSystemException.self ;
+
     private transient PresentationManager.ClassData classData ;
     private transient PresentationManager pm ;
     private transient org.omg.CORBA.Object stub ;
@@ -97,6 +107,20 @@ public final class StubInvocationHandlerImpl implements LinkedInvocationHandler
     public Object invoke( Object proxy, final Method method,
         Object[] args ) throws Throwable {
 
+        return invoke( classData.getMethodData( method ), args ) ;
+    }
+
+    /** Invoke the method of the given MethodData with the args and return
+     * the result.  Generated stubs call this directly with the MethodData
+     * for their method number, which avoids finding it from the Method.
+     * @param methodData the MethodData of the method to invoke
+     * @param args the arguments of the invocation
+     * @return the result of the invocation
+     * @throws Throwable any exception thrown by the invocation
+     */
+    public Object invoke( PresentationManager.MethodData methodData,
+        Object[] args ) throws Throwable {
+
         Delegate delegate = null ;
         try {
             delegate = StubAdapter.getDelegate( stub ) ;
@@ -108,26 +132,233 @@ public final class StubInvocationHandlerImpl implements LinkedInvocationHandler
         if (delORB instanceof ORB) {
             ORB orb = (ORB)delORB ;
 
-            InvocationInterceptor interceptor = orb.getInvocationInterceptor() ;
+            final Delegate target = delegate ;
+            return intercepted( orb.getInvocationInterceptor(),
+                new InvocationPart<Throwable>() {
+                    public Object run() throws Throwable {
+                        return privateInvoke( target, methodData, args ) ;
+                    }
+                } ) ;
+        } else {
+            // Not our ORB: so handle without invocation interceptor.
+            return privateInvoke( delegate, methodData, args ) ;
+        }
+    }
 
+    // A part of an invocation that is run between the calls to the
+    // InvocationInterceptor.
+    private interface InvocationPart<T extends Throwable> {
+        Object run() throws T ;
+    }
+
+    // Runs the given part of an invocation between the preInvoke and
+    // postInvoke calls of the interceptor, and returns its result.
+    private static <T extends Throwable> Object intercepted(
+        InvocationInterceptor interceptor, InvocationPart<T> part ) throws T {
+
+        try {
+            interceptor.preInvoke() ;
+        } catch (Exception exc) {
+            // XXX Should we log this?
+        }
+
+        try {
+            return part.run() ;
+        } finally {
             try {
-                interceptor.preInvoke() ;
+                interceptor.postInvoke() ;
             } catch (Exception exc) {
                 // XXX Should we log this?
             }
+        }
+    }
+
+    public CompletableFuture<Object> invokeAsync( final Method method,
+        final Object[] args ) {
 
+        Delegate delegate = null ;
+        try {
+            delegate = StubAdapter.getDelegate( stub ) ;
+        } catch (SystemException ex) {
+            CompletableFuture<Object> result = new CompletableFuture<Object>() ;
+            result.completeExceptionally(
+                Util.getInstance().mapSystemException(ex) ) ;
+            return result ;
+        }
+
+        if (!(delegate instanceof ClientDelegate) || isLocal(delegate)) {
+            // A local call does not wait for a reply, so it is simply
+            // made on this thread.
+            CompletableFuture<Object> result = new CompletableFuture<Object>() ;
             try {
-                return privateInvoke( delegate, proxy, method, args ) ;
-            } finally {
+                result.complete( invoke( self, method, args ) ) ;
+            } catch (Throwable thr) {
+                result.completeExceptionally( thr ) ;
+            }
+            return result ;
+        }
+
+        AsyncInvocation invocation = new AsyncInvocation(
+            (ClientDelegate)delegate, method, args ) ;
+        invocation.start() ;
+        return invocation.result ;
+    }
+
+    /** A remote invocation made by invokeAsync.  The request is sent on
+     * the calling thread, and its reply processed on an ORB worker thread
+     * by run, which sends the request again if it must be retried.
+     * Cancelling the result, or completing it with a timeout, cancels the
+     * outstanding request, whose interceptor ending points then run with
+     * the corresponding COMM_FAILURE.
+     */
+    private final class AsyncInvocation implements Runnable {
+        private final ClientDelegate delegate ;
+        private final Method method ;
+        private final Object[] args ;
+        private final CompletableFuture<Object> result =
+            new CompletableFuture<Object>() ;
+        private volatile PendingRequest pending ;
+
+        AsyncInvocation( ClientDelegate delegate, Method method,
+            Object[] args ) {
+
+            this.delegate = delegate ;
+            this.method = method ;
+            this.args = args ;
+        }
+
+        void start() {
+            intercepted( delegate.getBroker().getInvocationInterceptor(),
+                new InvocationPart<RuntimeException>() {
+                    public Object run() {
+                        send() ;
+                        return null ;
+                    }
+                } ) ;
+
+            result.whenComplete( new BiConsumer<Object,Throwable>() {
+                public void accept( Object value, Throwable thr ) {
+                    if (thr instanceof CancellationException
+                        || thr instanceof TimeoutException) {
+                        cancel() ;
+                    }
+                }
+            } ) ;
+
+            long timeout = delegate.getBroker().getORBData()
+                .getWaitForResponseTimeout() ;
+            if (timeout > 0) {
+                result.orTimeout( timeout, TimeUnit.MILLISECONDS ) ;
+            }
+        }
+
+        private void cancel() {
+            PendingRequest request = pending ;
+            if (request != null) {
+                request.cancel( result.isCancelled()
+                    ? wrapper.requestCancelled()
+                    : wrapper.communicationsTimeoutWaitingForResponse(
+                        delegate.getBroker().getORBData()
+                            .getWaitForResponseTimeout() ) ) ;
+            }
+        }
+
+        private void send() {
+            while (true) {
+                if (isLocal( delegate )) {
+                    // Retried after being forwarded to a local object.
+                    try {
+                        result.complete( privateInvoke( delegate,
+                            classData.getMethodData( method ), args ) ) ;
+                    } catch (Throwable thr) {
+                        result.completeExceptionally( thr ) ;
+                    }
+                    return ;
+                }
+
+                PresentationManager.MethodData methodData =
+                  classData.getMethodData( method ) ;
+                String giopMethodName = methodData.getIDLName() ;
+                DynamicMethodMarshaller dmm =
+                  methodData.getDynamicMethodMarshaller() ;
+
+                PendingRequest request = null ;
                 try {
-                    interceptor.postInvoke() ;
-                } catch (Exception exc) {
-                    // XXX Should we log this?
+                    try {
+                        org.omg.CORBA_2_3.portable.OutputStream out =
+                          (org.omg.CORBA_2_3.portable.OutputStream)
+                          delegate.request( stub, giopMethodName, true);
+                        dmm.writeArguments( out, args ) ;
+                        request = delegate.sendRequest( stub, out ) ;
+                    } catch (RemarshalException ex) {
+                        continue ;
+                    } finally {
+                        if (request == null) {
+                            delegate.releaseReply( stub, null ) ;
+                        }
+                    }
+                } catch (SystemException ex) {
+                    result.completeExceptionally(
+                        Util.getInstance().mapSystemException(ex) ) ;
+                    return ;
+                } catch (Throwable thr) {
+                    result.completeExceptionally( thr ) ;
+                    return ;
                 }
+
+                pending = request ;
+                if (result.isDone()) {
+                    // Cancelled while this request was being sent.
+                    cancel() ;
+                }
+                request.whenResponseReceived( this ) ;
+                return ;
+            }
+        }
+
+        public void run() {
+            intercepted( delegate.getBroker().getInvocationInterceptor(),
+                new InvocationPart<RuntimeException>() {
+                    public Object run() {
+                        receive() ;
+                        return null ;
+                    }
+                } ) ;
+        }
+
+        private void receive() {
+            DynamicMethodMarshaller dmm =
+              classData.getMethodData( method ).getDynamicMethodMarshaller() ;
+            PendingRequest request = pending ;
+            boolean retry = false ;
+            Object value = null ;
+            Throwable failure = null ;
+            try {
+                org.omg.CORBA_2_3.portable.InputStream in = null ;
+                try {
+                    in = (org.omg.CORBA_2_3.portable.InputStream)
+                      request.receiveReply() ;
+                    value = dmm.readResult( in ) ;
+                } catch (ApplicationException ex) {
+                    failure = dmm.readException( ex ) ;
+                } catch (RemarshalException ex) {
+                    retry = true ;
+                } finally {
+                    request.releaseReply( in ) ;
+                }
+            } catch (SystemException ex) {
+                failure = Util.getInstance().mapSystemException(ex) ;
+            } catch (Throwable thr) {
+                failure = thr ;
+            }
+
+            if (retry) {
+                send() ;
+            } else if (failure != null) {
+                result.completeExceptionally( failure ) ;
+            } else {
+                result.complete( value ) ;
             }
-        } else {
-            // Not our ORB: so handle without invocation interceptor.
-            return privateInvoke( delegate, proxy, method, args ) ;
         }
     }
 
@@ -139,19 +370,18 @@ public final class StubInvocationHandlerImpl implements LinkedInvocationHandler
 
     /** Invoke the given method with the args and return the result.
      *  This may result in a remote invocation.
-     *  @param proxy The proxy used for this class (null if not using java.lang.reflect.Proxy)
      */
     @IsLocal
-    private Object privateInvoke( Delegate delegate, Object proxy, final Method method,
-        Object[] args ) throws Throwable
+    private Object privateInvoke( Delegate delegate,
+        PresentationManager.MethodData methodData, Object[] args ) throws Throwable
     {
+        final Method method = methodData.getMethod() ;
         boolean retry;
         do {
             retry = false;
-            String giopMethodName = classData.getIDLNameTranslator().
-              getIDLName( method )  ;
+            String giopMethodName = methodData.getIDLName() ;
             DynamicMethodMarshaller dmm =
-              pm.getDynamicMethodMarshaller( method ) ;
+              methodData.getDynamicMethodMarshaller() ;
 
             if (!isLocal(delegate)) {
                 try {
@@ -194,19 +424,8 @@ public final class StubInvocationHandlerImpl implements LinkedInvocationHandler
                 try {
                     Object[] copies = dmm.copyArguments( args, orb ) ;
 
-                    if (!method.isAccessible()) {
-                        // Make sure that we can invoke a method from a normally
-                        // inaccessible package, as this reflective class must always
-                        // be able to invoke a non-public method.
-                        AccessController.doPrivileged(new PrivilegedAction() {
-                            public Object run() {
-                                method.setAccessible( true ) ;
-                                return null ;
-                            }
-                        } ) ;
-                    }
-
-                    Object result = method.invoke( so.servant, copies ) ;
+                    Object result = methodData.getAccessibleMethod().invoke(
+                        so.servant, copies ) ;
 
                     return dmm.copyResult( result, orb ) ;
                 } catch (InvocationTargetException ex) {
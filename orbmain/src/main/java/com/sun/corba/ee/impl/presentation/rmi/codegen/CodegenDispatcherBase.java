@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.impl.presentation.rmi.codegen ;
+
+import java.lang.reflect.InvocationTargetException ;
+
+/** The base class of the dispatchers generated by CodegenDispatcherCreator.
+ * A dispatcher invokes one remote method on the target of a CodegenTie by
+ * a direct call, instead of by reflection.
+ */
+public abstract class CodegenDispatcherBase
+{
+    public CodegenDispatcherBase()
+    {
+    }
+
+    /** Invoke the method of this dispatcher on target.
+     * @param target the object on which the method is invoked
+     * @param args the arguments of the method, with primitives wrapped
+     * @return the result of the method, wrapped if it is a primitive,
+     * or null if the method is void
+     * @throws InvocationTargetException if the method throws an exception.
+     * An exception thrown while casting or unwrapping the target and
+     * arguments is thrown as it is.
+     */
+    public abstract Object dispatch( Object target, Object[] args )
+        throws InvocationTargetException ;
+
+    // Needed in generated code: get an argument of the method.
+    protected final Object arg( Object[] args, int index )
+    {
+        return args[index] ;
+    }
+}
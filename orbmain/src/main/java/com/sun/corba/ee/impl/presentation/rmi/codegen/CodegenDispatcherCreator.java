@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.impl.presentation.rmi.codegen;
+
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.glassfish.pfl.basic.contain.Pair;
+import org.glassfish.pfl.dynamic.codegen.spi.Expression;
+import org.glassfish.pfl.dynamic.codegen.spi.MethodInfo;
+import org.glassfish.pfl.dynamic.codegen.spi.Primitives;
+import org.glassfish.pfl.dynamic.codegen.spi.Type;
+import org.glassfish.pfl.dynamic.codegen.spi.Utility;
+
+import static java.lang.reflect.Modifier.PUBLIC;
+import static org.glassfish.pfl.dynamic.codegen.spi.Wrapper.DUMP_AFTER_SETUP_VISITOR;
+import static org.glassfish.pfl.dynamic.codegen.spi.Wrapper.TRACE_BYTE_CODE_GENERATION;
+import static org.glassfish.pfl.dynamic.codegen.spi.Wrapper.USE_ASM_VERIFIER;
+import static org.glassfish.pfl.dynamic.codegen.spi.Wrapper._Object;
+import static org.glassfish.pfl.dynamic.codegen.spi.Wrapper._arg;
+import static org.glassfish.pfl.dynamic.codegen.spi.Wrapper._body;
+import static org.glassfish.pfl.dynamic.codegen.spi.Wrapper._call;
+import static org.glassfish.pfl.dynamic.codegen.spi.Wrapper._cast;
+import static org.glassfish.pfl.dynamic.codegen.spi.Wrapper._catch;
+import static org.glassfish.pfl.dynamic.codegen.spi.Wrapper._class;
+import static org.glassfish.pfl.dynamic.codegen.spi.Wrapper._clear;
+import static org.glassfish.pfl.dynamic.codegen.spi.Wrapper._const;
+import static org.glassfish.pfl.dynamic.codegen.spi.Wrapper._constructor;
+import static org.glassfish.pfl.dynamic.codegen.spi.Wrapper._define;
+import static org.glassfish.pfl.dynamic.codegen.spi.Wrapper._end;
+import static org.glassfish.pfl.dynamic.codegen.spi.Wrapper._expr;
+import static org.glassfish.pfl.dynamic.codegen.spi.Wrapper._generate;
+import static org.glassfish.pfl.dynamic.codegen.spi.Wrapper._method;
+import static org.glassfish.pfl.dynamic.codegen.spi.Wrapper._new;
+import static org.glassfish.pfl.dynamic.codegen.spi.Wrapper._null;
+import static org.glassfish.pfl.dynamic.codegen.spi.Wrapper._package;
+import static org.glassfish.pfl.dynamic.codegen.spi.Wrapper._return;
+import static org.glassfish.pfl.dynamic.codegen.spi.Wrapper._setClassLoader;
+import static org.glassfish.pfl.dynamic.codegen.spi.Wrapper._super;
+import static org.glassfish.pfl.dynamic.codegen.spi.Wrapper._this;
+import static org.glassfish.pfl.dynamic.codegen.spi.Wrapper._throw;
+import static org.glassfish.pfl.dynamic.codegen.spi.Wrapper._try;
+import static org.glassfish.pfl.dynamic.codegen.spi.Wrapper._void;
+import static org.glassfish.pfl.dynamic.codegen.spi.Wrapper.splitClassName;
+
+/** Generate a dispatcher for one method of a remote class.
+ */
+public class CodegenDispatcherCreator {
+    private final String className ;
+    private final Method method ;
+
+    private static final Properties debugProps = new Properties() ;
+    private static final Properties emptyProps = new Properties() ;
+
+    static {
+        debugProps.setProperty( DUMP_AFTER_SETUP_VISITOR, "true" ) ;
+        debugProps.setProperty( TRACE_BYTE_CODE_GENERATION, "true" ) ;
+        debugProps.setProperty( USE_ASM_VERIFIER, "true" ) ;
+    }
+
+    public CodegenDispatcherCreator( String className, Method method ) {
+        this.className = className ;
+        this.method = method ;
+    }
+
+    public String getClassName() {
+        return className ;
+    }
+
+    /** Return true if a dispatcher can call the method directly.
+     * The generated class cannot call a method declared in an interface
+     * that is not public, which still requires reflection.
+     * @return true if create may be used for the method
+     */
+    public boolean canCreate() {
+        return Modifier.isPublic( method.getDeclaringClass().getModifiers() ) ;
+    }
+
+    /**
+     * Generate a subclass of CodegenDispatcherBase whose dispatch method
+     * calls the method on the target, cast to the class that declares it.
+     * Arguments of primitive type are unwrapped from args, and a
+     * primitive result is wrapped, so that the generated class
+     * agrees with the reflective invocation that it replaces.
+     * As with reflection, only an exception thrown by the method itself
+     * is wrapped in an InvocationTargetException; one thrown while
+     * casting or unwrapping the target and arguments is not.
+     * @param anchorClass a class in whose classloader the new class should be generated
+     * @param debug if true, generate debug messages
+     * @param ps a PrintStream to which the debug messages should be written
+     * @return the generated dispatcher class
+     */
+    public Class<?> create( Class<?> anchorClass, boolean debug, PrintStream ps ) {
+
+        Pair<String,String> nm = splitClassName( className ) ;
+
+        _clear() ;
+        _setClassLoader( anchorClass.getClassLoader() ) ;
+        _package( nm.first() ) ;
+        _class( PUBLIC, nm.second(), Type.type( CodegenDispatcherBase.class ) ) ;
+
+        _constructor( PUBLIC ) ;
+        _body() ;
+            _expr(_super());
+        _end() ;
+
+        _method( PUBLIC, _Object(), "dispatch",
+            Type.type( InvocationTargetException.class ) ) ;
+            Expression target = _arg( _Object(), "target" ) ;
+            Expression args = _arg( objectArrayType, "args" ) ;
+        _body() ;
+            createCall( method, target, args ) ;
+        _end() ; // of method
+
+        _end() ; // of _class
+
+        return _generate( anchorClass, debug ? debugProps : emptyProps, ps ) ;
+    }
+
+    private static final Type objectArrayType = Type._array(_Object()) ;
+
+    private static void createCall( Method method, Expression target,
+        Expression args ) {
+
+        MethodInfo info = Utility.getMethodInfo( method ) ;
+
+        // The target and arguments are cast and unwrapped into locals
+        // before the try, so that a failure there is not reported as
+        // an exception thrown by the method.
+        Type declaringType = Type.type( method.getDeclaringClass() ) ;
+        Expression self = _define( declaringType, "self",
+            _cast( declaringType, target ) ) ;
+
+        List<Expression> callArgs = new ArrayList<>() ;
+        Class<?>[] types = method.getParameterTypes() ;
+        for (int ctr=0; ctr<types.length; ctr++) {
+            Type type = Type.type( types[ctr] ) ;
+            Expression arg = _call( _this(), "arg", args, _const( ctr ) ) ;
+            if (type.isPrimitive()) {
+                // Must cast arg to the wrapper type, or unwrap won't work!
+                Type ctype = Primitives.getWrapperTypeForPrimitive( type ) ;
+                arg = Primitives.unwrap( _cast( ctype, arg ) ) ;
+            } else if (type != _Object()) {
+                arg = _cast( type, arg ) ;
+            }
+            callArgs.add( _define( type, "arg" + ctr, arg ) ) ;
+        }
+
+        _try() ;
+            Expression call = _call( self, method.getName(),
+                info.signature(), callArgs ) ;
+
+            Type rtype = info.returnType() ;
+            if (rtype == _void()) {
+                _expr( call ) ;
+                _return( _null() ) ;
+            } else if (rtype.isPrimitive()) {
+                _return( Primitives.wrap( call ) ) ;
+            } else {
+                _return( call ) ;
+            }
+        Expression thr = _catch( Type.type( Throwable.class ), "thr" ) ;
+            _throw( _new( Type.type( InvocationTargetException.class ),
+                thr ) ) ;
+        _end() ; // of try
+    }
+}
@@ -26,6 +26,7 @@ import com.sun.corba.ee.impl.util.JDKBridge ;
 import com.sun.corba.ee.impl.util.RepositoryId ;
 import com.sun.corba.ee.spi.logging.ORBUtilSystemException ;
 import com.sun.corba.ee.spi.orb.ORB ;
+import com.sun.corba.ee.spi.presentation.rmi.AsyncInvocationHandler ;
 import com.sun.corba.ee.spi.presentation.rmi.PresentationManager ;
 import com.sun.corba.ee.spi.presentation.rmi.StubAdapter ;
 
@@ -37,15 +38,18 @@ import java.lang.reflect.InvocationHandler ;
 import java.lang.reflect.Method ;
 import java.security.AccessController ;
 import java.security.PrivilegedAction ;
+import java.util.concurrent.CompletableFuture ;
 
 import javax.rmi.CORBA.Stub ;
 
-public class CodegenStubBase extends Stub
+public class CodegenStubBase extends Stub implements AsyncInvocationHandler
 {
     private transient String[] typeIds ;
     private transient Method[] methods ;
+    private transient PresentationManager.MethodData[] methodData ;
     private transient PresentationManager.ClassData classData ;
     private transient InvocationHandler handler ;
+    private transient StubInvocationHandlerImpl stubHandler ;
 
     private static final ORBUtilSystemException wrapper =
         ORBUtilSystemException.self ;
@@ -179,6 +183,16 @@ public class CodegenStubBase extends Stub
         this.handler = handler ;
         typeIds = classData.getTypeIds() ;
         methods = classData.getIDLNameTranslator().getMethods() ;
+
+        // The generated methods pass their number to invoke, so the
+        // MethodData is found by index rather than by Method.
+        methodData = new PresentationManager.MethodData[methods.length] ;
+        for (int ctr=0; ctr<methods.length; ctr++) {
+            methodData[ctr] = classData.getMethodData( methods[ctr] ) ;
+        }
+
+        stubHandler = handler instanceof StubInvocationHandlerImpl
+            ? (StubInvocationHandlerImpl)handler : null ;
     }
 
     // Needed in generated code: clone self (which is the generated class)
@@ -196,9 +210,24 @@ public class CodegenStubBase extends Stub
     // Needed in generated code
     protected Object invoke( int methodNumber, Object[] args ) throws Throwable
     {
+        if (stubHandler != null) {
+            return stubHandler.invoke( methodData[methodNumber], args ) ;
+        }
+
         Method method = methods[methodNumber] ;
 
         // Pass null for the Proxy since we don't have one.
         return handler.invoke( null, method, args ) ;
     }
+
+    public CompletableFuture<Object> invokeAsync( Method method,
+        Object[] args )
+    {
+        if (handler instanceof AsyncInvocationHandler) {
+            return ((AsyncInvocationHandler)handler).invokeAsync( method,
+                args ) ;
+        }
+
+        throw wrapper.invokeAsyncRequiresDynamicStub() ;
+    }
 }
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.impl.presentation.rmi.codegen ;
+
+import com.sun.corba.ee.impl.presentation.rmi.ReflectiveTie ;
+import com.sun.corba.ee.impl.util.Utility ;
+import com.sun.corba.ee.spi.logging.ORBUtilSystemException ;
+import com.sun.corba.ee.spi.presentation.rmi.PresentationManager ;
+
+import java.lang.reflect.InvocationTargetException ;
+import java.lang.reflect.Method ;
+import java.rmi.Remote ;
+import java.security.AccessController ;
+import java.security.PrivilegedAction ;
+import java.util.Map ;
+
+/** A tie that invokes the methods of its target through generated
+ * CodegenDispatcherBase instances instead of by reflection.  A dispatcher
+ * is generated once for each method of the target class, and the
+ * dispatchers are kept in its ClassData, indexed by method number.
+ * A method declared in a remote interface that is not public is invoked
+ * reflectively, as by ReflectiveTie.
+ */
+public class CodegenTie extends ReflectiveTie
+{
+    private static final ORBUtilSystemException wrapper =
+        ORBUtilSystemException.self ;
+
+    private static final String DISPATCHERS_KEY = "CodegenTieDispatchers" ;
+
+    private final PresentationManager pm ;
+    private CodegenDispatcherBase[] dispatchers = null ;
+
+    public CodegenTie( PresentationManager pm )
+    {
+        super( pm ) ;
+        this.pm = pm ;
+    }
+
+    @Override
+    public void setTarget( Remote target )
+    {
+        super.setTarget( target ) ;
+
+        if (target == null) {
+            dispatchers = null ;
+        } else {
+            dispatchers = getDispatchers( getClassData() ) ;
+        }
+    }
+
+    @Override
+    protected Object dispatch( PresentationManager.MethodData methodData,
+        Remote target, Object[] args ) throws InvocationTargetException {
+
+        int methodNumber = methodData.getMethodNumber() ;
+        CodegenDispatcherBase dispatcher = methodNumber < 0
+            ? null : dispatchers[methodNumber] ;
+        if (dispatcher == null) {
+            return super.dispatch( methodData, target, args ) ;
+        }
+
+        // The dispatcher reports an exception thrown by the method as
+        // an InvocationTargetException.  Anything else means that the
+        // target or arguments did not fit the method, which a reflective
+        // invocation reports as an IllegalArgumentException, or that the
+        // method could not be accessed.
+        try {
+            return dispatcher.dispatch( target, args ) ;
+        } catch (RuntimeException exc) {
+            throw invocationError( methodData, exc ) ;
+        } catch (IllegalAccessError err) {
+            IllegalAccessException exc =
+                new IllegalAccessException( err.getMessage() ) ;
+            exc.initCause( err ) ;
+            throw invocationError( methodData, exc ) ;
+        }
+    }
+
+    private RuntimeException invocationError(
+        PresentationManager.MethodData methodData, Exception exc ) {
+
+        Method method = methodData.getMethod() ;
+        return wrapper.invocationErrorInReflectiveTie( exc, method.getName(),
+            method.getDeclaringClass().getName() ) ;
+    }
+
+    private CodegenDispatcherBase[] getDispatchers(
+        final PresentationManager.ClassData classData ) {
+
+        // A get & put to the dictionary can occur in several threads
+        // at once, as in StubFactoryCodegenImpl.
+        synchronized (classData) {
+            final Map<String,Object> dictionary = classData.getDictionary() ;
+            return (CodegenDispatcherBase[]) dictionary.computeIfAbsent(
+                DISPATCHERS_KEY, k -> createDispatchers( classData ) ) ;
+        }
+    }
+
+    private CodegenDispatcherBase[] createDispatchers(
+        PresentationManager.ClassData classData ) {
+
+        final Class<?> theClass = classData.getMyClass() ;
+        final String baseName = Utility.dynamicTieName( theClass.getName() ) ;
+        final Method[] methods = classData.getIDLNameTranslator().getMethods() ;
+        final CodegenDispatcherBase[] result =
+            new CodegenDispatcherBase[methods.length] ;
+        for (int ctr=0; ctr<methods.length; ctr++) {
+            CodegenDispatcherCreator creator = new CodegenDispatcherCreator(
+                baseName + "_" + ctr, methods[ctr] ) ;
+            if (creator.canCreate()) {
+                result[ctr] = createDispatcher( theClass, creator ) ;
+            }
+        }
+
+        return result ;
+    }
+
+    private CodegenDispatcherBase createDispatcher( final Class<?> theClass,
+        final CodegenDispatcherCreator creator ) {
+
+        final Class<?> dispatcherClass = System.getSecurityManager() == null
+            ? getDispatcherClass( theClass, creator )
+            : AccessController.doPrivileged( (PrivilegedAction<Class<?>>) () ->
+                getDispatcherClass( theClass, creator ) ) ;
+
+        try {
+            return (CodegenDispatcherBase)dispatcherClass
+                .getDeclaredConstructor().newInstance() ;
+        } catch (Exception exc) {
+            throw wrapper.couldNotInstantiateStubClass( exc,
+                dispatcherClass.getName() ) ;
+        }
+    }
+
+    private Class<?> getDispatcherClass( Class<?> theClass,
+        CodegenDispatcherCreator creator ) {
+
+        // The class may already have been generated for an earlier
+        // ClassData of the same class, if that was flushed.
+        try {
+            return Class.forName( creator.getClassName(), false,
+                theClass.getClassLoader() ) ;
+        } catch (ClassNotFoundException exc) {
+            return creator.create( theClass, pm.getDebug(),
+                pm.getPrintStream() ) ;
+        }
+    }
+}
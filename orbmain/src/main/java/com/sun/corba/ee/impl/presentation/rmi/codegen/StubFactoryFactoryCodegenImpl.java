@@ -20,13 +20,39 @@
 package com.sun.corba.ee.impl.presentation.rmi.codegen ;
 
 import com.sun.corba.ee.impl.presentation.rmi.StubFactoryFactoryDynamicBase ;
+import com.sun.corba.ee.spi.orb.ORB ;
 import com.sun.corba.ee.spi.presentation.rmi.PresentationManager ;
 
+import javax.rmi.CORBA.Tie ;
+
 public class StubFactoryFactoryCodegenImpl extends StubFactoryFactoryDynamicBase
 {
+    private final boolean useCodegenTie ;
+
     public StubFactoryFactoryCodegenImpl()
+    {
+        this( false ) ;
+    }
+
+    /** Create a StubFactoryFactory for codegen stubs.
+     * @param useCodegenTie if true, getTie returns ties that invoke their
+     * target through a generated dispatcher instead of by reflection.
+     */
+    public StubFactoryFactoryCodegenImpl( boolean useCodegenTie )
     {
         super() ;
+        this.useCodegenTie = useCodegenTie ;
+    }
+
+    @Override
+    public Tie getTie( Class cls )
+    {
+        if (!useCodegenTie) {
+            return super.getTie( cls ) ;
+        }
+
+        PresentationManager pm = ORB.getPresentationManager() ;
+        return new CodegenTie( pm ) ;
     }
 
     public PresentationManager.StubFactory makeDynamicStubFactory(
@@ -36,6 +36,7 @@ import com.sun.corba.ee.spi.presentation.rmi.StubAdapter;
 import com.sun.corba.ee.spi.protocol.ClientDelegate ;
 import com.sun.corba.ee.spi.protocol.ClientInvocationInfo;
 import com.sun.corba.ee.spi.protocol.ClientRequestDispatcher;
+import com.sun.corba.ee.spi.protocol.PendingRequest;
 import com.sun.corba.ee.spi.trace.IsLocal;
 import com.sun.corba.ee.spi.trace.Subcontract;
 import com.sun.corba.ee.spi.transport.ContactInfo;
@@ -241,6 +242,21 @@ public class ClientDelegateImpl extends ClientDelegate
         }
     }
 
+    @Subcontract
+    @Override
+    public PendingRequest sendRequest(org.omg.CORBA.Object self,
+                                      OutputStream output)
+        throws RemarshalException
+    {
+        // Disable operation tracing for argment marshaling
+        OperationTracer.disable() ;
+        OperationTracer.finish() ;
+
+        CDROutputObject outputObject = (CDROutputObject)output;
+        getClientRequestDispatcher().sendRequest(self, outputObject);
+        return new PendingRequestImpl(this, self, outputObject);
+    }
+
     @Subcontract
     @Override
     public void releaseReply(org.omg.CORBA.Object self, InputStream input)
@@ -263,7 +279,7 @@ public class ClientDelegateImpl extends ClientDelegate
         }
     }
 
-    private ClientRequestDispatcher getClientRequestDispatcher()
+    ClientRequestDispatcher getClientRequestDispatcher()
     {
         return ((InvocationInfo) orb.getInvocationInfo()).getClientRequestDispatcher();
     }
@@ -25,8 +25,10 @@ import com.sun.corba.ee.impl.encoding.CDROutputObject;
 import com.sun.corba.ee.impl.encoding.CodeSetComponentInfo;
 import com.sun.corba.ee.impl.encoding.CodeSetConversion;
 import com.sun.corba.ee.impl.encoding.EncapsInputStream;
+import com.sun.corba.ee.impl.encoding.RepositoryIdDictionary;
 import com.sun.corba.ee.impl.misc.ORBUtility;
 import com.sun.corba.ee.impl.protocol.giopmsgheaders.ReplyMessage;
+import com.sun.corba.ee.impl.transport.ParallelOutboundConnectionCacheImpl;
 import com.sun.corba.ee.spi.ior.IOR;
 import com.sun.corba.ee.spi.ior.iiop.CodeSetsComponent;
 import com.sun.corba.ee.spi.ior.iiop.GIOPVersion;
@@ -40,6 +42,7 @@ import com.sun.corba.ee.spi.protocol.MessageMediator;
 import com.sun.corba.ee.spi.servicecontext.CodeSetServiceContext;
 import com.sun.corba.ee.spi.servicecontext.MaxStreamFormatVersionServiceContext;
 import com.sun.corba.ee.spi.servicecontext.ORBVersionServiceContext;
+import com.sun.corba.ee.spi.servicecontext.RepositoryIdDictionaryServiceContext;
 import com.sun.corba.ee.spi.servicecontext.SendingContextServiceContext;
 import com.sun.corba.ee.spi.servicecontext.ServiceContext;
 import com.sun.corba.ee.spi.servicecontext.ServiceContextDefaults;
@@ -49,6 +52,7 @@ import com.sun.corba.ee.spi.servicecontext.UEInfoServiceContext;
 import com.sun.corba.ee.spi.servicecontext.UnknownServiceContext;
 import com.sun.corba.ee.spi.trace.Subcontract;
 import com.sun.corba.ee.spi.transport.Connection;
+import com.sun.corba.ee.spi.transport.ConnectionCache;
 import com.sun.corba.ee.spi.transport.ContactInfo;
 import com.sun.corba.ee.spi.transport.ContactInfoListIterator;
 import com.sun.corba.ee.spi.transport.OutboundConnectionCache;
@@ -172,6 +176,10 @@ public class ClientRequestDispatcherImpl
         orb.getPIHandler().initiateClientPIRequest( false );
 
         Connection connection = null;
+        OutboundConnectionCache addedToCache = null;
+
+        final ParallelOutboundConnectionCacheImpl parallelCache =
+            getParallelConnectionCache( orb, contactInfo ) ;
 
         Object lock = locks.get( contactInfo ) ;
 
@@ -192,55 +200,81 @@ public class ClientRequestDispatcherImpl
         // the code needed to add the connection to the selector.
         //
         // Is the fix for 7016182 still needed with the new caches?
-        synchronized (lock) {
-            if (contactInfo.isConnectionBased()) {
-                try {
-                    enter_connectionSetup();
-
-                    if (contactInfo.shouldCacheConnection()) {
-                        connection = orb.getTransportManager()
-                            .getOutboundConnectionCache(contactInfo)
-                            .get(contactInfo);
-                    }
+        //
+        // The parallel cache does its own locking, and may open several
+        // connections to the same endpoint.
+        if (parallelCache != null) {
+            try {
+                enter_connectionSetup();
+                connection = parallelCache.acquire(contactInfo);
+                usingCachedConnection( connection ) ;
+            } finally {
+                exit_connectionSetup();
+            }
+        } else {
+            synchronized (lock) {
+                if (contactInfo.isConnectionBased()) {
+                    try {
+                        enter_connectionSetup();
 
-                    if (connection != null) {
-                        usingCachedConnection( connection ) ;
-                    } else {
-                        connection =
-                            contactInfo.createConnection();
-                        usingCreatedConnection( connection ) ;
-
-                        if (connection.shouldRegisterReadEvent()) {
-                            orb.getTransportManager().getSelector(0)
-                                .registerForEvent(connection.getEventHandler());
-                            connection.setState("ESTABLISHED");
-                            connectionRegistered( connection ) ;
+                        if (contactInfo.shouldCacheConnection()) {
+                            connection = orb.getTransportManager()
+                                .getOutboundConnectionCache(contactInfo)
+                                .get(contactInfo);
                         }
 
-                        // Do not do connection reclaim here since the
-                        // connections are marked in use by registerWaiter()
-                        // call and since this call happens later do it after
-                        // that.
-                        if (contactInfo.shouldCacheConnection()) {
-                            OutboundConnectionCache connectionCache =
-                                orb.getTransportManager()
-                                        .getOutboundConnectionCache(contactInfo);
-                            connectionCache.stampTime(connection);
-                            connectionCache.put(contactInfo, connection);
-                            connectionCached( connection ) ;
+                        if (connection != null) {
+                            usingCachedConnection( connection ) ;
+                        } else {
+                            connection =
+                                contactInfo.createConnection();
+                            usingCreatedConnection( connection ) ;
+
+                            if (connection.shouldRegisterReadEvent()) {
+                                orb.getTransportManager().getSelector(0)
+                                    .registerForEvent(connection.getEventHandler());
+                                connection.setState("ESTABLISHED");
+                                connectionRegistered( connection ) ;
+                            }
+
+                            // Do not report the new connection here since the
+                            // connections are marked in use by registerWaiter()
+                            // call and since this call happens later do it after
+                            // that.
+                            if (contactInfo.shouldCacheConnection()) {
+                                OutboundConnectionCache connectionCache =
+                                    orb.getTransportManager()
+                                            .getOutboundConnectionCache(contactInfo);
+                                connectionCache.stampTime(connection);
+                                connectionCache.put(contactInfo, connection);
+                                connectionCached( connection ) ;
+                                addedToCache = connectionCache;
+                            }
                         }
+                    } finally {
+                        exit_connectionSetup();
                     }
-                } finally {
-                    exit_connectionSetup();
                 }
             }
         }
 
-        MessageMediator messageMediator =
-            contactInfo.createMessageMediator(orb, contactInfo, connection,
-                opName, isOneWay);
+        MessageMediator messageMediator;
+        try {
+            messageMediator = contactInfo.createMessageMediator(orb,
+                contactInfo, connection, opName, isOneWay);
+        } catch (RuntimeException exc) {
+            if (parallelCache != null) {
+                parallelCache.release(connection);
+            }
+            throw exc;
+        }
         createdMessageMediator(messageMediator);
 
+        // From here on the connection is released by endRequest.
+        if (parallelCache != null) {
+            parallelCache.requestStarted(messageMediator);
+        }
+
         // NOTE: Thread data so we can get the mediator in release reply
         // in order to remove the waiter in CorbaConnection.
         // We cannot depend on obtaining information in releaseReply
@@ -270,16 +304,10 @@ public class ClientRequestDispatcherImpl
         // may be sent at that time.
         registerWaiter(messageMediator);
 
-        // Do connection reclaim now
-        synchronized (lock) {
-            if (contactInfo.isConnectionBased()) {
-                if (contactInfo.shouldCacheConnection()) {
-                    generalMessage( "reclaiming connections" );
-                    OutboundConnectionCache connectionCache = orb.getTransportManager()
-                        .getOutboundConnectionCache(contactInfo);
-                    connectionCache.reclaim();
-                }
-            }
+        // Connections are reclaimed in the background once the cache
+        // passes its high water mark.
+        if (addedToCache != null) {
+            orb.getTransportManager().connectionAdded(addedToCache);
         }
 
         orb.getPIHandler().setClientPIInfo(messageMediator);
@@ -312,6 +340,7 @@ public class ClientRequestDispatcherImpl
                 orb.getPIHandler().makeCompletedClientRequest(
                     ReplyMessage.LOCATION_FORWARD, null ) ;
                 unregisterWaiter( orb ) ;
+                releaseConnection( orb ) ;
                 orb.getPIHandler().cleanupClientPIRequest() ;
 
                 return beginRequest(self, opName, isOneWay, contactInfo);
@@ -392,42 +421,140 @@ public class ClientRequestDispatcherImpl
 
             return messageMediator.waitForResponse();
         } catch (RuntimeException e) {
-            reportException( e ) ;
+            requestFailed(orb, messageMediator, e);
+            return null; // for compiler
+        }
+    }
 
-            boolean retry  =
-                getContactInfoListIterator(orb)
-                    .reportException(messageMediator.getContactInfo(), e);
-
-            // Bug 6382377: must not lose exception in PI
-            // Must run interceptor end point before retrying.
-            Exception newException =
-                orb.getPIHandler().invokeClientPIEndingPoint(
-                    ReplyMessage.SYSTEM_EXCEPTION, e);
-
-            if (retry) {
-                if (newException == e) {
-                    retryMessage( "Retry true; same exception" ) ;
-                    continueOrThrowSystemOrRemarshal(messageMediator,
-                                                     new RemarshalException());
-                } else {
-                    retryMessage( "Retry true; new exception" ) ;
-                    continueOrThrowSystemOrRemarshal(messageMediator,
-                                                     newException);
-                }
+    // Throws the exception to report for a request that could not be sent,
+    // or whose response could not be received, or a RemarshalException if
+    // the request is to be retried.
+    private void requestFailed(ORB orb, MessageMediator messageMediator,
+        RuntimeException e) throws org.omg.CORBA.portable.RemarshalException
+    {
+        reportException( e ) ;
+
+        boolean retry  =
+            getContactInfoListIterator(orb)
+                .reportException(messageMediator.getContactInfo(), e);
+
+        // Bug 6382377: must not lose exception in PI
+        // Must run interceptor end point before retrying.
+        Exception newException =
+            orb.getPIHandler().invokeClientPIEndingPoint(
+                ReplyMessage.SYSTEM_EXCEPTION, e);
+
+        if (retry) {
+            if (newException == e) {
+                retryMessage( "Retry true; same exception" ) ;
+                continueOrThrowSystemOrRemarshal(messageMediator,
+                                                 new RemarshalException());
             } else {
-                // NOTE: Interceptor ending point will run in releaseReply.
-                if (newException instanceof RuntimeException) {
-                    retryMessage( "Retry false; RuntimeException" ) ;
-                    throw (RuntimeException)newException ;
-                } else if (newException instanceof RemarshalException) {
-                     throw (RemarshalException) newException;
-                } else {
-                    retryMessage( "Retry false; other exception" ) ;
-                    throw e ;
-                }
+                retryMessage( "Retry true; new exception" ) ;
+                continueOrThrowSystemOrRemarshal(messageMediator,
+                                                 newException);
+            }
+        } else {
+            // NOTE: Interceptor ending point will run in releaseReply.
+            if (newException instanceof RuntimeException) {
+                retryMessage( "Retry false; RuntimeException" ) ;
+                throw (RuntimeException)newException ;
+            } else if (newException instanceof RemarshalException) {
+                 throw (RemarshalException) newException;
+            } else {
+                retryMessage( "Retry false; other exception" ) ;
+                throw e ;
             }
+        }
+    }
 
-            return null; // for compiler
+    @Override
+    @Subcontract
+    public void sendRequest(java.lang.Object self,
+                            CDROutputObject outputObject)
+        throws org.omg.CORBA.portable.RemarshalException
+    {
+        MessageMediator messageMediator = outputObject.getMessageMediator();
+        ORB orb = messageMediator.getBroker();
+        operationAndId(messageMediator.getOperationName(),
+            messageMediator.getRequestId() );
+
+        exit_clientEncoding();
+        try {
+            messageMediator.finishSendingRequest();
+        } catch (RuntimeException e) {
+            // endRequest expects to leave the client decoding phase.
+            enter_clientDecoding();
+            requestFailed(orb, messageMediator, e);
+        }
+    }
+
+    @Override
+    @Subcontract
+    public void whenResponseReceived(CDROutputObject outputObject,
+                                     Runnable action)
+    {
+        MessageMediator messageMediator = outputObject.getMessageMediator();
+        if (messageMediator.isOneWay()
+            || messageMediator.getConnection() == null) {
+            action.run();
+        } else {
+            messageMediator.getConnection().getResponseWaitingRoom()
+                .whenResponseReceived(messageMediator, action);
+        }
+    }
+
+    @Override
+    @Subcontract
+    public boolean cancelRequest(CDROutputObject outputObject,
+                                 SystemException exception)
+    {
+        MessageMediator messageMediator = outputObject.getMessageMediator();
+        Connection connection = messageMediator.getConnection();
+        if (messageMediator.isOneWay() || connection == null
+            || !connection.getResponseWaitingRoom()
+                .signalExceptionToWaiter(messageMediator, exception)) {
+            return false;
+        }
+
+        try {
+            connection.sendCancelRequestWithLock(
+                messageMediator.getGIOPVersion(),
+                messageMediator.getRequestId());
+        } catch (IOException ex) {
+            reportException( "ignoring IOException sending CancelRequest",
+                ex );
+        } catch (SystemException ex) {
+            reportException( "ignoring exception sending CancelRequest",
+                ex );
+        }
+        return true;
+    }
+
+    @Override
+    @Subcontract
+    public CDRInputObject receiveResponse(java.lang.Object self,
+                                          CDROutputObject outputObject)
+        throws
+            ApplicationException,
+            org.omg.CORBA.portable.RemarshalException
+    {
+        MessageMediator messageMediator = outputObject.getMessageMediator();
+        ORB orb = messageMediator.getBroker();
+        operationAndId(messageMediator.getOperationName(),
+            messageMediator.getRequestId() );
+
+        try {
+            CDRInputObject inputObject = null ;
+            try {
+                inputObject = messageMediator.waitForResponse();
+            } catch (RuntimeException e) {
+                requestFailed(orb, messageMediator, e);
+            }
+
+            return processResponse(orb, messageMediator, inputObject);
+        } finally {
+            enter_clientDecoding() ;
         }
     }
 
@@ -729,6 +856,36 @@ public class ClientRequestDispatcherImpl
         }
     }
 
+    // Only the first call for a request releases its connection, so
+    // this is safe in the recursive endRequest calls described above.
+    @Subcontract
+    protected void releaseConnection(ORB orb) {
+        MessageMediator messageMediator =
+            orb.getInvocationInfo().getMessageMediator();
+        if (messageMediator != null && messageMediator.getConnection() != null) {
+            ConnectionCache cache =
+                messageMediator.getConnection().getConnectionCache();
+            if (cache instanceof ParallelOutboundConnectionCacheImpl) {
+                ((ParallelOutboundConnectionCacheImpl) cache)
+                    .requestComplete(messageMediator);
+            }
+        }
+    }
+
+    private ParallelOutboundConnectionCacheImpl getParallelConnectionCache(
+        ORB orb, ContactInfo contactInfo) {
+        if (contactInfo.isConnectionBased()
+            && contactInfo.shouldCacheConnection()) {
+            OutboundConnectionCache cache = orb.getTransportManager()
+                .getOutboundConnectionCache(contactInfo);
+            if (cache instanceof ParallelOutboundConnectionCacheImpl) {
+                return (ParallelOutboundConnectionCacheImpl) cache;
+            }
+        }
+
+        return null;
+    }
+
     @Subcontract
     protected void addServiceContexts(MessageMediator messageMediator) {
         ORB orb = messageMediator.getBroker();
@@ -791,6 +948,42 @@ public class ClientRequestDispatcherImpl
                 contexts.put( scsc ) ;
             }
         }
+
+        addRepositoryIdDictionaryServiceContext(messageMediator, contexts);
+        addMessageCompressionServiceContext(messageMediator, contexts);
+    }
+
+    // The context is sent once per connection, with the first request
+    // to an ORB that accepts compressed messages.  From then on requests
+    // on the connection may be compressed, and so may the replies.
+    private void addMessageCompressionServiceContext(
+        MessageMediator messageMediator, ServiceContexts contexts) {
+        Connection c = messageMediator.getConnection();
+        if (c == null || c.isMessageCompressionEnabled() ||
+            !ORBUtility.useMessageCompression(messageMediator.getBroker(),
+                messageMediator.getContactInfo().getEffectiveTargetIOR())) {
+            return;
+        }
+
+        c.enableMessageCompression();
+        contexts.put(
+            ServiceContextDefaults.getMessageCompressionServiceContext());
+    }
+
+    // Sending the context on a connection to an ORB that advertises the
+    // dictionary is what allows that ORB to use it in its replies.
+    private void addRepositoryIdDictionaryServiceContext(
+        MessageMediator messageMediator, ServiceContexts contexts) {
+        Connection c = messageMediator.getConnection();
+        if (c == null || !ORBUtility.useRepositoryIdDictionary(
+                messageMediator.getBroker(),
+                messageMediator.getContactInfo().getEffectiveTargetIOR())) {
+            return;
+        }
+
+        RepositoryIdDictionary dictionary = c.getRepositoryIdDictionary();
+        dictionary.enableOutbound();
+        contexts.put(dictionary.makeServiceContext());
     }
 
     @Subcontract
@@ -823,6 +1016,15 @@ public class ClientRequestDispatcherImpl
             }
         }
 
+        sc = ctxts.get( RepositoryIdDictionaryServiceContext.SERVICE_CONTEXT_ID ) ;
+
+        if (sc instanceof RepositoryIdDictionaryServiceContext &&
+            messageMediator.getConnection() != null &&
+            orb.getORBData().isRepositoryIdDictionaryEnabled()) {
+            messageMediator.getConnection().getRepositoryIdDictionary().receive(
+                (RepositoryIdDictionaryServiceContext) sc ) ;
+        }
+
         // see if the version subcontract is present, if yes, then set
         // the ORBversion
         sc = ctxts.get( ORBVersionServiceContext.SERVICE_CONTEXT_ID ) ;
@@ -894,8 +1096,6 @@ public class ClientRequestDispatcherImpl
                 if (outputObj != null) {
                     outputObj.close();
                 }
-
-                // TODO NEW CACHE: release( conn ) : conn is in MessageMediator
             }
 
             // XREVISIT NOTE - Assumes unregistering the waiter for
@@ -908,6 +1108,7 @@ public class ClientRequestDispatcherImpl
             // unregisterWaiter will remove the waiter.  The rest will be
             // noops.
             unregisterWaiter(orb);
+            releaseConnection(orb);
 
             // Invoke Portable Interceptors cleanup.  This is done to handle
             // exceptions during stream marshaling.  More generally, exceptions
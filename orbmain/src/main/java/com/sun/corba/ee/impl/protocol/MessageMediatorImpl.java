@@ -2154,6 +2154,7 @@ public class MessageMediatorImpl
                       getServiceContextsCache().get(
                           ServiceContextsCache.CASE.SERVER_SUBSEQUENT);
                 }
+                addRepositoryIdDictionaryServiceContext(c, contexts);
                 return contexts;
             } else {
                 contexts = ServiceContextDefaults.makeServiceContexts(
@@ -2188,9 +2189,19 @@ public class MessageMediatorImpl
         contexts.put( ovsc ) ;
         generalMessage( "Added ORB version service context" ) ;
 
+        addRepositoryIdDictionaryServiceContext(c, contexts);
+
         return contexts;
     }
 
+    // Only once the client has sent its dictionary context on this connection.
+    private void addRepositoryIdDictionaryServiceContext(Connection c,
+        ServiceContexts contexts) {
+        if (c != null && c.getRepositoryIdDictionary().isOutboundEnabled()) {
+            contexts.put(c.getRepositoryIdDictionary().makeServiceContext());
+        }
+    }
+
     @Transport
     private void releaseByteBufferToPool() {
         if (dispatchByteBuffer != null) {
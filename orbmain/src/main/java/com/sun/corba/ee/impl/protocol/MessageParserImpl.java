@@ -21,6 +21,7 @@ package com.sun.corba.ee.impl.protocol;
 
 import com.sun.corba.ee.impl.protocol.giopmsgheaders.Message;
 import com.sun.corba.ee.impl.protocol.giopmsgheaders.MessageBase;
+import com.sun.corba.ee.impl.transport.MessageCompressor;
 import com.sun.corba.ee.spi.misc.ORBConstants;
 import com.sun.corba.ee.spi.orb.ORB;
 import com.sun.corba.ee.spi.protocol.MessageMediator;
@@ -136,6 +137,11 @@ public class MessageParserImpl implements MessageParser {
             remainderBuffer = buffer;
         else {
             remainderBuffer = splitAndReturnRemainder(buffer, getTotalMessageLength(buffer));
+            if (isAcceptedCompressedMessage(buffer, 0, connection)) {
+                ByteBuffer compressed = buffer;
+                buffer = orb.getTransportManager().getMessageCompressor().decompress(compressed);
+                orb.getByteBufferPool().releaseByteBuffer(compressed);
+            }
             MessageBase message = MessageBase.parseGiopHeader(orb, connection, buffer, 0);
             messageMediator = new MessageMediatorImpl(orb, connection, message, buffer);
             msgByteBuffer = buffer;
@@ -157,13 +163,18 @@ public class MessageParserImpl implements MessageParser {
         else {
             final int oldPosition = buffer.position();
             buffer.position(splitPosition);
-            ByteBuffer remainderBuffer = buffer.slice();
+            ByteBuffer remainderBuffer = orb.getByteBufferPool().slice(buffer);
             buffer.position(oldPosition);
             buffer.limit(splitPosition);
             return remainderBuffer;
         }
     }
 
+    private boolean isAcceptedCompressedMessage(ByteBuffer buffer, int start, Connection connection) {
+        return MessageCompressor.isCompressed(buffer, start)
+            && orb.getTransportManager().getMessageCompressor().acceptsCompressedMessages(connection);
+    }
+
     private boolean containsFullHeader(ByteBuffer buffer) {
         return buffer.remaining() >= Message.GIOPMessageHeaderLength;
     }
@@ -216,21 +227,39 @@ public class MessageParserImpl implements MessageParser {
         int bytesInBuffer = byteBuffer.limit() - nextMsgStartPos;
         // is there enough bytes available for a message header?
         if (bytesInBuffer >= Message.GIOPMessageHeaderLength) {
-            // get message header
-            message = MessageBase.parseGiopHeader(orb, connection, byteBuffer, nextMsgStartPos);
+            // get message header.  A compressed message is only parsed
+            // once it has been received in full and inflated.
+            boolean compressed = isAcceptedCompressedMessage(byteBuffer, nextMsgStartPos, connection);
+            int messageSize;
+            if (compressed) {
+                messageSize = MessageCompressor.getMessageSize(byteBuffer, nextMsgStartPos);
+            } else {
+                message = MessageBase.parseGiopHeader(orb, connection, byteBuffer, nextMsgStartPos);
+                messageSize = message.getSize();
+            }
 
             // is there enough bytes for a message body?
-            if (bytesInBuffer >= message.getSize()) {
+            if (bytesInBuffer >= messageSize) {
 
                 // slice the ByteBuffer into a GIOP PDU
                 int savedLimit = byteBuffer.limit();
                 byteBuffer.position(nextMsgStartPos).
-                        limit(nextMsgStartPos + message.getSize());
-                msgByteBuffer = byteBuffer.slice();
+                        limit(nextMsgStartPos + messageSize);
+                // the slice keeps byteBuffer from being reused until
+                // the message has been released
+                msgByteBuffer = orb.getByteBufferPool().slice(byteBuffer);
                 // update nextMsgStartPos and byteBuffer state
                 nextMsgStartPos = byteBuffer.limit();
                 byteBuffer.position(nextMsgStartPos).limit(savedLimit);
 
+                if (compressed) {
+                    ByteBuffer compressedBuffer = msgByteBuffer;
+                    msgByteBuffer = orb.getTransportManager().getMessageCompressor().decompress(compressedBuffer);
+                    orb.getByteBufferPool().releaseByteBuffer(compressedBuffer);
+                    message = MessageBase.parseGiopHeader(orb, connection, msgByteBuffer, 0);
+                    msgByteBuffer.position(0);
+                }
+
                 if (message.supportsFragments()) {
                     if (message.moreFragmentsToFollow()) {
                         addRequestIdToFragmentList(message, msgByteBuffer);
@@ -249,7 +278,7 @@ public class MessageParserImpl implements MessageParser {
                 expectingMoreData = true;
                 // nextMsgStartPos unchanged
                 byteBuffer.position(byteBuffer.limit()).limit(byteBuffer.capacity());
-                sizeNeeded = message.getSize();
+                sizeNeeded = messageSize;
                 message = null;
             }
         } else {
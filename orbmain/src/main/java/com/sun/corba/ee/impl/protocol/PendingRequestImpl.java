@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.impl.protocol;
+
+import com.sun.corba.ee.impl.encoding.CDROutputObject;
+import com.sun.corba.ee.impl.misc.ORBUtility;
+import com.sun.corba.ee.spi.orb.ORB;
+import com.sun.corba.ee.spi.protocol.ClientInvocationInfo;
+import com.sun.corba.ee.spi.protocol.ClientRequestDispatcher;
+import com.sun.corba.ee.spi.protocol.PendingRequest;
+import com.sun.corba.ee.spi.threadpool.NoSuchThreadPoolException;
+import com.sun.corba.ee.spi.threadpool.NoSuchWorkQueueException;
+import com.sun.corba.ee.spi.threadpool.Work;
+import com.sun.corba.ee.spi.trace.Subcontract;
+
+import org.glassfish.pfl.basic.logex.OperationTracer;
+import org.glassfish.pfl.tf.spi.annotation.InfoMethod;
+import org.omg.CORBA.SystemException;
+import org.omg.CORBA.portable.ApplicationException;
+import org.omg.CORBA.portable.InputStream;
+import org.omg.CORBA.portable.RemarshalException;
+
+/**
+ * A request sent by ClientDelegateImpl.sendRequest.  On construction the
+ * thread local state of the request is removed from the sending thread:
+ * its ClientInvocationInfo, its client interceptor request info, and its
+ * encoding version.  receiveReply puts it back on the thread that
+ * completes the request, where releaseReply finally removes it, just as
+ * for a synchronous request.
+ */
+@Subcontract
+final class PendingRequestImpl implements PendingRequest, Work
+{
+    private final ClientDelegateImpl delegate;
+    private final ORB orb;
+    private final org.omg.CORBA.Object self;
+    private final CDROutputObject outputObject;
+    private final ClientRequestDispatcher subcontract;
+    private final ClientInvocationInfo invocationInfo;
+    private final byte encodingVersion;
+
+    // Null if client interceptors are not run for this request, in
+    // which case they are also disabled while it is completed.
+    private final Object piRequest;
+
+    private volatile Runnable action;
+    private long enqueueTime;
+
+    PendingRequestImpl(ClientDelegateImpl delegate,
+        org.omg.CORBA.Object self, CDROutputObject outputObject)
+    {
+        this.delegate = delegate;
+        this.orb = delegate.getBroker();
+        this.self = self;
+        this.outputObject = outputObject;
+        this.subcontract = delegate.getClientRequestDispatcher();
+
+        // Pushed when the MessageMediator of the request was created.
+        encodingVersion = ORBUtility.getEncodingVersion();
+        ORBUtility.popEncVersionFromThreadLocalState();
+        piRequest = orb.getPIHandler().suspendClientPIRequest();
+        invocationInfo = orb.suspendInvocationInfo();
+    }
+
+    @InfoMethod
+    private void runningInline( Exception exc ) { }
+
+    public void whenResponseReceived(Runnable action)
+    {
+        this.action = action;
+        subcontract.whenResponseReceived(outputObject, new Runnable() {
+            public void run() {
+                dispatch();
+            }
+        });
+    }
+
+    // Called by the thread that delivers the reply, which is usually a
+    // reader or selector thread, so the action is handed to a worker.
+    @Subcontract
+    private void dispatch()
+    {
+        try {
+            orb.getThreadPoolManager().getThreadPool(0)
+                .getWorkQueue(0).addWork(this);
+        } catch (NoSuchThreadPoolException e) {
+            runningInline( e ) ;
+            doWork();
+        } catch (NoSuchWorkQueueException e) {
+            runningInline( e ) ;
+            doWork();
+        }
+    }
+
+    @Subcontract
+    public InputStream receiveReply()
+        throws ApplicationException, RemarshalException
+    {
+        orb.resumeInvocationInfo(invocationInfo);
+        if (piRequest == null) {
+            orb.getPIHandler().disableInterceptorsThisThread();
+        } else {
+            orb.getPIHandler().resumeClientPIRequest(piRequest);
+        }
+        ORBUtility.pushEncVersionToThreadLocalState(encodingVersion);
+
+        try {
+            return subcontract.receiveResponse(self, outputObject);
+        } finally {
+            // Enable operation tracing for result unmarshaling
+            if (orb.operationTraceDebugFlag) {
+                OperationTracer.enable() ;
+            }
+            OperationTracer.begin( "client result unmarshaling" ) ;
+        }
+    }
+
+    @Subcontract
+    public void releaseReply(InputStream input)
+    {
+        try {
+            delegate.releaseReply(self, input);
+        } finally {
+            if (piRequest == null) {
+                orb.getPIHandler().enableInterceptorsThisThread();
+            }
+        }
+    }
+
+    @Subcontract
+    public boolean cancel(SystemException exception)
+    {
+        return subcontract.cancelRequest(outputObject, exception);
+    }
+
+    public void doWork()
+    {
+        action.run();
+    }
+
+    public void setEnqueueTime(long timeInMillis)
+    {
+        enqueueTime = timeInMillis;
+    }
+
+    public long getEnqueueTime()
+    {
+        return enqueueTime;
+    }
+
+    public String getName()
+    {
+        return "PendingRequest";
+    }
+}
+
+// End of file.
@@ -28,6 +28,7 @@ import com.sun.corba.ee.impl.encoding.CDROutputObject;
 import com.sun.corba.ee.impl.encoding.CodeSetComponentInfo;
 import com.sun.corba.ee.impl.encoding.MarshalInputStream;
 import com.sun.corba.ee.impl.encoding.OSFCodeSetRegistry;
+import com.sun.corba.ee.impl.encoding.RepositoryIdDictionary;
 import com.sun.corba.ee.impl.misc.ORBUtility;
 import com.sun.corba.ee.spi.ior.IOR ;
 import com.sun.corba.ee.spi.ior.ObjectAdapterId;
@@ -35,6 +36,7 @@ import com.sun.corba.ee.spi.ior.ObjectKey;
 import com.sun.corba.ee.spi.ior.ObjectKeyTemplate;
 import com.sun.corba.ee.spi.ior.iiop.GIOPVersion;
 import com.sun.corba.ee.spi.logging.ORBUtilSystemException;
+import com.sun.corba.ee.spi.misc.ORBConstants;
 import com.sun.corba.ee.spi.oa.NullServant;
 import com.sun.corba.ee.spi.oa.OADestroyed;
 import com.sun.corba.ee.spi.oa.OAInvocationInfo;
@@ -49,7 +51,9 @@ import com.sun.corba.ee.spi.protocol.MessageMediator;
 import com.sun.corba.ee.spi.protocol.RequestDispatcherRegistry;
 import com.sun.corba.ee.spi.protocol.ServerRequestDispatcher;
 import com.sun.corba.ee.spi.servicecontext.CodeSetServiceContext;
+import com.sun.corba.ee.spi.servicecontext.MessageCompressionServiceContext;
 import com.sun.corba.ee.spi.servicecontext.ORBVersionServiceContext;
+import com.sun.corba.ee.spi.servicecontext.RepositoryIdDictionaryServiceContext;
 import com.sun.corba.ee.spi.servicecontext.SendingContextServiceContext;
 import com.sun.corba.ee.spi.servicecontext.ServiceContext;
 import com.sun.corba.ee.spi.servicecontext.ServiceContextDefaults;
@@ -392,6 +396,31 @@ public class ServerRequestDispatcherImpl implements ServerRequestDispatcher {
                 }
             }
 
+            // A client only sends the dictionary context to ORBs that
+            // advertise it, after which replies on the connection may use it.
+            sc = ctxts.get(
+                RepositoryIdDictionaryServiceContext.SERVICE_CONTEXT_ID ) ;
+
+            if (sc instanceof RepositoryIdDictionaryServiceContext &&
+                request.getConnection() != null &&
+                orb.getORBData().isRepositoryIdDictionaryEnabled()) {
+                RepositoryIdDictionary dictionary =
+                    request.getConnection().getRepositoryIdDictionary() ;
+                dictionary.receive( (RepositoryIdDictionaryServiceContext)sc ) ;
+                dictionary.enableOutbound() ;
+            }
+
+            // A client only sends this context to ORBs that accept
+            // compressed messages, and itself accepts compressed replies.
+            sc = ctxts.get( MessageCompressionServiceContext.SERVICE_CONTEXT_ID ) ;
+
+            if (sc instanceof MessageCompressionServiceContext &&
+                request.getConnection() != null &&
+                orb.getORBData().getGIOPMessageCompression() !=
+                    ORBConstants.MESSAGE_COMPRESSION_NONE) {
+                request.getConnection().enableMessageCompression() ;
+            }
+
             // the RTSC is sent only once during session establishment.  We
             // need to find out if the CodeBaseRef is already set.  If yes,
             // then also the rtSC flag needs to be set to true
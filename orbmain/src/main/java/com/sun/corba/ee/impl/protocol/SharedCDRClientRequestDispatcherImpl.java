@@ -31,6 +31,7 @@ import java.security.AccessController;
 import java.security.PrivilegedAction;
 
 import org.glassfish.pfl.tf.spi.annotation.InfoMethod;
+import org.omg.CORBA.SystemException;
 import org.omg.CORBA.portable.ApplicationException;
 
 /**
@@ -136,6 +137,39 @@ public class SharedCDRClientRequestDispatcherImpl
         return processResponse(orb, messageMediator, inputObject);
     }
 
+    // The request is dispatched, and its response created, by
+    // marshalingComplete, so an asynchronous request is completed by
+    // calling it from receiveResponse.
+
+    @Override
+    public void sendRequest(java.lang.Object self,
+                            CDROutputObject outputObject)
+    {
+    }
+
+    @Override
+    public void whenResponseReceived(CDROutputObject outputObject,
+                                     Runnable action)
+    {
+        action.run();
+    }
+
+    @Override
+    public boolean cancelRequest(CDROutputObject outputObject,
+                                 SystemException exception)
+    {
+        return false;
+    }
+
+    @Override
+    public CDRInputObject receiveResponse(java.lang.Object self,
+                                          CDROutputObject outputObject)
+        throws
+            ApplicationException,
+            org.omg.CORBA.portable.RemarshalException
+    {
+        return marshalingComplete(self, outputObject);
+    }
 }
 
 // End of file.
@@ -59,6 +59,10 @@ public interface Message {
     static final byte GIOPMessageError = 6;
     static final byte GIOPFragment = 7; // 1.1 & 1.2:
 
+    // Set in the message type of a Request or Reply whose body has been
+    // compressed on a connection that negotiated message compression.
+    static final byte COMPRESSED_MESSAGE_BIT = (byte) 0x80;
+
     /**
      * Returns whether the Message supports message fragmenting.
      *
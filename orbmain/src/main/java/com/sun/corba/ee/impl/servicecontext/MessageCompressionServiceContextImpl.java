@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.impl.servicecontext;
+
+import com.sun.corba.ee.impl.ior.iiop.MessageCompressionComponent;
+import com.sun.corba.ee.spi.ior.iiop.GIOPVersion;
+import com.sun.corba.ee.spi.servicecontext.MessageCompressionServiceContext ;
+import com.sun.corba.ee.spi.servicecontext.ServiceContextBase ;
+
+import org.omg.CORBA_2_3.portable.InputStream;
+import org.omg.CORBA_2_3.portable.OutputStream;
+
+public class MessageCompressionServiceContextImpl extends ServiceContextBase
+    implements MessageCompressionServiceContext
+{
+    private byte version;
+
+    public static final MessageCompressionServiceContext singleton
+        = new MessageCompressionServiceContextImpl(MessageCompressionComponent.CURRENT_VERSION);
+
+    public MessageCompressionServiceContextImpl(byte version)
+    {
+        this.version = version;
+    }
+
+    public MessageCompressionServiceContextImpl(InputStream is, GIOPVersion gv)
+    {
+        super(is) ;
+
+        version = in.read_octet();
+    }
+
+    public int getId()
+    {
+        return SERVICE_CONTEXT_ID;
+    }
+
+    public void writeData(OutputStream os)
+    {
+        os.write_octet(version);
+    }
+
+    public byte getVersion()
+    {
+        return version;
+    }
+
+    public String toString()
+    {
+        return "MessageCompressionServiceContextImpl[" + version + "]";
+    }
+}
+
+// End of file.
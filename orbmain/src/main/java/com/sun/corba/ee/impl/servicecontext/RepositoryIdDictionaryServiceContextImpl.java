@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.impl.servicecontext;
+
+import com.sun.corba.ee.impl.encoding.RepositoryIdDictionary;
+import com.sun.corba.ee.spi.ior.iiop.GIOPVersion;
+import com.sun.corba.ee.spi.logging.ORBUtilSystemException;
+import com.sun.corba.ee.spi.servicecontext.RepositoryIdDictionaryServiceContext ;
+import com.sun.corba.ee.spi.servicecontext.ServiceContextBase ;
+
+import java.util.Arrays;
+
+import org.omg.CORBA_2_3.portable.InputStream;
+import org.omg.CORBA_2_3.portable.OutputStream;
+
+public class RepositoryIdDictionaryServiceContextImpl extends ServiceContextBase
+    implements RepositoryIdDictionaryServiceContext
+{
+    private static final ORBUtilSystemException wrapper =
+        ORBUtilSystemException.self ;
+
+    private int acknowledged;
+    private int firstIndex;
+    private String[] definitions;
+
+    public RepositoryIdDictionaryServiceContextImpl(int acknowledged, int firstIndex,
+        String[] definitions)
+    {
+        this.acknowledged = acknowledged;
+        this.firstIndex = firstIndex;
+        this.definitions = definitions;
+    }
+
+    public RepositoryIdDictionaryServiceContextImpl(InputStream is, GIOPVersion gv)
+    {
+        super(is) ;
+
+        acknowledged = in.read_long();
+        firstIndex = in.read_long();
+        int count = in.read_ulong();
+        if (firstIndex < 0 || count < 0 || count > RepositoryIdDictionary.MAX_ENTRIES - firstIndex) {
+            throw wrapper.badRepositoryIdDictionaryDefinitions(count, firstIndex);
+        }
+
+        definitions = new String[count];
+        for (int i = 0; i < definitions.length; i++) {
+            definitions[i] = in.read_string();
+        }
+    }
+
+    public int getId()
+    {
+        return SERVICE_CONTEXT_ID;
+    }
+
+    public void writeData(OutputStream os)
+    {
+        os.write_long(acknowledged);
+        os.write_long(firstIndex);
+        os.write_ulong(definitions.length);
+        for (String definition : definitions) {
+            os.write_string(definition);
+        }
+    }
+
+    public int getAcknowledged()
+    {
+        return acknowledged;
+    }
+
+    public int getFirstIndex()
+    {
+        return firstIndex;
+    }
+
+    public String[] getDefinitions()
+    {
+        return definitions;
+    }
+
+    public String toString()
+    {
+        return "RepositoryIdDictionaryServiceContextImpl[ acknowledged=" + acknowledged
+            + " firstIndex=" + firstIndex + " definitions=" + Arrays.toString(definitions) + " ]";
+    }
+}
+
+// End of file.
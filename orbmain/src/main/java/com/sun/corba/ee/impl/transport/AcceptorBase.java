@@ -140,7 +140,7 @@ public abstract class AcceptorBase
             selector.registerForEvent(connection.getEventHandler());
         }
 
-        getConnectionCache().reclaim();
+        orb.getTransportManager().connectionAdded(getConnectionCache());
     }
 
     @Transport
@@ -211,6 +211,15 @@ public abstract class AcceptorBase
                 iiopProfile.add(
                     IIOPFactories.makeJavaSerializationComponent());
             }
+            if (orb.getORBData().isRepositoryIdDictionaryEnabled()) {
+                iiopProfile.add(
+                    IIOPFactories.makeRepositoryIdDictionaryComponent());
+            }
+            if (orb.getORBData().getGIOPMessageCompression() !=
+                ORBConstants.MESSAGE_COMPRESSION_NONE) {
+                iiopProfile.add(
+                    IIOPFactories.makeMessageCompressionComponent());
+            }
         }
         return iiopProfile;
     }
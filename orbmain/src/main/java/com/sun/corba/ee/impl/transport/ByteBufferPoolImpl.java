@@ -24,84 +24,255 @@ import com.sun.corba.ee.spi.misc.ORBConstants;
 import com.sun.corba.ee.spi.orb.ORB;
 import com.sun.corba.ee.spi.transport.ByteBufferPool;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
+ * A pool of ByteBuffers organized in power-of-two size classes.
+ * <p>
+ * A request is served from the smallest size class that can hold it: first
+ * from a small per-thread cache, then from the free list of the size class,
+ * and finally by allocating a new buffer for the size class.  The buffer
+ * returned has a limit equal to the requested size, and a capacity equal
+ * to the size of its size class.  The bytes held by any one size class
+ * are bounded by the pooled DirectByteBuffer slab size; once a size class is
+ * full, further requests are served with unpooled buffers.
+ * <p>
+ * A read buffer usually holds several GIOP messages, each of which is handed
+ * out as a slice of it.  Slices taken through {@link #slice} share a
+ * reference count with their buffer, and the buffer is only recycled once
+ * it and all of its slices have been released.  Any other buffer passed to
+ * releaseByteBuffer is ignored.
+ * <p>
+ * Each buffer, and each slice, must be released exactly once for each time
+ * it is obtained.  The pool knows a buffer only by its identity, so it cannot
+ * tell a late release from a previous owner apart from a release by the
+ * owner to whom the buffer has since been handed out again: such a release
+ * recycles the buffer while it is still in use.  A second release is only
+ * recognized if the buffer has not been handed out again in between.
+ * <p>
+ * The pool refers to the buffers it has handed out only weakly.  A buffer,
+ * or a slice, that is dropped without being released is reclaimed once it
+ * has been garbage collected, so that it does not hold its place in its size
+ * class forever; the same goes for a buffer left in the cache of a thread
+ * that has ended.  When the byteBufferPool debug flag is set, the double
+ * releases that are recognized are logged, and so are buffers that were
+ * dropped or that have not been released when the pool is closed, together
+ * with the point at which they were obtained.
+ *
  * @author Charlie Hunt
  */
 public class ByteBufferPoolImpl implements ByteBufferPool {
     final private static ORBUtilSystemException wrapper =
         ORBUtilSystemException.self ;
 
-    private ByteBuffer byteBufferSlab;
+    // Smallest size class is 256 bytes.
+    private static final int MIN_SIZE_CLASS_SHIFT = 8;
+
+    // Only size classes up to this size are cached per thread, so that
+    // idle threads in a large thread pool cannot hold much memory.
+    private static final int MAX_THREAD_CACHED_SIZE = 16384;
+
+    private static final byte[] ZEROS = new byte[4096];
+
     final private boolean useDirectBuffers;
     final private int byteBufferSlabSize;
+    final private int maxPooledSize;
+    final private SizeClass[] sizeClasses;
+    final private int numThreadCachedClasses;
+    final private ThreadLocal<IdleBuffer[]> threadCache;
+    final private AtomicInteger activeCount = new AtomicInteger();
+    final private AtomicInteger peakActiveCount = new AtomicInteger();
+    final private AtomicInteger pooledCount = new AtomicInteger();
     final private ORB orb;
 
+    // Every buffer created by this pool that has not been garbage collected,
+    // whether in use or idle.  A Lease never refers to its buffer, so this
+    // map does not keep the buffer alive.
+    final private ConcurrentMap<Object,Lease> leases =
+        new ConcurrentHashMap<Object,Lease>();
+
+    // The slices handed out by slice() that have not been released, with the
+    // pooled buffers they were taken from.
+    final private ConcurrentMap<Object,Slice> slices =
+        new ConcurrentHashMap<Object,Slice>();
+
+    final private ReferenceQueue<ByteBuffer> collected =
+        new ReferenceQueue<ByteBuffer>();
+
     public ByteBufferPoolImpl(ORB orb) {
         this.orb = orb;
         this.useDirectBuffers = !this.orb.getORBData().disableDirectByteBufferUse();
-        // If using DirectByteBuffers, setup a pool of DirectByteBuffers.
-        // Otherwise, we'll just allocate buffers as we need them with no
-        // pooling.
-        if (this.useDirectBuffers) {
-            this.byteBufferSlabSize = orb.getORBData().getPooledDirectByteBufferSlabSize();
-            this.byteBufferSlab = allocateDirectByteBufferSlab();
-        } else {
-            // these have no meaning when not using direct buffers
-            this.byteBufferSlabSize = -1;
-            this.byteBufferSlab = null;
+        this.byteBufferSlabSize = orb.getORBData().getPooledDirectByteBufferSlabSize();
+
+        // The largest size class is the largest power of two that fits in
+        // the slab size.  Larger requests are never pooled.
+        int maxShift = Math.max(MIN_SIZE_CLASS_SHIFT,
+            31 - Integer.numberOfLeadingZeros(Math.max(1, byteBufferSlabSize)));
+        this.maxPooledSize = 1 << maxShift;
+        this.sizeClasses = new SizeClass[maxShift - MIN_SIZE_CLASS_SHIFT + 1];
+        int cached = 0;
+        for (int ctr = 0; ctr < sizeClasses.length; ctr++) {
+            int capacity = 1 << (ctr + MIN_SIZE_CLASS_SHIFT);
+            sizeClasses[ctr] = new SizeClass(ctr, capacity,
+                Math.max(1, byteBufferSlabSize / capacity));
+            if (capacity <= MAX_THREAD_CACHED_SIZE) {
+                cached++;
+            }
         }
+
+        this.numThreadCachedClasses = cached;
+        this.threadCache = new ThreadLocal<IdleBuffer[]>() {
+            @Override
+            protected IdleBuffer[] initialValue() {
+                return new IdleBuffer[numThreadCachedClasses];
+            }
+        };
     }
 
     /** Return a ByteBuffer of the requested size. */
     public ByteBuffer getByteBuffer(int size) {
-        if (useDirectBuffers) {
-            if (size > byteBufferSlabSize) {
-                // return a HeapByteBuffer instead of allocating
-                // a DirectByteBuffer greater the byteBufferSlabSize.
-                return ByteBuffer.allocate(size);
-            }
-            synchronized (this) {
-                if (byteBufferSlab == null ||
-                        (byteBufferSlab.capacity() - byteBufferSlab.limit() < size)) {
-                    byteBufferSlab = allocateDirectByteBufferSlab();
-                }
+        reclaimCollectedBuffers();
 
-                byteBufferSlab.limit(byteBufferSlab.position() + size);
-                ByteBuffer view = byteBufferSlab.slice();
-                byteBufferSlab.position(byteBufferSlab.limit());
+        if (size > maxPooledSize) {
+            // return a HeapByteBuffer instead of allocating
+            // a DirectByteBuffer greater the byteBufferSlabSize.
+            return ByteBuffer.allocate(size);
+        }
 
-                return view;
+        int index = sizeClassIndex(size);
+        IdleBuffer idle = null;
+        if (index < numThreadCachedClasses) {
+            IdleBuffer[] cache = threadCache.get();
+            idle = cache[index];
+            cache[index] = null;
+        }
+
+        SizeClass sizeClass = sizeClasses[index];
+        if (idle == null) {
+            idle = sizeClass.pop();
+        }
+
+        ByteBuffer buffer;
+        Lease lease;
+        if (idle == null) {
+            if (sizeClass.owned.incrementAndGet() > sizeClass.maxBuffers) {
+                // This size class already holds as many buffers as it may,
+                // and all of them are in use.
+                sizeClass.owned.decrementAndGet();
+                return allocate(size);
             }
+
+            buffer = allocate(sizeClass.capacity);
+            BufferKey key = new BufferKey(buffer, collected);
+            lease = new Lease(sizeClass, key.hash);
+            leases.put(key, lease);
         } else {
-            return ByteBuffer.allocate(size);
+            pooledCount.decrementAndGet();
+            buffer = idle.buffer;
+            lease = idle.lease;
+        }
+
+        lease.references.set(1);
+        lease.allocationSite = orb.byteBufferPoolDebugFlag ? new Throwable() : null;
+        int active = activeCount.incrementAndGet();
+        int peak = peakActiveCount.get();
+        while (active > peak && !peakActiveCount.compareAndSet(peak, active)) {
+            peak = peakActiveCount.get();
         }
-    }
 
+        buffer.clear();
+        buffer.limit(size);
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        return buffer;
+    }
 
+    /**
+     * Release a buffer obtained from this pool, or a slice of one.  This
+     * must be done exactly once for each time the buffer was obtained.
+     */
     public void releaseByteBuffer(ByteBuffer buffer) {
-        // nothing to do here other than help the garbage collector
-        // Remove this, as it is not useful, and gets flagged by findbugs.
-        // This method is important if we are using direct ByteBuffers.
-        // buffer = null;
+        if (buffer == null) {
+            return;
+        }
+
+        LookupKey key = new LookupKey(buffer);
+        Lease lease = leases.get(key);
+        if (lease != null) {
+            release(lease, buffer);
+            return;
+        }
+
+        Slice slice = slices.remove(key);
+        if (slice != null) {
+            release(slice.lease, slice.parent);
+        }
+
+        // Otherwise not one of ours.
     }
 
+    /**
+     * Return a slice of the given buffer, as ByteBuffer.slice() does.  If
+     * the buffer was obtained from this pool, or is itself such a slice,
+     * the pooled buffer is not recycled until the returned slice has been
+     * released as well.
+     */
+    public ByteBuffer slice(ByteBuffer buffer) {
+        ByteBuffer result = buffer.slice();
+
+        LookupKey key = new LookupKey(buffer);
+        ByteBuffer parent = buffer;
+        Lease lease = leases.get(key);
+        if (lease == null) {
+            Slice slice = slices.get(key);
+            if (slice == null) {
+                return result;
+            }
+
+            parent = slice.parent;
+            lease = slice.lease;
+        }
+
+        // Only share a buffer that has not already been released.
+        int references;
+        do {
+            references = lease.references.get();
+            if (references == 0) {
+                return result;
+            }
+        } while (!lease.references.compareAndSet(references, references + 1));
+
+        slices.put(new BufferKey(result, collected), new Slice(parent, lease));
+        return result;
+    }
 
-    // REVISIT - Active ByteBuffers are currently not tracked.
     /**
-     * Get a count of the outstanding allocated DirectByteBuffers.
+     * Get a count of the outstanding pooled ByteBuffers.
      * (Those allocated and have not been returned to the pool).
      */
     public int activeCount() {
-         return 0;
+         return activeCount.get();
+    }
+
+    public int peakActiveCount() {
+        return peakActiveCount.get();
+    }
+
+    public int pooledCount() {
+        return pooledCount.get();
     }
 
     /**
      * Return a new <code>ByteBuffer</code> of at least <code>minimumSize</code>
      * and copy any bytes in the <code>oldByteBuffer</code> starting at
      * <code>oldByteBuffer.position()</code> up to <code>oldByteBuffer.limit()</code>
-     * into the returned <code>ByteBuffer</code>.
+     * into the returned <code>ByteBuffer</code>.  The old buffer is released.
      */
     public ByteBuffer reAllocate(ByteBuffer oldByteBuffer, int minimumSize) {
         int size = orb.getORBData().getReadByteBufferSize();
@@ -127,14 +298,257 @@ public class ByteBufferPoolImpl implements ByteBufferPool {
         // copy oldByteBuffer into newByteBuffer
         newByteBuffer.put(oldByteBuffer);
 
+        releaseByteBuffer(oldByteBuffer);
         return newByteBuffer;
     }
 
     /**
-     * Allocate a DirectByteBuffer slab.
+     * Drop all pooled ByteBuffers.  If the byteBufferPool debug flag is set,
+     * report every pooled ByteBuffer that is still in use.
      */
-    private ByteBuffer allocateDirectByteBufferSlab() {
-        return ByteBuffer.allocateDirect(byteBufferSlabSize);
+    public void close() {
+        for (Lease lease : leases.values()) {
+            if (lease.references.get() > 0 && orb.byteBufferPoolDebugFlag) {
+                wrapper.byteBufferLeaked(lease.allocationSite, lease.id,
+                    lease.sizeClass.capacity);
+            }
+        }
+
+        leases.clear();
+        slices.clear();
+        for (SizeClass sizeClass : sizeClasses) {
+            sizeClass.clear();
+        }
+
+        pooledCount.set(0);
+    }
+
+    // Drop one reference to a pooled buffer, and recycle the buffer when
+    // that was the last one.
+    private void release(Lease lease, ByteBuffer buffer) {
+        int references;
+        do {
+            references = lease.references.get();
+            if (references == 0) {
+                if (orb.byteBufferPoolDebugFlag) {
+                    wrapper.byteBufferReleasedTwice(lease.releaseSite,
+                        lease.id, buffer.capacity());
+                }
+                return;
+            }
+        } while (!lease.references.compareAndSet(references, references - 1));
+
+        if (references > 1) {
+            return;
+        }
+
+        if (orb.byteBufferPoolDebugFlag) {
+            lease.releaseSite = new Throwable();
+        }
+        activeCount.decrementAndGet();
+
+        // Never hand out stale data from an earlier message, for example
+        // in alignment padding that is skipped rather than written.
+        clearContents(buffer);
+
+        pooledCount.incrementAndGet();
+        IdleBuffer idle = new IdleBuffer(buffer, lease);
+        int index = lease.sizeClass.index;
+        if (index < numThreadCachedClasses) {
+            IdleBuffer[] cache = threadCache.get();
+            if (cache[index] == null) {
+                cache[index] = idle;
+                return;
+            }
+        }
+
+        if (!lease.sizeClass.push(idle)) {
+            // The pool was closed while the buffer was being released.
+            pooledCount.decrementAndGet();
+        }
+    }
+
+    // Give back the places of the buffers that were garbage collected, and
+    // the references held by slices that were garbage collected.
+    private void reclaimCollectedBuffers() {
+        Reference<? extends ByteBuffer> key;
+        while ((key = collected.poll()) != null) {
+            Slice slice = slices.remove(key);
+            if (slice != null) {
+                release(slice.lease, slice.parent);
+                continue;
+            }
+
+            Lease lease = leases.remove(key);
+            if (lease == null) {
+                continue;
+            }
+
+            lease.sizeClass.owned.decrementAndGet();
+            if (lease.references.get() > 0) {
+                activeCount.decrementAndGet();
+                if (orb.byteBufferPoolDebugFlag) {
+                    wrapper.byteBufferLeaked(lease.allocationSite, lease.id,
+                        lease.sizeClass.capacity);
+                }
+            } else {
+                // It was idle in the cache of a thread that has ended.
+                pooledCount.decrementAndGet();
+            }
+        }
+    }
+
+    private static int sizeClassIndex(int size) {
+        int shift = 32 - Integer.numberOfLeadingZeros(Math.max(1, size) - 1);
+        return Math.max(0, shift - MIN_SIZE_CLASS_SHIFT);
+    }
+
+    private ByteBuffer allocate(int size) {
+        if (useDirectBuffers) {
+            return ByteBuffer.allocateDirect(size);
+        } else {
+            return ByteBuffer.allocate(size);
+        }
+    }
+
+    private static void clearContents(ByteBuffer buffer) {
+        buffer.clear();
+        while (buffer.hasRemaining()) {
+            buffer.put(ZEROS, 0, Math.min(ZEROS.length, buffer.remaining()));
+        }
+        buffer.clear();
+    }
+
+    /**
+     * The state of a pooled buffer.  The buffer is in use while it has
+     * references: one for the buffer itself, and one for each slice of it
+     * that has not been released.
+     */
+    private static final class Lease {
+        final SizeClass sizeClass;
+        final int id;
+        final AtomicInteger references = new AtomicInteger();
+
+        // Only recorded when the byteBufferPool debug flag is set
+        volatile Throwable allocationSite;
+        volatile Throwable releaseSite;
+
+        Lease(SizeClass sizeClass, int id) {
+            this.sizeClass = sizeClass;
+            this.id = id;
+        }
+    }
+
+    /** A pooled buffer that is not in use. */
+    private static final class IdleBuffer {
+        final ByteBuffer buffer;
+        final Lease lease;
+
+        IdleBuffer(ByteBuffer buffer, Lease lease) {
+            this.buffer = buffer;
+            this.lease = lease;
+        }
+    }
+
+    /** A slice handed out by slice(), and the pooled buffer it shares. */
+    private static final class Slice {
+        final ByteBuffer parent;
+        final Lease lease;
+
+        Slice(ByteBuffer parent, Lease lease) {
+            this.parent = parent;
+            this.lease = lease;
+        }
+    }
+
+    /**
+     * Refers weakly to a buffer, and is equal only to itself and to a
+     * LookupKey for the same buffer, whatever the contents of the buffer.
+     */
+    private static final class BufferKey extends WeakReference<ByteBuffer> {
+        final int hash;
+
+        BufferKey(ByteBuffer buffer, ReferenceQueue<ByteBuffer> queue) {
+            super(buffer, queue);
+            hash = System.identityHashCode(buffer);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj == this;
+        }
+    }
+
+    /** Used to look up a buffer in the maps keyed by BufferKey. */
+    private static final class LookupKey {
+        final ByteBuffer buffer;
+
+        LookupKey(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(buffer);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof BufferKey && ((BufferKey) obj).get() == buffer;
+        }
+    }
+
+    /**
+     * The idle buffers of a single size, and the number of buffers of that
+     * size that the pool holds, whether in use or not.
+     */
+    private static final class SizeClass {
+        final int index;
+        final int capacity;
+        final int maxBuffers;
+        final AtomicInteger owned = new AtomicInteger();
+
+        private IdleBuffer[] free;
+        private int numFree = 0;
+
+        SizeClass(int index, int capacity, int maxBuffers) {
+            this.index = index;
+            this.capacity = capacity;
+            this.maxBuffers = maxBuffers;
+            this.free = new IdleBuffer[maxBuffers];
+        }
+
+        synchronized IdleBuffer pop() {
+            if (numFree == 0) {
+                return null;
+            }
+
+            IdleBuffer result = free[--numFree];
+            free[numFree] = null;
+            return result;
+        }
+
+        // free can hold every buffer this size class owns, unless
+        // the pool was closed while the buffer was being released.
+        synchronized boolean push(IdleBuffer idle) {
+            if (numFree < free.length) {
+                free[numFree++] = idle;
+                return true;
+            }
+
+            return false;
+        }
+
+        synchronized void clear() {
+            free = new IdleBuffer[maxBuffers];
+            numFree = 0;
+            owned.set(0);
+        }
     }
 }
 
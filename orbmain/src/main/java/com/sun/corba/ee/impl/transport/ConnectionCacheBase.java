@@ -27,6 +27,7 @@ import com.sun.corba.ee.spi.transport.ConnectionCache;
 
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.glassfish.external.statistics.CountStatistic ;
 import org.glassfish.external.statistics.impl.CountStatisticImpl ;
@@ -67,7 +68,7 @@ public abstract class ConnectionCacheBase
         "Number of connections in the connection cache that are in use" ;
 
     protected ORB orb;
-    protected long timestamp = 0;
+    private final AtomicLong timestamp = new AtomicLong();
     protected String cacheType;
     protected String monitoringName;
 
@@ -86,10 +87,47 @@ public abstract class ConnectionCacheBase
         return cacheType;
     }
 
-    public synchronized void stampTime(Connection c)
+    // Not synchronized on the cache: get stamps the connection it returns
+    // while holding the backingStore lock, which reclaim takes after the
+    // cache lock.
+    public void stampTime(Connection c)
     {
         // _REVISIT_ Need to worry about wrap around some day
-        c.setTimeStamp(timestamp++);
+        c.setTimeStamp(timestamp.getAndIncrement());
+    }
+
+    /**
+     * Remove a connection that is about to be closed for being idle, unless
+     * it has been used since it was found idle.  The check and the removal
+     * are done under the backingStore lock, and get stamps the connection
+     * it returns under the same lock, so a connection that a request has
+     * just obtained is never closed under it.
+     *
+     * @param c the connection to remove
+     * @param idleTimeStamp the time stamp the connection had while idle
+     * @return true if the connection was removed and may be closed
+     */
+    public boolean removeIfIdle(Connection c, long idleTimeStamp)
+    {
+        synchronized (backingStore()) {
+            if (c.isBusy() || c.getTimeStamp() != idleTimeStamp) {
+                return false;
+            }
+
+            return removeConnection(c);
+        }
+    }
+
+    /**
+     * Remove the connection from the cache.  Called with the backingStore
+     * lock held.
+     *
+     * @param c the connection to remove
+     * @return false if the connection was no longer in the cache
+     */
+    protected boolean removeConnection(Connection c)
+    {
+        return values().remove(c);
     }
 
     private CountStatistic  makeCountStat( String name, String desc,
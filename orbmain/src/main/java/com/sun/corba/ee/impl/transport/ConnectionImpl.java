@@ -25,6 +25,7 @@ import com.sun.corba.ee.impl.encoding.CDROutputObject;
 import com.sun.corba.ee.impl.encoding.CachedCodeBase;
 import com.sun.corba.ee.impl.encoding.CodeSetComponentInfo;
 import com.sun.corba.ee.impl.encoding.OSFCodeSetRegistry;
+import com.sun.corba.ee.impl.encoding.RepositoryIdDictionary;
 import com.sun.corba.ee.impl.protocol.MessageMediatorImpl;
 import com.sun.corba.ee.impl.protocol.MessageParserImpl;
 import com.sun.corba.ee.impl.protocol.giopmsgheaders.Message;
@@ -61,13 +62,18 @@ import java.nio.ByteBuffer;
 import java.nio.channels.SelectableChannel;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.glassfish.pfl.tf.spi.annotation.InfoMethod;
 import org.omg.CORBA.CompletionStatus;
@@ -123,8 +129,13 @@ public class ConnectionImpl extends EventHandlerBase implements Connection, Work
     protected ResponseWaitingRoom responseWaitingRoom;
     private int state;
     protected final java.lang.Object stateEvent = new java.lang.Object();
-    protected final java.lang.Object writeEvent = new java.lang.Object();
-    protected boolean writeLocked;
+
+    // Messages waiting to be written to the socket.  Any number of threads
+    // may add to the queue, but only the thread holding writerLock removes
+    // messages from it and writes them, in the order they were queued.
+    private final Queue<OutboundMessage> outboundQueue =
+            new ConcurrentLinkedQueue<OutboundMessage>();
+    private final ReentrantLock writerLock = new ReentrantLock();
     protected int serverRequestCount = 0;
 
     // Server request map: used on the server side of Connection
@@ -145,6 +156,12 @@ public class ConnectionImpl extends EventHandlerBase implements Connection, Work
     // necessary.
     protected CachedCodeBase cachedCodeBase = new CachedCodeBase(this);
 
+    // Repository IDs and codebases sent as small integers on this connection.
+    protected final RepositoryIdDictionary repositoryIdDictionary = new RepositoryIdDictionary();
+
+    // Set once both ORBs have agreed to compress messages on this connection.
+    protected volatile boolean messageCompressionEnabled;
+
 
     // transport read / write timeout values
     protected TcpTimeouts tcpTimeouts;
@@ -370,6 +387,11 @@ public class ConnectionImpl extends EventHandlerBase implements Connection, Work
     private MessageMediator createMessageMediator() {
         try {
             ByteBuffer headerBuffer = read(0, Message.GIOPMessageHeaderLength);
+            if (MessageCompressor.isCompressed(headerBuffer, 0)
+                && orb.getTransportManager().getMessageCompressor().acceptsCompressedMessages(this)) {
+                return createMessageMediatorForCompressedMessage(headerBuffer);
+            }
+
             Message header = MessageBase.parseGiopHeader(orb, this, headerBuffer, 0);
 
             headerBuffer.position(Message.GIOPMessageHeaderLength);
@@ -384,6 +406,21 @@ public class ConnectionImpl extends EventHandlerBase implements Connection, Work
         }
     }
 
+    private MessageMediator createMessageMediatorForCompressedMessage(ByteBuffer headerBuffer)
+            throws IOException {
+        int msgSizeMinusHeader = MessageCompressor.getMessageSize(headerBuffer, 0) - Message.GIOPMessageHeaderLength;
+        ByteBuffer buffer = read(Message.GIOPMessageHeaderLength, msgSizeMinusHeader);
+        System.arraycopy(headerBuffer.array(), 0, buffer.array(), 0, Message.GIOPMessageHeaderLength);
+
+        buffer = orb.getTransportManager().getMessageCompressor().decompress(buffer);
+        Message header = MessageBase.parseGiopHeader(orb, this, buffer, 0);
+        buffer.position(0);
+
+        traceMessageBodyReceived(orb, buffer);
+
+        return new MessageMediatorImpl(orb, this, header, buffer);
+    }
+
 
     private void traceMessageBodyReceived(ORB orb, ByteBuffer buf) {
         TransportManager ctm = orb.getTransportManager();
@@ -458,24 +495,168 @@ public class ConnectionImpl extends EventHandlerBase implements Connection, Work
         } while (n < length);
     }
 
+    // The most buffers drainOutboundQueue gathers into one socket write.
+    private static final int MAX_BUFFERS_PER_WRITE = 64;
+
+    /**
+     * Complete messages or fragments queued for writing, together with the
+     * thread that is waiting for them to be written.
+     */
+    private static final class OutboundMessage {
+        private final ByteBuffer[] byteBuffers;
+        private final Thread waiter = Thread.currentThread();
+        private Throwable failure;
+        private volatile boolean done;
+
+        OutboundMessage(ByteBuffer[] byteBuffers) {
+            this.byteBuffers = byteBuffers;
+        }
+
+        void complete(Throwable failure) {
+            this.failure = failure;
+            done = true;
+            LockSupport.unpark(waiter);
+        }
+
+        void rethrow() throws IOException {
+            if (failure instanceof IOException) {
+                throw (IOException) failure;
+            } else if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+        }
+    }
+
     // NOTE: This method can throw a connection rebind SystemException.
     @Transport
     public void write(ByteBuffer byteBuffer) throws IOException {
+        write(new ByteBuffer[] { byteBuffer });
+    }
+
+    // NOTE: This method can throw a connection rebind SystemException.
+    // The byteBuffers are queued, and the first caller that finds no other
+    // thread writing becomes the writer: it writes the queued messages in
+    // order, gathering as many as it can into each socket write, until its
+    // own have been written, then hands off to the thread owning the next
+    // queued message.  Callers only return once their own buffers have been
+    // written, so the buffers may be reused as soon as this method returns.
+    @Transport
+    public void write(ByteBuffer[] byteBuffers) throws IOException {
+        if (writerLock.isHeldByCurrentThread()) {
+            writeDirectly(byteBuffers);
+            return;
+        }
+
+        OutboundMessage message = new OutboundMessage(byteBuffers);
+        outboundQueue.offer(message);
+
+        boolean interrupted = false;
+        while (!message.done) {
+            if (writerLock.tryLock()) {
+                try {
+                    drainOutboundQueue(message);
+                } finally {
+                    unlockWriter();
+                }
+            } else {
+                LockSupport.park(this);
+                if (Thread.interrupted()) {
+                    interrupted = true;
+                }
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        message.rethrow();
+    }
+
+    // Must hold writerLock.  Writes queued messages in order until
+    // the caller's own message has been written.
+    private void drainOutboundQueue(OutboundMessage own) {
+        List<OutboundMessage> batch = new ArrayList<OutboundMessage>();
+        List<ByteBuffer> buffers = new ArrayList<ByteBuffer>();
+        while (!own.done) {
+            OutboundMessage message;
+            while (buffers.size() < MAX_BUFFERS_PER_WRITE
+                    && (message = outboundQueue.poll()) != null) {
+                try {
+                    checkWritableState();
+                } catch (RuntimeException exc) {
+                    message.complete(exc);
+                    continue;
+                }
+                batch.add(message);
+                Collections.addAll(buffers, message.byteBuffers);
+            }
+
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            Throwable failure = null;
+            try {
+                writeDirectly(buffers.toArray(new ByteBuffer[buffers.size()]));
+            } catch (Throwable t) {
+                failure = t;
+            }
+            for (OutboundMessage written : batch) {
+                written.complete(failure);
+            }
+            batch.clear();
+            buffers.clear();
+        }
+    }
+
+    // A message queued behind a close or a failed write must not reach
+    // the socket; report it as writeLock would have.
+    private void checkWritableState() {
+        synchronized (stateEvent) {
+            if (getState() == ABORT) {
+                throw wrapper.writeErrorSend();
+            } else if (getState() == CLOSE_RECVD) {
+                throw wrapper.connectionRebind();
+            }
+        }
+    }
+
+    private void lockWriter() {
+        writerLock.lock();
+    }
+
+    // Release writerLock and wake the owner of the oldest queued message,
+    // which either finds its message written or becomes the next writer.
+    private void unlockWriter() {
+        writerLock.unlock();
+        OutboundMessage next = outboundQueue.peek();
+        if (next != null) {
+            LockSupport.unpark(next.waiter);
+        }
+    }
+
+    private void writeDirectly(ByteBuffer[] byteBuffers) throws IOException {
         try {
             if (hasSocketChannel()) {
                 if (getSocketChannel().isBlocking()) {
                     throw wrapper.temporaryWriteSelectorWithBlockingConnection(this);
                 }
-                writeUsingNio(byteBuffer);
+                writeUsingNio(byteBuffers);
             } else {
-                if (!byteBuffer.hasArray()) {
-                    throw wrapper.unexpectedDirectByteBufferWithNonChannelSocket();
-                }
+                for (ByteBuffer byteBuffer : byteBuffers) {
+                    if (!byteBuffer.hasArray()) {
+                        throw wrapper.unexpectedDirectByteBufferWithNonChannelSocket();
+                    }
 
-                byte[] tmpBuf = new byte[byteBuffer.limit()];
-                System.arraycopy(byteBuffer.array(), byteBuffer.arrayOffset(), tmpBuf, 0, tmpBuf.length);
-                getSocket().getOutputStream().write(tmpBuf, 0, tmpBuf.length);
+                    byte[] tmpBuf = new byte[byteBuffer.limit()];
+                    System.arraycopy(byteBuffer.array(), byteBuffer.arrayOffset(), tmpBuf, 0, tmpBuf.length);
+                    getSocket().getOutputStream().write(tmpBuf, 0, tmpBuf.length);
+                }
                 getSocket().getOutputStream().flush();
+                orb.getTransportManager().recordSocketWrites(byteBuffers.length, byteBuffers.length);
             }
 
             // TimeStamp connection to indicate it has been used
@@ -491,10 +672,11 @@ public class ConnectionImpl extends EventHandlerBase implements Connection, Work
         }
     }
 
-    private void writeUsingNio(ByteBuffer byteBuffer) throws IOException {
+    private void writeUsingNio(ByteBuffer[] byteBuffers) throws IOException {
         if (bufferWriter == null)
             bufferWriter = new NioBufferWriter(getSocketChannel(), tcpTimeouts);
-        bufferWriter.write(byteBuffer);
+        int numberOfWrites = bufferWriter.write(byteBuffers);
+        orb.getTransportManager().recordSocketWrites(numberOfWrites, byteBuffers.length);
     }
 
     /**
@@ -503,6 +685,7 @@ public class ConnectionImpl extends EventHandlerBase implements Connection, Work
     @Transport
     public synchronized void close() {
         writeLock();
+        lockWriter();
 
         // REVISIT It will be good to have a read lock on the reader thread
         // before we proceed further, to avoid the reader thread (server side)
@@ -538,6 +721,10 @@ public class ConnectionImpl extends EventHandlerBase implements Connection, Work
 
         } catch (Exception ex) {
             wrapper.exceptionInPurgeCalls(ex);
+        } finally {
+            // purgeCalls returns early if the connection is already
+            // aborted, so make sure queued writers are not left waiting.
+            writeUnlock();
         }
 
         closeConnectionResources();
@@ -646,90 +833,52 @@ public class ConnectionImpl extends EventHandlerBase implements Connection, Work
     }
 
     /**
-     * Sets the writeLock for this connection.
-     * If the writeLock is already set by someone else, block till the
-     * writeLock is released and can set by us.
-     * IMPORTANT: this connection's lock must be acquired before
-     * setting the writeLock and must be unlocked after setting the writeLock.
+     * Waits until this connection can be written to.  Messages are
+     * queued and written in order by {@link #write}, so this no longer
+     * excludes other writers; it only blocks while the connection is being
+     * opened, and throws if the connection has been aborted or closed.
+     * Only close and purgeCalls take exclusive use of the connection.
      */
     @Transport
     public void writeLock() {
-        // Keep looping till we can set the writeLock.
-        while (true) {
-            int localState;
-            synchronized (stateEvent) {
-                localState = getState();
-            }
-
-            localStateInfo(localState);
-
-            switch (localState) {
+        synchronized (stateEvent) {
+            while (true) {
+                int localState = getState();
+                localStateInfo(localState);
 
-                case OPENING:
-                    synchronized (stateEvent) {
-                        if (getState() != OPENING) {
-                            // somebody has changed 'state' so be careful
-                            break;
-                        }
+                switch (localState) {
+                    case OPENING:
                         try {
                             stateEvent.wait();
                         } catch (InterruptedException ie) {
                             wrapper.openingWaitInterrupted(ie);
                         }
-                    }
-                    // Loop back
-                    break;
-
-                case ESTABLISHED:
-                    synchronized (writeEvent) {
-                        if (!writeLocked) {
-                            writeLocked = true;
-                            return;
-                        }
+                        // Loop back
+                        break;
 
-                        try {
-                            // do not stay here too long if state != ESTABLISHED
-                            // Bug 4752117
-                            while (getState() == ESTABLISHED && writeLocked) {
-                                writeEvent.wait(100);
-                            }
-                        } catch (InterruptedException ie) {
-                            wrapper.establishedWaitInterrupted(ie);
-                        }
-                    }
-                    // Loop back
-                    break;
+                    case ESTABLISHED:
+                        return;
 
-                case ABORT:
-                    synchronized (stateEvent) {
-                        if (getState() != ABORT) {
-                            break;
-                        }
+                    case ABORT:
                         throw wrapper.writeErrorSend();
-                    }
 
-                case CLOSE_RECVD:
-                    // the connection has been closed or closing
-                    // ==> throw rebind exception
-                    synchronized (stateEvent) {
-                        if (getState() != CLOSE_RECVD) {
-                            break;
-                        }
+                    case CLOSE_RECVD:
+                        // the connection has been closed or closing
+                        // ==> throw rebind exception
                         throw wrapper.connectionRebind();
-                    }
 
-                default:
-                    // REVISIT
-                    throw new RuntimeException(".writeLock: bad state");
+                    default:
+                        // REVISIT
+                        throw new RuntimeException(".writeLock: bad state");
+                }
             }
         }
     }
 
     @Transport
     public void writeUnlock() {
-        synchronized (writeEvent) {
-            writeLocked = false;
-            writeEvent.notify(); // wake up one guy waiting to write
+        if (writerLock.isHeldByCurrentThread()) {
+            unlockWriter();
         }
     }
 
@@ -751,22 +900,36 @@ public class ConnectionImpl extends EventHandlerBase implements Connection, Work
             //socket.getOutputStream().flush();
 
         } catch (IOException exc) {
-            // Since IIOPOutputStream's msgheader is set only once, and not
-            // altered during sending multiple fragments, the original
-            // msgheader will always have the requestId.
-            // REVISIT This could be optimized to send a CancelRequest only
-            // if any fragments had been sent already.
+            throw sendFailed(exc);
+        }
+    }
 
-            // IIOPOutputStream will cleanup the connection info when it
-            // sees this exception.
-            final SystemException sysexc = (getState() == CLOSE_RECVD) ?
-                    wrapper.connectionRebindMaybe(exc) :
-                    wrapper.writeErrorSend(exc);
+    // Assumes the caller handles writeLock and writeUnlock
+    // NOTE: This method can throw a connection rebind SystemException.
+    public void sendWithoutLock(ByteBuffer[] byteBuffers) {
+        try {
+            write(byteBuffers);
+        } catch (IOException exc) {
+            throw sendFailed(exc);
+        }
+    }
 
-            purgeCalls(sysexc, false, true);
+    private SystemException sendFailed(IOException exc) {
+        // Since IIOPOutputStream's msgheader is set only once, and not
+        // altered during sending multiple fragments, the original
+        // msgheader will always have the requestId.
+        // REVISIT This could be optimized to send a CancelRequest only
+        // if any fragments had been sent already.
 
-            throw sysexc;
-        }
+        // IIOPOutputStream will cleanup the connection info when it
+        // sees this exception.
+        final SystemException sysexc = (getState() == CLOSE_RECVD) ?
+                wrapper.connectionRebindMaybe(exc) :
+                wrapper.writeErrorSend(exc);
+
+        purgeCalls(sysexc, false, true);
+
+        return sysexc;
     }
 
     public void registerWaiter(MessageMediator messageMediator) {
@@ -1037,13 +1200,9 @@ public class ConnectionImpl extends EventHandlerBase implements Connection, Work
             }
         }
 
-        // Grab the writeLock (freeze the calls)
-        try {
-            if (!lockHeld) {
-                writeLock();
-            }
-        } catch (SystemException ex) {
-            exceptionInfo(ex);
+        // Take exclusive use of the connection (freeze the calls)
+        if (!lockHeld) {
+            lockWriter();
         }
 
         // Mark the state of the connection
@@ -1079,7 +1238,7 @@ public class ConnectionImpl extends EventHandlerBase implements Connection, Work
         responseWaitingRoom.signalExceptionToAllWaiters(systemException);
 
         if (contactInfo != null) {
-            ((OutboundConnectionCache) connectionCache).remove(contactInfo);
+            ((OutboundConnectionCache) connectionCache).remove(contactInfo, this);
         } else if (acceptor != null) {
             ((InboundConnectionCache) connectionCache).remove(this);
         }
@@ -1190,6 +1349,18 @@ public class ConnectionImpl extends EventHandlerBase implements Connection, Work
 
     // End Code Base methods -----------------------------------------
 
+    public final RepositoryIdDictionary getRepositoryIdDictionary() {
+        return repositoryIdDictionary;
+    }
+
+    public final boolean isMessageCompressionEnabled() {
+        return messageCompressionEnabled;
+    }
+
+    public final void enableMessageCompression() {
+        messageCompressionEnabled = true;
+    }
+
     // set transport read / write thresholds
     protected void setTcpTimeouts(TcpTimeouts tcpTimeouts) {
         this.tcpTimeouts = tcpTimeouts;
@@ -1212,6 +1383,7 @@ public class ConnectionImpl extends EventHandlerBase implements Connection, Work
             /*/
             // get a new ByteBuffer from ByteBufferPool ?
             if (byteBuffer == null || !byteBuffer.hasRemaining()) {
+                releaseReadBuffer();
                 byteBuffer =
                         orb.getByteBufferPool().getByteBuffer(
                                 orb.getORBData().getReadByteBufferSize());
@@ -1245,6 +1417,13 @@ public class ConnectionImpl extends EventHandlerBase implements Connection, Work
             // byteBuffer.position() set to the location where
             // the next message should begin
             byteBuffer.position(messageParser.getNextMessageStartPosition());
+
+            // Every message read has been handed out as a slice of byteBuffer,
+            // and the slices keep it from being reused until they have been
+            // released, so an idle connection need not hold on to it.
+            if (!messageParser.isExpectingMoreData()) {
+                releaseReadBuffer();
+            }
             /**/
 
             // Conection is no longer expecting more data.
@@ -1252,6 +1431,7 @@ public class ConnectionImpl extends EventHandlerBase implements Connection, Work
             resumeSelectOnMainSelector();
 
         } catch (ThreadDeath td) {
+            releaseReadBuffer();
             try {
                 purgeCalls(wrapper.connectionAbort(td), false, false);
             } catch (Throwable t) {
@@ -1259,6 +1439,7 @@ public class ConnectionImpl extends EventHandlerBase implements Connection, Work
             }
             throw td;
         } catch (Throwable ex) {
+            releaseReadBuffer();
             if (ex instanceof SystemException) {
                 SystemException se = (SystemException) ex;
                 if (se.minor == ORBUtilSystemException.CONNECTION_REBIND) {
@@ -1287,6 +1468,15 @@ public class ConnectionImpl extends EventHandlerBase implements Connection, Work
         }
     }
 
+    // Return the read buffer to the pool.  Only called by the thread
+    // reading from this connection.
+    private void releaseReadBuffer() {
+        if (byteBuffer != null) {
+            orb.getByteBufferPool().releaseByteBuffer(byteBuffer);
+            byteBuffer = null;
+        }
+    }
+
     public ByteBuffer extractAndProcessMessages(ByteBuffer byteBuffer) {
         messageParser.offerBuffer(byteBuffer);
         MessageMediator messageMediator = messageParser.getMessageMediator();
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.impl.transport;
+
+import com.sun.corba.ee.spi.logging.ORBUtilSystemException;
+import com.sun.corba.ee.spi.orb.ORB;
+import com.sun.corba.ee.spi.orb.ORBData;
+import com.sun.corba.ee.spi.trace.Transport;
+import com.sun.corba.ee.spi.transport.Connection;
+import com.sun.corba.ee.spi.transport.ConnectionCache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.glassfish.pfl.tf.spi.annotation.InfoMethod;
+
+/**
+ * Reclaims the connections of the inbound and outbound connection caches
+ * of an ORB in a background thread, so that neither sending requests nor
+ * accepting connections has to.  Each sweep asks every cache holding more
+ * connections than the high water mark to reclaim its least recently used
+ * idle connections, and closes idle connections that have not been used
+ * for the connection idle timeout.  A sweep runs whenever a connection
+ * added to a cache takes it past the high water mark, and periodically
+ * when a reaper interval or idle timeout is configured.
+ */
+@Transport
+public class ConnectionReaper extends Thread {
+    private static final ORBUtilSystemException wrapper =
+        ORBUtilSystemException.self ;
+
+    private final ORB orb;
+    private final long idleTimeout;
+    private final long interval;
+    private final List<ConnectionCacheBase> caches =
+        new CopyOnWriteArrayList<ConnectionCacheBase>();
+
+    // Only used by the sweeping thread.
+    private final Map<Connection,IdleState> idleStates =
+        new HashMap<Connection,IdleState>();
+
+    private final AtomicLong numberOfConnectionsReclaimed = new AtomicLong();
+    private final AtomicLong numberOfIdleConnectionsClosed = new AtomicLong();
+
+    private boolean started;
+    private boolean sweepRequested;
+    private volatile boolean closed;
+
+    public ConnectionReaper(ORB orb) {
+        super("ConnectionReaper");
+        this.orb = orb;
+        ORBData data = orb.getORBData();
+        idleTimeout = Math.max(0, data.getConnectionIdleTimeout());
+        if (data.getConnectionReaperInterval() > 0) {
+            interval = data.getConnectionReaperInterval();
+        } else if (idleTimeout > 0) {
+            interval = Math.max(1, idleTimeout / 2);
+        } else {
+            interval = 0;
+        }
+        setDaemon(true);
+    }
+
+    public long getNumberOfConnectionsReclaimed() {
+        return numberOfConnectionsReclaimed.get();
+    }
+
+    public long getNumberOfIdleConnectionsClosed() {
+        return numberOfIdleConnectionsClosed.get();
+    }
+
+    /**
+     * Include the connections of a cache in the sweeps.  If sweeps are
+     * periodic, this starts the reaper thread.
+     *
+     * @param cache the cache to sweep
+     */
+    public void addConnectionCache(ConnectionCacheBase cache) {
+        caches.add(cache);
+        if (interval > 0) {
+            startReaper();
+        }
+    }
+
+    /**
+     * Note that a connection was added to a cache.  If the cache now holds
+     * more connections than the high water mark, a sweep is started.
+     *
+     * @param cache the cache the connection was added to
+     */
+    public void connectionAdded(ConnectionCache cache) {
+        if (cache.numberOfConnections() > orb.getORBData().getHighWaterMark()) {
+            requestSweep();
+        }
+    }
+
+    public synchronized void close() {
+        closed = true;
+        notifyAll();
+    }
+
+    @InfoMethod
+    private void connectionsReaped( long reclaimed, long idleClosed ) { }
+
+    @InfoMethod
+    private void closingIdleConnection( Connection connection ) { }
+
+    @Override
+    public void run() {
+        while (!closed) {
+            try {
+                awaitSweep();
+                if (!closed) {
+                    sweep(System.currentTimeMillis());
+                }
+            } catch (InterruptedException exc) {
+                // Only close stops the reaper.
+            } catch (RuntimeException exc) {
+                wrapper.exceptionInConnectionReaper(exc);
+            }
+        }
+    }
+
+    private synchronized void startReaper() {
+        if (!started && !closed) {
+            started = true;
+            start();
+        }
+    }
+
+    private synchronized void requestSweep() {
+        sweepRequested = true;
+        startReaper();
+        notifyAll();
+    }
+
+    private synchronized void awaitSweep() throws InterruptedException {
+        if (!sweepRequested && !closed) {
+            wait(interval);
+        }
+        sweepRequested = false;
+    }
+
+    @Transport
+    void sweep(long now) {
+        long reclaimed = 0;
+        long idleClosed = 0;
+        Set<Connection> remaining = new HashSet<Connection>();
+        for (ConnectionCacheBase cache : caches) {
+            reclaimed += reclaim(cache);
+            if (idleTimeout > 0) {
+                idleClosed += closeIdleConnections(cache, now, remaining);
+            }
+        }
+
+        idleStates.keySet().retainAll(remaining);
+        numberOfConnectionsReclaimed.addAndGet(reclaimed);
+        numberOfIdleConnectionsClosed.addAndGet(idleClosed);
+        connectionsReaped(reclaimed, idleClosed);
+    }
+
+    private long reclaim(ConnectionCacheBase cache) {
+        long before = cache.numberOfConnections();
+        if (before <= orb.getORBData().getHighWaterMark()) {
+            return 0;
+        }
+
+        cache.reclaim();
+        return Math.max(0, before - cache.numberOfConnections());
+    }
+
+    // A connection is idle while it is not busy and its time stamp, which
+    // the cache advances whenever the connection reads or writes, does
+    // not change.
+    @Transport
+    private long closeIdleConnections(ConnectionCacheBase cache, long now,
+        Set<Connection> remaining) {
+        List<Connection> connections;
+        synchronized (cache.backingStore()) {
+            connections = new ArrayList<Connection>(cache.values());
+        }
+
+        long count = 0;
+        for (Connection connection : connections) {
+            long timeStamp = connection.getTimeStamp();
+            IdleState state = idleStates.get(connection);
+            if (connection.isBusy() || state == null || state.timeStamp != timeStamp) {
+                idleStates.put(connection, new IdleState(timeStamp, now));
+                remaining.add(connection);
+            } else if (now - state.idleSince < idleTimeout
+                || !cache.removeIfIdle(connection, timeStamp)) {
+                // Not idle for long enough, or used since the check above
+                remaining.add(connection);
+            } else {
+                try {
+                    closingIdleConnection(connection);
+                    connection.close();
+                    count++;
+                } catch (RuntimeException exc) {
+                    wrapper.exceptionInConnectionReaper(exc);
+                }
+            }
+        }
+
+        return count;
+    }
+
+    private static class IdleState {
+        final long timeStamp;
+        final long idleSince;
+
+        IdleState(long timeStamp, long idleSince) {
+            this.timeStamp = timeStamp;
+            this.idleSince = idleSince;
+        }
+    }
+}
+
+// End of file.
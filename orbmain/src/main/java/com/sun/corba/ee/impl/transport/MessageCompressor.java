@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.impl.transport;
+
+import com.sun.corba.ee.impl.protocol.giopmsgheaders.Message;
+import com.sun.corba.ee.spi.logging.ORBUtilSystemException;
+import com.sun.corba.ee.spi.misc.ORBConstants;
+import com.sun.corba.ee.spi.orb.ORB;
+import com.sun.corba.ee.spi.transport.Connection;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.glassfish.gmbal.Description ;
+import org.glassfish.gmbal.ManagedAttribute ;
+import org.glassfish.gmbal.ManagedObject ;
+
+/**
+ * Compresses the bodies of GIOP Request and Reply messages sent on
+ * connections which have negotiated message compression, and inflates
+ * such messages when they are received.
+ * <p>
+ * A compressed message keeps its 12 byte GIOP header, with
+ * Message.COMPRESSED_MESSAGE_BIT set in the message type and the size
+ * describing the compressed form.  The header is followed by the length of
+ * the original body, in the byte order of the message, and then by the
+ * deflated body.  Only whole messages are compressed, never fragments, and
+ * a message is sent unchanged if compression would not make it smaller.
+ */
+@ManagedObject
+@Description( "Compresses and inflates GIOP messages on connections which negotiated it" )
+public class MessageCompressor {
+    private static final ORBUtilSystemException wrapper =
+        ORBUtilSystemException.self ;
+
+    private static final int VERSION_MAJOR_INDEX = 4;
+    private static final int VERSION_MINOR_INDEX = 5;
+    private static final int FLAGS_INDEX = 6;
+    private static final int MESSAGE_TYPE_INDEX = 7;
+    private static final int MESSAGE_SIZE_INDEX = 8;
+    private static final int COMPRESSED_HEADER_LENGTH = Message.GIOPMessageHeaderLength + 4;
+
+    // No deflate stream expands by more than this factor, so a larger
+    // declared body length can only come from a corrupt or hostile peer.
+    private static final long MAX_INFLATION_RATIO = 1032;
+
+    private final ORB orb;
+    private final ThreadLocal<Deflater> deflaters = new ThreadLocal<Deflater>() {
+        @Override
+        protected Deflater initialValue() {
+            return new Deflater(getDeflaterLevel());
+        }
+    };
+    private final ThreadLocal<Inflater> inflaters = new ThreadLocal<Inflater>() {
+        @Override
+        protected Inflater initialValue() {
+            return new Inflater();
+        }
+    };
+
+    private final AtomicLong numberOfMessagesCompressed = new AtomicLong();
+    private final AtomicLong numberOfMessagesInflated = new AtomicLong();
+    private final AtomicLong numberOfBytesBeforeCompression = new AtomicLong();
+    private final AtomicLong numberOfBytesAfterCompression = new AtomicLong();
+    private final AtomicLong compressionTime = new AtomicLong();
+    private final AtomicLong inflationTime = new AtomicLong();
+
+    public MessageCompressor(ORB orb) {
+        this.orb = orb;
+    }
+
+    private int getDeflaterLevel() {
+        return orb.getORBData().getGIOPMessageCompression() == ORBConstants.MESSAGE_COMPRESSION_FAST
+            ? Deflater.BEST_SPEED : Deflater.DEFAULT_COMPRESSION;
+    }
+
+    /**
+     * @param buffer a buffer holding at least a GIOP header at start
+     * @param start the position of the GIOP header
+     * @return true if the header describes a compressed message
+     */
+    public static boolean isCompressed(ByteBuffer buffer, int start) {
+        return (buffer.get(start + MESSAGE_TYPE_INDEX) & Message.COMPRESSED_MESSAGE_BIT) != 0
+            && buffer.duplicate().order(ByteOrder.BIG_ENDIAN).getInt(start) == Message.GIOPBigMagic;
+    }
+
+    /**
+     * Compressed messages are only inflated by an ORB which enables message
+     * compression itself, or on a connection which has negotiated it.  An ORB
+     * which enables compression accepts them before the negotiation, since a
+     * client may send its first compressed request before the server's end
+     * of the connection has seen it.  Elsewhere such a message is parsed as
+     * it is, and so rejected as an unknown message type.
+     *
+     * @param connection the connection on which a compressed message was received
+     * @return true if the message should be inflated
+     */
+    public boolean acceptsCompressedMessages(Connection connection) {
+        return orb.getORBData().getGIOPMessageCompression() != ORBConstants.MESSAGE_COMPRESSION_NONE
+            || (connection != null && connection.isMessageCompressionEnabled());
+    }
+
+    /**
+     * @param buffer a buffer holding at least a GIOP header at start
+     * @param start the position of the GIOP header
+     * @return the number of bytes, including the header, which the message occupies on the wire
+     */
+    public static int getMessageSize(ByteBuffer buffer, int start) {
+        return Message.GIOPMessageHeaderLength + getInt(buffer, start, MESSAGE_SIZE_INDEX);
+    }
+
+    private static ByteOrder getByteOrder(ByteBuffer buffer, int start) {
+        return (buffer.get(start + FLAGS_INDEX) & Message.LITTLE_ENDIAN_BIT) == 0
+            ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+    }
+
+    private static int getInt(ByteBuffer buffer, int start, int index) {
+        return buffer.duplicate().order(getByteOrder(buffer, start)).getInt(start + index);
+    }
+
+    private static boolean isCompressible(ByteBuffer message, int start) {
+        byte type = message.get(start + MESSAGE_TYPE_INDEX);
+        return message.get(start + VERSION_MAJOR_INDEX) == 1
+            && message.get(start + VERSION_MINOR_INDEX) <= 2
+            && (type == Message.GIOPRequest || type == Message.GIOPReply)
+            && (message.get(start + FLAGS_INDEX) & Message.MORE_FRAGMENTS_BIT) == 0;
+    }
+
+    /**
+     * Compresses a complete GIOP message, ready to be written, if it is a
+     * Request or Reply whose body is at least the configured threshold and
+     * compression makes it smaller.
+     *
+     * @param message the message, between its position and limit
+     * @return a new buffer holding the compressed message, or message itself
+     */
+    public ByteBuffer compress(ByteBuffer message) {
+        int start = message.position();
+        int bodyLength = message.remaining() - Message.GIOPMessageHeaderLength;
+        if (bodyLength < orb.getORBData().getGIOPMessageCompressionThreshold()
+            || !isCompressible(message, start)) {
+            return message;
+        }
+
+        long startTime = System.nanoTime();
+        ByteBuffer result = ByteBuffer.allocate(message.remaining()).order(getByteOrder(message, start));
+        Deflater deflater = deflaters.get();
+        try {
+            message.position(start + Message.GIOPMessageHeaderLength);
+            deflater.setInput(message);
+            deflater.finish();
+            result.position(COMPRESSED_HEADER_LENGTH);
+            while (!deflater.finished() && result.hasRemaining()) {
+                deflater.deflate(result);
+            }
+            if (!deflater.finished() || !result.hasRemaining()) {
+                return message;
+            }
+        } finally {
+            deflater.reset();
+            message.position(start);
+            compressionTime.addAndGet(System.nanoTime() - startTime);
+        }
+
+        for (int i = 0; i < Message.GIOPMessageHeaderLength; i++) {
+            result.put(i, message.get(start + i));
+        }
+        result.put(MESSAGE_TYPE_INDEX, (byte) (message.get(start + MESSAGE_TYPE_INDEX) | Message.COMPRESSED_MESSAGE_BIT));
+        result.putInt(MESSAGE_SIZE_INDEX, result.position() - Message.GIOPMessageHeaderLength);
+        result.putInt(Message.GIOPMessageHeaderLength, bodyLength);
+        result.flip();
+
+        numberOfMessagesCompressed.incrementAndGet();
+        numberOfBytesBeforeCompression.addAndGet(message.remaining());
+        numberOfBytesAfterCompression.addAndGet(result.remaining());
+        return result;
+    }
+
+    /**
+     * Restores a compressed message to the form in which it was marshaled.
+     *
+     * @param message the compressed message, between its position and limit
+     * @return a new buffer holding the original message, positioned at its start
+     */
+    public ByteBuffer decompress(ByteBuffer message) {
+        int start = message.position();
+        int compressedLength = getMessageSize(message, start) - COMPRESSED_HEADER_LENGTH;
+        int bodyLength = getInt(message, start, Message.GIOPMessageHeaderLength);
+        if (compressedLength < 0 || bodyLength < 0
+            || bodyLength > compressedLength * MAX_INFLATION_RATIO) {
+            throw wrapper.badCompressedMessage(compressedLength, bodyLength);
+        }
+
+        long startTime = System.nanoTime();
+        ByteBuffer result = ByteBuffer.allocate(Message.GIOPMessageHeaderLength + bodyLength)
+            .order(getByteOrder(message, start));
+        ByteBuffer input = message.duplicate();
+        input.position(start + COMPRESSED_HEADER_LENGTH).limit(start + COMPRESSED_HEADER_LENGTH + compressedLength);
+        Inflater inflater = inflaters.get();
+        try {
+            inflater.setInput(input);
+            result.position(Message.GIOPMessageHeaderLength);
+            while (result.hasRemaining() && !inflater.finished()) {
+                if (inflater.inflate(result) == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+            }
+            if (result.hasRemaining() || !inflater.finished()) {
+                throw wrapper.badCompressedMessage(compressedLength, bodyLength);
+            }
+        } catch (DataFormatException exc) {
+            throw wrapper.compressedMessageCorrupted(exc);
+        } finally {
+            inflater.reset();
+            inflationTime.addAndGet(System.nanoTime() - startTime);
+        }
+
+        for (int i = 0; i < Message.GIOPMessageHeaderLength; i++) {
+            result.put(i, message.get(start + i));
+        }
+        result.put(MESSAGE_TYPE_INDEX, (byte) (message.get(start + MESSAGE_TYPE_INDEX) & ~Message.COMPRESSED_MESSAGE_BIT));
+        result.putInt(MESSAGE_SIZE_INDEX, bodyLength);
+        result.position(0);
+
+        numberOfMessagesInflated.incrementAndGet();
+        return result;
+    }
+
+    @ManagedAttribute
+    @Description( "Number of messages sent compressed" )
+    public long getNumberOfMessagesCompressed() {
+        return numberOfMessagesCompressed.get();
+    }
+
+    @ManagedAttribute
+    @Description( "Number of compressed messages received and inflated" )
+    public long getNumberOfMessagesInflated() {
+        return numberOfMessagesInflated.get();
+    }
+
+    @ManagedAttribute
+    @Description( "Total size of the messages sent compressed, before compression" )
+    public long getNumberOfBytesBeforeCompression() {
+        return numberOfBytesBeforeCompression.get();
+    }
+
+    @ManagedAttribute
+    @Description( "Total size of the messages sent compressed, after compression" )
+    public long getNumberOfBytesAfterCompression() {
+        return numberOfBytesAfterCompression.get();
+    }
+
+    @ManagedAttribute
+    @Description( "Size after compression as a percentage of the size before, for messages sent compressed" )
+    public long getCompressionPercentage() {
+        long before = numberOfBytesBeforeCompression.get();
+        return before == 0 ? 100 : numberOfBytesAfterCompression.get() * 100 / before;
+    }
+
+    // Deflating and inflating do not block, so the time spent on the
+    // calling thread is a good measure of the CPU time they use.
+    @ManagedAttribute
+    @Description( "Nanoseconds spent compressing messages, including those sent uncompressed because they did not shrink" )
+    public long getCompressionTime() {
+        return compressionTime.get();
+    }
+
+    @ManagedAttribute
+    @Description( "Nanoseconds spent inflating received messages" )
+    public long getInflationTime() {
+        return inflationTime.get();
+    }
+}
+
+// End of file.
@@ -38,9 +38,16 @@ public class NioBufferWriter {
         this.tcpTimeouts = tcpTimeouts;
     }
 
-    void write(ByteBuffer byteBuffer) throws IOException {
-        int nbytes = socketChannel.write(byteBuffer);
-        if (byteBuffer.hasRemaining()) {
+    /**
+     * Writes all of the given buffers, in order, using gathering writes so
+     * that several messages or fragments may go out in one system call.
+     * Returns the number of socket write calls that were needed.
+     */
+    int write(ByteBuffer... byteBuffers) throws IOException {
+        long nbytes = socketChannel.write(byteBuffers);
+        int numberOfWrites = 1;
+        int first = firstRemaining(byteBuffers, 0);
+        if (first < byteBuffers.length) {
             // Can only occur on non-blocking connections.
             // Using long for backoff_factor to avoid floating point
             // calculations.
@@ -51,14 +58,17 @@ public class NioBufferWriter {
                 tmpSelector = getTemporaryWriteSelector(socketChannel);
                 sk = tmpSelector.registerChannel(socketChannel,
                                                 SelectionKey.OP_WRITE);
-                while (byteBuffer.hasRemaining() && !waiter.isExpired()) {
+                while (first < byteBuffers.length && !waiter.isExpired()) {
                     int nsel = tmpSelector.select(waiter.getTimeForSleep());
                     if (nsel > 0) {
                         tmpSelector.removeSelectedKey(sk);
                         do {
                             // keep writing while bytes can be written
-                            nbytes = socketChannel.write(byteBuffer);
-                        } while (nbytes > 0 && byteBuffer.hasRemaining());
+                            nbytes = socketChannel.write(byteBuffers, first,
+                                                         byteBuffers.length - first);
+                            numberOfWrites++;
+                            first = firstRemaining(byteBuffers, first);
+                        } while (nbytes > 0 && first < byteBuffers.length);
                     }
                     // selector timed out or no bytes have been written
                     if (nsel == 0 || nbytes == 0) {
@@ -67,6 +77,7 @@ public class NioBufferWriter {
                 }
             } catch (IOException ioe) {
                 ioe.printStackTrace();
+                ByteBuffer byteBuffer = byteBuffers[Math.min(first, byteBuffers.length - 1)];
                 throw ConnectionImpl.wrapper.exceptionWhenWritingWithTemporarySelector(ioe,
                         byteBuffer.position(), byteBuffer.limit(),
                         waiter.timeWaiting(), tcpTimeouts.get_max_time_to_wait());
@@ -76,12 +87,21 @@ public class NioBufferWriter {
                 }
             }
             // if message not fully written, throw exception
-            if (byteBuffer.hasRemaining() && waiter.isExpired()) {
+            if (first < byteBuffers.length && waiter.isExpired()) {
                 // failed to write entire message
                 throw ConnectionImpl.wrapper.transportWriteTimeoutExceeded(
                         tcpTimeouts.get_max_time_to_wait(), waiter.timeWaiting());
             }
         }
+
+        return numberOfWrites;
+    }
+
+    private static int firstRemaining(ByteBuffer[] byteBuffers, int first) {
+        while (first < byteBuffers.length && !byteBuffers[first].hasRemaining()) {
+            first++;
+        }
+        return first;
     }
 
     void closeTemporaryWriteSelector() throws IOException {
@@ -62,7 +62,13 @@ public class OutboundConnectionCacheImpl
     {
         synchronized (backingStore()) {
             cacheStatisticsInfo();
-            return connectionCache.get(contactInfo);
+            Connection connection = connectionCache.get(contactInfo);
+            if (connection != null) {
+                // Tell the ConnectionReaper that the connection is in use
+                // again before the request marks it busy.
+                stampTime(connection);
+            }
+            return connection;
         }
     }
 
@@ -89,6 +95,22 @@ public class OutboundConnectionCacheImpl
         }
     }
 
+    // Only remove the connection being closed: the ConnectionReaper may
+    // already have removed it, and another connection may since have been
+    // opened to the same contactInfo.
+    @Transport
+    @Override
+    public void remove(ContactInfo contactInfo, Connection connection)
+    {
+        synchronized (backingStore()) {
+            if (contactInfo != null) {
+                connectionCache.remove(contactInfo, connection);
+                pp.connectionClosedEvent( contactInfo.toString(), connection.toString() ) ;
+            }
+            cacheStatisticsInfo();
+        }
+    }
+
     ////////////////////////////////////////////////////
     //
     // Implementation
@@ -0,0 +1,338 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.impl.transport;
+
+import com.sun.corba.ee.spi.orb.ORB;
+import com.sun.corba.ee.spi.orb.ORBData;
+import com.sun.corba.ee.spi.protocol.MessageMediator;
+import com.sun.corba.ee.spi.trace.Transport;
+import com.sun.corba.ee.spi.transport.Connection;
+import com.sun.corba.ee.spi.transport.ContactInfo;
+import com.sun.corba.ee.spi.transport.OutboundConnectionCache;
+import com.sun.corba.ee.spi.transport.connection.ConnectionCacheFactory;
+import com.sun.corba.ee.spi.transport.connection.ConnectionFinder;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.glassfish.gmbal.AMXMetadata ;
+import org.glassfish.gmbal.Description ;
+import org.glassfish.gmbal.ManagedAttribute ;
+import org.glassfish.gmbal.ManagedObject ;
+
+/**
+ * A cache of connections originated by the ORB which may hold several
+ * connections to the same endpoint.  The connections are managed by an
+ * OutboundConnectionCacheBlockingImpl: a connection is busy while a request
+ * that acquired it is outstanding, and becomes reclaimable once all of its
+ * requests have completed.  A new request is given an idle connection if
+ * there is one, a new connection while fewer than maxParallelConnections
+ * are open to the endpoint, and otherwise the open connection with the
+ * fewest outstanding requests.
+ * <p>
+ * Connections are obtained with acquire rather than the get and put calls
+ * used for the single connection per endpoint cache, and are released by
+ * requestComplete.
+ */
+@Transport
+@ManagedObject
+@Description( "Cache of connections originated by the ORB, with several "
+    + "connections to each endpoint" )
+@AMXMetadata( type="corba-outbound-connection-cache-mon", group="monitoring" )
+public class ParallelOutboundConnectionCacheImpl
+    extends
+        ConnectionCacheBase
+    implements
+        OutboundConnectionCache
+{
+    private final com.sun.corba.ee.spi.transport.connection.OutboundConnectionCache<CachedConnection> cache ;
+    private final ConcurrentMap<Connection,CachedConnection> connections =
+        new ConcurrentHashMap<Connection,CachedConnection>() ;
+    private final Set<MessageMediator> outstandingRequests =
+        ConcurrentHashMap.newKeySet() ;
+    private final ConnectionFinder<CachedConnection> leastBusyFinder =
+        new LeastBusyConnectionFinder() ;
+    private OutboundConnectionCacheProbeProvider pp =
+        new OutboundConnectionCacheProbeProvider() ;
+
+    public ParallelOutboundConnectionCacheImpl(ORB orb, ContactInfo contactInfo)
+    {
+        super(orb, contactInfo.getConnectionCacheType(),
+              contactInfo.getMonitoringName());
+        ORBData data = orb.getORBData() ;
+        this.cache = ConnectionCacheFactory.makeBlockingOutboundConnectionCache(
+            getCacheType(), data.getHighWaterMark(), data.getNumberToReclaim(),
+            Math.max( 1, data.getMaxParallelConnections() ), 0 ) ;
+    }
+
+    @ManagedAttribute
+    @Description( "The maximum number of connections opened to one endpoint" )
+    public int getMaxParallelConnections() {
+        return cache.maxParallelConnections() ;
+    }
+
+    /** Obtain a connection to contactInfo for a new request, opening one
+     * if needed.  The connection must be handed back with requestComplete,
+     * or with release if no request was started on it.
+     *
+     * @param contactInfo the endpoint to connect to
+     * @return a connection to the endpoint
+     */
+    @Transport
+    public Connection acquire(ContactInfo contactInfo) {
+        try {
+            return cache.get( new CachedContactInfo( contactInfo ),
+                leastBusyFinder ).connection ;
+        } catch (IOException exc) {
+            throw wrapper.ioexceptionOpeningConnection( exc,
+                contactInfo.toString() ) ;
+        }
+    }
+
+    /** Record that the request of messageMediator holds the connection it
+     * was created with, which was obtained from acquire.
+     *
+     * @param messageMediator the request
+     */
+    public void requestStarted(MessageMediator messageMediator) {
+        outstandingRequests.add( messageMediator ) ;
+    }
+
+    /** Release the connection held by the request of messageMediator.
+     * Only the first call for a request has any effect.
+     *
+     * @param messageMediator the request
+     */
+    @Transport
+    public void requestComplete(MessageMediator messageMediator) {
+        if (outstandingRequests.remove( messageMediator )) {
+            release( messageMediator.getConnection() ) ;
+        }
+    }
+
+    /** Release a connection obtained from acquire on which no request
+     * was started.
+     *
+     * @param connection the connection to release
+     */
+    @Transport
+    public void release(Connection connection) {
+        CachedConnection cc = connections.get( connection ) ;
+        if (cc != null) {
+            cache.release( cc, 0 ) ;
+        }
+    }
+
+    // Connections are only handed out by acquire, so the single connection
+    // per endpoint protocol never finds a connection here.
+    public Connection get(ContactInfo contactInfo)
+    {
+        return null ;
+    }
+
+    public void put(ContactInfo contactInfo, Connection connection)
+    {
+        connection.setConnectionCache(this);
+    }
+
+    // Connections are removed one at a time by remove(ContactInfo,Connection).
+    public void remove(ContactInfo contactInfo)
+    {
+    }
+
+    @Transport
+    @Override
+    public void remove(ContactInfo contactInfo, Connection connection)
+    {
+        CachedConnection cc = connections.remove( connection ) ;
+        if (cc != null) {
+            // The connection is already closing; just drop it from the cache.
+            cc.closed = true ;
+            cache.close( cc ) ;
+            pp.connectionClosedEvent( contactInfo.toString(),
+                connection.toString() ) ;
+        }
+    }
+
+    @Override
+    protected boolean removeConnection(Connection connection)
+    {
+        if (!connections.containsKey( connection )) {
+            return false ;
+        }
+
+        remove( connection.getContactInfo(), connection ) ;
+        return true ;
+    }
+
+    @Transport
+    @Override
+    public boolean reclaim() {
+        if (cache.numberOfConnections() <= cache.highWaterMark()) {
+            return false ;
+        }
+
+        return cache.reclaim() ;
+    }
+
+    ////////////////////////////////////////////////////
+    //
+    // Implementation
+    //
+
+    public Collection values()
+    {
+        return connections.keySet();
+    }
+
+    protected Object backingStore()
+    {
+        return connections;
+    }
+
+    @Transport
+    private CachedConnection newConnection(ContactInfo contactInfo) {
+        Connection connection = contactInfo.createConnection() ;
+        if (connection.shouldRegisterReadEvent()) {
+            orb.getTransportManager().getSelector(0)
+                .registerForEvent(connection.getEventHandler());
+            connection.setState("ESTABLISHED");
+        }
+
+        stampTime(connection);
+        connection.setConnectionCache(this);
+        CachedConnection result = new CachedConnection( connection ) ;
+        connections.put( connection, result ) ;
+        pp.connectionOpenedEvent( contactInfo.toString(), connection.toString() ) ;
+        orb.getTransportManager().connectionAdded(this);
+        return result ;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ParallelOutboundConnectionCacheImpl["
+            + cache
+            + "]";
+    }
+
+    // Prefers an idle connection, then a new one, and only then shares
+    // the busy connection with the fewest outstanding requests.
+    private class LeastBusyConnectionFinder
+        implements ConnectionFinder<CachedConnection> {
+
+        public CachedConnection find(
+            com.sun.corba.ee.spi.transport.connection.ContactInfo<CachedConnection> cinfo,
+            Collection<CachedConnection> idleConnections,
+            Collection<CachedConnection> busyConnections ) {
+
+            // Returning null lets the cache take its least recently used
+            // idle connection, or open a new one.
+            if (!idleConnections.isEmpty()) {
+                return null ;
+            }
+
+            if (busyConnections.size() < cache.maxParallelConnections()
+                && cache.numberOfConnections() < cache.highWaterMark()) {
+                return null ;
+            }
+
+            CachedConnection result = null ;
+            int fewest = Integer.MAX_VALUE ;
+            for (CachedConnection cc : busyConnections) {
+                if (cc.closed) {
+                    continue ;
+                }
+
+                int outstanding = cc.connection.getResponseWaitingRoom()
+                    .numberRegistered() ;
+                if (outstanding < fewest) {
+                    result = cc ;
+                    fewest = outstanding ;
+                }
+            }
+
+            return result ;
+        }
+    }
+
+    // The ContactInfo seen by the generic cache.  Equal ORB ContactInfos
+    // share one cache entry.
+    private class CachedContactInfo
+        implements com.sun.corba.ee.spi.transport.connection.ContactInfo<CachedConnection> {
+
+        private final ContactInfo contactInfo ;
+
+        CachedContactInfo(ContactInfo contactInfo) {
+            this.contactInfo = contactInfo ;
+        }
+
+        public CachedConnection createConnection() throws IOException {
+            return newConnection( contactInfo ) ;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof CachedContactInfo
+                && contactInfo.equals( ((CachedContactInfo) obj).contactInfo ) ;
+        }
+
+        @Override
+        public int hashCode() {
+            return contactInfo.hashCode() ;
+        }
+
+        @Override
+        public String toString() {
+            return contactInfo.toString() ;
+        }
+    }
+
+    // The Connection seen by the generic cache.  Closing it closes the
+    // ORB connection, unless the ORB connection is what is being closed.
+    static class CachedConnection
+        implements com.sun.corba.ee.spi.transport.connection.Connection {
+
+        final Connection connection ;
+        volatile boolean closed ;
+
+        CachedConnection(Connection connection) {
+            this.connection = connection ;
+        }
+
+        public void close() {
+            if (!closed) {
+                closed = true ;
+                connection.close() ;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return connection.toString() ;
+        }
+    }
+}
+
+// End of file.
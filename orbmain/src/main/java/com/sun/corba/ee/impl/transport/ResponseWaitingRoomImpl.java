@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates.
  *
  * This program and the accompanying materials are made available under the
@@ -30,17 +31,23 @@ import com.sun.corba.ee.spi.trace.Transport;
 import com.sun.corba.ee.spi.transport.Connection;
 import com.sun.corba.ee.spi.transport.ResponseWaitingRoom;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.Map;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
 import org.glassfish.pfl.tf.spi.annotation.InfoMethod;
 import org.omg.CORBA.SystemException;
 
 /**
+ * Outstanding calls are kept in a table keyed by the primitive request id.
+ * The table is split into stripes, each an open addressing hash table
+ * guarded by its own monitor, so that registering, completing and removing
+ * calls on a busy connection rarely contend.  The client thread parks while
+ * waiting for its reply and is unparked by the thread that delivers it.
+ * A call may instead have an action that the delivering thread runs once
+ * the call is done, so that no thread waits for it at all.
+ *
  * @author Harold Carr
  */
 @Transport
@@ -51,17 +58,164 @@ public class ResponseWaitingRoomImpl
     final private static ORBUtilSystemException wrapper =
         ORBUtilSystemException.self ;
 
+    // Must be a power of two.  Request ids are allocated sequentially, so
+    // the low bits of the id choose the stripe and the remaining bits the
+    // slot within the stripe.
+    private static final int NUMBER_OF_STRIPES = 16;
+    private static final int STRIPE_SHIFT = 4;
+    private static final int INITIAL_STRIPE_CAPACITY = 8;
+
+    // The number of unused OutCallDescs each stripe keeps for reuse.
+    private static final int MAX_FREE_PER_STRIPE = 4;
+
     final static class OutCallDesc
     {
         MessageMediator messageMediator;
-        SystemException exception;
-        CDRInputObject inputObject;
-        ReentrantLock lock = new ReentrantLock();
-        Condition condition = lock.newCondition();
+        volatile SystemException exception;
+        volatile CDRInputObject inputObject;
+
+        // The client thread blocked in waitForResponse, if any.
+        // Guarded by the stripe holding this call.
+        Thread waiter;
+
+        // Run once the call is done instead of waking a waiter.
+        // Guarded by the stripe holding this call.
+        Runnable action;
+
+        boolean isDone() {
+            return inputObject != null || exception != null;
+        }
+
+        void clear() {
+            messageMediator = null;
+            exception = null;
+            inputObject = null;
+            waiter = null;
+            action = null;
+        }
     }
 
-    // Maps requestId to an OutCallDesc.
-    final private Map<Integer, OutCallDesc> out_calls;
+    /**
+     * One stripe of the table of outstanding calls: a linear probing hash
+     * table from request id to OutCallDesc.  All methods must be called
+     * while holding the stripe's monitor.
+     */
+    final static class Stripe
+    {
+        private int[] keys = new int[INITIAL_STRIPE_CAPACITY];
+        private OutCallDesc[] values = new OutCallDesc[INITIAL_STRIPE_CAPACITY];
+        private int size;
+        private final OutCallDesc[] free = new OutCallDesc[MAX_FREE_PER_STRIPE];
+        private int numFree;
+
+        private int slot(int requestId) {
+            return (requestId >>> STRIPE_SHIFT) & (keys.length - 1);
+        }
+
+        OutCallDesc get(int requestId) {
+            int mask = keys.length - 1;
+            for (int i = slot(requestId); values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == requestId) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        // Returns the call previously registered for requestId, if any.
+        OutCallDesc put(int requestId, OutCallDesc call) {
+            if (2 * (size + 1) > keys.length) {
+                resize(2 * keys.length);
+            }
+
+            int mask = keys.length - 1;
+            int i = slot(requestId);
+            while (values[i] != null) {
+                if (keys[i] == requestId) {
+                    OutCallDesc previous = values[i];
+                    values[i] = call;
+                    return previous;
+                }
+                i = (i + 1) & mask;
+            }
+
+            keys[i] = requestId;
+            values[i] = call;
+            size++;
+            return null;
+        }
+
+        OutCallDesc remove(int requestId) {
+            int mask = keys.length - 1;
+            int i = slot(requestId);
+            while (values[i] != null && keys[i] != requestId) {
+                i = (i + 1) & mask;
+            }
+            OutCallDesc result = values[i];
+            if (result == null) {
+                return null;
+            }
+
+            // Shift back any following entries that can no longer be
+            // reached from their home slot once slot i is emptied.
+            for (int j = (i + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+                int home = slot(keys[j]);
+                boolean reachable = (i <= j) ? (i < home && home <= j)
+                                             : (i < home || home <= j);
+                if (!reachable) {
+                    keys[i] = keys[j];
+                    values[i] = values[j];
+                    i = j;
+                }
+            }
+            values[i] = null;
+            size--;
+            return result;
+        }
+
+        private void resize(int capacity) {
+            int[] oldKeys = keys;
+            OutCallDesc[] oldValues = values;
+            keys = new int[capacity];
+            values = new OutCallDesc[capacity];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != null) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        OutCallDesc[] getCalls() {
+            OutCallDesc[] result = new OutCallDesc[size];
+            int n = 0;
+            for (OutCallDesc call : values) {
+                if (call != null) {
+                    result[n++] = call;
+                }
+            }
+            return result;
+        }
+
+        OutCallDesc allocate() {
+            if (numFree > 0) {
+                OutCallDesc result = free[--numFree];
+                free[numFree] = null;
+                return result;
+            }
+            return new OutCallDesc();
+        }
+
+        void recycle(OutCallDesc call) {
+            call.clear();
+            if (numFree < free.length) {
+                free[numFree++] = call;
+            }
+        }
+    }
+
+    final private Stripe[] stripes;
+    final private AtomicInteger numberRegistered = new AtomicInteger();
     final private ORB orb;
     final private Connection connection;
 
@@ -70,8 +224,14 @@ public class ResponseWaitingRoomImpl
     {
         this.orb = orb;
         this.connection = connection;
-        this.out_calls =
-               Collections.synchronizedMap(new HashMap<Integer, OutCallDesc>());
+        this.stripes = new Stripe[NUMBER_OF_STRIPES];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    private Stripe stripeFor(int requestId) {
+        return stripes[requestId & (NUMBER_OF_STRIPES - 1)];
     }
 
     @Transport
@@ -82,11 +242,19 @@ public class ResponseWaitingRoomImpl
         display( "messageMediator operation name",
             messageMediator.getOperationName() ) ;
 
-        Integer requestId = messageMediator.getRequestId();
+        int requestId = messageMediator.getRequestId();
+        Stripe stripe = stripeFor(requestId);
+
+        OutCallDesc exists;
+        synchronized (stripe) {
+            OutCallDesc call = stripe.allocate();
+            call.messageMediator = messageMediator;
+            exists = stripe.put(requestId, call);
+            if (exists == null) {
+                numberRegistered.incrementAndGet();
+            }
+        }
 
-        OutCallDesc call = new OutCallDesc();
-        call.messageMediator = messageMediator;
-        OutCallDesc exists = out_calls.put(requestId, call);
         if (exists != null) {
             wrapper.duplicateRequestIdsInResponseWaitingRoom(
                        ORBUtility.operationNameAndRequestId(
@@ -104,9 +272,21 @@ public class ResponseWaitingRoomImpl
         display( "messageMediator operation name",
             messageMediator.getOperationName() ) ;
 
-        Integer requestId = messageMediator.getRequestId();
+        int requestId = messageMediator.getRequestId();
+        Stripe stripe = stripeFor(requestId);
+
+        synchronized (stripe) {
+            OutCallDesc call = stripe.remove(requestId);
+            if (call != null) {
+                numberRegistered.decrementAndGet();
 
-        out_calls.remove(requestId);
+                // A call is only reused once no thread can still be
+                // waiting on it.
+                if (call.waiter == null && call.action == null) {
+                    stripe.recycle(call);
+                }
+            }
+        }
     }
 
     @Transport
@@ -118,7 +298,7 @@ public class ResponseWaitingRoomImpl
         display( "messageMediator operation name",
             messageMediator.getOperationName() ) ;
 
-        Integer requestId = messageMediator.getRequestId();
+        int requestId = messageMediator.getRequestId();
 
         if (messageMediator.isOneWay()) {
             // The waiter is removed in releaseReply in the same
@@ -127,59 +307,76 @@ public class ResponseWaitingRoomImpl
             return null;
         }
 
-        OutCallDesc call = out_calls.get(requestId);
+        Stripe stripe = stripeFor(requestId);
+        OutCallDesc call;
+        synchronized (stripe) {
+            call = stripe.get(requestId);
+            if (call != null) {
+                call.waiter = Thread.currentThread();
+            }
+        }
+
         if (call == null) {
             throw wrapper.nullOutCall() ;
         }
 
         // Value from ORBData is in milliseconds, will convert it nanoseconds
-        // to use it with Condition.awaitNanos()
+        // to use it with LockSupport.parkNanos()
         long waitForResponseTimeout =
                 orb.getORBData().getWaitForResponseTimeout() * 1000 * 1000;
+        final long deadline = System.nanoTime() + waitForResponseTimeout;
 
         try {
-            call.lock.lock();
-            while (call.inputObject == null && call.exception == null) {
+            while (!call.isDone()) {
                 // Wait for the reply from the server.
                 // The ReaderThread reads in the reply IIOP message
-                // and signals us.
-                try {
-                    display( "Waiting for response..." ) ;
-
-                    waitForResponseTimeout =
-                            call.condition.awaitNanos(waitForResponseTimeout);
-                    if (call.inputObject == null && call.exception == null) {
-                        if (waitForResponseTimeout > 0) {
-                            // it's a "spurious wait wakeup", need to
-                            // continue to wait for a response
-                            display( "Spurious wakeup, continuing to wait for ",
-                                waitForResponseTimeout/1000000 );
-                        } else {
-                            // timed out waiting for data
-                            call.exception =
-                                wrapper.communicationsTimeoutWaitingForResponse(
-                                orb.getORBData().getWaitForResponseTimeout());
-                            // REVISIT:
-                            // Normally the inputObject or exception is
-                            // created from the response stream.
-                            // Need to fake encoding version since
-                            // it is expected to be popped in endRequest.
-                            ORBUtility.pushEncVersionToThreadLocalState(
-                                    ORBConstants.JAVA_ENC_VERSION);
+                // and unparks us.
+                display( "Waiting for response..." ) ;
+
+                LockSupport.parkNanos(this, waitForResponseTimeout);
+
+                // As before, an interrupt does not end the wait.
+                Thread.interrupted();
+
+                if (!call.isDone()) {
+                    waitForResponseTimeout = deadline - System.nanoTime();
+                    if (waitForResponseTimeout > 0) {
+                        // it's a "spurious wait wakeup", need to
+                        // continue to wait for a response
+                        display( "Spurious wakeup, continuing to wait for ",
+                            waitForResponseTimeout/1000000 );
+                    } else {
+                        synchronized (stripe) {
+                            if (!call.isDone()) {
+                                // timed out waiting for data
+                                call.exception =
+                                    wrapper.communicationsTimeoutWaitingForResponse(
+                                    orb.getORBData().getWaitForResponseTimeout());
+                                // REVISIT:
+                                // Normally the inputObject or exception is
+                                // created from the response stream.
+                                // Need to fake encoding version since
+                                // it is expected to be popped in endRequest.
+                                ORBUtility.pushEncVersionToThreadLocalState(
+                                        ORBConstants.JAVA_ENC_VERSION);
+                            }
                         }
                     }
-                } catch (InterruptedException ie) {};
+                }
             }
-            if (call.exception != null) {
-                display( "Exception from call", call.exception ) ;
-                throw call.exception;
+        } finally {
+            synchronized (stripe) {
+                call.waiter = null;
             }
+        }
 
-            returnStream = call.inputObject;
-        } finally {
-            call.lock.unlock();
+        if (call.exception != null) {
+            display( "Exception from call", call.exception ) ;
+            throw call.exception;
         }
 
+        returnStream = call.inputObject;
+
         // REVISIT -- exceptions from unmarshaling code will
         // go up through this client thread!
 
@@ -213,29 +410,32 @@ public class ResponseWaitingRoomImpl
         display( "requestId", header.getRequestId()) ;
         display( "header", header ) ;
 
-        OutCallDesc call = out_calls.get(header.getRequestId());
-
-        // This is an interesting case.  It could mean that someone sent us a
-        // reply message, but we don't know what request it was for.  That
-        // would probably call for an error.  However, there's another case
-        // that's normal and we should think about --
-        //
-        // If the unmarshaling thread does all of its work inbetween the time
-        // the ReaderThread gives it the last fragment and gets to the
-        // out_calls.get line, then it will also be null, so just return;
-        if (call == null) {
-            display( "No waiter" ) ;
-            return;
-        }
-
-        // Set the reply InputObject and signal the client thread
-        // that the reply has been received.
-        // The thread signalled will remove outcall descriptor if appropriate.
-        // Otherwise, it'll be removed when last fragment for it has been put on
-        // BufferManagerRead's queue.
+        int requestId = header.getRequestId();
+        Stripe stripe = stripeFor(requestId);
+        Thread waiter;
+        Runnable action;
+
+        synchronized (stripe) {
+            OutCallDesc call = stripe.get(requestId);
+
+            // This is an interesting case.  It could mean that someone sent us a
+            // reply message, but we don't know what request it was for.  That
+            // would probably call for an error.  However, there's another case
+            // that's normal and we should think about --
+            //
+            // If the unmarshaling thread does all of its work inbetween the time
+            // the ReaderThread gives it the last fragment and gets to the
+            // stripe.get line, then it will also be null, so just return;
+            if (call == null) {
+                display( "No waiter" ) ;
+                return;
+            }
 
-        try {
-            call.lock.lock();
+            // Set the reply InputObject and signal the client thread
+            // that the reply has been received.
+            // The thread signalled will remove outcall descriptor if appropriate.
+            // Otherwise, it'll be removed when last fragment for it has been put on
+            // BufferManagerRead's queue.
             MessageMediator messageMediator =
                            (MessageMediator)call.messageMediator;
 
@@ -249,15 +449,22 @@ public class ResponseWaitingRoomImpl
             messageMediator.setInputObject(is);
             inputObject.setMessageMediator(messageMediator);
             call.inputObject = is;
-            call.condition.signal();
-        } finally {
-            call.lock.unlock();
+            waiter = call.waiter;
+            action = call.action;
+            call.action = null;
+        }
+
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
+        }
+        if (action != null) {
+            action.run();
         }
     }
 
     public int numberRegistered()
     {
-        return out_calls.size();
+        return numberRegistered.get();
     }
 
     //////////////////////////////////////////////////
@@ -267,33 +474,104 @@ public class ResponseWaitingRoomImpl
 
     @Transport
     public void signalExceptionToAllWaiters(SystemException systemException) {
-        OutCallDesc call;
-        synchronized (out_calls) {
-            Iterator<OutCallDesc> itr = out_calls.values().iterator();
-            while (itr.hasNext()) {
-                call = itr.next();
-                try {
-                    call.lock.lock();
+        List<Runnable> actions = new ArrayList<Runnable>();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                for (OutCallDesc call : stripe.getCalls()) {
                     ((MessageMediator)call.messageMediator).cancelRequest();
                     call.inputObject = null;
                     call.exception = systemException;
-                    call.condition.signal();
-                } finally {
-                    call.lock.unlock();
+                    if (call.waiter != null) {
+                        LockSupport.unpark(call.waiter);
+                    }
+                    if (call.action != null) {
+                        actions.add(call.action);
+                        call.action = null;
+                    }
                 }
             }
         }
+
+        for (Runnable action : actions) {
+            action.run();
+        }
+    }
+
+    @Transport
+    public boolean signalExceptionToWaiter(MessageMediator messageMediator,
+                                           SystemException systemException) {
+        display( "messageMediator request ID",
+            messageMediator.getRequestId() ) ;
+
+        Stripe stripe = stripeFor(messageMediator.getRequestId());
+        Thread waiter;
+        Runnable action;
+
+        synchronized (stripe) {
+            OutCallDesc call = stripe.get(messageMediator.getRequestId());
+            if (call == null || call.messageMediator != messageMediator
+                || call.isDone()) {
+                display( "Call already done" ) ;
+                return false;
+            }
+
+            messageMediator.cancelRequest();
+            call.exception = systemException;
+            waiter = call.waiter;
+            action = call.action;
+            call.action = null;
+        }
+
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
+        }
+        if (action != null) {
+            action.run();
+        }
+        return true;
+    }
+
+    @Transport
+    public void whenResponseReceived(MessageMediator messageMediator,
+                                     Runnable action) {
+        display( "messageMediator request ID",
+            messageMediator.getRequestId() ) ;
+
+        if (messageMediator.isOneWay()) {
+            display( "Oneway request: not waiting") ;
+            action.run();
+            return;
+        }
+
+        Stripe stripe = stripeFor(messageMediator.getRequestId());
+        synchronized (stripe) {
+            OutCallDesc call = stripe.get(messageMediator.getRequestId());
+            if (call == null) {
+                throw wrapper.nullOutCall() ;
+            }
+
+            if (!call.isDone()) {
+                call.action = action;
+                return;
+            }
+        }
+
+        display( "Response already received" ) ;
+        action.run();
     }
 
     public MessageMediator getMessageMediator(int requestId)
     {
-        OutCallDesc call = out_calls.get(requestId);
-        if (call == null) {
-            // This can happen when getting early reply fragments for a
-            // request which has completed (e.g., client marshaling error).
-            return null;
+        Stripe stripe = stripeFor(requestId);
+        synchronized (stripe) {
+            OutCallDesc call = stripe.get(requestId);
+            if (call == null) {
+                // This can happen when getting early reply fragments for a
+                // request which has completed (e.g., client marshaling error).
+                return null;
+            }
+            return call.messageMediator;
         }
-        return call.messageMediator;
     }
 }
 
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+package com.sun.corba.ee.impl.transport;
+
+import com.sun.corba.ee.spi.orb.ORB;
+import com.sun.corba.ee.spi.trace.Transport;
+import com.sun.corba.ee.spi.transport.EventHandler;
+import com.sun.corba.ee.spi.transport.Selector;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.glassfish.gmbal.Description ;
+import org.glassfish.gmbal.ManagedAttribute ;
+import org.glassfish.gmbal.ManagedObject ;
+import org.glassfish.pfl.tf.spi.annotation.InfoMethod;
+
+/**
+ * A Selector that spreads the connections and acceptors of the ORB across
+ * several SelectorImpl threads.  An EventHandler that uses a select thread
+ * to wait is assigned to the selector with the fewest event handlers when it
+ * is registered, and stays with that selector until it is unregistered.
+ * EventHandlers that use their own reader or listener thread do not need a
+ * selector, and are always handled by the first one.
+ */
+@Transport
+@ManagedObject
+@Description( "The Selectors which handle incoming requests to the ORB" )
+public class SelectorGroupImpl implements Selector
+{
+    private final SelectorImpl[] selectors;
+    private final ConcurrentMap<EventHandler,SelectorImpl> assignments =
+        new ConcurrentHashMap<EventHandler,SelectorImpl>();
+
+    public SelectorGroupImpl(ORB orb, int numberOfSelectors) {
+        selectors = new SelectorImpl[Math.max(1, numberOfSelectors)];
+        if (selectors.length == 1) {
+            selectors[0] = new SelectorImpl(orb);
+        } else {
+            for (int ctr = 0; ctr < selectors.length; ctr++) {
+                selectors[ctr] = new SelectorImpl(orb, "SelectorThread-" + ctr);
+            }
+        }
+    }
+
+    @ManagedAttribute
+    @Description( "The individual selectors" )
+    public Collection<SelectorImpl> getSelectors() {
+        return Collections.unmodifiableList(Arrays.asList(selectors));
+    }
+
+    public void setTimeout(long timeout) {
+        for (SelectorImpl selector : selectors) {
+            selector.setTimeout(timeout);
+        }
+    }
+
+    @ManagedAttribute
+    @Description( "The selector timeout" )
+    public long getTimeout() {
+        return selectors[0].getTimeout();
+    }
+
+    @InfoMethod
+    private void assignedSelector( EventHandler eh, SelectorImpl selector ) { }
+
+    public void registerInterestOps(EventHandler eventHandler) {
+        getSelectorFor(eventHandler).registerInterestOps(eventHandler);
+    }
+
+    @Transport
+    public void registerForEvent(EventHandler eventHandler) {
+        if (!eventHandler.shouldUseSelectThreadToWait()) {
+            selectors[0].registerForEvent(eventHandler);
+            return;
+        }
+
+        SelectorImpl selector = leastLoadedSelector();
+        SelectorImpl previous = assignments.putIfAbsent(eventHandler, selector);
+        if (previous == null) {
+            selector.eventHandlerAssigned();
+        } else {
+            selector = previous;
+        }
+
+        assignedSelector(eventHandler, selector);
+        selector.registerForEvent(eventHandler);
+    }
+
+    @Transport
+    public void unregisterForEvent(EventHandler eventHandler) {
+        if (!eventHandler.shouldUseSelectThreadToWait()) {
+            selectors[0].unregisterForEvent(eventHandler);
+            return;
+        }
+
+        SelectorImpl selector = assignments.remove(eventHandler);
+        if (selector == null) {
+            return;
+        }
+
+        selector.eventHandlerUnassigned();
+        selector.unregisterForEvent(eventHandler);
+    }
+
+    public void close() {
+        for (SelectorImpl selector : selectors) {
+            selector.close();
+        }
+    }
+
+    private SelectorImpl getSelectorFor(EventHandler eventHandler) {
+        SelectorImpl result = assignments.get(eventHandler);
+        return result == null ? selectors[0] : result;
+    }
+
+    private SelectorImpl leastLoadedSelector() {
+        SelectorImpl result = selectors[0];
+        int load = result.getNumberOfEventHandlers();
+        for (int ctr = 1; ctr < selectors.length; ctr++) {
+            int candidateLoad = selectors[ctr].getNumberOfEventHandlers();
+            if (candidateLoad < load) {
+                result = selectors[ctr];
+                load = candidateLoad;
+            }
+        }
+
+        return result;
+    }
+}
+
+// End of file.
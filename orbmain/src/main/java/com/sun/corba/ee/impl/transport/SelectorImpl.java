@@ -42,6 +42,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.glassfish.gmbal.Description ;
 import org.glassfish.gmbal.ManagedAttribute ;
@@ -74,6 +75,10 @@ public class SelectorImpl
     private boolean selectorStarted;
     private volatile boolean closed;
     private Map<EventHandler, Long> lastActivityTimers = new HashMap<EventHandler, Long>();
+    private final String threadName;
+    private final AtomicInteger numberOfEventHandlers = new AtomicInteger();
+    // Only updated by the selector thread
+    private volatile long numberOfEvents;
 
     interface Timer {
         long getCurrentTime();
@@ -86,12 +91,21 @@ public class SelectorImpl
     };
 
     public SelectorImpl(ORB orb) {
-        this(orb, SYSTEM_TIMER);
+        this(orb, SYSTEM_TIMER, "SelectorThread");
+    }
+
+    public SelectorImpl(ORB orb, String threadName) {
+        this(orb, SYSTEM_TIMER, threadName);
     }
 
     SelectorImpl(ORB orb, Timer timer) {
+        this(orb, timer, "SelectorThread");
+    }
+
+    SelectorImpl(ORB orb, Timer timer, String threadName) {
         this.orb = orb;
         this.timer = timer;
+        this.threadName = threadName;
         selector = null;
         selectorStarted = false;
         timeout = 60000;
@@ -114,6 +128,28 @@ public class SelectorImpl
         return timeout;
     }
 
+    @ManagedAttribute
+    @Description( "The number of connections and acceptors assigned to this selector" )
+    public int getNumberOfEventHandlers()
+    {
+        return numberOfEventHandlers.get();
+    }
+
+    @ManagedAttribute
+    @Description( "The number of I/O events this selector has dispatched" )
+    public long getNumberOfEvents()
+    {
+        return numberOfEvents;
+    }
+
+    void eventHandlerAssigned() {
+        numberOfEventHandlers.incrementAndGet();
+    }
+
+    void eventHandlerUnassigned() {
+        numberOfEventHandlers.decrementAndGet();
+    }
+
     @InfoMethod
     private void display( String msg, Object value ) { }
 
@@ -263,7 +299,7 @@ public class SelectorImpl
         java.security.AccessController.doPrivileged(
             new java.security.PrivilegedAction<Object>() {
                 public Object run() {
-                    setName("SelectorThread");
+                    setName(threadName);
                     return null;
                 }
             });
@@ -314,6 +350,7 @@ public class SelectorImpl
 
             if (selectionKey.isValid()) {
                 EventHandler eventHandler = (EventHandler)selectionKey.attachment();
+                numberOfEvents++;
                 try {
                     eventHandler.handleEvent();
                     if (lastActivityTimers.containsKey(eventHandler))
@@ -45,14 +45,27 @@ public class SocketChannelReader {
     public ByteBuffer read(SocketChannel channel, ByteBuffer previouslyReadData, int minNeeded) throws IOException {
         ByteBuffer byteBuffer = prepareToAppendTo(previouslyReadData);
 
-        int numBytesRead = channel.read(byteBuffer);
+        int numBytesRead;
+        try {
+            numBytesRead = channel.read(byteBuffer);
+        } catch (IOException e) {
+            releaseIfNew(byteBuffer, previouslyReadData);
+            throw e;
+        }
+
         if (numBytesRead < 0) {
+            releaseIfNew(byteBuffer, previouslyReadData);
             throw new EOFException("End of input detected");
         } else if (numBytesRead == 0) {
-            byteBuffer.flip();
+            // the caller keeps previouslyReadData
+            if (byteBuffer == previouslyReadData)
+                byteBuffer.flip();
+            else
+                releaseIfNew(byteBuffer, previouslyReadData);
             return null;
         }
 
+        releaseIfNew(previouslyReadData, byteBuffer);
         while (numBytesRead > 0 && byteBuffer.position() < minNeeded) {
             if (haveFilledBuffer(byteBuffer))
                 byteBuffer = expandBuffer(byteBuffer);
@@ -64,8 +77,7 @@ public class SocketChannelReader {
 
     private ByteBuffer expandBuffer(ByteBuffer byteBuffer) {
         byteBuffer.flip();
-        byteBuffer = reallocateBuffer(byteBuffer);
-        return byteBuffer;
+        return orb.getByteBufferPool().reAllocate(byteBuffer, 2*byteBuffer.capacity());
     }
 
     private boolean haveFilledBuffer(ByteBuffer byteBuffer) {
@@ -76,19 +88,28 @@ public class SocketChannelReader {
         if (byteBuffer == null) {
             byteBuffer = allocateBuffer();
         } else if (byteBuffer.limit() == byteBuffer.capacity()) {
-            byteBuffer = reallocateBuffer(byteBuffer);
+            byteBuffer = copyToLargerBuffer(byteBuffer);
         } else {
             byteBuffer.position(byteBuffer.limit()).limit(byteBuffer.capacity());
         }
         return byteBuffer;
     }
 
-    private ByteBuffer reallocateBuffer(ByteBuffer byteBuffer) {
-        try {
-            return orb.getByteBufferPool().reAllocate(byteBuffer, 2*byteBuffer.capacity());
-        } finally {
-            byteBuffer.position(0); // reAllocate call above moves the position; move it back now in case we need it
-        }
+    // Unlike reAllocate, keeps the old buffer, which is still needed if no data is read.
+    private ByteBuffer copyToLargerBuffer(ByteBuffer byteBuffer) {
+        int size = orb.getORBData().getReadByteBufferSize();
+        while (size <= 2*byteBuffer.capacity())
+            size *= 2;
+        ByteBuffer newBuffer = orb.getByteBufferPool().getByteBuffer(size);
+        ByteBuffer oldData = byteBuffer.duplicate();
+        oldData.position(0);
+        newBuffer.put(oldData);
+        return newBuffer;
+    }
+
+    private void releaseIfNew(ByteBuffer byteBuffer, ByteBuffer otherBuffer) {
+        if (byteBuffer != null && byteBuffer != otherBuffer)
+            orb.getByteBufferPool().releaseByteBuffer(byteBuffer);
     }
 
     private ByteBuffer allocateBuffer() {
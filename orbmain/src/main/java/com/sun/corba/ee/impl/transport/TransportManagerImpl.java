@@ -29,6 +29,7 @@ import com.sun.corba.ee.spi.trace.Transport;
 import com.sun.corba.ee.spi.transport.Acceptor;
 import com.sun.corba.ee.spi.transport.ByteBufferPool;
 import com.sun.corba.ee.spi.transport.ContactInfo;
+import com.sun.corba.ee.spi.transport.ConnectionCache;
 import com.sun.corba.ee.spi.transport.InboundConnectionCache;
 import com.sun.corba.ee.spi.transport.MessageTraceManager;
 import com.sun.corba.ee.spi.transport.OutboundConnectionCache;
@@ -41,6 +42,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.glassfish.external.probe.provider.PluginPoint ;
 import org.glassfish.external.probe.provider.StatsProviderManager ;
@@ -62,6 +64,10 @@ public class TransportManagerImpl
     protected final Map<String,OutboundConnectionCache> outboundConnectionCaches;
     protected final Map<String,InboundConnectionCache> inboundConnectionCaches;
     protected Selector selector;
+    private final AtomicLong numberOfSocketWrites = new AtomicLong();
+    private final AtomicLong numberOfBuffersWritten = new AtomicLong();
+    private final ConnectionReaper connectionReaper;
+    private final MessageCompressor messageCompressor;
 
     public TransportManagerImpl(ORB orb)
     {
@@ -69,13 +75,23 @@ public class TransportManagerImpl
         acceptors = new ArrayList<Acceptor>();
         outboundConnectionCaches = new HashMap<String,OutboundConnectionCache>();
         inboundConnectionCaches = new HashMap<String,InboundConnectionCache>();
-        selector = new SelectorImpl(orb);
+        selector = new SelectorGroupImpl(orb, getNumberOfSelectors(orb));
+        connectionReaper = new ConnectionReaper(orb);
+        messageCompressor = new MessageCompressor(orb);
         ManagedObjectManager mom = orb.mom();
         if (mom != null) {
             mom.register(orb, this);
         }
     }
 
+    private static int getNumberOfSelectors(ORB orb) {
+        int count = orb.getORBData().getSelectorCount();
+        if (count <= 0) {
+            count = Runtime.getRuntime().availableProcessors();
+        }
+        return count;
+    }
+
     public ByteBufferPool getByteBufferPool(int id)
     {
         throw new RuntimeException();
@@ -91,11 +107,15 @@ public class TransportManagerImpl
                     connectionCache = outboundConnectionCaches.get(
                         contactInfo.getConnectionCacheType());
                     if (connectionCache == null) {
-                        // REVISIT: Would like to be able to configure
-                        // the connection cache type used.
-                        connectionCache =
-                            new OutboundConnectionCacheImpl(orb,
+                        if (orb.getORBData().getMaxParallelConnections() > 0) {
+                            connectionCache =
+                                new ParallelOutboundConnectionCacheImpl(orb,
+                                                                 contactInfo);
+                        } else {
+                            connectionCache =
+                                new OutboundConnectionCacheImpl(orb,
                                                                  contactInfo);
+                        }
 
                         // We need to clean up the multi-cache support:
                         // this really only works with a single cache.
@@ -109,6 +129,8 @@ public class TransportManagerImpl
                         outboundConnectionCaches.put(
                             contactInfo.getConnectionCacheType(),
                             connectionCache);
+                        connectionReaper.addConnectionCache(
+                            (ConnectionCacheBase) connectionCache);
                     }
                 }
                 contactInfo.setConnectionCache(connectionCache);
@@ -150,6 +172,8 @@ public class TransportManagerImpl
                         inboundConnectionCaches.put(
                             acceptor.getConnectionCacheType(),
                             connectionCache);
+                        connectionReaper.addConnectionCache(
+                            (ConnectionCacheBase) connectionCache);
                     }
                 }
                 acceptor.setConnectionCache(connectionCache);
@@ -177,9 +201,39 @@ public class TransportManagerImpl
         acceptors.remove(acceptor);
     }
 
+    public long getNumberOfSocketWrites() {
+        return numberOfSocketWrites.get();
+    }
+
+    public long getNumberOfBuffersWritten() {
+        return numberOfBuffersWritten.get();
+    }
+
+    public void recordSocketWrites(int numberOfWrites, int numberOfBuffers) {
+        numberOfSocketWrites.addAndGet(numberOfWrites);
+        numberOfBuffersWritten.addAndGet(numberOfBuffers);
+    }
+
+    public MessageCompressor getMessageCompressor() {
+        return messageCompressor;
+    }
+
+    public void connectionAdded(ConnectionCache connectionCache) {
+        connectionReaper.connectionAdded(connectionCache);
+    }
+
+    public long getNumberOfConnectionsReclaimed() {
+        return connectionReaper.getNumberOfConnectionsReclaimed();
+    }
+
+    public long getNumberOfIdleConnectionsClosed() {
+        return connectionReaper.getNumberOfIdleConnectionsClosed();
+    }
+
     @Transport
     public void close()
     {
+        connectionReaper.close();
         for (OutboundConnectionCache cc : outboundConnectionCaches.values()) {
             StatsProviderManager.unregister( cc ) ;
             cc.close() ;
@@ -99,7 +99,7 @@ public abstract class ConnectionCacheBase<C extends Connection>
      * @return True if at least one connection was reclaimed
      */
     @Transport
-    protected boolean reclaim() {
+    public boolean reclaim() {
         int ctr = 0 ;
         while (ctr < numberToReclaim()) {
             Handle<C> candidate = reclaimableConnections.poll() ;
@@ -72,9 +72,25 @@ public class RepositoryId {
     private static final String defaultServerURL = JDKBridge.getLocalCodebase() ;
     private static final boolean useCodebaseOnly = JDKBridge.useCodebaseOnly() ;
 
-    private static final Map<Class<?>, String> classToRepStr = new WeakHashMap<>();
+    private static final ClassValue<String> classToRepStr = new ClassValue<String>() {
+        @Override
+        protected String computeValue(Class<?> clazz) {
+            String repid = kValuePrefix + convertToISOLatin1(clazz.getName()) +
+                createHashString(clazz);
+
+            synchronized (repStrToClass) {
+                repStrToClass.put(repid, clazz);
+            }
+            return repid;
+        }
+    };
     private static final Map<Class<?>, String> classIDLToRepStr = new WeakHashMap<>();
-    private static final Map<Class<?>, String> classSeqToRepStr = new WeakHashMap<>();
+    private static final ClassValue<String> classSeqToRepStr = new ClassValue<String>() {
+        @Override
+        protected String computeValue(Class<?> clazz) {
+            return computeSequenceRepID(clazz);
+        }
+    };
 
     private static final Map<String, byte[]> repStrToByteArray = new IdentityHashMap<>();
     private static final Map<String, Class<?>> repStrToClass = new SoftCache<>();
@@ -301,6 +317,30 @@ public class RepositoryId {
     public static final String kjava_rmi_Remote = createForAnyType(java.rmi.Remote.class);
     public static final String korg_omg_CORBA_Object = createForAnyType(org.omg.CORBA.Object.class);
 
+    // The value types that nearly every application sends.  Their IDs are
+    // parsed once here and are never evicted from the cache.
+    private static final Class<?>[] kPreloadedClasses = {
+        String.class, Class.class,
+        Boolean.class, Byte.class, Character.class, Short.class,
+        Integer.class, Long.class, Float.class, Double.class,
+        StackTraceElement.class, Throwable.class, Exception.class, RuntimeException.class,
+        java.util.ArrayList.class, java.util.LinkedList.class, java.util.Vector.class,
+        java.util.HashMap.class, java.util.LinkedHashMap.class, java.util.TreeMap.class,
+        java.util.Hashtable.class, java.util.Properties.class,
+        java.util.HashSet.class, java.util.LinkedHashSet.class, java.util.TreeSet.class,
+        java.util.Date.class, java.util.Locale.class, java.util.UUID.class,
+        Object[].class, String[].class, byte[].class, int[].class, long[].class
+    };
+
+    static {
+        for (Class<?> cls : kPreloadedClasses) {
+            String id = createForAnyType(cls);
+            if (id != null) {
+                cache.preload(id);
+            }
+        }
+    }
+
     // To create a RepositoryID, use code similar to the following:
     // RepositoryId.cache.getId( id );
 
@@ -491,7 +531,10 @@ public class RepositoryId {
         try {
             return getClassFromType();
         } catch (ClassNotFoundException cnfe) {
-            Class<?> clz = repStrToClass.get(repId);
+            Class<?> clz;
+            synchronized (repStrToClass) {
+                clz = repStrToClass.get(repId);
+            }
             if (clz != null)
                 return clz;
             else
@@ -603,17 +646,8 @@ public class RepositoryId {
         if (clazzRepIDStr.equals(repositoryID))
             return false;
 
-        RepositoryId targetRepid;
-        RepositoryId clazzRepid;
-
-        synchronized(cache) {
-            // to avoid race condition where multiple threads could be
-            // accessing this method, and their access to the cache may
-            // be interleaved giving unexpected results
-
-            targetRepid = cache.getId(repositoryID);
-            clazzRepid = cache.getId(clazzRepIDStr);
-        }
+        RepositoryId targetRepid = cache.getId(repositoryID);
+        RepositoryId clazzRepid = cache.getId(clazzRepIDStr);
 
         if ((targetRepid.isRMIValueType()) && (clazzRepid.isRMIValueType())){
             if (!targetRepid.getSerialVersionUID()
@@ -690,38 +724,34 @@ public class RepositoryId {
      * @return Created repository ID
      **/
     public static String createSequenceRepID(Class<?> clazz){
-        synchronized (classSeqToRepStr) {
-            String repid = classSeqToRepStr.get(clazz);
-            if (repid != null)
-                return repid;
+        return classSeqToRepStr.get(clazz);
+    }
 
-            Class<?> originalClazz = clazz;
+    private static String computeSequenceRepID(Class<?> clazz){
+        Class<?> originalClazz = clazz;
 
-            Class<?> type = null;
-            int numOfDims = 0;
+        Class<?> type = null;
+        int numOfDims = 0;
 
-            while ((type = clazz.getComponentType()) != null) {
-                numOfDims++;
-                clazz = type;
-            }
+        while ((type = clazz.getComponentType()) != null) {
+            numOfDims++;
+            clazz = type;
+        }
 
-            if (clazz.isPrimitive()) {
-                repid = kValuePrefix + originalClazz.getName()
-                    + kPrimitiveSequenceValueHash;
-            } else {
-                StringBuilder buf = new StringBuilder();
-                buf.append(kValuePrefix);
-                while(numOfDims-- > 0) {
-                    buf.append("[");
-                }
-                buf.append("L");
-                buf.append(convertToISOLatin1(clazz.getName()));
-                buf.append(";");
-                buf.append(createHashString(clazz));
-                repid = buf.toString();
+        if (clazz.isPrimitive()) {
+            return kValuePrefix + originalClazz.getName()
+                + kPrimitiveSequenceValueHash;
+        } else {
+            StringBuilder buf = new StringBuilder();
+            buf.append(kValuePrefix);
+            while(numOfDims-- > 0) {
+                buf.append("[");
             }
-            classSeqToRepStr.put(originalClazz,repid);
-            return repid;
+            buf.append("L");
+            buf.append(convertToISOLatin1(clazz.getName()));
+            buf.append(";");
+            buf.append(createHashString(clazz));
+            return buf.toString();
         }
     }
 
@@ -765,23 +795,11 @@ public class RepositoryId {
     public static String createForJavaType(java.io.Serializable ser)
         throws com.sun.corba.ee.impl.io.TypeMismatchException
     {
-        synchronized (classToRepStr) {
-            String repid = createForSpecialCase(ser);
-            if (repid != null)
-                return repid;
-            Class<?> clazz = ser.getClass();
-            repid = classToRepStr.get(clazz);
-
-            if (repid != null)
-                return repid;
-
-            repid = kValuePrefix + convertToISOLatin1(clazz.getName()) +
-                createHashString(clazz);
-
-            classToRepStr.put(clazz, repid);
-            repStrToClass.put(repid, clazz);
+        String repid = createForSpecialCase(ser);
+        if (repid != null)
             return repid;
-        }
+
+        return classToRepStr.get(ser.getClass());
     }
 
     public static String createForJavaType(Class<?> clz)
@@ -802,22 +820,11 @@ public class RepositoryId {
     public static String createForJavaType(Class<?> clz, ClassInfoCache.ClassInfo cinfo )
         throws com.sun.corba.ee.impl.io.TypeMismatchException
     {
-        synchronized (classToRepStr){
-            String repid = createForSpecialCase(clz,cinfo);
-            if (repid != null)
-                return repid;
-
-            repid = classToRepStr.get(clz);
-            if (repid != null)
-                return repid;
-
-            repid = kValuePrefix + convertToISOLatin1(clz.getName()) +
-                createHashString(clz);
-
-            classToRepStr.put(clz, repid);
-            repStrToClass.put(repid, clz);
+        String repid = createForSpecialCase(clz,cinfo);
+        if (repid != null)
             return repid;
-        }
+
+        return classToRepStr.get(clz);
     }
 
     /**
@@ -20,18 +20,147 @@
 
 package com.sun.corba.ee.impl.util;
 
-import java.util.Hashtable;
-
-public class RepositoryIdCache extends Hashtable<String, RepositoryId> {
-    public final synchronized RepositoryId getId(String key) {
-        RepositoryId repId = super.get(key);
-
-        if (repId != null) {
-            return repId;
-        } else {
-            repId = new RepositoryId(key);
-            put(key, repId);
-            return repId;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.glassfish.gmbal.AMXMetadata;
+import org.glassfish.gmbal.Description;
+import org.glassfish.gmbal.ManagedAttribute;
+import org.glassfish.gmbal.ManagedObject;
+
+/**
+ * The cache of parsed repository IDs.  Lookups never lock: the entries are
+ * kept in a ConcurrentHashMap, and once the cache grows past its maximum
+ * size, one thread sweeps it CLOCK fashion, removing the entries that have
+ * not been used since the previous sweep.  Preloaded entries are never
+ * removed.
+ */
+@ManagedObject
+@Description( "The cache of parsed repository IDs shared by all ORBs in the process" )
+@AMXMetadata( isSingleton=true )
+public class RepositoryIdCache {
+    static final int DEFAULT_MAX_SIZE = 4096;
+
+    private final int maxSize;
+    private final ConcurrentMap<String,Entry> entries = new ConcurrentHashMap<String,Entry>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    private final LongAdder numberOfHits = new LongAdder();
+    private final LongAdder numberOfMisses = new LongAdder();
+    private final LongAdder numberOfEvictions = new LongAdder();
+
+    public RepositoryIdCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    RepositoryIdCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public final RepositoryId getId(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            numberOfHits.increment();
+            if (!entry.referenced) {
+                entry.referenced = true;
+            }
+            return entry.repId;
+        }
+
+        numberOfMisses.increment();
+        RepositoryId repId = new RepositoryId(key);
+        entry = entries.putIfAbsent(key, new Entry(repId, false));
+        if (entry != null) {
+            return entry.repId;
+        }
+
+        if (entries.size() > maxSize) {
+            sweep();
+        }
+
+        return repId;
+    }
+
+    /**
+     * Adds a repository ID that will stay in the cache for the life of the process.
+     * @param key the repository ID string
+     */
+    public final void preload(String key) {
+        entries.put(key, new Entry(new RepositoryId(key), true));
+    }
+
+    // Removes unreferenced entries until the cache is back to three quarters
+    // of its maximum size.  The first pass clears the reference bits it finds,
+    // so a second pass can always make progress.
+    private void sweep() {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            int target = maxSize - maxSize / 4;
+            for (int pass = 0; pass < 2 && entries.size() > target; pass++) {
+                Iterator<Entry> iter = entries.values().iterator();
+                while (iter.hasNext() && entries.size() > target) {
+                    Entry entry = iter.next();
+                    if (entry.pinned) {
+                        continue;
+                    }
+
+                    if (entry.referenced) {
+                        entry.referenced = false;
+                    } else {
+                        iter.remove();
+                        numberOfEvictions.increment();
+                    }
+                }
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    @ManagedAttribute
+    @Description( "The number of lookups that found a parsed repository ID" )
+    public long getNumberOfHits() {
+        return numberOfHits.sum();
+    }
+
+    @ManagedAttribute
+    @Description( "The number of lookups that had to parse the repository ID" )
+    public long getNumberOfMisses() {
+        return numberOfMisses.sum();
+    }
+
+    @ManagedAttribute
+    @Description( "The number of parsed repository IDs removed to keep the cache within its maximum size" )
+    public long getNumberOfEvictions() {
+        return numberOfEvictions.sum();
+    }
+
+    @ManagedAttribute
+    @Description( "The number of parsed repository IDs in the cache" )
+    public int getSize() {
+        return entries.size();
+    }
+
+    @ManagedAttribute
+    @Description( "The size above which unused repository IDs are removed" )
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    private static class Entry {
+        private final RepositoryId repId;
+        private final boolean pinned;
+        private volatile boolean referenced;
+
+        Entry(RepositoryId repId, boolean pinned) {
+            this.repId = repId;
+            this.pinned = pinned;
         }
     }
 }
@@ -58,6 +58,7 @@ public final class Utility {
     public static final String DYNAMIC_STUB_SUFFIX = "_DynamicStub" ;
     public static final String IDL_STUB_SUFFIX = "Stub";
     public static final String TIE_SUFIX = "_Tie";
+    public static final String DYNAMIC_TIE_SUFFIX = "_DynamicTie" ;
     private static final IdentityHashMap tieCache = new IdentityHashMap();
     private static final IdentityHashMap tieToStubCache = new IdentityHashMap();
     private static final IdentityHashMap stubToTieCache = new IdentityHashMap();
@@ -909,27 +910,53 @@ public final class Utility {
      */
     public static String tieName (String className)
     {
-        return
-            PackagePrefixChecker.hasOffendingPrefix(tieNameForCompiler(className)) ?
-            PackagePrefixChecker.packagePrefix() + tieNameForCompiler(className) :
-            tieNameForCompiler(className);
+        return tieName( className, false ) ;
+    }
+
+    /**
+     * Create the name of the class generated to dispatch requests
+     * for a dynamic tie.
+     * @param className Class used for RMI
+     * @return dynamic Tie name
+     */
+    public static String dynamicTieName( String className )
+    {
+        return tieName( className, true ) ;
+    }
+
+    private static String tieName( String className, boolean isDynamic )
+    {
+        String name = tieNameForCompiler( className, isDynamic ) ;
+        if (PackagePrefixChecker.hasOffendingPrefix( name )) {
+            name = PackagePrefixChecker.packagePrefix() + name ;
+        }
+        return name ;
     }
 
     public static String tieNameForCompiler (String className)
+    {
+        return tieNameForCompiler( className, false ) ;
+    }
+
+    private static String tieNameForCompiler( String className,
+        boolean isDynamic )
     {
         int index = className.indexOf('$');
         if (index < 0) {
             index = className.lastIndexOf('.');
         }
+
+        String suffix = isDynamic ? DYNAMIC_TIE_SUFFIX : TIE_SUFIX ;
+
         if (index > 0) {
             return className.substring(0,index+1) +
                 STUB_PREFIX +
                 className.substring(index+1) +
-                TIE_SUFIX;
+                suffix;
         } else {
             return STUB_PREFIX +
                 className +
-                TIE_SUFIX;
+                suffix;
         }
     }
 
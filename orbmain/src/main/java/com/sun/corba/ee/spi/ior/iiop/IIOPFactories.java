@@ -29,7 +29,9 @@ import com.sun.corba.ee.impl.ior.iiop.JavaCodebaseComponentImpl ;
 import com.sun.corba.ee.impl.ior.iiop.JavaSerializationComponent;
 import com.sun.corba.ee.impl.ior.iiop.LoadBalancingComponentImpl ;
 import com.sun.corba.ee.impl.ior.iiop.MaxStreamFormatVersionComponentImpl ;
+import com.sun.corba.ee.impl.ior.iiop.MessageCompressionComponent ;
 import com.sun.corba.ee.impl.ior.iiop.ORBTypeComponentImpl ;
+import com.sun.corba.ee.impl.ior.iiop.RepositoryIdDictionaryComponent ;
 import com.sun.corba.ee.impl.ior.iiop.RequestPartitioningComponentImpl ;
 import com.sun.corba.ee.spi.folb.ClusterInstanceInfo ;
 import com.sun.corba.ee.spi.ior.EncapsulationFactoryBase ;
@@ -216,6 +218,34 @@ public abstract class IIOPFactories {
         return JavaSerializationComponent.singleton();
     }
 
+    public static IdentifiableFactory makeRepositoryIdDictionaryComponentFactory() {
+        return new EncapsulationFactoryBase(
+                                ORBConstants.TAG_REPOSITORY_ID_DICTIONARY_ID) {
+            public Identifiable readContents(InputStream in) {
+                byte version = in.read_octet();
+                return new RepositoryIdDictionaryComponent(version);
+            }
+        };
+    }
+
+    public static RepositoryIdDictionaryComponent makeRepositoryIdDictionaryComponent() {
+        return RepositoryIdDictionaryComponent.singleton();
+    }
+
+    public static IdentifiableFactory makeMessageCompressionComponentFactory() {
+        return new EncapsulationFactoryBase(
+                                ORBConstants.TAG_MESSAGE_COMPRESSION_ID) {
+            public Identifiable readContents(InputStream in) {
+                byte version = in.read_octet();
+                return new MessageCompressionComponent(version);
+            }
+        };
+    }
+
+    public static MessageCompressionComponent makeMessageCompressionComponent() {
+        return MessageCompressionComponent.singleton();
+    }
+
     public static IdentifiableFactory makeIIOPProfileFactory()
     {
         return new EncapsulationFactoryBase(TAG_INTERNET_IOP.value) {
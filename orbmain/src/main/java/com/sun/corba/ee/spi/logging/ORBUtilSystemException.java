@@ -38,6 +38,7 @@ import java.nio.charset.MalformedInputException;
 import java.rmi.RemoteException;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.zip.DataFormatException;
 
 import org.glassfish.pfl.basic.logex.Chain;
 import org.glassfish.pfl.basic.logex.ExceptionWrapper;
@@ -348,6 +349,10 @@ public interface ORBUtilSystemException {
     @Log( level=LogLevel.FINE, id=86 )
     BAD_OPERATION bindNameException(@Chain Exception e);
 
+    @Log( level=LogLevel.WARNING, id=87 )
+    @Message( "Call to StubAdapter.invokeAsync did not pass a dynamic stub" )
+    BAD_OPERATION invokeAsyncRequiresDynamicStub(  ) ;
+
     @Log( level=LogLevel.WARNING, id=1 )
     @Message( "Null parameter" )
     @CS( CSValue.MAYBE )
@@ -530,6 +535,14 @@ public interface ORBUtilSystemException {
     @Message( "CodeBase unavailable on connection {0}" )
     BAD_PARAM codeBaseUnavailable( Connection conn ) ;
 
+    @Log( level=LogLevel.WARNING, id=36 )
+    @Message( "Could not read the CodeBase cache file {0}" )
+    BAD_PARAM codeBaseCacheReadFailed( @Chain Exception exc, String fileName ) ;
+
+    @Log( level=LogLevel.WARNING, id=37 )
+    @Message( "Could not write the CodeBase cache file {0}" )
+    BAD_PARAM codeBaseCacheWriteFailed( @Chain Exception exc, String fileName ) ;
+
     @Log( level=LogLevel.WARNING, id=1 )
     @Message( "DSI method not called" )
     @CS( CSValue.MAYBE )
@@ -777,6 +790,16 @@ public interface ORBUtilSystemException {
     @Message( "Timeout while reading data in buffer manager" )
     COMM_FAILURE bufferReadManagerTimeout(  ) ;
 
+    @Log( level=LogLevel.FINE, id=38 )
+    @Message( "IOException while opening a connection to {0}" )
+    COMM_FAILURE ioexceptionOpeningConnection( @Chain Exception exc,
+        String arg0 ) ;
+
+    @Log( level=LogLevel.FINE, id=39 )
+    @Message( "Request was cancelled while waiting for its response" )
+    @CS( CSValue.MAYBE )
+    COMM_FAILURE requestCancelled(  ) ;
+
     @Log( level=LogLevel.WARNING, id=1 )
     @Message( "A character did not map to the transmission code set" )
     DATA_CONVERSION badStringifiedIorLen(  ) ;
@@ -1436,6 +1459,22 @@ public interface ORBUtilSystemException {
     INTERNAL changedTypeIdOnSetEffectiveTargetIOR( String oldTypeId,
         String newTypeId );
 
+    @Log( level=LogLevel.WARNING, id=139 )
+    @Message( "ByteBuffer {0} of capacity {1} was released to the "
+        + "ByteBufferPool more than once" )
+    INTERNAL byteBufferReleasedTwice( @Chain Throwable previousRelease,
+        int id, int capacity ) ;
+
+    @Log( level=LogLevel.WARNING, id=140 )
+    @Message( "ByteBuffer {0} of capacity {1} was never released to the "
+        + "ByteBufferPool" )
+    INTERNAL byteBufferLeaked( @Chain Throwable allocationSite,
+        int id, int capacity ) ;
+
+    @Log( level=LogLevel.WARNING, id=141 )
+    @Message( "Exception in the connection reaper" )
+    INTERNAL exceptionInConnectionReaper( @Chain Throwable thr ) ;
+
     @Log( level=LogLevel.WARNING, id=1 )
     @Message( "Data read past end of chunk without closing the chunk" )
     MARSHAL chunkOverflow(  ) ;
@@ -1769,6 +1808,20 @@ public interface ORBUtilSystemException {
     @Message( "Expected String value for enum class {0}, but got value {1}" )
     MARSHAL enumValueNotString( Class cls, Serializable value ) ;
 
+    @Log( level=LogLevel.WARNING, id=70 )
+    @Message( "Repository ID dictionary service context defines {0} entries "
+        + "starting at index {1}, which exceeds the dictionary size" )
+    MARSHAL badRepositoryIdDictionaryDefinitions( int count, int firstIndex ) ;
+
+    @Log( level=LogLevel.WARNING, id=71 )
+    @Message( "Compressed GIOP message of {0} bytes does not inflate "
+        + "to its declared body length of {1} bytes" )
+    MARSHAL badCompressedMessage( int compressedLength, int bodyLength ) ;
+
+    @Log( level=LogLevel.WARNING, id=72 )
+    @Message( "Compressed GIOP message could not be inflated" )
+    MARSHAL compressedMessageCorrupted( @Chain DataFormatException exc ) ;
+
     @Log( level=LogLevel.FINE, id=1 )
     @Message( "feature not implemented" )
     NO_IMPLEMENT genericNoImpl(  ) ;
@@ -84,6 +84,10 @@ public interface POASystemException {
     @Message( "Null repository id" )
     BAD_PARAM nullRepositoryId(  ) ;
 
+    @Log( level=LogLevel.WARNING, id=4 )
+    @Message( "{0} object ids were given with {1} servants" )
+    BAD_PARAM idsAndServantsMismatch( int numIds, int numServants ) ;
+
     @Log( level=LogLevel.WARNING, id=1 )
     @Message( "invoke setup???" )
     INTERNAL invokesetup(  ) ;
@@ -82,6 +82,12 @@ public class ORBConstants {
     // Introduced in GFv2.1
     public static final int TAG_LOAD_BALANCING_ID =
         SUN_TAGGED_COMPONENT_ID_BASE + 5;
+    // Advertises support for the per-connection repository ID dictionary.
+    public static final int TAG_REPOSITORY_ID_DICTIONARY_ID =
+        SUN_TAGGED_COMPONENT_ID_BASE + 6;
+    // Advertises that the ORB accepts compressed GIOP messages.
+    public static final int TAG_MESSAGE_COMPRESSION_ID =
+        SUN_TAGGED_COMPONENT_ID_BASE + 7;
 
     ////////////////////////////////////////////////////
     //
@@ -98,6 +104,12 @@ public class ORBConstants {
     // Introduced in AS 9.
     public static final int FOLB_IOR_UPDATE_SERVICE_CONTEXT_ID =
         SUN_SERVICE_CONTEXT_ID_BASE + 2;
+    // Carries repository ID dictionary definitions and acknowledgements.
+    public static final int REPOSITORY_ID_DICTIONARY_SERVICE_CONTEXT_ID =
+        SUN_SERVICE_CONTEXT_ID_BASE + 3;
+    // Tells the server that the client accepts compressed replies.
+    public static final int MESSAGE_COMPRESSION_SERVICE_CONTEXT_ID =
+        SUN_SERVICE_CONTEXT_ID_BASE + 4;
 
 
     ////////////////////////////////////////////////////
@@ -194,13 +206,21 @@ public class ORBConstants {
     public static final String GIOP_VERSION                     = SUN_PREFIX + "giop.ORBGIOPVersion" ;
     public static final String GIOP_FRAGMENT_SIZE               = SUN_PREFIX + "giop.ORBFragmentSize" ;
     public static final String GIOP_BUFFER_SIZE                 = SUN_PREFIX + "giop.ORBBufferSize" ;
+    public static final String GIOP_FRAGMENTS_PER_WRITE         = SUN_PREFIX + "giop.ORBFragmentsPerWrite" ;
     public static final String GIOP_11_BUFFMGR                  = SUN_PREFIX + "giop.ORBGIOP11BuffMgr";
     public static final String GIOP_12_BUFFMGR                  = SUN_PREFIX + "giop.ORBGIOP12BuffMgr";
     public static final String GIOP_TARGET_ADDRESSING           = SUN_PREFIX + "giop.ORBTargetAddressing";
+    public static final String GIOP_MESSAGE_COMPRESSION         = SUN_PREFIX + "giop.ORBMessageCompression";
+    public static final String GIOP_MESSAGE_COMPRESSION_THRESHOLD = SUN_PREFIX + "giop.ORBMessageCompressionThreshold";
     public static final int GIOP_DEFAULT_FRAGMENT_SIZE = 4096;
     public static final int GIOP_DEFAULT_BUFFER_SIZE = 4096;
+    public static final int GIOP_DEFAULT_FRAGMENTS_PER_WRITE = 4;
     public static final int DEFAULT_GIOP_11_BUFFMGR = 0; //Growing
     public static final int DEFAULT_GIOP_12_BUFFMGR = 2; //Streaming
+    public static final int GIOP_DEFAULT_MESSAGE_COMPRESSION_THRESHOLD = 4096;
+    public static final int MESSAGE_COMPRESSION_NONE = 0;
+    public static final int MESSAGE_COMPRESSION_DEFLATE = 1; // Deflater.DEFAULT_COMPRESSION
+    public static final int MESSAGE_COMPRESSION_FAST = 2; // Deflater.BEST_SPEED
     public static final short ADDR_DISP_OBJKEY = 0; // object key used for target addressing
     public static final short ADDR_DISP_PROFILE = 1; // iop profile used for target addressing
     public static final short ADDR_DISP_IOR = 2; // ior used for target addressing
@@ -226,6 +246,20 @@ public class ORBConstants {
         SUN_PREFIX + "connection.ORBLowWaterMark" ;
     public static final String NUMBER_TO_RECLAIM_PROPERTY =
         SUN_PREFIX + "connection.ORBNumberToReclaim" ;
+    // Maximum number of connections opened to the same endpoint.  When
+    // greater than 0, requests are spread over up to this many connections
+    // per endpoint; 0 keeps the single shared connection per endpoint.
+    public static final String MAX_PARALLEL_CONNECTIONS_PROPERTY =
+        SUN_PREFIX + "connection.ORBMaxParallelConnections" ;
+    // Milliseconds after which an unused, idle connection is closed by the
+    // connection reaper; 0 never closes idle connections.
+    public static final String CONNECTION_IDLE_TIMEOUT_PROPERTY =
+        SUN_PREFIX + "connection.ORBConnectionIdleTimeout" ;
+    // Milliseconds between connection reaper sweeps.  With 0 the reaper runs
+    // when a connection cache passes the high water mark, and every half
+    // idle timeout if an idle timeout is set.
+    public static final String CONNECTION_REAPER_INTERVAL_PROPERTY =
+        SUN_PREFIX + "connection.ORBConnectionReaperInterval" ;
 
     public static final String ACCEPTOR_CLASS_PREFIX_PROPERTY =
         SUN_PREFIX + "transport.ORBAcceptor";
@@ -318,6 +352,12 @@ public class ORBConstants {
     public static final String CONNECTION_SOCKET_USE_WORKER_THREAD_FOR_EVENT_PROPERTY =
         SUN_PREFIX + "transport.ORBConnectionSocketUseWorkerThreadForEvent";
 
+    // Number of selector threads used when USE_NIO_SELECT_TO_WAIT_PROPERTY
+    // is true.  Connections and acceptors are spread across the selectors.
+    // A value of zero or less uses one selector per available processor.
+    public static final String SELECTOR_COUNT_PROPERTY =
+        SUN_PREFIX + "transport.ORBSelectorCount";
+
     // Used to disable the use of direct byte buffers.  This enables much easier
     // debugging, because the contents of a direct byte buffer cannot be
     // viewed in most (all?) debuggers.
@@ -368,6 +408,19 @@ public class ORBConstants {
     public static final String SOCKET        = "Socket";
     public static final String SOCKETCHANNEL = "SocketChannel";
 
+    // Type of the default thread pool created by the ORB when no
+    // ThreadPoolManager has been set: "default" | "concurrent" | "virtual".
+    // The concurrent type uses a work queue that does not take a lock.
+    // The virtual type runs each request on its own virtual thread, and
+    // falls back to the default type if the JDK has no virtual threads.
+    public static final String THREAD_POOL_TYPE_PROPERTY =
+        SUN_PREFIX + "threadpool.ORBThreadPoolType";
+
+    // Maximum number of requests that the virtual thread pool runs at the
+    // same time.  Zero or less means no limit.
+    public static final String VIRTUAL_THREAD_POOL_MAX_CONCURRENCY_PROPERTY =
+        SUN_PREFIX + "threadpool.ORBVirtualThreadPoolMaxConcurrency";
+
     public static final String WAIT_FOR_RESPONSE_TIMEOUT =
         SUN_PREFIX + "transport.ORBWaitForResponseTimeout";
 
@@ -405,6 +458,16 @@ public class ORBConstants {
     public static final String ENABLE_JAVA_SERIALIZATION_PROPERTY =
         SUN_PREFIX + "encoding.ORBEnableJavaSerialization";
 
+    // Property for the file in which the ORB keeps the FullValueDescriptions
+    // obtained from remote CodeBases between runs.
+    public static final String CODEBASE_CACHE_FILE_PROPERTY =
+        SUN_PREFIX + "encoding.ORBCodeBaseCacheFile";
+
+    // Property for enabling the per-connection dictionary of repository IDs
+    // and codebases, used only between ORBs that both enable it.
+    public static final String ENABLE_REPOSITORY_ID_DICTIONARY_PROPERTY =
+        SUN_PREFIX + "encoding.ORBEnableRepositoryIdDictionary";
+
     // Constants for ORB prefixes **************************************************************
 
     public static final String PI_ORB_INITIALIZER_CLASS_PREFIX   =
@@ -422,6 +485,11 @@ public class ORBConstants {
     public static final String DEBUG_DYNAMIC_STUB =
         SUN_PREFIX + "ORBDebugStubGeneration" ;
 
+    // Use ties that call the servant through generated code rather than
+    // reflection.  Only applies when dynamic stubs are generated by codegen.
+    public static final String USE_CODEGEN_TIE_PROPERTY =
+        SUN_PREFIX + "ORBUseCodegenTie" ;
+
     // Not available through ORBData: used only in test.Test
     // and in the optional ClassCopierOrdinaryImpl class.
     public static final String USE_CODEGEN_REFLECTIVE_COPYOBJECT =
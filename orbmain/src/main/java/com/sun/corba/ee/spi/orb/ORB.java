@@ -198,6 +198,8 @@ public abstract class ORB extends com.sun.corba.ee.org.omg.CORBA.ORB
 
     public boolean cdrCacheDebugFlag = false ;
 
+    public boolean byteBufferPoolDebugFlag = false ;
+
     @Cdr
     public boolean cdrDebugFlag = false ;
 
@@ -936,6 +938,19 @@ public abstract class ORB extends com.sun.corba.ee.org.omg.CORBA.ORB
     public abstract ClientInvocationInfo getInvocationInfo();
     public abstract void releaseOrDecrementInvocationInfo();
 
+    /** Removes the ClientInvocationInfo of the request this thread is
+     * making from the thread, so that the request can be completed on
+     * another thread.
+     * @return the invocation info of the current request
+     */
+    public abstract ClientInvocationInfo suspendInvocationInfo();
+
+    /** Makes an invocation info removed by suspendInvocationInfo that of
+     * the current request of this thread.
+     * @param info the invocation info to resume
+     */
+    public abstract void resumeInvocationInfo(ClientInvocationInfo info);
+
     public abstract TransportManager getTransportManager();
 
 
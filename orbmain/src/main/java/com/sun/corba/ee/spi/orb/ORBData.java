@@ -123,9 +123,28 @@ public interface ORBData {
     public int getNumberToReclaim() ;
     // XXX add setter?
 
+    @ManagedAttribute
+    @Description( "Return the maximum number of connections opened to the "
+        + "same endpoint, or 0 if a single connection is shared" )
+    public int getMaxParallelConnections() ;
+
+    @ManagedAttribute
+    @Description( "Return the time in milliseconds after which an unused "
+        + "idle connection is closed, or 0 if idle connections are kept" )
+    public int getConnectionIdleTimeout() ;
+
+    @ManagedAttribute
+    @Description( "Return the time in milliseconds between connection "
+        + "reaper sweeps, or 0 to derive it from the idle timeout" )
+    public int getConnectionReaperInterval() ;
+
     @ManagedAttribute
     @Description( "Return the " )
     public int getGIOPFragmentSize() ;
+
+    @ManagedAttribute
+    @Description( "Number of GIOP fragments collected before they are sent together" )
+    public int getGIOPFragmentsPerWrite() ;
     // XXX add setter?
 
     // Probably don't really want to expose this
@@ -137,7 +156,7 @@ public interface ORBData {
     // Can't have an argument: what is the correct action here?
     // @ManagedAttribute
     //  @Description( "Int describing GIOP buffer management strategy: "
-        // + "0:grow, 1:collect, 2:stream (the default)")
+        // + "0:grow, 1:collect, 2:stream (the default), 3:segment")
     public int getGIOPBuffMgrStrategy(GIOPVersion gv) ;
 
     /**
@@ -268,6 +287,18 @@ public interface ORBData {
     @Description( "DESC" )
     public boolean connectionSocketUseWorkerThreadForEvent();
 
+    @ManagedAttribute
+    @Description( "Number of selector threads used by the transport" )
+    public int getSelectorCount();
+
+    @ManagedAttribute
+    @Description( "Type of the thread pool created by the ORB's ThreadPoolManager" )
+    public String getThreadPoolType();
+
+    @ManagedAttribute
+    @Description( "Maximum number of requests run at the same time by the virtual thread pool" )
+    public int getVirtualThreadPoolMaxConcurrency();
+
     @ManagedAttribute
     @Description( "DESC" )
     public long getCommunicationsRetryTimeout();
@@ -393,6 +424,27 @@ public interface ORBData {
     @Description( "True if ORBD should not be used in this ORB instance")
     public boolean disableORBD() ;
 
+    @ManagedAttribute
+    @Description( "The file in which FullValueDescriptions from remote CodeBases are kept between runs; empty if none" )
+    public String codeBaseCacheFile() ;
+
+    @ManagedAttribute
+    @Description( "True if repository IDs and codebases are interned per connection with peers that support it" )
+    public boolean isRepositoryIdDictionaryEnabled() ;
+
+    /**
+     * @return how GIOP request and reply bodies are compressed on connections
+     * to ORBs which accept it: one of ORBConstants.MESSAGE_COMPRESSION_NONE,
+     * MESSAGE_COMPRESSION_DEFLATE or MESSAGE_COMPRESSION_FAST.
+     */
+    @ManagedAttribute
+    @Description( "The GIOP message compression mode: 0 for none, 1 for deflate, 2 for fast" )
+    public int getGIOPMessageCompression() ;
+
+    @ManagedAttribute
+    @Description( "The smallest GIOP message body, in bytes, which is compressed" )
+    public int getGIOPMessageCompressionThreshold() ;
+
     default void waitNanos(Object obj, long waitNanos) throws InterruptedException {
         TimeUnit.NANOSECONDS.timedWait(obj, waitNanos);
     }
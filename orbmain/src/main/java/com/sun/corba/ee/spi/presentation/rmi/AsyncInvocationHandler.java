@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.spi.presentation.rmi ;
+
+import java.lang.reflect.Method ;
+
+import java.util.concurrent.CompletableFuture ;
+
+/** Implemented by the invocation handlers of RMI-IIOP stubs that can
+ * invoke a remote method without blocking the calling thread until the
+ * reply arrives.  Use StubAdapter.invokeAsync to make such an invocation
+ * on a stub.
+ */
+public interface AsyncInvocationHandler
+{
+    /** Invoke the given method on the stub with the given arguments.
+     * The request is sent before this returns.  The returned future is
+     * completed with the result of the method, or the exception it would
+     * have thrown, by an ORB worker thread once the reply has been
+     * received.  Cancelling the future cancels the request.
+     *
+     * @param method the remote method to invoke
+     * @param args the arguments of the method
+     * @return the future result of the invocation
+     */
+    CompletableFuture<Object> invokeAsync( Method method, Object[] args ) ;
+}
+
+// End of file.
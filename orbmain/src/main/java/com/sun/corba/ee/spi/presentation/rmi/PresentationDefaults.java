@@ -36,7 +36,8 @@ public abstract class PresentationDefaults
     private PresentationDefaults() {}
 
     synchronized static PresentationManager.StubFactoryFactory getDynamicStubFactoryFactory() {
-        if (dynamicImpl == null) dynamicImpl = new StubFactoryFactoryCodegenImpl();
+        if (dynamicImpl == null) dynamicImpl = new StubFactoryFactoryCodegenImpl(
+            getBooleanPropertyValue( ORBConstants.USE_CODEGEN_TIE_PROPERTY, false ) );
 
         return dynamicImpl ;
     }
@@ -37,7 +37,8 @@ import org.glassfish.pfl.basic.proxy.InvocationHandlerFactory;
  * <p>
  * Note that
  * the getClassData and getDynamicMethodMarshaller methods
- * maintain caches to avoid redundant computation.
+ * maintain caches to avoid redundant computation.  Both may be
+ * called concurrently without locking.
  */
 public interface PresentationManager
 {
@@ -144,6 +145,64 @@ public interface PresentationManager
          * @return the dictionary.
          */
         Map<String,Object> getDictionary() ;
+
+        /** Get the invocation data for one of the remote methods of
+         * the class, as used by dynamic stubs.
+         *
+         * @param method a method of one of the remote interfaces
+         * @return the MethodData for method.
+         */
+        MethodData getMethodData( Method method ) ;
+
+        /** Get the invocation data for the remote method with the
+         * given IDL name, as used by reflective ties.
+         *
+         * @param idlName the IDL name of the method
+         * @return the MethodData, or null if the class has no such method.
+         */
+        MethodData getMethodData( String idlName ) ;
+    }
+
+    /** The state needed to invoke one remote method of a ClassData.
+     * It is kept with the ClassData, so that an invocation only has
+     * to find the MethodData for its method.
+     */
+    public interface MethodData
+    {
+        /** Get the method.
+         *
+         * @return the Method of this MethodData.
+         */
+        Method getMethod() ;
+
+        /** Get the number of the method, which is its index in the
+         * methods of the IDLNameTranslator of the ClassData.  Generated
+         * stubs and ties use it to select the method to invoke.
+         *
+         * @return the method number, or -1 if the method is not one of
+         * the methods of the ClassData.
+         */
+        int getMethodNumber() ;
+
+        /** Get the IDL name used for the method in GIOP requests.
+         *
+         * @return the IDL name.
+         */
+        String getIDLName() ;
+
+        /** Get the DynamicMethodMarshaller for the method, which is
+         * created when it is first needed.
+         *
+         * @return the DynamicMethodMarshaller.
+         */
+        DynamicMethodMarshaller getDynamicMethodMarshaller() ;
+
+        /** Get the method, made accessible for reflective invocation
+         * on a colocated servant if it was not already.
+         *
+         * @return the accessible Method.
+         */
+        Method getAccessibleMethod() ;
     }
 
     /** Get the ClassData for a particular class.
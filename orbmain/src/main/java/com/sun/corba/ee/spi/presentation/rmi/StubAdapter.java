@@ -22,6 +22,11 @@ package com.sun.corba.ee.spi.presentation.rmi ;
 import com.sun.corba.ee.impl.oa.poa.POAManagerImpl ;
 import com.sun.corba.ee.spi.logging.ORBUtilSystemException ;
 
+import java.lang.reflect.InvocationHandler ;
+import java.lang.reflect.Method ;
+import java.lang.reflect.Proxy ;
+import java.util.concurrent.CompletableFuture ;
+
 import javax.rmi.CORBA.Tie ;
 
 import org.omg.CORBA.ORB ;
@@ -227,4 +232,42 @@ public abstract class StubAdapter
             throw wrapper.requestRequiresStub() ;
         }
     }
+
+    /** Invoke a remote method on a dynamic stub without blocking the
+     * calling thread until its reply arrives.  The request is sent before
+     * this returns, with the same interceptor points as a synchronous
+     * invocation.  The result is completed on an ORB worker thread with
+     * the value the method returns or the exception it throws, and is
+     * completed with a TimeoutException if no reply arrives within
+     * the ORB's wait for response timeout.  Cancelling the result, or
+     * completing it with a TimeoutException, sends a GIOP CancelRequest
+     * for the outstanding request.
+     *
+     * @param <T> the return type of the method
+     * @param stub a dynamic stub, either a proxy or a generated class
+     * @param method the remote method to invoke
+     * @param args the arguments of the method
+     * @return the future result of the invocation
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> CompletableFuture<T> invokeAsync( Object stub,
+        Method method, Object... args )
+    {
+        AsyncInvocationHandler handler = null ;
+        if (stub instanceof AsyncInvocationHandler) {
+            handler = (AsyncInvocationHandler)stub ;
+        } else if (stub != null && Proxy.isProxyClass( stub.getClass() )) {
+            InvocationHandler ih = Proxy.getInvocationHandler( stub ) ;
+            if (ih instanceof AsyncInvocationHandler) {
+                handler = (AsyncInvocationHandler)ih ;
+            }
+        }
+
+        if (handler == null) {
+            throw wrapper.invokeAsyncRequiresDynamicStub() ;
+        }
+
+        return (CompletableFuture<T>)(CompletableFuture<?>)
+            handler.invokeAsync( method, args ) ;
+    }
 }
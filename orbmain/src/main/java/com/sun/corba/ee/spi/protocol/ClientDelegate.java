@@ -22,6 +22,9 @@ package com.sun.corba.ee.spi.protocol;
 import com.sun.corba.ee.spi.orb.ORB;
 import com.sun.corba.ee.spi.transport.ContactInfoList;
 
+import org.omg.CORBA.portable.OutputStream;
+import org.omg.CORBA.portable.RemarshalException;
+
 public abstract class ClientDelegate
     extends org.omg.CORBA_2_3.portable.Delegate
 {
@@ -39,6 +42,20 @@ public abstract class ClientDelegate
      * @return CorbaContactInfoList
      */
     public abstract ContactInfoList getContactInfoList();
+
+    /**
+     * Sends a request created by request without waiting for its reply.
+     * Used in place of invoke for asynchronous invocations.  If this
+     * throws, releaseReply must be called on this thread as for invoke.
+     *
+     * @param self the stub the request is made on
+     * @param output the output stream returned by request
+     * @return the sent request
+     * @throws RemarshalException if the request must be made again
+     */
+    public abstract PendingRequest sendRequest(org.omg.CORBA.Object self,
+                                               OutputStream output)
+        throws RemarshalException;
 }
 
 // End of file.
@@ -72,6 +72,81 @@ public interface ClientRequestDispatcher
             org.omg.CORBA.portable.ApplicationException,
             org.omg.CORBA.portable.RemarshalException;
 
+    /**
+     * Sends the data set on the CDROutputObject without waiting for a
+     * response.  This is the first half of marshalingComplete, used by
+     * asynchronous invocations: once the action passed to
+     * whenResponseReceived has run, receiveResponse completes the request.
+     * <p>
+     * By default nothing is sent here, and receiveResponse does all of the
+     * work of marshalingComplete.
+     *
+     * @param self -
+     * @param outputObject object to mark as complete
+     *
+     * @throws org.omg.CORBA.portable.RemarshalException RemarshalException
+     * if the PEPt runtime would like the presentation block to start over.
+     */
+    default void sendRequest(java.lang.Object self,
+                             CDROutputObject outputObject)
+        throws
+            org.omg.CORBA.portable.RemarshalException
+    {
+    }
+
+    /**
+     * Arranges for the given action to be run once the response to a
+     * request sent by sendRequest has arrived, or the request has failed.
+     * By default the action runs at once.
+     *
+     * @param outputObject the output object of the request
+     * @param action the action to run
+     */
+    default void whenResponseReceived(CDROutputObject outputObject,
+                                      Runnable action)
+    {
+        action.run();
+    }
+
+    /**
+     * Completes a request sent by sendRequest with an exception, if its
+     * response has not yet arrived.  This sends a GIOP CancelRequest for
+     * the request.  By default a request cannot be cancelled.
+     *
+     * @param outputObject the output object of the request
+     * @param exception the exception to complete the request with
+     * @return true if the request was cancelled by this call
+     */
+    default boolean cancelRequest(CDROutputObject outputObject,
+                                  org.omg.CORBA.SystemException exception)
+    {
+        return false;
+    }
+
+    /**
+     * The second half of marshalingComplete, called after the action
+     * passed to whenResponseReceived has run.
+     *
+     * @param self -
+     * @param outputObject the output object of the request
+     *
+     * @return CDRInputObject if the message is synchronous.
+     *
+     * @throws org.omg.CORBA.portable.ApplicationException
+     * if the remote side raises an exception declared in the remote interface.
+     *
+     * @throws org.omg.CORBA.portable.RemarshalException RemarshalException
+     * if the PEPt runtime would like the presentation block to start over.
+     */
+    default CDRInputObject receiveResponse(java.lang.Object self,
+                                           CDROutputObject outputObject)
+        throws
+            org.omg.CORBA.portable.ApplicationException,
+            org.omg.CORBA.portable.RemarshalException
+    {
+        return marshalingComplete(self, outputObject);
+    }
+
     /**
      * After the presentation block completes a request it signals
      * the PEPt runtime by calling this method.
@@ -170,6 +170,27 @@ public interface PIHandler extends Closeable {
      */
     void cleanupClientPIRequest() ;
 
+    /**
+     * Removes the info object of the client request this thread is making
+     * from the thread, so that the ending points of the request can be
+     * invoked on another thread after resumeClientPIRequest.  This is
+     * used by asynchronous invocations, which send a request on one thread
+     * and process its reply on another.
+     *
+     * @return The suspended request, or null if client interceptors are
+     *     not run for requests made by this thread.
+     */
+    Object suspendClientPIRequest() ;
+
+    /**
+     * Makes a request removed from its thread by suspendClientPIRequest the
+     * current client request of this thread.  It is then ended with
+     * invokeClientPIEndingPoint and cleanupClientPIRequest as usual.
+     *
+     * @param request The result of suspendClientPIRequest.
+     */
+    void resumeClientPIRequest( Object request ) ;
+
     /**
      * Notifies PI of additional information for client-side interceptors.
      * PI will use this information as a source of information for the
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.spi.protocol;
+
+import org.omg.CORBA.SystemException;
+import org.omg.CORBA.portable.ApplicationException;
+import org.omg.CORBA.portable.InputStream;
+import org.omg.CORBA.portable.RemarshalException;
+
+/**
+ * A request sent by ClientDelegate.sendRequest whose reply has not yet
+ * been processed.  The state that the ORB keeps for a request on the
+ * thread that makes it is moved into the PendingRequest when the request
+ * is sent, and moved onto the thread that calls receiveReply, so that the
+ * thread that sent the request is free to do other work, including
+ * sending more requests.
+ * <p>
+ * receiveReply and releaseReply take the place of Delegate.invoke and
+ * Delegate.releaseReply for the request, and must both be called on the
+ * same thread.
+ */
+public interface PendingRequest
+{
+    /**
+     * Arranges for the given action to be run on an ORB worker thread once
+     * the reply to the request has arrived, or the request has failed.
+     * @param action the action to run
+     */
+    void whenResponseReceived(Runnable action);
+
+    /**
+     * Processes the reply to the request, running the ending points of
+     * the client request interceptors on the calling thread.
+     * @return the stream to read the result from
+     * @throws ApplicationException if the remote side raised an exception
+     * declared in the remote interface
+     * @throws RemarshalException if the request must be sent again
+     */
+    InputStream receiveReply() throws ApplicationException, RemarshalException;
+
+    /**
+     * Releases the reply to the request, as Delegate.releaseReply does for
+     * a synchronous request.
+     * @param input the stream returned by receiveReply, or null
+     */
+    void releaseReply(InputStream input);
+
+    /**
+     * Cancels the request if its reply has not yet arrived: a GIOP
+     * CancelRequest is sent, and receiveReply will throw the given
+     * exception.
+     * @param exception the exception to complete the request with
+     * @return true if the request was cancelled by this call
+     */
+    boolean cancel(SystemException exception);
+}
+
+// End of file.
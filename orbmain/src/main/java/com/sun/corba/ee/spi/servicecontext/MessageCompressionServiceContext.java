@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.spi.servicecontext;
+
+import com.sun.corba.ee.spi.misc.ORBConstants ;
+
+/** Sent by a client to a server which advertises message compression,
+ * to say that the client accepts compressed replies on the connection.
+ */
+public interface MessageCompressionServiceContext extends ServiceContext {
+    int SERVICE_CONTEXT_ID = ORBConstants.MESSAGE_COMPRESSION_SERVICE_CONTEXT_ID ;
+
+    /** The version of the compressed message format used by the sender.
+     * @return the format version
+     */
+    byte getVersion() ;
+}
+
+// End of file.
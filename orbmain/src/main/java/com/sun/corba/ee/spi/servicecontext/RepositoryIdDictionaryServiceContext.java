@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.spi.servicecontext;
+
+import com.sun.corba.ee.spi.misc.ORBConstants ;
+
+/** Exchanges the entries of a connection's repository ID dictionary.
+ * Each context acknowledges the entries its sender has recorded from the
+ * other end, and defines the entries its sender would like to use but
+ * which the other end has not yet acknowledged.
+ */
+public interface RepositoryIdDictionaryServiceContext extends ServiceContext {
+    int SERVICE_CONTEXT_ID = ORBConstants.REPOSITORY_ID_DICTIONARY_SERVICE_CONTEXT_ID ;
+
+    /** The number of entries, starting at index 0, which the sender
+     * has recorded from the receiver.
+     * @return the acknowledged entry count
+     */
+    int getAcknowledged() ;
+
+    /** The index of the first entry in getDefinitions().
+     * @return the first defined index
+     */
+    int getFirstIndex() ;
+
+    /** The strings for consecutive dictionary entries, starting at getFirstIndex().
+     * @return the defined strings
+     */
+    String[] getDefinitions() ;
+}
+
+// End of file.
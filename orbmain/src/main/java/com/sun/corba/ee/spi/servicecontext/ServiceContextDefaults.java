@@ -22,7 +22,9 @@ package com.sun.corba.ee.spi.servicecontext;
 import com.sun.corba.ee.impl.encoding.CodeSetComponentInfo ;
 import com.sun.corba.ee.impl.servicecontext.CodeSetServiceContextImpl ;
 import com.sun.corba.ee.impl.servicecontext.MaxStreamFormatVersionServiceContextImpl ;
+import com.sun.corba.ee.impl.servicecontext.MessageCompressionServiceContextImpl ;
 import com.sun.corba.ee.impl.servicecontext.ORBVersionServiceContextImpl ;
+import com.sun.corba.ee.impl.servicecontext.RepositoryIdDictionaryServiceContextImpl ;
 import com.sun.corba.ee.impl.servicecontext.SendingContextServiceContextImpl ;
 import com.sun.corba.ee.impl.servicecontext.ServiceContextFactoryRegistryImpl ;
 import com.sun.corba.ee.impl.servicecontext.ServiceContextsImpl ;
@@ -156,6 +158,50 @@ public abstract class ServiceContextDefaults {
         return new SendingContextServiceContextImpl( ior ) ;
     }
 
+    public static ServiceContext.Factory makeRepositoryIdDictionaryServiceContextFactory()
+    {
+        return new ServiceContext.Factory() {
+            public int getId()
+            {
+                return RepositoryIdDictionaryServiceContext.SERVICE_CONTEXT_ID ;
+            }
+
+            public ServiceContext create( InputStream s, GIOPVersion gv )
+            {
+                return new RepositoryIdDictionaryServiceContextImpl( s, gv ) ;
+            }
+        } ;
+    }
+
+    public static RepositoryIdDictionaryServiceContext
+        makeRepositoryIdDictionaryServiceContext( int acknowledged, int firstIndex,
+            String[] definitions )
+    {
+        return new RepositoryIdDictionaryServiceContextImpl( acknowledged,
+            firstIndex, definitions ) ;
+    }
+
+    public static ServiceContext.Factory makeMessageCompressionServiceContextFactory()
+    {
+        return new ServiceContext.Factory() {
+            public int getId()
+            {
+                return MessageCompressionServiceContext.SERVICE_CONTEXT_ID ;
+            }
+
+            public ServiceContext create( InputStream s, GIOPVersion gv )
+            {
+                return new MessageCompressionServiceContextImpl( s, gv ) ;
+            }
+        } ;
+    }
+
+    public static MessageCompressionServiceContext
+        getMessageCompressionServiceContext()
+    {
+        return MessageCompressionServiceContextImpl.singleton ;
+    }
+
     public static ServiceContext.Factory makeUEInfoServiceContextFactory()
     {
         return new ServiceContext.Factory() {
@@ -21,25 +21,83 @@ package com.sun.corba.ee.spi.transport;
 
 import java.nio.ByteBuffer;
 
+import org.glassfish.gmbal.Description ;
+import org.glassfish.gmbal.ManagedAttribute ;
+import org.glassfish.gmbal.ManagedData ;
+
 /**
  * @author Charlie Hunt
  */
+@ManagedData
+@Description( "A pool of NIO ByteBuffers used for GIOP messages" )
 public interface ByteBufferPool
 {
     public ByteBuffer getByteBuffer(int theSize);
+
+    /**
+     * Return <code>thebb</code> to the pool.  A buffer must be released
+     * exactly once each time it is obtained, since it may be handed out
+     * again as soon as it has been released.
+     */
     public void releaseByteBuffer(ByteBuffer thebb);
+
+    /**
+     * Return a slice of <code>buffer</code>, as <code>ByteBuffer.slice()</code>
+     * does.  If <code>buffer</code> was obtained from this pool, or is a slice
+     * of such a buffer, the pooled buffer is not reused until the returned
+     * slice has also been passed to {@link #releaseByteBuffer}.
+     *
+     * @param buffer buffer to take the slice from
+     * @return the slice
+     */
+    public ByteBuffer slice(ByteBuffer buffer);
+
+    /**
+     * Return the number of pooled ByteBuffers that have been obtained
+     * from this pool and not yet released.
+     *
+     * @return number of pooled ByteBuffers in use
+     */
+    @ManagedAttribute( id="activeCount" )
+    @Description( "Number of pooled ByteBuffers currently in use" )
     public int activeCount();
+
+    /**
+     * Return the largest value that {@link #activeCount()} has reached.
+     *
+     * @return peak number of pooled ByteBuffers in use
+     */
+    @ManagedAttribute( id="peakActiveCount" )
+    @Description( "Largest number of pooled ByteBuffers in use at one time" )
+    public int peakActiveCount();
+
+    /**
+     * Return the number of released ByteBuffers held by this pool
+     * and available for reuse.
+     *
+     * @return number of idle pooled ByteBuffers
+     */
+    @ManagedAttribute( id="pooledCount" )
+    @Description( "Number of idle ByteBuffers available for reuse" )
+    public int pooledCount();
+
     /**
      * Return a new <code>ByteBuffer</code> of at least <code>minimumSize</code>
      * and copy any bytes in the <code>oldByteBuffer</code> starting at
      * <code>oldByteBuffer.position()</code> up to <code>oldByteBuffer.limit()</code>
-     * into the returned <code>ByteBuffer</code>.
+     * into the returned <code>ByteBuffer</code>.  <code>oldByteBuffer</code>
+     * is released to this pool.
      *
      * @param oldByteBuffer old buffer to take bytes from
      * @param minimumSize minimum size of Buffer
      * @return the new ByteBuffer
      */
     public ByteBuffer reAllocate(ByteBuffer oldByteBuffer, int minimumSize);
+
+    /**
+     * Release all ByteBuffers held by this pool.
+     */
+    public void close();
 }
 
 // End of file.
@@ -22,6 +22,7 @@ package com.sun.corba.ee.spi.transport;
 import com.sun.corba.ee.impl.encoding.CDRInputObject;
 import com.sun.corba.ee.impl.encoding.CDROutputObject;
 import com.sun.corba.ee.impl.encoding.CodeSetComponentInfo;
+import com.sun.corba.ee.impl.encoding.RepositoryIdDictionary;
 import com.sun.corba.ee.spi.ior.IOR ;
 import com.sun.corba.ee.spi.ior.iiop.GIOPVersion;
 import com.sun.corba.ee.spi.orb.ORB;
@@ -159,6 +160,16 @@ public interface Connection
      */
     public void sendWithoutLock(CDROutputObject outputObject);
 
+    /**
+     * Send complete messages or fragments, in order, on the
+     * <code>Connection</code>, gathering them into as few socket
+     * writes as possible.  As with {@link #sendWithoutLock(CDROutputObject)},
+     * the caller handles {@link #writeLock} and {@link #writeUnlock}.
+     *
+     * @param byteBuffers the messages to send, each ready to be written
+     */
+    public void sendWithoutLock(ByteBuffer[] byteBuffers);
+
     /**
      * Register an invocation's CorbaMessageMediator
      * with the <code>Connection</code>.
@@ -198,6 +209,9 @@ public interface Connection
     public void write(ByteBuffer byteBuffer)
         throws IOException;
 
+    public void write(ByteBuffer[] byteBuffers)
+        throws IOException;
+
     public int getNextRequestId();
     public ORB getBroker();
     public CodeSetComponentInfo.CodeSetContext getCodeSetContext();
@@ -255,6 +269,16 @@ public interface Connection
 
     // End Code Base methods -----------------------------------------
 
+    // The repository IDs and codebases which this connection sends and
+    // receives as small integers, if both ORBs have enabled it.
+    RepositoryIdDictionary getRepositoryIdDictionary();
+
+    // True once both ORBs have agreed that Request and Reply messages sent
+    // on this connection may be compressed.
+    boolean isMessageCompressionEnabled();
+
+    void enableMessageCompression();
+
     public void sendCloseConnection(GIOPVersion giopVersion)
         throws IOException;
 
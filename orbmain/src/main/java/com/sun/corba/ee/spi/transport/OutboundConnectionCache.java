@@ -30,6 +30,17 @@ public interface OutboundConnectionCache extends ConnectionCache
     public void put(ContactInfo contactInfo, Connection connection);
 
     public void remove( ContactInfo contactInfo ) ;
+
+    /** Remove a connection that was opened to contactInfo and is being
+     * closed.  Caches which hold several connections per ContactInfo
+     * must only drop the given connection.
+     *
+     * @param contactInfo the endpoint the connection was opened to
+     * @param connection the connection being closed
+     */
+    default void remove( ContactInfo contactInfo, Connection connection ) {
+        remove( contactInfo ) ;
+    }
 }
 
 // End of file.
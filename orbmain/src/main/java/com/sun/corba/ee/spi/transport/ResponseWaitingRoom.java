@@ -42,6 +42,29 @@ public interface ResponseWaitingRoom{
     public void signalExceptionToAllWaiters(SystemException systemException);
 
     public MessageMediator getMessageMediator(int requestId);
+
+    /**
+     * Arranges for the given action to be run once the reply, or an
+     * exception, for a registered request is available, so that no thread
+     * has to block in waitForResponse.  The action is run by the thread
+     * that delivers the reply, or at once if it has already arrived.
+     *
+     * @param messageMediator the registered request
+     * @param action the action to run
+     */
+    public void whenResponseReceived(MessageMediator messageMediator,
+                                     Runnable action);
+
+    /**
+     * Completes a single registered request with an exception, if its
+     * reply has not yet arrived.
+     *
+     * @param messageMediator the registered request
+     * @param systemException the exception to complete the request with
+     * @return true if the request was completed by this call
+     */
+    public boolean signalExceptionToWaiter(MessageMediator messageMediator,
+                                           SystemException systemException);
 }
 
 // End of file.
@@ -22,6 +22,7 @@ package com.sun.corba.ee.spi.transport;
 //
 // REVISIT - impl/poa specific:
 import com.sun.corba.ee.impl.oa.poa.Policies;
+import com.sun.corba.ee.impl.transport.MessageCompressor;
 import com.sun.corba.ee.spi.ior.IORTemplate;
 import com.sun.corba.ee.spi.ior.ObjectAdapterId;
 
@@ -93,6 +94,46 @@ public interface TransportManager {
 
     public void registerAcceptor(Acceptor acceptor);
 
+    @ManagedAttribute
+    @Description( "Number of socket write calls made to send messages" )
+    public long getNumberOfSocketWrites();
+
+    @ManagedAttribute
+    @Description( "Number of messages and fragments sent" )
+    public long getNumberOfBuffersWritten();
+
+    /**
+     * Record that numberOfBuffers messages or fragments were sent
+     * using numberOfWrites socket write calls.
+     *
+     * @param numberOfWrites number of socket write calls
+     * @param numberOfBuffers number of messages or fragments written
+     */
+    public void recordSocketWrites(int numberOfWrites, int numberOfBuffers);
+
+    @ManagedAttribute
+    @Description( "The compressor for GIOP messages on connections which negotiated compression" )
+    public MessageCompressor getMessageCompressor();
+
+    /**
+     * Note that a connection was added to connectionCache.  Connections are
+     * reclaimed in the background once the cache holds more connections
+     * than the high water mark.
+     *
+     * @param connectionCache the cache the connection was added to
+     */
+    public void connectionAdded(ConnectionCache connectionCache);
+
+    @ManagedAttribute
+    @Description( "Number of idle connections reclaimed because a connection "
+        + "cache held more connections than the high water mark" )
+    public long getNumberOfConnectionsReclaimed();
+
+    @ManagedAttribute
+    @Description( "Number of connections closed because they were idle "
+        + "for longer than the connection idle timeout" )
+    public long getNumberOfIdleConnectionsClosed();
+
     public void unregisterAcceptor(Acceptor acceptor);
 
 }
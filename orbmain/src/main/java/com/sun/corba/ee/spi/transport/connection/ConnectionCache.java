@@ -78,4 +78,11 @@ public interface ConnectionCache<C extends Connection> {
      * @param conn connection to close
      */
     void close( final C conn ) ;
+
+    /** Close up to numberToReclaim idle connections, least recently used
+     * first.  Busy connections are never closed.
+     *
+     * @return true if at least one connection was reclaimed
+     */
+    boolean reclaim() ;
 }
@@ -23,11 +23,13 @@ import com.sun.corba.ee.impl.protocol.RequestCanceledException;
 import com.sun.corba.ee.spi.orb.ORBVersionFactory;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.Arrays;
 
 import org.junit.Test;
 import org.omg.CORBA.COMM_FAILURE;
+import org.omg.CORBA.DATA_CONVERSION;
 import org.omg.CORBA.MARSHAL;
 import org.omg.CORBA.NO_IMPLEMENT;
 import org.omg.CORBA.TCKind;
@@ -212,6 +214,42 @@ public class CDRInputTest extends EncodingTestBase {
         assertEquals("String value", "this works", getInputObject().read_string());
     }
 
+    @Test
+    public void canReadUTF8String() {
+        setCharEncoding(UTF_8);
+        setMessageBody(0, 0, 0, 11, 'a', 0xc3, 0xa9, 0xe2, 0x82, 0xac, 0xf0, 0x9f, 0x98, 0x80, 0);
+
+        assertEquals("a\u00e9\u20ac\ud83d\ude00", getInputObject().read_string());
+    }
+
+    @Test
+    public void canReadUTF8StringAcrossFragment() {
+        useV1_2();
+        setCharEncoding(UTF_8);
+        setMessageBody(0, 0, 0, 9, 'a', 'b', 0xe2, 0x82);
+        addFragment(0xac, 0xe2, 0x82, 0xac, 0);
+
+        assertEquals("ab\u20ac\u20ac", getInputObject().read_string());
+    }
+
+    @Test(expected = DATA_CONVERSION.class)
+    public void whenUTF8StringMalformed_reportBadUnicodePair() {
+        setCharEncoding(UTF_8);
+        setMessageBody(0, 0, 0, 5, 'a', 0xc3, 0x28, 'b', 0);
+
+        getInputObject().read_string();
+    }
+
+    @Test(expected = DATA_CONVERSION.class)
+    public void whenUTF8StringAcrossFragmentMalformed_reportBadUnicodePair() {
+        useV1_2();
+        setCharEncoding(UTF_8);
+        setMessageBody(0, 0, 0, 5, 'a', 'b', 0xe2);
+        addFragment(0x28, 0);
+
+        getInputObject().read_string();
+    }
+
     @Test
     public void canReadNullStringFromOldOrb() {
         setOrbVersion(ORBVersionFactory.getOLD());
@@ -286,6 +324,31 @@ public class CDRInputTest extends EncodingTestBase {
         assertEquals("Empty string value", "", getInputObject().read_wstring());
     }
 
+    @Test
+    public void whenUsingV1_2_canReadLittleEndianWStringWithMarker() {
+        useV1_2();
+        setMessageBody(0, 0, 0, 6, FF, FE, 'a', 0, 'b', 0);
+
+        assertEquals("ab", getInputObject().read_wstring());
+    }
+
+    @Test
+    public void whenUsingV1_2_canReadWStringAcrossFragment() {
+        useV1_2();
+        setMessageBody(0, 0, 0, 8, FE, FF, 0, 'a', 0);
+        addFragment('b', 0x20, 0xac);
+
+        assertEquals("ab\u20ac", getInputObject().read_wstring());
+    }
+
+    @Test(expected = DATA_CONVERSION.class)
+    public void whenWStringHasUnpairedSurrogate_throwException() {
+        useV1_2();
+        setMessageBody(0, 0, 0, 6, FE, FF, 0xd8, 0x3d, 0, 'a');
+
+        getInputObject().read_wstring();
+    }
+
     @Test
     public void can_read_boolean_array() throws Exception {
         final int[] data = {1, FF, 0, 7, 0};
@@ -322,6 +385,27 @@ public class CDRInputTest extends EncodingTestBase {
         readAndVerifyOctetArray(expected);
     }
 
+    @Test
+    public void can_read_octet_buffer() throws Exception {
+        setMessageBody(0, 1, 2, 3, -1, -1);
+
+        ByteBuffer actual = getInputObject().read_octet_buffer(4);
+        assertTrue(actual.isReadOnly());
+        assertEquals(ByteBuffer.wrap(new byte[] {0, 1, 2, 3}), actual);
+        assertEquals(-1, getInputObject().read_short());
+    }
+
+    @Test
+    public void can_read_octet_buffer_acrossFragments() throws Exception {
+        useV1_2();
+        setMessageBody(0, 1, 2, 3);
+        addFragment(-1, -1);
+
+        ByteBuffer actual = getInputObject().read_octet_buffer(6);
+        assertTrue(actual.isReadOnly());
+        assertEquals(ByteBuffer.wrap(new byte[] {0, 1, 2, 3, -1, -1}), actual);
+    }
+
     private void readAndVerifyOctetArray(byte[] expected) {
         byte[] actual = new byte[expected.length];
 
@@ -548,6 +632,40 @@ public class CDRInputTest extends EncodingTestBase {
         assertEquals(7, getInputObject().read_long());
     }
 
+    @Test
+    public void whenUsingV1_2_continueReadingArrayOnToFragment() {
+        useV1_2();
+        setMessageBody(0, 0, 0, 1, 0, 0, 0, 2);
+        addFragment(0, 0, 0, 3, 0, 0, 0, 4, 0, 0, 0, 5);
+
+        readAndVerifyLongArray(new int[] {1, 2, 3, 4, 5});
+    }
+
+    @Test
+    public void whenUsingV1_1_alignArrayToStartOfNextFragment() {
+        useV1_1();
+        setMessageBody(0, 23, 0, 1);
+        addFragment(0, 0, 0, 7, FF, FF, FF, FF);
+        getInputObject().read_short();
+
+        readAndVerifyShortArray(new short[] {1, 0, 7, -1, -1});
+    }
+
+    @Test
+    public void whenUsingV1_0_canReadLittleEndianArrays() {
+        useV1_0();
+        setMessageBody(2, 0, pad(), pad(),
+                       0, 0, 0, 0, 0, 0, 0xd0, 0x3f,
+                       0, 0, 0, 0, 0, 0, 0, 0x40);
+        useLittleEndian();
+        getInputObject().read_short();
+        double[] actual = new double[2];
+        getInputObject().read_double_array(actual, 0, 2);
+
+        assertEquals("Double 1", 0.25, actual[0], 0.001);
+        assertEquals("Double 2", 2,    actual[1], 0.001);
+    }
+
     @Test(expected = RequestCanceledException.class)
     public void whenUsingV1_2_throwExceptionIfCanceled() {
         useV1_2();
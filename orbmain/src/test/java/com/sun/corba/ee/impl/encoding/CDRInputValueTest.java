@@ -21,6 +21,7 @@ package com.sun.corba.ee.impl.encoding;
 
 import com.sun.corba.ee.impl.util.RepositoryId;
 import com.sun.corba.ee.spi.orb.ORBVersionFactory;
+import com.sun.corba.ee.spi.servicecontext.ServiceContextDefaults;
 
 import java.io.IOException;
 import java.io.Serializable;
@@ -36,6 +37,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
@@ -69,6 +71,27 @@ public class CDRInputValueTest extends ValueTestBase {
         assertEquals("This, too!", string);
     }
 
+    @Test
+    public void canReadRepIdFromConnectionDictionary() throws IOException {
+        getRepositoryIdDictionary().receive(ServiceContextDefaults.makeRepositoryIdDictionaryServiceContext(
+              0, 0, new String[] {RepositoryId.kWStringValueRepID}));
+        writeValueTag(ONE_REPID_ID);
+        writeDictionaryReference(0);
+        writeStringValue_1_2("This, too!");
+
+        String string = readValueFromGeneratedBody(String.class);
+        assertEquals("This, too!", string);
+    }
+
+    @Test(expected = MARSHAL.class)
+    public void whenDictionaryIndexNotDefined_throwException() throws IOException {
+        writeValueTag(ONE_REPID_ID);
+        writeDictionaryReference(3);
+        writeStringValue_1_2("This, too!");
+
+        readValueFromGeneratedBody(String.class);
+    }
+
     @Test(expected = MARSHAL.class)
     public void whenRepIdNotRecognized_throwException() throws IOException {
         writeValueTag(ONE_REPID_ID);
@@ -80,6 +103,36 @@ public class CDRInputValueTest extends ValueTestBase {
         readValueFromGeneratedBody(Object.class);
     }
 
+    @Test
+    public void canReadSerializedValueWithAllPrimitiveFields() throws IOException {
+        writeValueTag(ONE_REPID_ID);
+        writeRepId(PrimitiveFieldsValue.REPID);
+
+        writeByte(1);
+        writeByte(71);
+        writeWchar_1_2('c');
+        writeDouble(10.24);
+        writeFloat(9.87F);
+        writeLong(1234L);
+        writeShort((short) 86);
+        writeInt(752);
+        writeValueTag(ONE_REPID_ID);
+        writeRepId(RepositoryId.kWStringValueRepID);
+        writeStringValue_1_2("Some value");
+
+        PrimitiveFieldsValue object = readValueFromGeneratedBody(PrimitiveFieldsValue.class);
+
+        assertThat(object.aBoolean, is(true));
+        assertThat(object.aByte, equalTo((byte) 71));
+        assertThat(object.aChar, equalTo('c'));
+        assertThat(object.aDouble, equalTo(10.24));
+        assertThat(object.aFloat, equalTo(9.87F));
+        assertThat(object.aLong, equalTo(1234L));
+        assertThat(object.aShort, equalTo((short) 86));
+        assertThat(object.anInt, equalTo(752));
+        assertThat(object.aString, equalTo("Some value"));
+    }
+
     @Test
     public void canReadSerializedValue() throws IOException {
         writeValueTag(ONE_REPID_ID);
@@ -248,6 +301,26 @@ public class CDRInputValueTest extends ValueTestBase {
         assertEquals(3, value1.anInt);
     }
 
+    @Test
+    public void canReadArrayValueSplitAcrossChunks() throws IOException {
+        writeValueTag(ONE_REPID_ID | USE_CHUNKING);
+        writeRepId("RMI:[I:0000000000000000");
+
+        startChunk();
+        writeInt(3);
+        writeInt(1);
+        writeInt(2);
+        endChunk();
+
+        startChunk();
+        writeInt(3);
+        endChunk();
+        writeEndTag(-1);
+
+        int[] value = readValueFromGeneratedBody(int[].class);
+        assertArrayEquals(new int[] {1, 2, 3}, value);
+    }
+
     @Test
     public void canReadSerializedValueWithNestedValue() throws IOException {
         writeValueTag(ONE_REPID_ID | USE_CHUNKING);
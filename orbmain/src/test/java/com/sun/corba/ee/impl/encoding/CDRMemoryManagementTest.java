@@ -19,7 +19,10 @@
 
 package com.sun.corba.ee.impl.encoding;
 
+import com.sun.corba.ee.impl.protocol.giopmsgheaders.Message;
+
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import org.junit.Test;
 
@@ -111,4 +114,44 @@ public class CDRMemoryManagementTest extends EncodingTestBase {
 
         assertEquals(2, getNumBuffersReleased());
     }
+
+    @Test
+    public void whenSegmentedMessageSent_releaseCompletedSegments() throws IOException {
+        useSegmentedBuffers();
+        setBufferSize(Message.GIOPMessageHeaderLength + 8);
+        getOutputObject().write_long(1);
+        getOutputObject().write_long(2);
+        getOutputObject().write_long(3);
+        getOutputObject().write_long(4);
+
+        getOutputObject().finishSendingMessage();
+        assertEquals(1, getNumBuffersReleased());
+
+        getOutputObject().close();
+        assertEquals(2, getNumBuffersReleased());
+    }
+
+    @Test
+    public void whenOctetBufferReadFromFragment_dontReleaseItUntilInputObjectClosed() throws IOException {
+        setMessageBody(0, 0, 0, 1);
+        addFragment(0, 0, 0, 2);
+
+        getInputObject().read_octet_buffer(4);
+        getInputObject().read_long();
+        assertEquals(0, getNumBuffersReleased());
+
+        getInputObject().close();
+        assertEquals(2, getNumBuffersReleased());
+    }
+
+    @Test
+    public void whenSplicedSegmentSent_dontReleaseIt() throws IOException {
+        useSegmentedBuffers();
+        setBufferSize(Message.GIOPMessageHeaderLength + 8);
+        getOutputObject().write_long(1);
+        getOutputObject().write_octet_buffer(ByteBuffer.allocate(10));
+
+        getOutputObject().finishSendingMessage();
+        assertEquals(1, getNumBuffersReleased());
+    }
 }
@@ -26,9 +26,11 @@ import com.sun.corba.ee.spi.orb.ORBVersionFactory;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 
 import org.junit.Test;
 import org.omg.CORBA.BAD_PARAM;
+import org.omg.CORBA.DATA_CONVERSION;
 import org.omg.CORBA.MARSHAL;
 import org.omg.CORBA.TCKind;
 import org.omg.CORBA.TypeCode;
@@ -152,6 +154,28 @@ public class CDROutputTest extends EncodingTestBase {
         expectByteArray(0, 0, 0, 11, 't', 'h', 'i', 's', ' ', 'w', 'o', 'r', 'k', 's', 0);
     }
 
+    @Test
+    public void canWriteLatin1String() {
+        setCharEncoding(ISO_8859_1);
+        getOutputObject().write_string("caf\u00e9");
+
+        expectByteArray(0, 0, 0, 5, 'c', 'a', 'f', 0xe9, 0);
+    }
+
+    @Test(expected = DATA_CONVERSION.class)
+    public void whenLatin1StringHasUnmappableChar_throwException() {
+        setCharEncoding(ISO_8859_1);
+        getOutputObject().write_string("5\u20ac");
+    }
+
+    @Test
+    public void canWriteUTF8String() {
+        setCharEncoding(UTF_8);
+        getOutputObject().write_string("a\u00e9\u20ac\ud83d\ude00");
+
+        expectByteArray(0, 0, 0, 11, 'a', 0xc3, 0xa9, 0xe2, 0x82, 0xac, 0xf0, 0x9f, 0x98, 0x80, 0);
+    }
+
     @Test(expected = BAD_PARAM.class)
     public void whenNullStringWritten_throwException() {
         getOutputObject().write_string(null);
@@ -214,6 +238,19 @@ public class CDROutputTest extends EncodingTestBase {
                         0, 'T', 0, 'h', 0, 'i', 0, 's', 0, ',', 0, ' ', 0, 't', 0, 'o', 0, 'o', 0, '!');
     }
 
+    @Test
+    public void whenUsingV1_2_canWriteWStringWithSurrogatePair() {
+        useV1_2();
+        getOutputObject().write_wstring("a\ud83d\ude00");
+        expectByteArray(0, 0, 0, 8, FE, FF, 0, 'a', 0xd8, 0x3d, 0xde, 0x00);
+    }
+
+    @Test(expected = DATA_CONVERSION.class)
+    public void whenWStringHasUnpairedSurrogate_throwException() {
+        useV1_2();
+        getOutputObject().write_wstring("a\ud83d");
+    }
+
     @Test
     public void canWriteBooleanArray() {
         getOutputObject().write_boolean_array(new boolean[]{true, true, false, true, false}, 0, 4);
@@ -236,6 +273,15 @@ public class CDROutputTest extends EncodingTestBase {
         expectByteArray( new byte[0] );
     }
 
+    @Test
+    public void canWriteOctetBuffer() {
+        ByteBuffer value = ByteBuffer.wrap(new byte[]{7, 2, -3, 6, 2}, 1, 4);
+        getOutputObject().write_octet_buffer(value);
+
+        assertEquals(1, value.position());
+        expectByteArray(2, -3, 6, 2);
+    }
+
     @Test(expected = BAD_PARAM.class)
     public void whenWritingNullArray_anExceptionIsThrown() {
         getOutputObject().write_octet_array(null, 0, 4);
@@ -22,15 +22,21 @@ package com.sun.corba.ee.impl.encoding;
 import com.sun.corba.ee.impl.protocol.giopmsgheaders.Message;
 import com.sun.corba.ee.impl.util.RepositoryId;
 import com.sun.corba.ee.spi.orb.ORBVersionFactory;
+import com.sun.corba.ee.spi.servicecontext.ServiceContextDefaults;
 
 import java.io.IOException;
 import java.net.InetAddress;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 
 import org.junit.Test;
+import org.omg.CORBA.COMM_FAILURE;
 import org.omg.CORBA.VM_TRUNCATABLE;
 
 import static com.meterware.simplestub.Stub.createStrictStub;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 public class CDROutputValueTest extends ValueTestBase {
 
@@ -48,6 +54,34 @@ public class CDROutputValueTest extends ValueTestBase {
         expectByteArray(getGeneratedBody());
     }
 
+    @Test
+    public void whenRepIdAcknowledgedInDictionary_writeItsIndex() throws IOException {
+        writeValueTag(ONE_REPID_ID);
+        writeDictionaryReference(0);
+        writeStringValue_1_2("This, too!");
+
+        RepositoryIdDictionary dictionary = getRepositoryIdDictionary();
+        dictionary.enableOutbound();
+        dictionary.getIndex(RepositoryId.kWStringValueRepID);
+        dictionary.receive(ServiceContextDefaults.makeRepositoryIdDictionaryServiceContext(1, 0, new String[0]));
+
+        getOutputObject().write_value("This, too!");
+        expectByteArray(getGeneratedBody());
+    }
+
+    @Test
+    public void whenRepIdNotYetAcknowledgedInDictionary_writeItInFull() throws IOException {
+        writeValueTag(ONE_REPID_ID);
+        writeRepId(RepositoryId.kWStringValueRepID);
+        writeStringValue_1_2("This, too!");
+
+        getRepositoryIdDictionary().enableOutbound();
+
+        getOutputObject().write_value("This, too!");
+        expectByteArray(getGeneratedBody());
+        assertEquals(1, getRepositoryIdDictionary().getNumberOfOutboundEntries());
+    }
+
     @Test
     public void canWriteSerializedValue() throws IOException {
         writeValueTag(ONE_REPID_ID);
@@ -63,6 +97,38 @@ public class CDROutputValueTest extends ValueTestBase {
         expectByteArray(getGeneratedBody());
     }
 
+    @Test
+    public void canWriteSerializedValueWithAllPrimitiveFields() throws IOException {
+        writeValueTag(ONE_REPID_ID);
+        writeRepId(PrimitiveFieldsValue.REPID);
+
+        writeByte(1);
+        writeByte(71);
+        writeWchar_1_2('c');
+        writeDouble(10.24);
+        writeFloat(9.87F);
+        writeLong(1234L);
+        writeShort((short) 86);
+        writeInt(752);
+        writeValueTag(ONE_REPID_ID);
+        writeRepId(RepositoryId.kWStringValueRepID);
+        writeStringValue_1_2("Some value");
+
+        PrimitiveFieldsValue value = new PrimitiveFieldsValue("Some value");
+        value.aBoolean = true;
+        value.aByte = 71;
+        value.aChar = 'c';
+        value.aDouble = 10.24;
+        value.aFloat = 9.87F;
+        value.aLong = 1234L;
+        value.aShort = 86;
+        value.anInt = 752;
+        getOutputObject().write_value(value);
+
+        setMessageBody(getGeneratedBody());
+        expectByteArray(getGeneratedBody());
+    }
+
     /**
      * ArrayLists always use chunking because they have custom marshalling. The Value1 type does not, normally.
      * When a Value1 instance is contained in an ArrayList, it must use chunking to comply with the CORBA spec.
@@ -263,6 +329,54 @@ public class CDROutputValueTest extends ValueTestBase {
         expectByteArrays(new byte[] {0,0,0,1, 0,2, 0,0}, new byte[] {0,0,0,3});
     }
 
+    @Test
+    public void whenFragmentsPerWriteAllowsIt_sendFragmentsTogether() {
+        setFragmentSize(Message.GIOPMessageHeaderLength + 8);
+        setFragmentsPerWrite(4);
+        getOutputObject().write_long(1);
+        getOutputObject().write_short((short) 2);
+        getOutputObject().write_long(3);
+        getOutputObject().write_long(4);
+        getOutputObject().write_long(5);
+
+        expectByteArrays(new byte[] {0,0,0,1, 0,2, 0,0}, new byte[] {0,0,0,3, 0,0,0,4}, new byte[] {0,0,0,5});
+        assertEquals(1, getNumSends());
+    }
+
+    @Test
+    public void whenFragmentsPerWriteReached_sendPendingFragments() {
+        setFragmentSize(Message.GIOPMessageHeaderLength + 8);
+        setFragmentsPerWrite(2);
+        getOutputObject().write_long(1);
+        getOutputObject().write_long(2);
+        getOutputObject().write_long(3);
+        getOutputObject().write_long(4);
+        getOutputObject().write_long(5);
+        assertEquals(1, getNumSends());
+
+        expectByteArrays(new byte[] {0,0,0,1, 0,0,0,2}, new byte[] {0,0,0,3, 0,0,0,4}, new byte[] {0,0,0,5});
+        assertEquals(2, getNumSends());
+    }
+
+    @Test
+    public void whenBatchedSendFails_releaseEachBufferOnce() throws IOException {
+        setFragmentSize(Message.GIOPMessageHeaderLength + 8);
+        setFragmentsPerWrite(2);
+        failSends();
+        getOutputObject().write_long(1);
+        getOutputObject().write_long(2);
+        getOutputObject().write_long(3);
+        try {
+            getOutputObject().write_long(4);
+            getOutputObject().write_long(5);
+            fail("Should have thrown COMM_FAILURE");
+        } catch (COMM_FAILURE e) {
+            getOutputObject().close();
+        }
+
+        expectPooledBuffersReleasedOnce();
+    }
+
     @Test
     public void whenBufferFullInV1_1_sendFragment() {
         useV1_1();
@@ -285,6 +399,70 @@ public class CDROutputValueTest extends ValueTestBase {
         expectByteArray(0,0,0,1, 0,2, 0,0, 0,0,0,3);
     }
 
+    @Test
+    public void whenBufferFullInSegmentedMode_continueInNewSegment() {
+        useSegmentedBuffers();
+        setBufferSize(Message.GIOPMessageHeaderLength + 8);
+        getOutputObject().write_long(1);
+        getOutputObject().write_short((short) 2);
+        getOutputObject().write_long(3);
+
+        expectSegmentedByteArray(new byte[] {0,0,0,1, 0,2, 0,0, 0,0,0,3});
+    }
+
+    @Test
+    public void whenBufferFullInSegmentedModeV1_1_alignRelativeToMessageStart() {
+        useV1_1();
+        useSegmentedBuffers();
+        setBufferSize(Message.GIOPMessageHeaderLength + 6);
+        getOutputObject().write_long(1);
+        getOutputObject().write_short((short) 2);
+        getOutputObject().write_long(3);
+
+        expectSegmentedByteArray(new byte[] {0,0,0,1, 0,2, 0,0, 0,0,0,3});
+    }
+
+    @Test
+    public void whenBufferFullInSegmentedModeWhileWritingPrimitive_generateContinuationInNewSegment() {
+        useSegmentedBuffers();
+        setBufferSize(Message.GIOPMessageHeaderLength + 16);
+        getOutputObject().start_block();
+        getOutputObject().write_long(1);
+        getOutputObject().write_long(2);
+        getOutputObject().write_long(3);
+        getOutputObject().write_long(5);
+        getOutputObject().write_long(6);
+        getOutputObject().write_long(9);
+        getOutputObject().end_block();
+
+        expectSegmentedByteArray(new byte[] {0,0,0,16, 0,0,0,1, 0,0,0,2, 0,0,0,3, 0,0,0,5, 0,0,0,8, 0,0,0,6, 0,0,0,9});
+    }
+
+    @Test
+    public void whenOctetBufferExceedsSegment_sendItAsItsOwnSegment() {
+        useSegmentedBuffers();
+        setBufferSize(Message.GIOPMessageHeaderLength + 8);
+        getOutputObject().write_long(1);
+        getOutputObject().write_octet_buffer(ByteBuffer.wrap(new byte[] {1,2,3,4,5,6,7,8,9,10}));
+        getOutputObject().write_long(2);
+
+        expectSegmentedByteArray(new byte[] {0,0,0,1, 1,2,3,4,5,6,7,8,9,10, 0,0, 0,0,0,2});
+    }
+
+    @Test
+    public void whenSegmentedMessageNeededInOneBuffer_copySegmentsTogether() {
+        useSegmentedBuffers();
+        setBufferSize(Message.GIOPMessageHeaderLength + 8);
+        getOutputObject().write_long(1);
+        getOutputObject().write_long(2);
+        getOutputObject().write_long(3);
+        getOutputObject().write_long(4);
+
+        assertArrayEquals(new byte[] {0,0,0,1, 0,0,0,2, 0,0,0,3, 0,0,0,4}, getOutputObject().toByteArray(Message.GIOPMessageHeaderLength));
+        getOutputObject().write_long(5);
+        expectSegmentedByteArray(new byte[] {0,0,0,1, 0,0,0,2, 0,0,0,3, 0,0,0,4, 0,0,0,5});
+    }
+
     @Test
     public void whenBufferFullWhileWritingPrimitive_generateContinuationAfterFirstPrimitiveInNewFragment() {
         setFragmentSize(Message.GIOPMessageHeaderLength + 16);
@@ -311,6 +489,71 @@ public class CDROutputValueTest extends ValueTestBase {
         expectByteArrays(new byte[] {0,0,0,20, 0,0,0,1, 0,0,0,2, 0,0,0,3}, new byte[] {0,0,0,5, 0,0,0,6, 0,0,0,4, 0,0,0,9});
     }
 
+    @Test
+    public void whenArrayExceedsFragment_continueItInNextFragment() {
+        setFragmentSize(Message.GIOPMessageHeaderLength + 8);
+        getOutputObject().write_long_array(new int[] {1, 2, 3, 4, 5}, 0, 5);
+
+        expectByteArrays(new byte[] {0,0,0,1, 0,0,0,2}, new byte[] {0,0,0,3, 0,0,0,4}, new byte[] {0,0,0,5});
+    }
+
+    @Test
+    public void whenDoubleArrayExceedsFragment_continueItInNextFragment() {
+        setFragmentSize(Message.GIOPMessageHeaderLength + 20);
+        getOutputObject().write_long(1);
+        getOutputObject().write_double_array(new double[] {0.25, 2, 3}, 0, 3);
+
+        expectByteArrays(new byte[] {0,0,0,1, 0x3f,(byte) 0xd0,0,0,0,0,0,0, 0x40,0,0,0,0,0,0,0},
+                         new byte[] {0x40,0x08,0,0,0,0,0,0});
+    }
+
+    @Test
+    public void whenUTF8StringExceedsFragment_splitCharacterAcrossFragments() {
+        setFragmentSize(Message.GIOPMessageHeaderLength + 8);
+        setCharEncoding(UTF_8);
+        getOutputObject().write_string("ab\u20ac\u20ac");
+
+        expectByteArrays(new byte[] {0,0,0,9, 'a','b',(byte) 0xe2,(byte) 0x82}, new byte[] {(byte) 0xac,(byte) 0xe2,(byte) 0x82,(byte) 0xac,0});
+    }
+
+    @Test
+    public void whenWStringExceedsFragment_continueItInNextFragment() {
+        setFragmentSize(Message.GIOPMessageHeaderLength + 8);
+        getOutputObject().write_wstring("ab\u20ac");
+
+        expectByteArrays(new byte[] {0,0,0,8, FE,FF,0,'a'}, new byte[] {0,'b',0x20,(byte) 0xac});
+    }
+
+    @Test
+    public void whenWStringExceedsSegment_splitCharacterAcrossSegments() {
+        useSegmentedBuffers();
+        setBufferSize(Message.GIOPMessageHeaderLength + 9);
+        getOutputObject().write_wstring("ab\u20ac");
+
+        expectSegmentedByteArray(new byte[] {0,0,0,8, FE,FF, 0,'a', 0,'b', 0x20,(byte) 0xac});
+    }
+
+    @Test
+    public void whenArrayExceedsFragmentInV1_1_continueItInNextFragment() {
+        useV1_1();
+        setFragmentSize(Message.GIOPMessageHeaderLength + 8);
+        getOutputObject().write_long(1);
+        getOutputObject().write_short((short) 2);
+        getOutputObject().write_long_array(new int[] {3, 4, 5}, 0, 3);
+
+        expectByteArrays(new byte[] {0,0,0,1, 0,2}, new byte[] {0,0,0,3, 0,0,0,4}, new byte[] {0,0,0,5});
+    }
+
+    @Test
+    public void whenArrayExceedsBufferInV1_0_expandIt() {
+        useV1_0();
+        setBufferSize(Message.GIOPMessageHeaderLength + 8);
+        getOutputObject().write_short((short) 2);
+        getOutputObject().write_longlong_array(new long[] {3, -4}, 0, 2);
+
+        expectByteArray(0,2, 0,0, 0,0,0,0,0,0,0,3, FF,FF,FF,FF,FF,FF,FF,0xfc);
+    }
+
     @Test
     public void whenObjectImplementsWriteReplace_outputStreamContainsReplacementValue() throws Exception {
         writeValueTag(ONE_REPID_ID);
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.impl.encoding;
+
+import com.sun.corba.ee.spi.ior.IOR;
+import com.sun.org.omg.CORBA.ValueDefPackage.FullValueDescription;
+import com.sun.org.omg.SendingContext.CodeBase;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static com.meterware.simplestub.Stub.createStrictStub;
+import static com.meterware.simplestub.Stub.createStub;
+import static com.sun.corba.ee.impl.encoding.FVDBuilder.defineFullValueDescription;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CodeBaseCacheTest extends EncodingTestBase {
+
+    private static final String IDL_REPID = "IDL:test/Data:1.0";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private CountingCodeBase codeBase1 = createStrictStub(CountingCodeBase.class);
+    private CountingCodeBase codeBase2 = createStrictStub(CountingCodeBase.class);
+    private IOR ior1 = createStub(IOR.class);
+    private IOR ior2 = createStub(IOR.class);
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        defineFullValueDescription(Value2.REPID).withMember("aChar", char.class).build();
+        defineFullValueDescription(IDLValue.REPID).withBaseRepId(Value2.REPID).withMember("anInt", int.class).build();
+        defineFullValueDescription(IDL_REPID).withMember("aShort", short.class).build();
+    }
+
+    @After
+    public void tearDown() {
+        CodeBaseCache.release(getOrb());
+    }
+
+    private CodeBaseCache getCache() {
+        return CodeBaseCache.get(getOrb());
+    }
+
+    private CodeBaseCache.Peer getPeer(IOR ior, CodeBase codeBase) {
+        return getCache().getPeer(ior, () -> codeBase);
+    }
+
+    @Test
+    public void whenConnectionsShareCodeBaseIOR_shareOnePeer() {
+        assertSame(getPeer(ior1, codeBase1), getPeer(ior1, codeBase2));
+    }
+
+    @Test
+    public void whenDescriptionRequestedTwice_remoteCodeBaseIsCalledOnce() {
+        CodeBaseCache.Peer peer = getPeer(ior1, codeBase1);
+
+        FullValueDescription fvd = getCache().meta(peer, Value2.REPID);
+
+        assertSame(fvd, getCache().meta(peer, Value2.REPID));
+        assertEquals(1, codeBase1.numMetaCalls);
+        assertEquals(1, getCache().getNumberOfHits());
+        assertEquals(1, getCache().getNumberOfMisses());
+        assertEquals(1, getCache().getNumberOfRemoteCalls());
+    }
+
+    @Test
+    public void rmiValueDescription_isSharedAcrossPeers() {
+        FullValueDescription fvd = getCache().meta(getPeer(ior1, codeBase1), Value2.REPID);
+
+        assertSame(fvd, getCache().meta(getPeer(ior2, codeBase2), Value2.REPID));
+        assertEquals(0, codeBase2.numMetaCalls);
+    }
+
+    @Test
+    public void idlDescription_isNotSharedAcrossPeers() {
+        getCache().meta(getPeer(ior1, codeBase1), IDL_REPID);
+        getCache().meta(getPeer(ior2, codeBase2), IDL_REPID);
+
+        assertEquals(1, codeBase1.numMetaCalls);
+        assertEquals(1, codeBase2.numMetaCalls);
+    }
+
+    @Test
+    public void whenNoRemoteCodeBase_onlySharedDescriptionsAreFound() {
+        getCache().meta(getPeer(ior1, codeBase1), Value2.REPID);
+
+        assertNotNull(getCache().meta(null, Value2.REPID));
+        assertNull(getCache().meta(null, IDLValue.REPID));
+        assertNull(getCache().implementation(null, Value2.REPID));
+    }
+
+    @Test
+    public void whenCacheFileConfigured_sharedDescriptionsSurviveORBRestart() throws Exception {
+        File file = new File(folder.getRoot(), "codebase.cache");
+        setCodeBaseCacheFile(file.getPath());
+        getCache().meta(getPeer(ior1, codeBase1), IDLValue.REPID);
+        getCache().meta(getPeer(ior1, codeBase1), IDL_REPID);
+
+        CodeBaseCache.release(getOrb());
+        assertTrue(file.exists());
+
+        assertEquals(1, getCache().getNumberOfSharedDescriptions());
+        FullValueDescription fvd = getCache().meta(null, IDLValue.REPID);
+        assertEquals(IDLValue.REPID, fvd.id);
+        assertEquals(Value2.REPID, fvd.base_value);
+        assertEquals("anInt", fvd.members[0].name);
+        assertEquals(1, getCache().getNumberOfHits());
+    }
+
+    @Test
+    public void whenCacheFileIsCorrupt_startWithEmptyCache() throws Exception {
+        File file = folder.newFile("codebase.cache");
+        Files.write(file.toPath(), new byte[] {0, 0, 0, 0, 1, 2});
+        setCodeBaseCacheFile(file.getPath());
+
+        assertEquals(0, getCache().getNumberOfSharedDescriptions());
+    }
+
+    static abstract class CountingCodeBase implements CodeBase {
+        int numMetaCalls;
+
+        @Override
+        public FullValueDescription meta(String repId) {
+            numMetaCalls++;
+            return FVDBuilder.getMeta(repId);
+        }
+    }
+}
@@ -30,6 +30,7 @@ import com.sun.corba.ee.spi.orb.ORB;
 import com.sun.corba.ee.spi.orb.ORBData;
 import com.sun.corba.ee.spi.orb.ORBVersion;
 import com.sun.corba.ee.spi.orb.ORBVersionFactory;
+import com.sun.corba.ee.spi.protocol.ClientInvocationInfo;
 import com.sun.corba.ee.spi.protocol.MessageMediator;
 import com.sun.corba.ee.spi.transport.ByteBufferPool;
 import com.sun.corba.ee.spi.transport.Connection;
@@ -38,14 +39,17 @@ import com.sun.corba.ee.spi.transport.TransportManager;
 import com.sun.org.omg.CORBA.ValueDefPackage.FullValueDescription;
 import com.sun.org.omg.SendingContext.CodeBase;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.ArrayList;
+import java.util.EmptyStackException;
 import java.util.List;
 
 import org.glassfish.corba.testutils.HexBuffer;
 import org.junit.Before;
+import org.omg.CORBA.COMM_FAILURE;
 import org.omg.CORBA.portable.OutputStream;
 import org.omg.CORBA.portable.ValueFactory;
 
@@ -59,6 +63,7 @@ import static com.sun.corba.ee.spi.ior.iiop.GIOPVersion.V1_1;
 import static com.sun.corba.ee.spi.ior.iiop.GIOPVersion.V1_2;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class EncodingTestBase {
@@ -131,6 +136,30 @@ public class EncodingTestBase {
         orbData.giopFragmentSize = size;
     }
 
+    protected final void useSegmentedBuffers() {
+        orbData.useSegmentedBuffers = true;
+    }
+
+    protected final void setCodeBaseCacheFile(String fileName) {
+        orbData.codeBaseCacheFile = fileName;
+    }
+
+    protected final RepositoryIdDictionary getRepositoryIdDictionary() {
+        return connection.repositoryIdDictionary;
+    }
+
+    protected final void setFragmentsPerWrite(int fragmentsPerWrite) {
+        orbData.giopFragmentsPerWrite = fragmentsPerWrite;
+    }
+
+    protected final int getNumSends() {
+        return connection.numSends;
+    }
+
+    protected final void failSends() {
+        connection.failSends = true;
+    }
+
     protected final void useStreamFormatVersion1() {
         formatVersion = ORBConstants.STREAM_FORMAT_VERSION_1;
     }
@@ -230,6 +259,10 @@ public class EncodingTestBase {
         return pool.getNumBuffersReleased();
     }
 
+    protected final void expectPooledBuffersReleasedOnce() {
+        pool.expectPooledBuffersReleasedOnce();
+    }
+
     // Note: the tests assume that the buffer contents start after the header. For the output logic, the object is created
     // positioned after the header, so the comparison must skip that.
 
@@ -276,6 +309,22 @@ public class EncodingTestBase {
             expectFragment(i, expected[i]);
     }
 
+    /**
+     * Sends the message and verifies that it was written in several buffers with a single send,
+     * which together hold the expected body, and that the header size covers them all.
+     */
+    protected final void expectSegmentedByteArray(byte... expected) {
+        getOutputObject().finishSendingMessage();
+        assertEquals(1, getNumSends());
+        assertTrue(fragments.size() > 1);
+        assertEquals(Message.GIOPMessageHeaderLength + expected.length, message.getSizeInHeader());
+
+        ByteArrayOutputStream segments = new ByteArrayOutputStream();
+        for (byte[] segment : fragments)
+            segments.write(segment, 0, segment.length);
+        assertArrayEquals(expected, subBuffer(segments.toByteArray(), Message.GIOPMessageHeaderLength));
+    }
+
     private byte[] subBuffer(byte[] input, int start) {
         byte[] result = new byte[input.length-start];
         System.arraycopy(input, start, result, 0, result.length);
@@ -316,12 +365,20 @@ public class EncodingTestBase {
         private boolean useRepId;
         private boolean useEnumDesc;
         private int giopFragmentSize = 250;
+        private int giopFragmentsPerWrite = 1;
+        private boolean useSegmentedBuffers;
+        private String codeBaseCacheFile = "";
 
         @Override
         public int fragmentReadTimeout() {
             return 1;
         }
 
+        @Override
+        public String codeBaseCacheFile() {
+            return codeBaseCacheFile;
+        }
+
         @Override
         public void waitNanos(Object obj, long waitNanos) throws InterruptedException {
             if (asynchronousAction != null) {
@@ -332,7 +389,9 @@ public class EncodingTestBase {
 
         @Override
         public int getGIOPBuffMgrStrategy(GIOPVersion gv) {
-            return gv.equals(GIOPVersion.V1_0) ? BufferManagerFactory.GROW : BufferManagerFactory.STREAM;
+            if (gv.equals(GIOPVersion.V1_0))
+                return BufferManagerFactory.GROW;
+            return useSegmentedBuffers ? BufferManagerFactory.SEGMENT : BufferManagerFactory.STREAM;
         }
 
         @Override
@@ -364,17 +423,33 @@ public class EncodingTestBase {
         public int getGIOPFragmentSize() {
             return giopFragmentSize;
         }
+
+        @Override
+        public int getGIOPFragmentsPerWrite() {
+            return giopFragmentsPerWrite;
+        }
     }
 
     //----------------------------------- fake implementation of a ByteBufferPool --------------------------------------
 
     static abstract class ByteBufferPoolFake implements ByteBufferPool {
         private List<ByteBuffer> buffers = new ArrayList<ByteBuffer>();
+        private List<ByteBuffer> leased = new ArrayList<ByteBuffer>();
 
         protected int getNumBuffersReleased() {
             return buffers.size();
         }
 
+        // Buffers are compared by identity, as the pool compares them.
+        void expectPooledBuffersReleasedOnce() {
+            for (ByteBuffer buffer : leased) {
+                int numReleases = 0;
+                for (ByteBuffer released : buffers)
+                    if (released == buffer) numReleases++;
+                assertEquals("Number of releases of a pooled buffer", 1, numReleases);
+            }
+        }
+
         @Override
         public void releaseByteBuffer(ByteBuffer buffer) {
             buffers.add(buffer);
@@ -382,7 +457,9 @@ public class EncodingTestBase {
 
         @Override
         public ByteBuffer getByteBuffer(int theSize) {
-            return ByteBuffer.allocate(theSize);
+            ByteBuffer buffer = ByteBuffer.allocate(theSize);
+            leased.add(buffer);
+            return buffer;
         }
     }
 
@@ -434,6 +511,12 @@ public class EncodingTestBase {
         public TransportManager getTransportManager() {
             return transportManager;
         }
+
+        // As on the server side, there is no client invocation in progress.
+        @Override
+        public ClientInvocationInfo getInvocationInfo() {
+            throw new EmptyStackException();
+        }
     }
 
     //-------------------------------------- fake implementation of a Codebase -----------------------------------------
@@ -456,9 +539,12 @@ public class EncodingTestBase {
         int char_encoding = ISO_8859_1;
         int wchar_encoding = UTF_16;
         boolean locked;
+        boolean failSends;
+        int numSends;
         private CodeSetComponentInfo.CodeSetContext codeSets;
         List<byte[]> fragments;
         CodeBase codeBase = createStrictStub(CodeBaseFake.class);
+        RepositoryIdDictionary repositoryIdDictionary = new RepositoryIdDictionary();
 
         void setCharEncoding(int char_encoding) {
             this.char_encoding = char_encoding;
@@ -482,6 +568,16 @@ public class EncodingTestBase {
             return codeBase;
         }
 
+        @Override
+        public RepositoryIdDictionary getRepositoryIdDictionary() {
+            return repositoryIdDictionary;
+        }
+
+        @Override
+        public boolean isMessageCompressionEnabled() {
+            return false;
+        }
+
         @Override
         public boolean hasSocketChannel() {
             return true;
@@ -501,12 +597,31 @@ public class EncodingTestBase {
         public void sendWithoutLock(CDROutputObject outputObject) {
             try {
                 if (!locked) fail("sendWithoutLock called while connection is not locked");
+                numSends++;
                 outputObject.writeTo(this);
             } catch (IOException e) {
                 fail("Connection reported: " + e);
             }
         }
 
+        @Override
+        public void sendWithoutLock(ByteBuffer[] byteBuffers) {
+            try {
+                if (!locked) fail("sendWithoutLock called while connection is not locked");
+                if (failSends) throw new COMM_FAILURE();
+                numSends++;
+                write(byteBuffers);
+            } catch (IOException e) {
+                fail("Connection reported: " + e);
+            }
+        }
+
+        @Override
+        public void write(ByteBuffer[] byteBuffers) throws IOException {
+            for (ByteBuffer byteBuffer : byteBuffers)
+                write(byteBuffer);
+        }
+
         @Override
         public void write(ByteBuffer byteBuffer) throws IOException {
             byte[] buf = new byte[byteBuffer.remaining()];
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.impl.encoding;
+
+import com.sun.corba.ee.spi.servicecontext.RepositoryIdDictionaryServiceContext;
+import com.sun.corba.ee.spi.servicecontext.ServiceContextDefaults;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class RepositoryIdDictionaryTest {
+
+    private static final String REPID_1 = "RMI:com.acme.Value1:0000000000000000";
+    private static final String REPID_2 = "RMI:com.acme.Value2:0000000000000000";
+
+    private RepositoryIdDictionary client = new RepositoryIdDictionary();
+    private RepositoryIdDictionary server = new RepositoryIdDictionary();
+
+    private static RepositoryIdDictionaryServiceContext context(int acknowledged, int firstIndex, String... definitions) {
+        return ServiceContextDefaults.makeRepositoryIdDictionaryServiceContext(acknowledged, firstIndex, definitions);
+    }
+
+    @Test
+    public void whenOutboundNotEnabled_neverAssignIndices() {
+        assertEquals(-1, client.getIndex(REPID_1));
+        assertEquals(-1, client.getIndex(REPID_1));
+        assertEquals(0, client.getNumberOfOutboundEntries());
+    }
+
+    @Test
+    public void untilIndexAcknowledged_writeStringInFull() {
+        client.enableOutbound();
+
+        assertEquals(-1, client.getIndex(REPID_1));
+        assertEquals(-1, client.getIndex(REPID_1));
+        assertEquals(1, client.getNumberOfOutboundEntries());
+    }
+
+    @Test
+    public void serviceContextDefinesUnacknowledgedEntries() {
+        client.enableOutbound();
+        client.getIndex(REPID_1);
+        client.getIndex(REPID_2);
+
+        RepositoryIdDictionaryServiceContext context = client.makeServiceContext();
+
+        assertEquals(0, context.getFirstIndex());
+        assertArrayEquals(new String[] {REPID_1, REPID_2}, context.getDefinitions());
+    }
+
+    @Test
+    public void afterExchangeOfServiceContexts_indicesAreUsedAndResolved() {
+        client.enableOutbound();
+        client.getIndex(REPID_1);
+
+        server.receive(client.makeServiceContext());
+        server.enableOutbound();
+        client.receive(server.makeServiceContext());
+
+        assertEquals(0, client.getIndex(REPID_1));
+        assertEquals(REPID_1, server.getString(0));
+        assertEquals(1, client.getNumberOfReferencesWritten());
+        assertEquals(0, client.makeServiceContext().getDefinitions().length);
+    }
+
+    @Test
+    public void whenDefinitionsArriveOutOfOrder_acknowledgeOnlyContiguousEntries() {
+        server.receive(context(0, 1, REPID_2));
+
+        assertEquals(0, server.getNumberOfInboundEntries());
+        assertEquals(REPID_2, server.getString(1));
+        assertEquals(0, server.makeServiceContext().getAcknowledged());
+
+        server.receive(context(0, 0, REPID_1));
+
+        assertEquals(2, server.makeServiceContext().getAcknowledged());
+    }
+
+    @Test
+    public void whenEntryRedefined_keepOriginal() {
+        server.receive(context(0, 0, REPID_1));
+        server.receive(context(0, 0, REPID_2));
+
+        assertEquals(REPID_1, server.getString(0));
+    }
+
+    @Test
+    public void whenIndexUndefined_returnNull() {
+        assertNull(server.getString(0));
+        assertNull(server.getString(RepositoryIdDictionary.MAX_ENTRIES + 10));
+    }
+
+    @Test
+    public void acknowledgementBeyondAssignedEntriesIsIgnored() {
+        client.enableOutbound();
+        client.getIndex(REPID_1);
+
+        client.receive(context(5, 0));
+
+        assertEquals(1, client.getNumberOfAcknowledgedEntries());
+    }
+
+    @Test
+    public void whenDictionaryFull_stopAssigningIndices() {
+        client.enableOutbound();
+        for (int i = 0; i < RepositoryIdDictionary.MAX_ENTRIES + 5; i++) {
+            client.getIndex("RMI:com.acme.Value" + i + ":0000000000000000");
+        }
+
+        assertEquals(RepositoryIdDictionary.MAX_ENTRIES, client.getNumberOfOutboundEntries());
+    }
+
+    @Test
+    public void whenStringNotLatin1_doNotAssignIndex() {
+        client.enableOutbound();
+        client.getIndex("IDL:中:1.0");
+
+        assertEquals(0, client.getNumberOfOutboundEntries());
+    }
+}
+
+// End of file.
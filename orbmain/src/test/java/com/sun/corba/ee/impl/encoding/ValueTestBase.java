@@ -131,6 +131,11 @@ public class ValueTestBase extends EncodingTestBase {
         writeString(id);
     }
 
+    protected void writeDictionaryReference(int index) throws IOException {
+        writeInt(-1);
+        writeInt(index);
+    }
+
     // Rep ID to define optional data in serial version 2 jidl ptc 03-01-17 1.4.10
     protected void writeCustomRepId(String id) throws IOException {
         writeString("org.omg.custom." + id);
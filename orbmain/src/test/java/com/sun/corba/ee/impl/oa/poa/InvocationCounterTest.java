@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.impl.oa.poa;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class InvocationCounterTest {
+
+    private InvocationCounter counter = new InvocationCounter();
+
+    @Test
+    public void countsInvocationsInProgress() {
+        counter.increment();
+        counter.increment();
+        counter.decrement();
+
+        assertEquals(1, counter.sum());
+        assertEquals("1", counter.toString());
+    }
+
+    @Test
+    public void whenManyThreadsEnterAndExit_countReturnsToZero() throws Exception {
+        final int numThreads = 8;
+        final CountDownLatch entered = new CountDownLatch(numThreads);
+        final CountDownLatch release = new CountDownLatch(1);
+        Thread[] threads = new Thread[numThreads];
+        for (int i = 0; i < numThreads; i++) {
+            threads[i] = new Thread() {
+                public void run() {
+                    for (int j = 0; j < 10000; j++) {
+                        counter.increment();
+                        counter.decrement();
+                    }
+                    counter.increment();
+                    entered.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        // exit anyway
+                    }
+                    counter.decrement();
+                }
+            };
+            threads[i].start();
+        }
+
+        entered.await();
+        assertEquals(numThreads, counter.sum());
+
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join(5000);
+        }
+        assertEquals(0, counter.sum());
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.impl.oa.poa;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ObjectIdTableTest {
+
+    private ObjectIdTable<String> table = new ObjectIdTable<String>();
+
+    private static byte[] id(int i) {
+        return new byte[] { (byte) (i >>> 24), (byte) (i >>> 16), (byte) (i >>> 8), (byte) i };
+    }
+
+    @Test
+    public void valuesAreFoundByIdContent() {
+        table.put(id(1), "one");
+        table.put(new byte[0], "empty");
+
+        assertEquals("one", table.get(id(1)));
+        assertEquals("empty", table.get(new byte[0]));
+        assertNull(table.get(id(2)));
+        assertEquals("one", table.put(id(1), "uno"));
+        assertEquals("uno", table.get(id(1)));
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    public void afterAddingAndRemovingManyIds_remainingIdsAreFound() {
+        for (int i = 0; i < 10000; i++) {
+            table.put(id(i), Integer.toString(i));
+        }
+        for (int i = 0; i < 10000; i += 2) {
+            assertEquals(Integer.toString(i), table.remove(id(i)));
+        }
+
+        assertEquals(5000, table.size());
+        for (int i = 0; i < 10000; i++) {
+            String expected = (i % 2 == 0) ? null : Integer.toString(i);
+            assertEquals(expected, table.get(id(i)));
+        }
+        assertNull(table.remove(id(0)));
+
+        Set<Integer> ids = new HashSet<Integer>();
+        for (byte[] id : table.ids()) {
+            ids.add(((id[0] & 0xff) << 24) | ((id[1] & 0xff) << 16) | ((id[2] & 0xff) << 8) | (id[3] & 0xff));
+        }
+        assertEquals(5000, ids.size());
+        assertTrue(ids.contains(9999));
+    }
+
+    @Test
+    public void whenIdsAreRepeatedlyAddedAndRemoved_tableDoesNotGrow() {
+        table.put(id(-1), "fixed");
+        for (int i = 0; i < 10000; i++) {
+            table.put(id(i), "churn");
+            table.remove(id(i));
+        }
+
+        assertEquals(1, table.size());
+        assertEquals(16, table.capacity());
+        assertEquals("fixed", table.get(id(-1)));
+    }
+
+    @Test
+    public void whenCapacityIsReserved_tableDoesNotGrowWhileFilled() {
+        table.ensureCapacity(1000);
+        int capacity = table.capacity();
+        for (int i = 0; i < 1000; i++) {
+            table.put(id(i), "x");
+        }
+
+        assertEquals(capacity, table.capacity());
+        assertTrue(4 * 1000 <= 3 * capacity);
+    }
+
+    @Test
+    public void whileTableIsUpdated_lookupsWithoutLockingFindStableIds() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            table.put(id(i), Integer.toString(i));
+        }
+
+        final AtomicBoolean done = new AtomicBoolean();
+        final AtomicInteger errors = new AtomicInteger();
+        Thread[] readers = new Thread[4];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread() {
+                public void run() {
+                    while (!done.get()) {
+                        for (int i = 0; i < 100; i++) {
+                            if (!Integer.toString(i).equals(table.get(id(i)))) {
+                                errors.incrementAndGet();
+                            }
+                        }
+                    }
+                }
+            };
+            readers[r].start();
+        }
+
+        for (int i = 100; i < 50000; i++) {
+            table.put(id(i), "churn");
+            if (i % 3 != 0) {
+                table.remove(id(i));
+            }
+        }
+        done.set(true);
+        for (Thread reader : readers) {
+            reader.join(5000);
+        }
+
+        assertEquals(0, errors.get());
+    }
+}
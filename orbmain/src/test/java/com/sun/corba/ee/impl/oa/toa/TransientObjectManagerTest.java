@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.impl.oa.toa;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class TransientObjectManagerTest {
+
+    private TransientObjectManager manager = new TransientObjectManager(null);
+
+    @Test
+    public void storedServantsAreFoundByKey() {
+        Object servant = new Object();
+        Object data = new Object();
+        byte[] key = manager.storeServant(servant, data);
+
+        assertEquals(8, key.length);
+        assertSame(servant, manager.lookupServant(key));
+        assertSame(data, manager.lookupServantData(key));
+        assertArrayEquals(key, manager.getKey(servant));
+    }
+
+    @Test
+    public void afterServantDeleted_itsKeyNoLongerMatchesWhenIndexReused() {
+        Object first = new Object();
+        byte[] firstKey = manager.storeServant(first, null);
+        manager.deleteServant(firstKey);
+
+        Object second = new Object();
+        byte[] secondKey = manager.storeServant(second, null);
+
+        assertFalse(Arrays.equals(firstKey, secondKey));
+        assertNull(manager.lookupServant(firstKey));
+        assertNull(manager.getKey(first));
+        assertSame(second, manager.lookupServant(secondKey));
+
+        manager.deleteServant(firstKey);
+        assertSame(second, manager.lookupServant(secondKey));
+    }
+
+    @Test
+    public void whenManyServantsStored_allAreFoundByKeyAndServant() {
+        Object[] servants = new Object[1000];
+        byte[][] keys = new byte[servants.length][];
+        for (int i = 0; i < servants.length; i++) {
+            servants[i] = new Object();
+            keys[i] = manager.storeServant(servants[i], null);
+        }
+
+        for (int i = 0; i < servants.length; i++) {
+            assertSame(servants[i], manager.lookupServant(keys[i]));
+            assertArrayEquals(keys[i], manager.getKey(servants[i]));
+        }
+    }
+
+    @Test
+    public void whenKeyIsNotATransientKey_lookupReturnsNull() {
+        manager.storeServant(new Object(), null);
+
+        assertNull(manager.lookupServant(new byte[] { 0, 0, 0, 0 }));
+        assertNull(manager.lookupServant(new byte[] { 0, 0, 0x10, 0, 0, 0, 0, 0 }));
+        assertNull(manager.lookupServant(new byte[] { (byte) 0xff, 0, 0, 0, 0, 0, 0, 0 }));
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.impl.presentation.rmi;
+
+import com.sun.corba.ee.spi.presentation.rmi.PresentationManager;
+
+import java.lang.reflect.Method;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class PresentationManagerImplTest {
+
+    private PresentationManagerImpl presentationManager = new PresentationManagerImpl(true);
+
+    public interface Greeter extends Remote {
+        String greet(String name) throws RemoteException;
+    }
+
+    @Test
+    public void classDataIsCachedPerClass() {
+        assertSame(presentationManager.getClassData(Greeter.class), presentationManager.getClassData(Greeter.class));
+    }
+
+    @Test
+    public void methodDataIsFoundByMethodAndByIdlName() throws Exception {
+        Method greet = Greeter.class.getMethod("greet", String.class);
+        PresentationManager.ClassData classData = presentationManager.getClassData(Greeter.class);
+
+        PresentationManager.MethodData methodData = classData.getMethodData(greet);
+
+        assertEquals("greet", methodData.getIDLName());
+        assertSame(methodData, classData.getMethodData("greet"));
+        assertNull(classData.getMethodData("unknown"));
+    }
+
+    @Test
+    public void methodDataSharesDynamicMethodMarshaller() throws Exception {
+        Method greet = Greeter.class.getMethod("greet", String.class);
+
+        PresentationManager.MethodData methodData = presentationManager.getClassData(Greeter.class).getMethodData(greet);
+
+        assertSame(presentationManager.getDynamicMethodMarshaller(greet), methodData.getDynamicMethodMarshaller());
+        assertSame(methodData.getDynamicMethodMarshaller(), methodData.getDynamicMethodMarshaller());
+    }
+
+    @Test
+    public void afterFlush_newClassDataIsCreated() {
+        PresentationManager.ClassData classData = presentationManager.getClassData(Greeter.class);
+
+        presentationManager.flushClass(Greeter.class);
+
+        assertNotSame(classData, presentationManager.getClassData(Greeter.class));
+    }
+}
@@ -21,30 +21,49 @@ package com.sun.corba.ee.impl.presentation.rmi;
 
 import com.sun.corba.ee.spi.copyobject.CopyobjectDefaults;
 import com.sun.corba.ee.spi.oa.OAInvocationInfo;
+import com.sun.corba.ee.spi.orb.ORBData;
 import com.sun.corba.ee.spi.presentation.rmi.DynamicMethodMarshaller;
 import com.sun.corba.ee.spi.presentation.rmi.IDLNameTranslator;
 import com.sun.corba.ee.spi.presentation.rmi.InvocationInterceptor;
 import com.sun.corba.ee.spi.presentation.rmi.PresentationManager;
 import com.sun.corba.ee.spi.protocol.ClientDelegate;
 import com.sun.corba.ee.spi.protocol.LocalClientRequestDispatcher;
+import com.sun.corba.ee.spi.protocol.PendingRequest;
 import com.sun.corba.ee.spi.transport.ContactInfoList;
 
 import java.lang.reflect.Method;
 import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.omg.CORBA.COMM_FAILURE;
 import org.omg.CORBA.ORB;
 import org.omg.CORBA.Object;
+import org.omg.CORBA.SystemException;
+import org.omg.CORBA.portable.ApplicationException;
 import org.omg.CORBA.portable.Delegate;
+import org.omg.CORBA.portable.InputStream;
 import org.omg.CORBA.portable.ObjectImpl;
+import org.omg.CORBA.portable.OutputStream;
+import org.omg.CORBA.portable.RemarshalException;
 import org.omg.CORBA.portable.ServantObject;
 
 import static com.meterware.simplestub.Stub.createStrictStub;
 import static com.meterware.simplestub.Stub.createStub;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 public class StubInvocationHandlerImplTest {
 
@@ -56,9 +75,15 @@ public class StubInvocationHandlerImplTest {
 
     private StubInvocationHandlerImpl handler = new StubInvocationHandlerImpl(presentationManager, classData, new CalledObject());
 
+    private RemoteDelegateFake remoteDelegate = createStrictStub(RemoteDelegateFake.class);
+    private StubInvocationHandlerImpl remoteHandler
+          = new StubInvocationHandlerImpl(presentationManager, classData, new RemoteObject(remoteDelegate));
+    private Method getValueMethod;
+
     @Before
     public void setUp() throws Exception {
         throwExceptionMethod = CalledObject.class.getMethod("throwException");
+        getValueMethod = CalledObject.class.getMethod("getValue");
     }
 
     @Test
@@ -70,6 +95,74 @@ public class StubInvocationHandlerImplTest {
         }
     }
 
+    @Test
+    public void whenAsyncReplyArrives_completeFutureWithResult() {
+        CompletableFuture<java.lang.Object> future = remoteHandler.invokeAsync(getValueMethod, new java.lang.Object[0]);
+        assertFalse(future.isDone());
+
+        remoteDelegate.getRequest(0).replyArrived();
+
+        assertEquals(DynamicMethodMarshallerFake.RESULT, future.getNow(null));
+        assertTrue(remoteDelegate.getRequest(0).released);
+    }
+
+    @Test
+    public void whenAsyncFutureCancelled_cancelRequestAndReleaseIt() {
+        CompletableFuture<java.lang.Object> future = remoteHandler.invokeAsync(getValueMethod, new java.lang.Object[0]);
+
+        future.cancel(true);
+
+        PendingRequestFake request = remoteDelegate.getRequest(0);
+        assertThat(request.cancelledWith, instanceOf(COMM_FAILURE.class));
+        assertTrue(request.released);
+    }
+
+    @Test
+    public void whenAsyncFutureTimesOut_cancelRequestAndReleaseIt() throws InterruptedException {
+        CompletableFuture<java.lang.Object> future = remoteHandler.invokeAsync(getValueMethod, new java.lang.Object[0]);
+
+        future.orTimeout(10, TimeUnit.MILLISECONDS);
+
+        PendingRequestFake request = remoteDelegate.getRequest(0);
+        for (int i = 0; i < 500 && !request.released; i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(future.isCompletedExceptionally());
+        assertThat(request.cancelledWith, instanceOf(COMM_FAILURE.class));
+        assertTrue(request.released);
+    }
+
+    @Test
+    public void whenAsyncReplyIsLocationForward_sendRequestAgain() {
+        CompletableFuture<java.lang.Object> future = remoteHandler.invokeAsync(getValueMethod, new java.lang.Object[0]);
+
+        remoteDelegate.getRequest(0).forwarded = true;
+        remoteDelegate.getRequest(0).replyArrived();
+
+        assertTrue(remoteDelegate.getRequest(0).released);
+        assertFalse(future.isDone());
+
+        remoteDelegate.getRequest(1).replyArrived();
+
+        assertEquals(DynamicMethodMarshallerFake.RESULT, future.getNow(null));
+    }
+
+    @Test
+    public void whenAsyncReplyArrives_runInvocationInterceptorOnCompletingThread() throws InterruptedException {
+        remoteHandler.invokeAsync(getValueMethod, new java.lang.Object[0]);
+        remoteDelegate.orb.interceptor.calls.clear();
+
+        Thread completer = new Thread(new Runnable() {
+            public void run() {
+                remoteDelegate.getRequest(0).replyArrived();
+            }
+        }, "completer");
+        completer.start();
+        completer.join();
+
+        assertThat(remoteDelegate.orb.interceptor.calls, contains("preInvoke on completer", "postInvoke on completer"));
+    }
+
     static class CalledObject extends ObjectImpl {
         private Delegate delegate = createStrictStub(ClientDelegateFake.class, this);
 
@@ -78,6 +171,29 @@ public class StubInvocationHandlerImplTest {
             throw new TestException("thrown in test");
         }
 
+        @SuppressWarnings({"WeakerAccess", "unused"})
+        public String getValue() {
+            return "local";
+        }
+
+        @Override
+        public String[] _ids() {
+            return new String[0];
+        }
+
+        @Override
+        public Delegate _get_delegate() {
+            return delegate;
+        }
+    }
+
+    static class RemoteObject extends ObjectImpl {
+        private Delegate delegate;
+
+        RemoteObject(Delegate delegate) {
+            this.delegate = delegate;
+        }
+
         @Override
         public String[] _ids() {
             return new String[0];
@@ -103,6 +219,17 @@ public class StubInvocationHandlerImplTest {
     }
 
     static abstract class DynamicMethodMarshallerFake implements DynamicMethodMarshaller {
+        static final String RESULT = "result";
+
+        @Override
+        public void writeArguments(org.omg.CORBA_2_3.portable.OutputStream os, java.lang.Object[] args) {
+        }
+
+        @Override
+        public java.lang.Object readResult(org.omg.CORBA_2_3.portable.InputStream is) {
+            return RESULT;
+        }
+
         @Override
         public java.lang.Object[] copyArguments(java.lang.Object[] args, ORB orb) throws RemoteException {
             return args;
@@ -119,6 +246,45 @@ public class StubInvocationHandlerImplTest {
         public IDLNameTranslator getIDLNameTranslator() {
             return createStrictStub(IDLNameTranslatorFake.class);
         }
+
+        @Override
+        public PresentationManager.MethodData getMethodData(Method method) {
+            return new MethodDataFake(method);
+        }
+    }
+
+    static class MethodDataFake implements PresentationManager.MethodData {
+        private Method method;
+
+        MethodDataFake(Method method) {
+            this.method = method;
+        }
+
+        @Override
+        public Method getMethod() {
+            return method;
+        }
+
+        @Override
+        public int getMethodNumber() {
+            return -1;
+        }
+
+        @Override
+        public String getIDLName() {
+            return "methodName";
+        }
+
+        @Override
+        public DynamicMethodMarshaller getDynamicMethodMarshaller() {
+            return createStrictStub(DynamicMethodMarshallerFake.class);
+        }
+
+        @Override
+        public Method getAccessibleMethod() {
+            method.setAccessible(true);
+            return method;
+        }
     }
 
     static abstract class IDLNameTranslatorFake implements IDLNameTranslator {
@@ -175,9 +341,125 @@ public class StubInvocationHandlerImplTest {
     }
 
     static abstract class ContactInfoListFake implements ContactInfoList {
+        private boolean useLocalInvocation = true;
+
         @Override
         public LocalClientRequestDispatcher getLocalClientRequestDispatcher() {
-            return createStrictStub(LocalClientRequestDispatcherFake.class);
+            return createStrictStub(LocalClientRequestDispatcherFake.class, useLocalInvocation);
+        }
+    }
+
+    // A delegate for an object in another process.  Each request sent is
+    // recorded, and completes when the test calls its replyArrived method.
+    static abstract class RemoteDelegateFake extends ClientDelegate {
+        private RemoteORBFake orb = createStrictStub(RemoteORBFake.class);
+        private ContactInfoListFake contactInfoList = createStrictStub(ContactInfoListFake.class);
+        private List<PendingRequestFake> requests = Collections.synchronizedList(new ArrayList<PendingRequestFake>());
+
+        RemoteDelegateFake() {
+            contactInfoList.useLocalInvocation = false;
+        }
+
+        PendingRequestFake getRequest(int i) {
+            return requests.get(i);
+        }
+
+        @Override
+        public com.sun.corba.ee.spi.orb.ORB getBroker() {
+            return orb;
+        }
+
+        @Override
+        public ContactInfoList getContactInfoList() {
+            return contactInfoList;
+        }
+
+        @Override
+        public OutputStream request(Object self, String operation, boolean responseExpected) {
+            return createStub(org.omg.CORBA_2_3.portable.OutputStream.class);
+        }
+
+        @Override
+        public PendingRequest sendRequest(Object self, OutputStream output) {
+            PendingRequestFake request = new PendingRequestFake();
+            requests.add(request);
+            return request;
+        }
+    }
+
+    static class PendingRequestFake implements PendingRequest {
+        private Runnable action;
+        private boolean forwarded;
+        private SystemException cancelledWith;
+        private boolean released;
+
+        synchronized void replyArrived() {
+            action.run();
+        }
+
+        @Override
+        public void whenResponseReceived(Runnable action) {
+            this.action = action;
+        }
+
+        @Override
+        public InputStream receiveReply() throws ApplicationException, RemarshalException {
+            if (cancelledWith != null) {
+                throw cancelledWith;
+            } else if (forwarded) {
+                throw new RemarshalException();
+            }
+            return createStub(org.omg.CORBA_2_3.portable.InputStream.class);
+        }
+
+        @Override
+        public void releaseReply(InputStream input) {
+            released = true;
+        }
+
+        // Like the ResponseWaitingRoom, runs the action at once with the exception.
+        @Override
+        public boolean cancel(SystemException exception) {
+            assertNotNull(action);
+            cancelledWith = exception;
+            replyArrived();
+            return true;
+        }
+    }
+
+    static abstract class RemoteORBFake extends com.sun.corba.ee.spi.orb.ORB {
+        private InvocationInterceptorFake interceptor = new InvocationInterceptorFake();
+        private ORBDataFake orbData = createStrictStub(ORBDataFake.class);
+
+        @Override
+        public InvocationInterceptor getInvocationInterceptor() {
+            return interceptor;
+        }
+
+        @Override
+        public ORBData getORBData() {
+            return orbData;
+        }
+    }
+
+    static abstract class ORBDataFake implements ORBData {
+        @Override
+        public long getWaitForResponseTimeout() {
+            return 0;
+        }
+    }
+
+    static class InvocationInterceptorFake implements InvocationInterceptor {
+        private List<String> calls = Collections.synchronizedList(new ArrayList<String>());
+
+        @Override
+        public void preInvoke() {
+            calls.add("preInvoke on " + Thread.currentThread().getName());
+        }
+
+        @Override
+        public void postInvoke() {
+            calls.add("postInvoke on " + Thread.currentThread().getName());
         }
     }
 
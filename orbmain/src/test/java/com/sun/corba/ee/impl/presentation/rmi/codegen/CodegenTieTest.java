@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.impl.presentation.rmi.codegen;
+
+import com.sun.corba.ee.impl.presentation.rmi.PresentationManagerImpl;
+import com.sun.corba.ee.spi.presentation.rmi.PresentationManager;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+
+import org.junit.Test;
+import org.omg.CORBA.INTERNAL;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CodegenTieTest {
+
+    private PresentationManagerImpl presentationManager = new PresentationManagerImpl(true);
+    private CodegenTie tie = new CodegenTie(presentationManager);
+    private CalculatorImpl target = new CalculatorImpl();
+
+    public interface Calculator extends Remote {
+        int add(int a, int b) throws RemoteException;
+
+        long add(long a, long b) throws RemoteException;
+
+        String concat(String a, Object b) throws RemoteException;
+
+        void reset() throws RemoteException;
+
+        boolean fail(String message) throws RemoteException;
+
+        Object cast(Object value) throws RemoteException;
+    }
+
+    public static class CalculatorImpl implements Calculator {
+        int resets;
+
+        public int add(int a, int b) {
+            return a + b;
+        }
+
+        public long add(long a, long b) {
+            return a + b + 1;
+        }
+
+        public String concat(String a, Object b) {
+            return a + b;
+        }
+
+        public void reset() {
+            resets++;
+        }
+
+        public boolean fail(String message) throws RemoteException {
+            throw new RemoteException(message);
+        }
+
+        public Object cast(Object value) {
+            return (String) value;
+        }
+    }
+
+    private Object dispatch(String name, Class<?>[] types, Object... args) throws Exception {
+        Method method = Calculator.class.getMethod(name, types);
+        PresentationManager.MethodData methodData = presentationManager.getClassData(CalculatorImpl.class).getMethodData(method);
+        return tie.dispatch(methodData, target, args);
+    }
+
+    @Test
+    public void primitiveArgumentsAndResultsAreUnwrappedAndWrapped() throws Exception {
+        tie.setTarget(target);
+
+        assertEquals(5, dispatch("add", new Class<?>[]{int.class, int.class}, 2, 3));
+        assertEquals(6L, dispatch("add", new Class<?>[]{long.class, long.class}, 2L, 3L));
+    }
+
+    @Test
+    public void objectArgumentsArePassed() throws Exception {
+        tie.setTarget(target);
+
+        assertEquals("ab7", dispatch("concat", new Class<?>[]{String.class, Object.class}, "ab", 7));
+    }
+
+    @Test
+    public void voidMethodReturnsNull() throws Exception {
+        tie.setTarget(target);
+
+        assertNull(dispatch("reset", new Class<?>[0]));
+        assertEquals(1, target.resets);
+    }
+
+    @Test
+    public void exceptionFromMethodIsReportedAsInvocationTargetException() throws Exception {
+        tie.setTarget(target);
+
+        try {
+            dispatch("fail", new Class<?>[]{String.class}, "oops");
+            fail("Should have thrown InvocationTargetException");
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof RemoteException);
+            assertEquals("oops", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void runtimeExceptionFromMethodIsReportedAsInvocationTargetException() throws Exception {
+        tie.setTarget(target);
+
+        try {
+            dispatch("cast", new Class<?>[]{Object.class}, 7);
+            fail("Should have thrown InvocationTargetException");
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof ClassCastException);
+        }
+    }
+
+    @Test
+    public void argumentOfWrongTypeIsNotReportedAsThrownByMethod() throws Exception {
+        tie.setTarget(target);
+
+        try {
+            dispatch("concat", new Class<?>[]{String.class, Object.class}, 7, "b");
+            fail("Should have thrown INTERNAL");
+        } catch (INTERNAL e) {
+            assertTrue(e.getCause() instanceof ClassCastException);
+        }
+    }
+
+    @Test
+    public void nullPrimitiveArgumentIsNotReportedAsThrownByMethod() throws Exception {
+        tie.setTarget(target);
+
+        try {
+            dispatch("add", new Class<?>[]{int.class, int.class}, 2, null);
+            fail("Should have thrown INTERNAL");
+        } catch (INTERNAL e) {
+            assertTrue(e.getCause() instanceof NullPointerException);
+        }
+    }
+
+    @Test
+    public void dispatchersAreSharedByTiesForTheSameClass() {
+        tie.setTarget(target);
+        Object dispatchers = presentationManager.getClassData(CalculatorImpl.class).getDictionary().get("CodegenTieDispatchers");
+
+        new CodegenTie(presentationManager).setTarget(new CalculatorImpl());
+
+        assertTrue(dispatchers instanceof CodegenDispatcherBase[]);
+        assertSame(dispatchers, presentationManager.getClassData(CalculatorImpl.class).getDictionary().get("CodegenTieDispatchers"));
+    }
+}
@@ -22,7 +22,9 @@ package com.sun.corba.ee.impl.protocol;
 import com.sun.corba.ee.impl.encoding.BufferManagerFactory;
 import com.sun.corba.ee.impl.encoding.CDRInputObject;
 import com.sun.corba.ee.impl.encoding.CDROutputObject;
+import com.sun.corba.ee.impl.misc.ORBUtility;
 import com.sun.corba.ee.impl.protocol.giopmsgheaders.Message;
+import com.sun.corba.ee.impl.transport.ResponseWaitingRoomImpl;
 import com.sun.corba.ee.spi.ior.iiop.GIOPVersion;
 import com.sun.corba.ee.spi.misc.ORBConstants;
 import com.sun.corba.ee.spi.orb.ORB;
@@ -31,15 +33,26 @@ import com.sun.corba.ee.spi.protocol.ClientInvocationInfo;
 import com.sun.corba.ee.spi.protocol.MessageMediator;
 import com.sun.corba.ee.spi.protocol.PIHandler;
 import com.sun.corba.ee.spi.transport.Connection;
+import com.sun.corba.ee.spi.transport.ConnectionCache;
 import com.sun.corba.ee.spi.transport.ContactInfo;
 import com.sun.corba.ee.spi.transport.ContactInfoListIterator;
+import com.sun.corba.ee.spi.transport.ResponseWaitingRoom;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 import org.junit.Test;
+import org.omg.CORBA.COMM_FAILURE;
+import org.omg.CORBA.SystemException;
 import org.omg.CORBA.portable.RemarshalException;
 
 import static com.meterware.simplestub.Stub.createStrictStub;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class ClientRequestDispatcherImplTest {
 
@@ -59,6 +72,58 @@ public class ClientRequestDispatcherImplTest {
         impl.marshalingComplete(null, outputObject);
     }
 
+    private ConnectionFake connectToWaitingRoom() {
+        ConnectionFake connection = createStrictStub(ConnectionFake.class, orb);
+        mediator.connection = connection;
+        orb.invocationInfo.messageMediator = mediator;
+        connection.waitingRoom.registerWaiter(mediator);
+        return connection;
+    }
+
+    @Test
+    public void whenPendingRequestCancelled_sendCancelRequestAndCompleteWithException() {
+        ConnectionFake connection = connectToWaitingRoom();
+        final List<String> actions = new ArrayList<String>();
+        impl.whenResponseReceived(outputObject, new Runnable() {
+            public void run() {
+                actions.add("completed");
+            }
+        });
+        COMM_FAILURE exception = new COMM_FAILURE();
+
+        assertTrue(impl.cancelRequest(outputObject, exception));
+
+        assertEquals(1, actions.size());
+        assertEquals(1, connection.cancelRequestsSent.size());
+        assertEquals(Integer.valueOf(mediator.getRequestId()), connection.cancelRequestsSent.get(0));
+        try {
+            connection.waitingRoom.waitForResponse(mediator);
+            fail("Cancelled request did not fail");
+        } catch (SystemException e) {
+            assertSame(exception, e);
+        }
+    }
+
+    @Test
+    public void whenCancelledRequestEnds_unregisterWaiter() {
+        ConnectionFake connection = connectToWaitingRoom();
+        impl.cancelRequest(outputObject, new COMM_FAILURE());
+
+        ORBUtility.pushEncVersionToThreadLocalState(ORBConstants.CDR_ENC_VERSION);
+        impl.endRequest(orb, null, null);
+
+        assertEquals(0, connection.waitingRoom.numberRegistered());
+    }
+
+    @Test
+    public void whenRequestAlreadyCancelled_doNotSendAnotherCancelRequest() {
+        ConnectionFake connection = connectToWaitingRoom();
+        impl.cancelRequest(outputObject, new COMM_FAILURE());
+
+        assertFalse(impl.cancelRequest(outputObject, new COMM_FAILURE()));
+        assertEquals(1, connection.cancelRequestsSent.size());
+    }
+
     abstract static class ORBFake extends ORB {
         private ClientInvocationInfoFake invocationInfo = createStrictStub(ClientInvocationInfoFake.class);
         private ORBDataFake orbData = createStrictStub(ORBDataFake.class);
@@ -85,10 +150,17 @@ public class ClientRequestDispatcherImplTest {
     }
 
     abstract static class ClientInvocationInfoFake implements ClientInvocationInfo {
+        private MessageMediator messageMediator;
+
         @Override
         public Iterator getContactInfoListIterator() {
             return createStrictStub(ContactInfoListIteratorFake.class);
         }
+
+        @Override
+        public MessageMediator getMessageMediator() {
+            return messageMediator;
+        }
     }
 
     abstract static class ContactInfoListIteratorFake implements ContactInfoListIterator {
@@ -108,6 +180,11 @@ public class ClientRequestDispatcherImplTest {
         public int getGIOPBuffMgrStrategy(GIOPVersion gv) {
             return BufferManagerFactory.GROW;
         }
+
+        @Override
+        public long getWaitForResponseTimeout() {
+            return 1000;
+        }
     }
 
     abstract static class PIHandlerFake implements PIHandler {
@@ -121,10 +198,44 @@ public class ClientRequestDispatcherImplTest {
         public Exception invokeClientPIEndingPoint(int replyStatus, Exception exception) {
             return orb.piEndingPointException == null ? exception : orb.piEndingPointException;
         }
+
+        @Override
+        public void cleanupClientPIRequest() {
+        }
+    }
+
+    abstract static class ConnectionFake implements Connection {
+        private ResponseWaitingRoomImpl waitingRoom;
+        private List<Integer> cancelRequestsSent = new ArrayList<Integer>();
+
+        public ConnectionFake(ORB orb) {
+            waitingRoom = new ResponseWaitingRoomImpl(orb, this);
+        }
+
+        @Override
+        public ResponseWaitingRoom getResponseWaitingRoom() {
+            return waitingRoom;
+        }
+
+        @Override
+        public void unregisterWaiter(MessageMediator messageMediator) {
+            waitingRoom.unregisterWaiter(messageMediator);
+        }
+
+        @Override
+        public void sendCancelRequestWithLock(GIOPVersion giopVersion, int requestId) {
+            cancelRequestsSent.add(requestId);
+        }
+
+        @Override
+        public ConnectionCache getConnectionCache() {
+            return null;
+        }
     }
 
     abstract static class MessageMediatorFake implements MessageMediator {
         private ORB orb;
+        private Connection connection;
         private RuntimeException exception = new RuntimeException("test");
 
         public MessageMediatorFake(ORB orb) {
@@ -143,6 +254,24 @@ public class ClientRequestDispatcherImplTest {
 
         @Override
         public Connection getConnection() {
+            return connection;
+        }
+
+        @Override
+        public void cancelRequest() {
+        }
+
+        @Override
+        public void sendCancelRequestIfFinalFragmentNotSent() {
+        }
+
+        @Override
+        public CDRInputObject getInputObject() {
+            return null;
+        }
+
+        @Override
+        public CDROutputObject getOutputObject() {
             return null;
         }
 
@@ -26,21 +26,29 @@ import com.sun.corba.ee.impl.protocol.giopmsgheaders.ReplyMessage_1_1;
 import com.sun.corba.ee.impl.protocol.giopmsgheaders.ReplyMessage_1_2;
 import com.sun.corba.ee.impl.protocol.giopmsgheaders.RequestMessage_1_0;
 import com.sun.corba.ee.impl.protocol.giopmsgheaders.RequestMessage_1_2;
+import com.sun.corba.ee.impl.transport.ByteBufferPoolImpl;
+import com.sun.corba.ee.impl.transport.MessageCompressor;
 import com.sun.corba.ee.impl.transport.MessageTraceManagerImpl;
 import com.sun.corba.ee.spi.ior.iiop.GIOPVersion;
+import com.sun.corba.ee.spi.misc.ORBConstants;
 import com.sun.corba.ee.spi.orb.ORB;
 import com.sun.corba.ee.spi.orb.ORBData;
 import com.sun.corba.ee.spi.protocol.MessageMediator;
 import com.sun.corba.ee.spi.protocol.MessageParser;
+import com.sun.corba.ee.spi.transport.ByteBufferPool;
 import com.sun.corba.ee.spi.transport.Connection;
 import com.sun.corba.ee.spi.transport.MessageTraceManager;
 import com.sun.corba.ee.spi.transport.TransportManager;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.omg.CORBA.COMM_FAILURE;
+import org.omg.CORBA.INTERNAL;
 
 import static com.meterware.simplestub.Stub.createStrictStub;
 import static org.junit.Assert.assertEquals;
@@ -65,6 +73,8 @@ public class MessageParserTest {
     public void setUp() throws Exception {
         orb.orbData = orbData;
         orb.transportManager = transportManager;
+        transportManager.messageCompressor = new MessageCompressor(orb);
+        orb.byteBufferPool = new ByteBufferPoolImpl(orb);
         parser = new MessageParserImpl(orb, connection);
     }
 
@@ -242,6 +252,133 @@ public class MessageParserTest {
         assertTrue(mediator.getDispatchHeader() instanceof ReplyMessage_1_1);
     }
 
+    private byte[] createCompressedReply(int bodyLength, byte... more) {
+        ByteBuffer message = ByteBuffer.allocate(Message.GIOPMessageHeaderLength + bodyLength);
+        message.put(new byte[] {'G', 'I', 'O', 'P', 1, 2, Message.FLAG_NO_FRAG_BIG_ENDIAN, Message.GIOPReply});
+        message.putInt(bodyLength).position(0);
+        ByteBuffer compressed = transportManager.messageCompressor.compress(message);
+
+        byte[] result = new byte[compressed.remaining() + more.length];
+        compressed.get(result, 0, compressed.remaining());
+        System.arraycopy(more, 0, result, result.length - more.length, more.length);
+        return result;
+    }
+
+    @Test
+    public void whenBufferContainsCompressedMessageAndMore_inflateMessageAndLeaveRemainder() {
+        byte[] bytes = createCompressedReply(1000, (byte) 'G');
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+        Message message = parser.parseBytes(buffer, connection);
+
+        assertTrue(parser.hasMoreBytesToParse());
+        assertTrue(message instanceof ReplyMessage_1_2);
+        assertEquals(1012, message.getSize());
+        assertEquals(1012, parser.getMsgByteBuffer().limit());
+        assertEquals(0, parser.getMsgByteBuffer().position());
+        assertEquals(bytes.length - 1, parser.getNextMessageStartPosition());
+    }
+
+    @Test
+    public void whenBufferContainsPartOfCompressedMessage_requestRestOfCompressedMessage() {
+        byte[] bytes = createCompressedReply(1000);
+        ByteBuffer buffer = ByteBuffer.wrap(Arrays.copyOf(bytes, 20));
+
+        Message message = parser.parseBytes(buffer, connection);
+
+        assertNull(message);
+        assertTrue(parser.isExpectingMoreData());
+        assertEquals(bytes.length, parser.getSizeNeeded());
+    }
+
+    @Test
+    public void whenBufferContainsCompressedMessage_createMediatorForInflatedMessage() {
+        parser.offerBuffer(ByteBuffer.wrap(createCompressedReply(1000)));
+
+        assertNull(parser.getRemainderBuffer());
+        assertEquals(1012, parser.getMsgByteBuffer().limit());
+        MessageMediator mediator = parser.getMessageMediator();
+        assertNotNull(mediator);
+        assertTrue(mediator.getDispatchHeader() instanceof ReplyMessage_1_2);
+    }
+
+    @Test(expected = INTERNAL.class)
+    public void whenCompressionNotEnabled_rejectCompressedMessage() {
+        byte[] bytes = createCompressedReply(1000);
+        orbData.messageCompression = ORBConstants.MESSAGE_COMPRESSION_NONE;
+
+        parser.parseBytes(ByteBuffer.wrap(bytes), connection);
+    }
+
+    @Test(expected = INTERNAL.class)
+    public void whenCompressionNotEnabled_doNotCreateMediatorForCompressedMessage() {
+        byte[] bytes = createCompressedReply(1000);
+        orbData.messageCompression = ORBConstants.MESSAGE_COMPRESSION_NONE;
+
+        parser.offerBuffer(ByteBuffer.wrap(bytes));
+    }
+
+    @Test
+    public void whenConnectionNegotiatedCompression_inflateCompressedMessage() {
+        byte[] bytes = createCompressedReply(1000);
+        orbData.messageCompression = ORBConstants.MESSAGE_COMPRESSION_NONE;
+        connection.messageCompressionEnabled = true;
+
+        Message message = parser.parseBytes(ByteBuffer.wrap(bytes), connection);
+
+        assertTrue(message instanceof ReplyMessage_1_2);
+        assertEquals(1012, message.getSize());
+    }
+
+    private static final byte[] REPLY = {'G', 'I', 'O', 'P', 1, 2, Message.FLAG_NO_FRAG_BIG_ENDIAN, Message.GIOPReply,
+            0, 0, 0, 6, 1, 2, 3, 4, 5, 6};
+
+    private ByteBuffer getPooledBufferContaining(byte[]... messages) {
+        ByteBuffer buffer = orb.byteBufferPool.getByteBuffer(BUFFER_SIZE);
+        for (byte[] message : messages)
+            buffer.put(message);
+        buffer.flip();
+        return buffer;
+    }
+
+    @Test
+    public void whenMessagesParsedFromPooledBuffer_bufferIsPooledOnceBufferAndMessagesAreReleased() {
+        ByteBuffer buffer = getPooledBufferContaining(REPLY, createCompressedReply(1000), REPLY);
+        List<ByteBuffer> messageBuffers = new ArrayList<ByteBuffer>();
+
+        do {
+            assertNotNull(parser.parseBytes(buffer, connection));
+            messageBuffers.add(parser.getMsgByteBuffer());
+        } while (parser.hasMoreBytesToParse());
+
+        assertEquals(3, messageBuffers.size());
+        orb.byteBufferPool.releaseByteBuffer(buffer);
+        assertEquals(1, orb.byteBufferPool.activeCount());
+
+        for (ByteBuffer messageBuffer : messageBuffers)
+            orb.byteBufferPool.releaseByteBuffer(messageBuffer);
+        assertEquals(0, orb.byteBufferPool.activeCount());
+        assertEquals(1, orb.byteBufferPool.pooledCount());
+    }
+
+    @Test
+    public void whenMessagesOfferedInPooledBuffer_bufferIsPooledOnceMessagesAreReleased() {
+        ByteBuffer buffer = getPooledBufferContaining(REPLY, createCompressedReply(1000), REPLY);
+        List<ByteBuffer> messageBuffers = new ArrayList<ByteBuffer>();
+
+        parser.offerBuffer(buffer);
+        while (parser.getMessageMediator() != null) {
+            messageBuffers.add(parser.getMsgByteBuffer());
+            parser.offerBuffer(parser.getRemainderBuffer());
+        }
+
+        assertEquals(3, messageBuffers.size());
+        for (ByteBuffer messageBuffer : messageBuffers)
+            orb.byteBufferPool.releaseByteBuffer(messageBuffer);
+        assertEquals(0, orb.byteBufferPool.activeCount());
+        assertEquals(1, orb.byteBufferPool.pooledCount());
+    }
+
     @Test
     public void afterConsumingMessage_offerOfPartialBufferClearsMessageMediator() {
         byte[] header = {'G', 'I', 'O', 'P', 1, 1, Message.FLAG_NO_FRAG_BIG_ENDIAN, Message.GIOPReply, 0, 0, 0, 6,
@@ -389,6 +526,7 @@ public class MessageParserTest {
 
     static abstract class ORBDataFake implements ORBData {
         private GIOPVersion giopVersion = GIOPVersion.V1_2;
+        private int messageCompression = ORBConstants.MESSAGE_COMPRESSION_DEFLATE;
 
         @Override
         public int getReadByteBufferSize() {
@@ -399,17 +537,43 @@ public class MessageParserTest {
         public GIOPVersion getGIOPVersion() {
             return giopVersion;
         }
+
+        @Override
+        public int getGIOPMessageCompression() {
+            return messageCompression;
+        }
+
+        @Override
+        public int getGIOPMessageCompressionThreshold() {
+            return 0;
+        }
+
+        @Override
+        public boolean disableDirectByteBufferUse() {
+            return true;
+        }
+
+        @Override
+        public int getPooledDirectByteBufferSlabSize() {
+            return 16384;
+        }
     }
 
     static abstract class ORBFake extends ORB {
         private ORBData orbData;
         private TransportManager transportManager;
+        private ByteBufferPool byteBufferPool;
 
         @Override
         public ORBData getORBData() {
             return orbData;
         }
 
+        @Override
+        public ByteBufferPool getByteBufferPool() {
+            return byteBufferPool;
+        }
+
         @Override
         public TransportManager getTransportManager() {
             return transportManager;
@@ -417,10 +581,22 @@ public class MessageParserTest {
     }
 
     static abstract class ConnectionFake implements Connection {
+        private boolean messageCompressionEnabled;
+
+        @Override
+        public boolean isMessageCompressionEnabled() {
+            return messageCompressionEnabled;
+        }
     }
 
     static abstract class TransportManagerFake implements TransportManager {
         private MessageTraceManager mtm = new MessageTraceManagerImpl();
+        private MessageCompressor messageCompressor;
+
+        @Override
+        public MessageCompressor getMessageCompressor() {
+            return messageCompressor;
+        }
 
         @Override
         public MessageTraceManager getMessageTraceManager() {
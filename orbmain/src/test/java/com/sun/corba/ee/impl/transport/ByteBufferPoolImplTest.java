@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+package com.sun.corba.ee.impl.transport;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class ByteBufferPoolImplTest extends TransportTestBase {
+
+    private ByteBufferPoolImpl pool;
+
+    @Before
+    public void setUpPoolTest() {
+        pool = new ByteBufferPoolImpl(getOrb());
+    }
+
+    @Test
+    public void whenBufferObtained_limitIsRequestedSize() {
+        ByteBuffer buffer = pool.getByteBuffer(1000);
+
+        assertEquals(0, buffer.position());
+        assertEquals(1000, buffer.limit());
+        assertEquals(1024, buffer.capacity());
+    }
+
+    @Test
+    public void whenBufferReleased_itIsReused() {
+        ByteBuffer buffer = pool.getByteBuffer(1000);
+        pool.releaseByteBuffer(buffer);
+
+        assertSame(buffer, pool.getByteBuffer(600));
+    }
+
+    @Test
+    public void whenBufferReused_contentsAreCleared() {
+        ByteBuffer buffer = pool.getByteBuffer(8);
+        buffer.putLong(-1L);
+        pool.releaseByteBuffer(buffer);
+
+        assertEquals(0L, pool.getByteBuffer(8).getLong(0));
+    }
+
+    @Test
+    public void countActiveAndPeakBuffers() {
+        ByteBuffer buffer1 = pool.getByteBuffer(100);
+        ByteBuffer buffer2 = pool.getByteBuffer(100);
+        pool.releaseByteBuffer(buffer1);
+
+        assertEquals(1, pool.activeCount());
+        assertEquals(2, pool.peakActiveCount());
+        assertEquals(1, pool.pooledCount());
+
+        pool.releaseByteBuffer(buffer2);
+        assertEquals(0, pool.activeCount());
+        assertEquals(2, pool.pooledCount());
+    }
+
+    @Test
+    public void whenBufferReleasedTwice_secondReleaseIsIgnored() {
+        ByteBuffer buffer = pool.getByteBuffer(100);
+        pool.releaseByteBuffer(buffer);
+        pool.releaseByteBuffer(buffer);
+
+        assertEquals(0, pool.activeCount());
+        assertEquals(1, pool.pooledCount());
+        assertSame(buffer, pool.getByteBuffer(100));
+        assertNotSame(buffer, pool.getByteBuffer(100));
+    }
+
+    @Test
+    public void whenForeignBufferReleased_itIsIgnored() {
+        ByteBuffer buffer = pool.getByteBuffer(2048);
+        buffer.position(1024);
+        pool.releaseByteBuffer(buffer.slice());
+        pool.releaseByteBuffer(ByteBuffer.allocate(1024));
+
+        assertEquals(1, pool.activeCount());
+        assertEquals(0, pool.pooledCount());
+    }
+
+    @Test
+    public void whenBufferSliced_itIsReusedOnlyAfterAllSlicesAreReleased() {
+        ByteBuffer buffer = pool.getByteBuffer(100);
+        buffer.position(10);
+        ByteBuffer slice = pool.slice(buffer);
+        ByteBuffer sliceOfSlice = pool.slice(slice);
+
+        pool.releaseByteBuffer(buffer);
+        pool.releaseByteBuffer(slice);
+        assertEquals(1, pool.activeCount());
+        assertEquals(0, pool.pooledCount());
+
+        pool.releaseByteBuffer(sliceOfSlice);
+        assertEquals(0, pool.activeCount());
+        assertSame(buffer, pool.getByteBuffer(100));
+    }
+
+    @Test
+    public void whenSliceReleasedTwice_secondReleaseIsIgnored() {
+        ByteBuffer buffer = pool.getByteBuffer(100);
+        ByteBuffer slice = pool.slice(buffer);
+
+        pool.releaseByteBuffer(slice);
+        pool.releaseByteBuffer(slice);
+
+        assertEquals(1, pool.activeCount());
+    }
+
+    @Test
+    public void whenBufferReallocated_oldBufferIsReleased() {
+        ByteBuffer buffer = pool.getByteBuffer(100);
+        buffer.put((byte) 1).put((byte) 2).flip();
+
+        ByteBuffer newBuffer = pool.reAllocate(buffer, 150);
+
+        assertEquals(2, newBuffer.position());
+        assertEquals(1, pool.activeCount());
+        assertEquals(1, pool.pooledCount());
+        assertSame(buffer, pool.getByteBuffer(100));
+    }
+
+    @Test
+    public void whenBufferLargerThanSlab_itIsNotPooled() {
+        ByteBuffer buffer = pool.getByteBuffer(5000);
+        pool.releaseByteBuffer(buffer);
+
+        assertEquals(5000, buffer.capacity());
+        assertEquals(0, pool.activeCount());
+        assertEquals(0, pool.pooledCount());
+    }
+
+    @Test
+    public void whenSizeClassIsFull_allocateUnpooledBuffer() {
+        ByteBuffer buffer1 = pool.getByteBuffer(4096);
+        ByteBuffer buffer2 = pool.getByteBuffer(4096);
+        pool.releaseByteBuffer(buffer2);
+
+        assertEquals(1, pool.activeCount());
+        assertEquals(0, pool.pooledCount());
+        assertNotSame(buffer1, pool.getByteBuffer(4096));
+    }
+}
@@ -27,15 +27,18 @@ import com.sun.corba.ee.impl.transport.TransportTestBase.RequestDispatcher;
 import com.sun.corba.ee.impl.transport.TransportTestBase.SocketChannelFake;
 import com.sun.corba.ee.spi.protocol.MessageMediator;
 import com.sun.corba.ee.spi.threadpool.Work;
+import com.sun.corba.ee.spi.transport.Connection;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Queue;
 
 import org.junit.After;
 import org.junit.Test;
+import org.omg.CORBA.COMM_FAILURE;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
@@ -275,6 +278,67 @@ public class ConnectionImplTest extends TransportTestBase {
         assertArrayEquals(BYTE_DATA, getSocketChannel().getDataWritten());
     }
 
+    @Test
+    public void whenNioWrittenFromManyThreads_messagesAreNotInterleaved() throws Exception {
+        useNio();
+        final int numThreads = 8;
+        final int numMessages = 50;
+        Thread[] threads = new Thread[numThreads];
+        for (int i = 0; i < numThreads; i++) {
+            final byte value = (byte) i;
+            threads[i] = new Thread() {
+                public void run() {
+                    try {
+                        for (int j = 0; j < numMessages; j++) {
+                            byte[] message = new byte[BYTE_DATA.length];
+                            Arrays.fill(message, value);
+                            getConnection().write(ByteBuffer.wrap(message));
+                        }
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+
+        byte[] written = getSocketChannel().getDataWritten();
+        assertEquals(numThreads * numMessages * BYTE_DATA.length, written.length);
+        for (int i = 0; i < written.length; i += BYTE_DATA.length)
+            for (int j = 1; j < BYTE_DATA.length; j++)
+                assertEquals(written[i], written[i + j]);
+    }
+
+    @Test
+    public void whenNioWritingSeveralBuffers_useSingleGatheringWrite() throws IOException {
+        useNio();
+        getConnection().write(new ByteBuffer[] {ByteBuffer.wrap(BYTE_DATA), ByteBuffer.wrap(BYTE_DATA)});
+
+        assertEquals(1, getSocketChannel().getNumWriteCalls());
+        assertEquals(2 * BYTE_DATA.length, getSocketChannel().getDataWritten().length);
+    }
+
+    @Test
+    public void whenNioGatheringWritePartial_allDataIsWritten() throws IOException {
+        useNio();
+        getSocketChannel().setNumBytesToWrite(BYTE_DATA.length + 3, 0);
+        getConnection().write(new ByteBuffer[] {ByteBuffer.wrap(BYTE_DATA), ByteBuffer.wrap(BYTE_DATA)});
+
+        byte[] expected = new byte[2 * BYTE_DATA.length];
+        System.arraycopy(BYTE_DATA, 0, expected, 0, BYTE_DATA.length);
+        System.arraycopy(BYTE_DATA, 0, expected, BYTE_DATA.length, BYTE_DATA.length);
+        assertArrayEquals(expected, getSocketChannel().getDataWritten());
+    }
+
+    @Test(expected = COMM_FAILURE.class)
+    public void whenNioConnectionAborted_writeIsRejected() throws IOException {
+        useNio();
+        getConnection().setState(Connection.ABORT);
+        getConnection().write(ByteBuffer.wrap(BYTE_DATA));
+    }
+
     @Test
     public void whenNioWholeMessageReceived_queueSingleEntry() throws IOException {
         useNio();
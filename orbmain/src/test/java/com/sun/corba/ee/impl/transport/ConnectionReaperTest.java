@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.impl.transport;
+
+import com.sun.corba.ee.spi.orb.ORB;
+import com.sun.corba.ee.spi.orb.ORBData;
+import com.sun.corba.ee.spi.transport.Acceptor;
+import com.sun.corba.ee.spi.transport.Connection;
+import com.sun.corba.ee.spi.transport.ConnectionCache;
+import com.sun.corba.ee.spi.transport.ContactInfo;
+import com.sun.corba.ee.spi.transport.InboundConnectionCache;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static com.meterware.simplestub.Stub.createStrictStub;
+import static org.junit.Assert.assertEquals;
+
+public class ConnectionReaperTest {
+
+    private OrbFake orb = createStrictStub(OrbFake.class);
+    private AcceptorFake acceptor = createStrictStub(AcceptorFake.class);
+    private InboundConnectionCacheImpl cache;
+    private ConnectionReaper reaper;
+
+    private void createReaper(int highWaterMark, int numberToReclaim, int idleTimeout) {
+        orb.data.highWaterMark = highWaterMark;
+        orb.data.numberToReclaim = numberToReclaim;
+        orb.data.idleTimeout = idleTimeout;
+        cache = new InboundConnectionCacheImpl(orb, acceptor);
+        reaper = new ConnectionReaper(orb);
+        reaper.addConnectionCache(cache);
+    }
+
+    @After
+    public void tearDown() {
+        if (reaper != null) {
+            reaper.close();
+        }
+    }
+
+    private ConnectionFake addConnection(boolean busy) {
+        ConnectionFake connection = createStrictStub(ConnectionFake.class);
+        connection.busy = busy;
+        cache.put(acceptor, connection);
+        cache.stampTime(connection);
+        return connection;
+    }
+
+    @Test
+    public void whenCacheAboveHighWaterMark_reclaimLeastRecentlyUsedIdleConnections() {
+        createReaper(2, 2, 0);
+        ConnectionFake oldestBusy = addConnection(true);
+        ConnectionFake oldIdle = addConnection(false);
+        ConnectionFake newerIdle = addConnection(false);
+        ConnectionFake newestIdle = addConnection(false);
+
+        reaper.sweep(0);
+
+        assertEquals(0, oldestBusy.numCloseCalls);
+        assertEquals(1, oldIdle.numCloseCalls);
+        assertEquals(1, newerIdle.numCloseCalls);
+        assertEquals(0, newestIdle.numCloseCalls);
+        assertEquals(2, reaper.getNumberOfConnectionsReclaimed());
+    }
+
+    @Test
+    public void whenCacheAtHighWaterMark_reclaimNothing() {
+        createReaper(2, 2, 0);
+        ConnectionFake first = addConnection(false);
+        addConnection(false);
+
+        reaper.sweep(0);
+
+        assertEquals(0, first.numCloseCalls);
+        assertEquals(0, reaper.getNumberOfConnectionsReclaimed());
+    }
+
+    @Test
+    public void whenConnectionUnusedForIdleTimeout_closeIt() {
+        createReaper(240, 5, 1000);
+        ConnectionFake idle = addConnection(false);
+        ConnectionFake busy = addConnection(true);
+        ConnectionFake used = addConnection(false);
+
+        reaper.sweep(0);
+        cache.stampTime(used);
+        reaper.sweep(999);
+
+        assertEquals(0, idle.numCloseCalls);
+
+        reaper.sweep(1000);
+
+        assertEquals(1, idle.numCloseCalls);
+        assertEquals(0, busy.numCloseCalls);
+        assertEquals(0, used.numCloseCalls);
+        assertEquals(1, reaper.getNumberOfIdleConnectionsClosed());
+        assertEquals(2, cache.numberOfConnections());
+    }
+
+    @Test
+    public void whenIdleConnectionObtainedFromOutboundCache_doNotCloseIt() {
+        createReaper(240, 5, 1000);
+        ContactInfoFake contactInfo = createStrictStub(ContactInfoFake.class);
+        OutboundConnectionCacheImpl outboundCache = new OutboundConnectionCacheImpl(orb, contactInfo);
+        reaper.addConnectionCache(outboundCache);
+        ConnectionFake connection = createStrictStub(ConnectionFake.class);
+        outboundCache.put(contactInfo, connection);
+        outboundCache.stampTime(connection);
+
+        reaper.sweep(0);
+        outboundCache.get(contactInfo);
+        reaper.sweep(1000);
+
+        assertEquals(0, connection.numCloseCalls);
+        assertEquals(1, outboundCache.numberOfConnections());
+    }
+
+    @Test
+    public void whenConnectionAddedAboveHighWaterMark_reclaimInBackground() throws InterruptedException {
+        createReaper(1, 5, 0);
+        addConnection(false);
+        addConnection(false);
+        addConnection(false);
+
+        reaper.connectionAdded(cache);
+
+        for (int i = 0; i < 500 && reaper.getNumberOfConnectionsReclaimed() < 3; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(3, reaper.getNumberOfConnectionsReclaimed());
+        assertEquals(0, cache.numberOfConnections());
+    }
+
+    static abstract class OrbFake extends ORB {
+        private ORBDataFake data = createStrictStub(ORBDataFake.class);
+
+        @Override
+        public ORBData getORBData() {
+            return data;
+        }
+    }
+
+    static abstract class ORBDataFake implements ORBData {
+        private int highWaterMark;
+        private int numberToReclaim;
+        private int idleTimeout;
+
+        @Override
+        public int getHighWaterMark() {
+            return highWaterMark;
+        }
+
+        @Override
+        public int getNumberToReclaim() {
+            return numberToReclaim;
+        }
+
+        @Override
+        public int getConnectionIdleTimeout() {
+            return idleTimeout;
+        }
+
+        @Override
+        public int getConnectionReaperInterval() {
+            return 0;
+        }
+    }
+
+    static abstract class AcceptorFake implements Acceptor {
+        @Override
+        public String getConnectionCacheType() {
+            return "test";
+        }
+
+        @Override
+        public String getMonitoringName() {
+            return "test";
+        }
+
+        @Override
+        public String toString() {
+            return "AcceptorFake";
+        }
+    }
+
+    static abstract class ContactInfoFake implements ContactInfo {
+        @Override
+        public String getConnectionCacheType() {
+            return "test";
+        }
+
+        @Override
+        public String getMonitoringName() {
+            return "test";
+        }
+
+        @Override
+        public String toString() {
+            return "ContactInfoFake";
+        }
+    }
+
+    // Like ConnectionImpl, closing removes the connection from its cache.
+    static abstract class ConnectionFake implements Connection {
+        private ConnectionCache connectionCache;
+        private boolean busy;
+        private long timeStamp;
+        private int numCloseCalls;
+
+        @Override
+        public void setConnectionCache(ConnectionCache connectionCache) {
+            this.connectionCache = connectionCache;
+        }
+
+        @Override
+        public boolean isBusy() {
+            return busy;
+        }
+
+        @Override
+        public long getTimeStamp() {
+            return timeStamp;
+        }
+
+        @Override
+        public void setTimeStamp(long time) {
+            timeStamp = time;
+        }
+
+        @Override
+        public void close() {
+            numCloseCalls++;
+            ((InboundConnectionCache) connectionCache).remove(this);
+        }
+
+        @Override
+        public String toString() {
+            return "ConnectionFake";
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.impl.transport;
+
+import com.sun.corba.ee.impl.protocol.giopmsgheaders.Message;
+import com.sun.corba.ee.spi.misc.ORBConstants;
+import com.sun.corba.ee.spi.orb.ORB;
+import com.sun.corba.ee.spi.orb.ORBData;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.omg.CORBA.MARSHAL;
+
+import static com.meterware.simplestub.Stub.createStrictStub;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MessageCompressorTest {
+
+    private ORBDataFake orbData = createStrictStub(ORBDataFake.class);
+    private ORBFake orb = createStrictStub(ORBFake.class);
+    private MessageCompressor compressor;
+
+    @Before
+    public void setUp() {
+        orb.orbData = orbData;
+        compressor = new MessageCompressor(orb);
+    }
+
+    private byte[] createMessage(byte flags, byte messageType, byte[] body) {
+        ByteBuffer buffer = ByteBuffer.allocate(Message.GIOPMessageHeaderLength + body.length);
+        buffer.order((flags & Message.LITTLE_ENDIAN_BIT) == 0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+        buffer.put(new byte[] {'G', 'I', 'O', 'P', 1, 2, flags, messageType});
+        buffer.putInt(body.length);
+        buffer.put(body);
+        return buffer.array();
+    }
+
+    private byte[] createRepetitiveBody(int length) {
+        byte[] body = new byte[length];
+        for (int i = 0; i < length; i++) {
+            body[i] = (byte) ("IDL:omg.org/CORBA/WStringValue:1.0".charAt(i % 34));
+        }
+        return body;
+    }
+
+    private byte[] toArray(ByteBuffer buffer) {
+        byte[] result = new byte[buffer.remaining()];
+        buffer.duplicate().get(result);
+        return result;
+    }
+
+    @Test
+    public void whenRequestBodyExceedsThreshold_compressAndRestoreIt() {
+        byte[] message = createMessage(Message.FLAG_NO_FRAG_BIG_ENDIAN, Message.GIOPRequest, createRepetitiveBody(8000));
+
+        ByteBuffer compressed = compressor.compress(ByteBuffer.wrap(message));
+
+        assertTrue(compressed.remaining() < message.length / 10);
+        assertTrue(MessageCompressor.isCompressed(compressed, 0));
+        assertEquals(compressed.remaining(), MessageCompressor.getMessageSize(compressed, 0));
+        assertArrayEquals(message, toArray(compressor.decompress(compressed)));
+    }
+
+    @Test
+    public void whenLittleEndianReplyCompressed_restoreIt() {
+        byte[] message = createMessage(Message.LITTLE_ENDIAN_BIT, Message.GIOPReply, createRepetitiveBody(5000));
+
+        ByteBuffer compressed = compressor.compress(ByteBuffer.wrap(message));
+
+        assertTrue(MessageCompressor.isCompressed(compressed, 0));
+        assertEquals(compressed.remaining(), MessageCompressor.getMessageSize(compressed, 0));
+        assertArrayEquals(message, toArray(compressor.decompress(compressed)));
+    }
+
+    @Test
+    public void whenMessageCompressed_recordSizesAndCount() {
+        byte[] message = createMessage(Message.FLAG_NO_FRAG_BIG_ENDIAN, Message.GIOPRequest, createRepetitiveBody(8000));
+
+        ByteBuffer compressed = compressor.compress(ByteBuffer.wrap(message));
+        compressor.decompress(compressed);
+
+        assertEquals(1, compressor.getNumberOfMessagesCompressed());
+        assertEquals(1, compressor.getNumberOfMessagesInflated());
+        assertEquals(message.length, compressor.getNumberOfBytesBeforeCompression());
+        assertEquals(compressed.remaining(), compressor.getNumberOfBytesAfterCompression());
+        assertEquals(compressed.remaining() * 100L / message.length, compressor.getCompressionPercentage());
+    }
+
+    @Test
+    public void whenBodyBelowThreshold_sendMessageUnchanged() {
+        ByteBuffer message = ByteBuffer.wrap(createMessage(Message.FLAG_NO_FRAG_BIG_ENDIAN, Message.GIOPRequest,
+                                                           createRepetitiveBody(4000)));
+
+        assertSame(message, compressor.compress(message));
+        assertEquals(0, compressor.getNumberOfMessagesCompressed());
+    }
+
+    @Test
+    public void whenMessageHasMoreFragments_sendMessageUnchanged() {
+        ByteBuffer message = ByteBuffer.wrap(createMessage(Message.MORE_FRAGMENTS_BIT, Message.GIOPRequest,
+                                                           createRepetitiveBody(8000)));
+
+        assertSame(message, compressor.compress(message));
+    }
+
+    @Test
+    public void whenMessageIsNotRequestOrReply_sendMessageUnchanged() {
+        ByteBuffer message = ByteBuffer.wrap(createMessage(Message.FLAG_NO_FRAG_BIG_ENDIAN, Message.GIOPFragment,
+                                                           createRepetitiveBody(8000)));
+
+        assertSame(message, compressor.compress(message));
+    }
+
+    @Test
+    public void whenBodyDoesNotShrink_sendMessageUnchanged() {
+        byte[] body = new byte[8000];
+        new Random(17).nextBytes(body);
+        byte[] message = createMessage(Message.FLAG_NO_FRAG_BIG_ENDIAN, Message.GIOPReply, body);
+        ByteBuffer buffer = ByteBuffer.wrap(message);
+
+        assertSame(buffer, compressor.compress(buffer));
+        assertEquals(0, buffer.position());
+        assertArrayEquals(message, toArray(buffer));
+    }
+
+    @Test
+    public void whenMessageNotCompressed_isCompressedReturnsFalse() {
+        ByteBuffer message = ByteBuffer.wrap(createMessage(Message.FLAG_NO_FRAG_BIG_ENDIAN, Message.GIOPRequest, new byte[8]));
+
+        assertFalse(MessageCompressor.isCompressed(message, 0));
+    }
+
+    @Test
+    public void whenDeclaredBodyLengthIsWrong_throwMarshalException() {
+        byte[] message = createMessage(Message.FLAG_NO_FRAG_BIG_ENDIAN, Message.GIOPRequest, createRepetitiveBody(8000));
+        ByteBuffer compressed = compressor.compress(ByteBuffer.wrap(message));
+        compressed.putInt(Message.GIOPMessageHeaderLength, 9000);
+
+        try {
+            compressor.decompress(compressed);
+            fail("Should have rejected the message");
+        } catch (MARSHAL e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void whenCompressedDataIsCorrupt_throwMarshalException() {
+        byte[] message = createMessage(Message.FLAG_NO_FRAG_BIG_ENDIAN, Message.GIOPRequest, createRepetitiveBody(8000));
+        byte[] compressed = toArray(compressor.compress(ByteBuffer.wrap(message)));
+        Arrays.fill(compressed, 16, compressed.length, (byte) 0xff);
+
+        try {
+            compressor.decompress(ByteBuffer.wrap(compressed));
+            fail("Should have rejected the message");
+        } catch (MARSHAL e) {
+            // expected
+        }
+    }
+
+    static abstract class ORBDataFake implements ORBData {
+        @Override
+        public int getGIOPMessageCompression() {
+            return ORBConstants.MESSAGE_COMPRESSION_DEFLATE;
+        }
+
+        @Override
+        public int getGIOPMessageCompressionThreshold() {
+            return ORBConstants.GIOP_DEFAULT_MESSAGE_COMPRESSION_THRESHOLD;
+        }
+    }
+
+    static abstract class ORBFake extends ORB {
+        private ORBData orbData;
+
+        @Override
+        public ORBData getORBData() {
+            return orbData;
+        }
+    }
+}
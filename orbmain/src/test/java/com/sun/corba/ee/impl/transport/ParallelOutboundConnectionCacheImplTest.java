@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.impl.transport;
+
+import com.sun.corba.ee.spi.orb.ORB;
+import com.sun.corba.ee.spi.orb.ORBData;
+import com.sun.corba.ee.spi.protocol.MessageMediator;
+import com.sun.corba.ee.spi.transport.Connection;
+import com.sun.corba.ee.spi.transport.ConnectionCache;
+import com.sun.corba.ee.spi.transport.ContactInfo;
+import com.sun.corba.ee.spi.transport.ResponseWaitingRoom;
+import com.sun.corba.ee.spi.transport.TransportManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import static com.meterware.simplestub.Stub.createStrictStub;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class ParallelOutboundConnectionCacheImplTest {
+
+    private OrbFake orb = createStrictStub(OrbFake.class);
+    private ContactInfoFake contactInfo = createStrictStub(ContactInfoFake.class);
+
+    private ParallelOutboundConnectionCacheImpl createCache(int maxParallelConnections, int highWaterMark) {
+        orb.data.maxParallelConnections = maxParallelConnections;
+        orb.data.highWaterMark = highWaterMark;
+        return new ParallelOutboundConnectionCacheImpl(orb, contactInfo);
+    }
+
+    private MessageMediatorFake createMediator(Connection connection) {
+        MessageMediatorFake mediator = createStrictStub(MessageMediatorFake.class);
+        mediator.connection = connection;
+        return mediator;
+    }
+
+    @Test
+    public void whenAllConnectionsBusy_openNewConnectionsUpToMaximum() {
+        ParallelOutboundConnectionCacheImpl cache = createCache(2, 240);
+
+        Connection first = cache.acquire(contactInfo);
+        Connection second = cache.acquire(contactInfo);
+        cache.acquire(contactInfo);
+
+        assertNotSame(first, second);
+        assertEquals(2, contactInfo.connections.size());
+        assertEquals(2, cache.numberOfConnections());
+    }
+
+    @Test
+    public void whenMaximumReached_shareConnectionWithFewestOutstandingRequests() {
+        ParallelOutboundConnectionCacheImpl cache = createCache(2, 240);
+        ConnectionFake first = (ConnectionFake) cache.acquire(contactInfo);
+        ConnectionFake second = (ConnectionFake) cache.acquire(contactInfo);
+        first.waitingRoom.registered = 3;
+        second.waitingRoom.registered = 1;
+
+        assertSame(second, cache.acquire(contactInfo));
+
+        second.waitingRoom.registered = 5;
+        assertSame(first, cache.acquire(contactInfo));
+    }
+
+    @Test
+    public void whenHighWaterMarkReached_shareExistingConnection() {
+        ParallelOutboundConnectionCacheImpl cache = createCache(4, 1);
+
+        Connection first = cache.acquire(contactInfo);
+
+        assertSame(first, cache.acquire(contactInfo));
+        assertEquals(1, contactInfo.connections.size());
+    }
+
+    @Test
+    public void whenRequestComplete_reuseIdleConnection() {
+        ParallelOutboundConnectionCacheImpl cache = createCache(2, 240);
+        Connection connection = cache.acquire(contactInfo);
+        MessageMediator mediator = createMediator(connection);
+        cache.requestStarted(mediator);
+
+        cache.requestComplete(mediator);
+
+        assertSame(connection, cache.acquire(contactInfo));
+        assertEquals(1, contactInfo.connections.size());
+    }
+
+    @Test
+    public void whenRequestCompletedTwice_releaseConnectionOnce() {
+        ParallelOutboundConnectionCacheImpl cache = createCache(2, 240);
+        Connection connection = cache.acquire(contactInfo);
+        MessageMediator mediator = createMediator(connection);
+        cache.requestStarted(mediator);
+        cache.requestComplete(mediator);
+        cache.requestComplete(mediator);
+
+        assertSame(connection, cache.acquire(contactInfo));
+        assertNotSame(connection, cache.acquire(contactInfo));
+    }
+
+    @Test
+    public void whenConnectionRemovedByItself_doNotCloseItAgainAndOpenAnother() {
+        ParallelOutboundConnectionCacheImpl cache = createCache(1, 240);
+        ConnectionFake connection = (ConnectionFake) cache.acquire(contactInfo);
+
+        cache.remove(contactInfo, connection);
+
+        assertNotSame(connection, cache.acquire(contactInfo));
+        assertEquals(0, connection.numCloseCalls);
+        assertEquals(1, cache.numberOfConnections());
+    }
+
+    @Test
+    public void whenBelowHighWaterMark_doNotReclaimIdleConnections() {
+        ParallelOutboundConnectionCacheImpl cache = createCache(2, 240);
+        ConnectionFake first = (ConnectionFake) cache.acquire(contactInfo);
+        cache.acquire(contactInfo);
+        cache.release(first);
+
+        assertFalse(cache.reclaim());
+        assertEquals(0, first.numCloseCalls);
+        assertEquals(2, cache.numberOfConnections());
+    }
+
+    static abstract class OrbFake extends ORB {
+        private ORBDataFake data = createStrictStub(ORBDataFake.class);
+        private TransportManagerFake transportManager = createStrictStub(TransportManagerFake.class);
+
+        @Override
+        public ORBData getORBData() {
+            return data;
+        }
+
+        @Override
+        public TransportManager getTransportManager() {
+            return transportManager;
+        }
+    }
+
+    static abstract class TransportManagerFake implements TransportManager {
+        @Override
+        public void connectionAdded(ConnectionCache connectionCache) {
+        }
+    }
+
+    static abstract class ORBDataFake implements ORBData {
+        private int maxParallelConnections;
+        private int highWaterMark;
+
+        @Override
+        public int getMaxParallelConnections() {
+            return maxParallelConnections;
+        }
+
+        @Override
+        public int getHighWaterMark() {
+            return highWaterMark;
+        }
+
+        @Override
+        public int getNumberToReclaim() {
+            return 5;
+        }
+    }
+
+    static abstract class ContactInfoFake implements ContactInfo {
+        private List<ConnectionFake> connections = new ArrayList<ConnectionFake>();
+
+        @Override
+        public Connection createConnection() {
+            ConnectionFake connection = createStrictStub(ConnectionFake.class, this);
+            connections.add(connection);
+            return connection;
+        }
+
+        @Override
+        public String getConnectionCacheType() {
+            return "test";
+        }
+
+        @Override
+        public String getMonitoringName() {
+            return "test";
+        }
+
+        @Override
+        public String toString() {
+            return "ContactInfoFake";
+        }
+    }
+
+    static abstract class ConnectionFake implements Connection {
+        private ContactInfoFake contactInfo;
+        private ResponseWaitingRoomFake waitingRoom = createStrictStub(ResponseWaitingRoomFake.class);
+        private ConnectionCache connectionCache;
+        private int numCloseCalls;
+
+        public ConnectionFake(ContactInfoFake contactInfo) {
+            this.contactInfo = contactInfo;
+        }
+
+        @Override
+        public boolean shouldRegisterReadEvent() {
+            return false;
+        }
+
+        @Override
+        public void setTimeStamp(long time) {
+        }
+
+        @Override
+        public void setConnectionCache(ConnectionCache connectionCache) {
+            this.connectionCache = connectionCache;
+        }
+
+        @Override
+        public ResponseWaitingRoom getResponseWaitingRoom() {
+            return waitingRoom;
+        }
+
+        // Like ConnectionImpl, closing removes the connection from its cache.
+        @Override
+        public void close() {
+            numCloseCalls++;
+            ((ParallelOutboundConnectionCacheImpl) connectionCache).remove(contactInfo, this);
+        }
+
+        @Override
+        public String toString() {
+            return "ConnectionFake";
+        }
+    }
+
+    static abstract class ResponseWaitingRoomFake implements ResponseWaitingRoom {
+        private int registered;
+
+        @Override
+        public int numberRegistered() {
+            return registered;
+        }
+    }
+
+    static abstract class MessageMediatorFake implements MessageMediator {
+        private Connection connection;
+
+        @Override
+        public Connection getConnection() {
+            return connection;
+        }
+    }
+}
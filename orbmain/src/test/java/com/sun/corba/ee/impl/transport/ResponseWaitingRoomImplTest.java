@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+package com.sun.corba.ee.impl.transport;
+
+import com.sun.corba.ee.impl.encoding.CDRInputObject;
+import com.sun.corba.ee.impl.protocol.giopmsgheaders.LocateReplyOrReplyMessage;
+import com.sun.corba.ee.impl.protocol.giopmsgheaders.Message;
+import com.sun.corba.ee.spi.protocol.MessageMediator;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+import org.omg.CORBA.COMM_FAILURE;
+import org.omg.CORBA.SystemException;
+
+import static com.meterware.simplestub.Stub.createStub;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ResponseWaitingRoomImplTest extends TransportTestBase {
+
+    private ResponseWaitingRoomImpl waitingRoom = new ResponseWaitingRoomImpl(getOrb(), null);
+
+    private MessageMediatorFake createMediator(int requestId) {
+        MessageMediatorFake mediator = createStub(MessageMediatorFake.class);
+        mediator.requestId = requestId;
+        return mediator;
+    }
+
+    private InputObjectFake createReply(int requestId) {
+        ReplyMessageFake header = createStub(ReplyMessageFake.class);
+        header.requestId = requestId;
+        return new InputObjectFake(header);
+    }
+
+    @Test
+    public void afterRegisteringAndUnregisteringManyWaiters_remainingWaitersAreFound() {
+        MessageMediatorFake[] mediators = new MessageMediatorFake[1000];
+        for (int i = 0; i < mediators.length; i++) {
+            mediators[i] = createMediator(5 + i * 3);
+            waitingRoom.registerWaiter(mediators[i]);
+        }
+        for (int i = 0; i < mediators.length; i += 2)
+            waitingRoom.unregisterWaiter(mediators[i]);
+
+        assertEquals(mediators.length / 2, waitingRoom.numberRegistered());
+        for (int i = 0; i < mediators.length; i++) {
+            MessageMediator expected = (i % 2 == 0) ? null : mediators[i];
+            assertSame(expected, waitingRoom.getMessageMediator(mediators[i].requestId));
+        }
+    }
+
+    @Test
+    public void whenResponseAlreadyReceived_waitReturnsIt() {
+        MessageMediatorFake mediator = createMediator(7);
+        waitingRoom.registerWaiter(mediator);
+        InputObjectFake reply = createReply(7);
+        waitingRoom.responseReceived(reply);
+
+        assertSame(reply, waitingRoom.waitForResponse(mediator));
+        assertSame(reply, mediator.inputObject);
+        assertSame(mediator, reply.mediator);
+    }
+
+    @Test
+    public void whenResponseReceivedLater_waiterIsWoken() throws Exception {
+        final MessageMediatorFake mediator = createMediator(9);
+        waitingRoom.registerWaiter(mediator);
+        final AtomicReference<CDRInputObject> result = new AtomicReference<CDRInputObject>();
+        Thread waiter = new Thread() {
+            public void run() {
+                result.set(waitingRoom.waitForResponse(mediator));
+            }
+        };
+        waiter.start();
+        Thread.sleep(50);
+
+        InputObjectFake reply = createReply(9);
+        waitingRoom.responseReceived(reply);
+        waiter.join(5000);
+
+        assertSame(reply, result.get());
+    }
+
+    @Test
+    public void whenNoResponseReceived_waitTimesOut() {
+        setWaitForResponseTimeout(20);
+        MessageMediatorFake mediator = createMediator(11);
+        waitingRoom.registerWaiter(mediator);
+
+        try {
+            waitingRoom.waitForResponse(mediator);
+            fail("Should have timed out");
+        } catch (COMM_FAILURE e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void whenResponseHasNoWaiter_ignoreIt() {
+        waitingRoom.responseReceived(createReply(13));
+
+        assertEquals(0, waitingRoom.numberRegistered());
+    }
+
+    @Test
+    public void whenExceptionSignalled_allWaitersCancelledAndReceiveIt() {
+        MessageMediatorFake mediator1 = createMediator(15);
+        MessageMediatorFake mediator2 = createMediator(16);
+        waitingRoom.registerWaiter(mediator1);
+        waitingRoom.registerWaiter(mediator2);
+        COMM_FAILURE exception = new COMM_FAILURE();
+
+        waitingRoom.signalExceptionToAllWaiters(exception);
+
+        assertTrue(mediator1.cancelled);
+        assertTrue(mediator2.cancelled);
+        try {
+            waitingRoom.waitForResponse(mediator1);
+            fail("Should have thrown the signalled exception");
+        } catch (SystemException e) {
+            assertSame(exception, e);
+        }
+    }
+
+    @Test
+    public void whenOneWay_doNotWait() {
+        MessageMediatorFake mediator = createMediator(17);
+        mediator.oneWay = true;
+
+        assertNull(waitingRoom.waitForResponse(mediator));
+    }
+
+    @Test
+    public void whenResponseReceivedAfterActionSet_actionIsRun() {
+        MessageMediatorFake mediator = createMediator(19);
+        waitingRoom.registerWaiter(mediator);
+        CountingAction action = new CountingAction();
+        waitingRoom.whenResponseReceived(mediator, action);
+        assertEquals(0, action.count);
+
+        InputObjectFake reply = createReply(19);
+        waitingRoom.responseReceived(reply);
+
+        assertEquals(1, action.count);
+        assertSame(reply, waitingRoom.waitForResponse(mediator));
+    }
+
+    @Test
+    public void whenResponseAlreadyReceived_actionIsRunAtOnce() {
+        MessageMediatorFake mediator = createMediator(21);
+        waitingRoom.registerWaiter(mediator);
+        waitingRoom.responseReceived(createReply(21));
+        CountingAction action = new CountingAction();
+
+        waitingRoom.whenResponseReceived(mediator, action);
+
+        assertEquals(1, action.count);
+    }
+
+    @Test
+    public void whenExceptionSignalledToWaiter_actionIsRunWithException() {
+        MessageMediatorFake mediator = createMediator(23);
+        MessageMediatorFake other = createMediator(24);
+        waitingRoom.registerWaiter(mediator);
+        waitingRoom.registerWaiter(other);
+        CountingAction action = new CountingAction();
+        waitingRoom.whenResponseReceived(mediator, action);
+        COMM_FAILURE exception = new COMM_FAILURE();
+
+        assertTrue(waitingRoom.signalExceptionToWaiter(mediator, exception));
+
+        assertEquals(1, action.count);
+        assertTrue(mediator.cancelled);
+        assertFalse(other.cancelled);
+        try {
+            waitingRoom.waitForResponse(mediator);
+            fail("Should have thrown the signalled exception");
+        } catch (SystemException e) {
+            assertSame(exception, e);
+        }
+    }
+
+    @Test
+    public void whenResponseAlreadyReceived_signalExceptionToWaiterIsIgnored() {
+        MessageMediatorFake mediator = createMediator(25);
+        waitingRoom.registerWaiter(mediator);
+        InputObjectFake reply = createReply(25);
+        waitingRoom.responseReceived(reply);
+
+        assertFalse(waitingRoom.signalExceptionToWaiter(mediator, new COMM_FAILURE()));
+        assertSame(reply, waitingRoom.waitForResponse(mediator));
+    }
+
+    @Test
+    public void whenExceptionSignalledToAllWaiters_actionsAreRun() {
+        MessageMediatorFake mediator = createMediator(27);
+        waitingRoom.registerWaiter(mediator);
+        CountingAction action = new CountingAction();
+        waitingRoom.whenResponseReceived(mediator, action);
+
+        waitingRoom.signalExceptionToAllWaiters(new COMM_FAILURE());
+
+        assertEquals(1, action.count);
+    }
+
+    static class CountingAction implements Runnable {
+        int count;
+
+        @Override
+        public void run() {
+            count++;
+        }
+    }
+
+    static abstract class MessageMediatorFake implements MessageMediator {
+        int requestId;
+        boolean oneWay;
+        boolean cancelled;
+        CDRInputObject inputObject;
+
+        @Override
+        public int getRequestId() {
+            return requestId;
+        }
+
+        @Override
+        public boolean isOneWay() {
+            return oneWay;
+        }
+
+        @Override
+        public void cancelRequest() {
+            cancelled = true;
+        }
+
+        @Override
+        public void setInputObject(CDRInputObject inputObject) {
+            this.inputObject = inputObject;
+        }
+    }
+
+    static abstract class ReplyMessageFake implements LocateReplyOrReplyMessage {
+        int requestId;
+
+        @Override
+        public int getRequestId() {
+            return requestId;
+        }
+    }
+
+    static class InputObjectFake extends CDRInputObject {
+        private final Message header;
+        MessageMediator mediator;
+
+        InputObjectFake(Message header) {
+            this.header = header;
+        }
+
+        @Override
+        public Message getMessageHeader() {
+            return header;
+        }
+
+        @Override
+        public void setMessageMediator(MessageMediator messageMediator) {
+            mediator = messageMediator;
+        }
+
+        @Override
+        public void unmarshalHeader() {
+        }
+    }
+}
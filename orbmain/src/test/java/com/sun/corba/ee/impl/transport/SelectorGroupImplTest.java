@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+package com.sun.corba.ee.impl.transport;
+
+import java.lang.reflect.Field;
+import java.nio.channels.SelectionKey;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.meterware.simplestub.Stub.createStub;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SelectorGroupImplTest extends TransportTestBase {
+
+    private SelectorGroupImpl group = new SelectorGroupImpl(getOrb(), 3);
+
+    @Before
+    public void setUpTest() throws Exception {
+        for (SelectorImpl selector : group.getSelectors()) {
+            setPrivateFieldValue(selector, "selector", createStub(SelectorImplTest.NioSelectorFake.class));
+            setPrivateFieldValue(selector, "selectorStarted", Boolean.TRUE);
+        }
+    }
+
+    private void setPrivateFieldValue(SelectorImpl selector, String fieldName, Object value) throws Exception {
+        Field field = SelectorImpl.class.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(selector, value);
+    }
+
+    private SelectorImplTest.EventHandlerFake createEventHandler(boolean useSelectThreadToWait) {
+        SelectorImplTest.EventHandlerFake eventHandler = new SelectorImplTest.EventHandlerFake();
+        eventHandler.setUseSelectThreadToWait(useSelectThreadToWait);
+        eventHandler.setInterestOps(SelectionKey.OP_READ);
+        return eventHandler;
+    }
+
+    private void assertLoads(int... loads) {
+        int i = 0;
+        for (SelectorImpl selector : group.getSelectors()) {
+            assertEquals(loads[i++], selector.getNumberOfEventHandlers());
+        }
+    }
+
+    @Test
+    public void whenEventHandlersRegistered_spreadAcrossSelectors() {
+        for (int i = 0; i < 6; i++) {
+            group.registerForEvent(createEventHandler(true));
+        }
+
+        assertLoads(2, 2, 2);
+    }
+
+    @Test
+    public void whenEventHandlerRegisteredTwice_keepsItsSelector() {
+        SelectorImplTest.EventHandlerFake eventHandler = createEventHandler(true);
+        group.registerForEvent(eventHandler);
+        group.registerForEvent(eventHandler);
+
+        assertLoads(1, 0, 0);
+    }
+
+    @Test
+    public void whenEventHandlerUnregistered_selectorIsReused() {
+        SelectorImplTest.EventHandlerFake first = createEventHandler(true);
+        group.registerForEvent(first);
+        group.registerForEvent(createEventHandler(true));
+        group.registerForEvent(createEventHandler(true));
+
+        group.unregisterForEvent(first);
+        assertLoads(0, 1, 1);
+
+        group.registerForEvent(createEventHandler(true));
+        assertLoads(1, 1, 1);
+    }
+
+    @Test
+    public void whenEventHandlerDoesNotUseSelectThread_readerThreadIsCreatedWithoutAssignment() {
+        group.registerForEvent(createEventHandler(false));
+
+        assertTrue(getWorkQueue().remove() instanceof ReaderThreadImpl);
+        assertLoads(0, 0, 0);
+    }
+}
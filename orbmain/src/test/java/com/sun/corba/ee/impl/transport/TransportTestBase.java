@@ -153,6 +153,10 @@ public class TransportTestBase {
         socketChannel.enqueData(data);
     }
 
+    protected void setWaitForResponseTimeout(long timeout) {
+        orbData.waitForResponseTimeout = timeout;
+    }
+
     protected void useNio() throws IOException {
         orbData.useSelectThread = true;
         connection = new ConnectionImpl(orb, acceptor, socket);
@@ -196,6 +200,7 @@ public class TransportTestBase {
     static abstract class ORBDataFake implements ORBData {
         private TcpTimeouts transportTcpTimeouts;
         private boolean useSelectThread = true;
+        private long waitForResponseTimeout = 1000;
 
         @Override
         public TcpTimeouts getTransportTcpTimeouts() {
@@ -257,6 +262,20 @@ public class TransportTestBase {
             return 500;
         }
 
+        @Override
+        public int getPooledDirectByteBufferSlabSize() {
+            return 4096;
+        }
+
+        public int getSelectorCount() {
+            return 1;
+        }
+
+        @Override
+        public long getWaitForResponseTimeout() {
+            return waitForResponseTimeout;
+        }
+
         @Override
         public void waitNanos(Object obj, long waitNanos) throws InterruptedException {
             ORBData.super.waitNanos(obj, waitNanos);
@@ -360,6 +379,7 @@ public class TransportTestBase {
 
     static abstract class SocketChannelFake extends SocketChannel {
         private byte[] dataWritten = new byte[0];
+        private int numWriteCalls;
         private byte[] readableData;
         private int readPos;
         private ArrayList<Integer> numBytesToWrite = new ArrayList<Integer>();
@@ -406,13 +426,28 @@ public class TransportTestBase {
 
         @Override
         public int write(ByteBuffer src) throws IOException {
+            numWriteCalls++;
+            return write(src, getNumBytesToWrite());
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            numWriteCalls++;
+            int numBytesToWrite = getNumBytesToWrite();
+            long numWritten = 0;
+            for (int i = offset; i < offset + length && numWritten < numBytesToWrite; i++)
+                numWritten += write(srcs[i], (int) (numBytesToWrite - numWritten));
+            return numWritten;
+        }
+
+        private int write(ByteBuffer src, int numBytesToWrite) {
             int numBytesAvailable = src.limit() - src.position();
-            int numToWrite = Math.min(numBytesAvailable, getNumBytesToWrite());
+            int numToWrite = Math.min(numBytesAvailable, numBytesToWrite);
             byte[] bytesToWrite = new byte[numToWrite];
             src.get(bytesToWrite);
             byte[] written = new byte[dataWritten.length + numToWrite];
             System.arraycopy(dataWritten, 0, written, 0, dataWritten.length);
-            System.arraycopy(bytesToWrite, 0, written, dataWritten.length, written.length);
+            System.arraycopy(bytesToWrite, 0, written, dataWritten.length, numToWrite);
             dataWritten = written;
             return numToWrite;
         }
@@ -446,6 +481,10 @@ public class TransportTestBase {
             return dataWritten;
         }
 
+        protected int getNumWriteCalls() {
+            return numWriteCalls;
+        }
+
 
         public void setEndOfInput() {
             endOfInput = true;
@@ -524,6 +563,10 @@ public class TransportTestBase {
         public Selector getSelector(int i) {
             return selector;
         }
+
+        @Override
+        public void recordSocketWrites(int numberOfWrites, int numberOfBuffers) {
+        }
     }
 
     static abstract class TransportSelectorFake implements Selector {
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v. 1.0 which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License v. 2.0 are satisfied: GNU General Public License v2.0
+ * w/Classpath exception which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause OR GPL-2.0 WITH
+ * Classpath-exception-2.0
+ */
+
+
+package com.sun.corba.ee.impl.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RepositoryIdCacheTest {
+
+    private RepositoryIdCache cache = new RepositoryIdCache(8);
+
+    private static String idFor(int i) {
+        return "RMI:test.Value" + i + ":0000000000000000:000000000000000" + (i % 10);
+    }
+
+    @Test
+    public void whenIdRequestedTwice_returnSameParsedId() {
+        RepositoryId repId = cache.getId(idFor(1));
+
+        assertSame(repId, cache.getId(idFor(1)));
+        assertEquals("test.Value1", repId.getClassName());
+        assertEquals(1, cache.getNumberOfHits());
+        assertEquals(1, cache.getNumberOfMisses());
+    }
+
+    @Test
+    public void whenCacheOverflows_shrinkToBelowMaximum() {
+        for (int i = 0; i < 20; i++) {
+            cache.getId(idFor(i));
+        }
+
+        assertTrue(cache.getSize() <= cache.getMaxSize());
+        assertTrue(cache.getNumberOfEvictions() > 0);
+    }
+
+    @Test
+    public void whenCacheOverflows_keepRecentlyUsedIds() {
+        for (int i = 0; i < 8; i++) {
+            cache.getId(idFor(i));
+        }
+        RepositoryId recent = cache.getId(idFor(3));
+
+        cache.getId(idFor(8));
+
+        assertSame(recent, cache.getId(idFor(3)));
+    }
+
+    @Test
+    public void whenCacheOverflows_keepPreloadedIds() {
+        cache.preload(idFor(100));
+        RepositoryId preloaded = cache.getId(idFor(100));
+        for (int i = 0; i < 50; i++) {
+            cache.getId(idFor(i));
+        }
+
+        assertSame(preloaded, cache.getId(idFor(100)));
+    }
+
+    @Test
+    public void afterEviction_idIsParsedAgain() {
+        RepositoryId first = cache.getId(idFor(0));
+        for (int i = 1; i < 50; i++) {
+            cache.getId(idFor(i));
+        }
+
+        assertNotSame(first, cache.getId(idFor(0)));
+    }
+
+    @Test
+    public void commonJavaTypes_arePreloaded() {
+        long misses = RepositoryId.cache.getNumberOfMisses();
+
+        RepositoryId.cache.getId(RepositoryId.createForAnyType(Integer.class));
+        RepositoryId.cache.getId(RepositoryId.createForAnyType(java.util.ArrayList.class));
+
+        assertEquals(misses, RepositoryId.cache.getNumberOfMisses());
+    }
+}